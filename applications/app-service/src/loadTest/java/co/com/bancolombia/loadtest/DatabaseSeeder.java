@@ -0,0 +1,80 @@
+package co.com.bancolombia.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Bulk-seeds the migrated schema with set-based inserts so large datasets load in seconds, not per-row HTTP calls
+final class DatabaseSeeder {
+
+    private DatabaseSeeder() {
+    }
+
+    static SeedData seed(String jdbcUrl, String username, String password, LoadTestSettings settings) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION cte_max_recursion_depth = 1000000");
+            }
+            insertSequence(connection, """
+                INSERT INTO franchises (name)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?)
+                SELECT CONCAT('Load Franchise ', n) FROM seq
+                """, settings.franchises());
+            insertSequence(connection, """
+                INSERT INTO branches (name, franchise_id)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?)
+                SELECT CONCAT('Load Branch ', seq.n), f.id FROM franchises f CROSS JOIN seq
+                """, settings.branchesPerFranchise());
+            insertSequence(connection, """
+                INSERT INTO products (name, stock, branch_id)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?)
+                SELECT CONCAT('Load Product ', seq.n), (seq.n * 7919 + b.id) % 1000, b.id FROM branches b CROSS JOIN seq
+                """, settings.productsPerBranch());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                    INSERT INTO branch_top_product (branch_id, product_id)
+                    SELECT top.branch_id, top.product_id
+                    FROM (
+                        SELECT b.id AS branch_id,
+                               (SELECT p.id FROM products p WHERE p.branch_id = b.id ORDER BY p.stock DESC, p.id LIMIT 1) AS product_id
+                        FROM branches b
+                    ) AS top
+                    ON DUPLICATE KEY UPDATE product_id = top.product_id, version = version + 1
+                    """);
+                statement.execute("ANALYZE TABLE franchises, branches, products, branch_top_product");
+            }
+            return new SeedData(
+                    ids(connection, "SELECT id FROM franchises"),
+                    ids(connection, "SELECT id FROM branches"),
+                    ids(connection, "SELECT id FROM products"));
+        }
+    }
+
+    private static void insertSequence(Connection connection, String sql, int size) throws SQLException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Seed sizes must be positive");
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, size);
+            statement.executeUpdate();
+        }
+    }
+
+    private static long[] ids(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            long[] ids = new long[16];
+            int count = 0;
+            while (rows.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = rows.getLong(1);
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package co.com.bancolombia.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+record LatencyReport(Duration elapsed, Map<Operation, Histogram> histograms, Map<Operation, Long> failures) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String HEADER = "operation,count,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms";
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-28s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((operation, histogram) -> out.printf(Locale.ROOT,
+                "%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), failures.get(operation), throughput(histogram),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / NANOS_PER_MILLI));
+    }
+
+    void writeCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        histograms.forEach((operation, histogram) -> csv.append(String.format(Locale.ROOT,
+                "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                operation, histogram.getTotalCount(), failures.get(operation), throughput(histogram),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / NANOS_PER_MILLI)));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.bancolombia.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop generator: each of `concurrency` workers issues its next request as soon as the previous one completes
+@Slf4j
+final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final WebClient client;
+    private final SeedData seed;
+    private final LoadTestSettings settings;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+
+    LoadGenerator(WebClient client, SeedData seed, LoadTestSettings settings) {
+        this.client = client;
+        this.seed = seed;
+        this.settings = settings;
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            failures.put(operations[i], new LongAdder());
+        }
+    }
+
+    LatencyReport run() {
+        log.info("Warming up for {} with {} concurrent workers", settings.warmup(), settings.concurrency());
+        drive(settings.warmup());
+        // Discard everything recorded while the JIT, pools and caches were warming up
+        recorders.values().forEach(Recorder::reset);
+        failures.values().forEach(LongAdder::reset);
+
+        log.info("Measuring for {}", settings.duration());
+        long started = System.nanoTime();
+        drive(settings.duration());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> failureCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            histograms.put(operation, recorders.get(operation).getIntervalHistogram());
+            failureCounts.put(operation, failures.get(operation).sum());
+        }
+        return new LatencyReport(elapsed, histograms, failureCounts);
+    }
+
+    private void drive(Duration phase) {
+        long deadline = System.nanoTime() + phase.toNanos();
+        Flux.range(0, settings.concurrency())
+                .flatMap(worker -> Mono.defer(this::issueOne).repeat(() -> System.nanoTime() < deadline),
+                        settings.concurrency())
+                .blockLast();
+    }
+
+    private Mono<Void> issueOne() {
+        Operation operation = nextOperation();
+        long start = System.nanoTime();
+        return operation.execute(client, seed)
+                .doOnNext(status -> {
+                    recorders.get(operation).recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+                    if (status >= 400) {
+                        failures.get(operation).increment();
+                    }
+                })
+                .onErrorResume(error -> {
+                    failures.get(operation).increment();
+                    log.debug("{} failed: {}", operation, error.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Operation nextOperation() {
+        int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
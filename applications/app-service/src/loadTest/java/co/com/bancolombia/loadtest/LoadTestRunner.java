@@ -0,0 +1,91 @@
+package co.com.bancolombia.loadtest;
+
+import co.com.bancolombia.MainApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.mysql.MySQLContainer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// Boots app-service in-process against a throwaway MySQL, seeds it, drives the routers and prints percentiles.
+// Run with ./gradlew :app-service:loadTest [-Ploadtest.concurrency=128 -Ploadtest.duration-seconds=120 ...]
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String DATABASE = "franchises_load_test";
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest";
+    private static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        MySQLContainer mysql = null;
+        String jdbcUrl = settings.mysqlUrl();
+        String username = System.getProperty("loadtest.mysql-username", USERNAME);
+        String password = System.getProperty("loadtest.mysql-password", PASSWORD);
+        if (jdbcUrl == null) {
+            // Same engine as production: the migrations rely on MySQL-only syntax (GET_LOCK, ON DUPLICATE KEY, DESC indexes)
+            mysql = new MySQLContainer(settings.mysqlImage())
+                    .withDatabaseName(DATABASE)
+                    .withUsername(USERNAME)
+                    .withPassword(PASSWORD);
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl();
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MainApplication.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.r2dbc.url", jdbcUrl.replaceFirst("^jdbc:", "r2dbc:"),
+                        "spring.r2dbc.username", username,
+                        "spring.r2dbc.password", password,
+                        "spring.devtools.restart.enabled", "false"))
+                .properties(applicationOverrides())
+                .run()) {
+            SeedData seed = DatabaseSeeder.seed(jdbcUrl, username, password, settings);
+            log.info("Seeded {} franchises, {} branches and {} products",
+                    seed.franchiseCount(), seed.branchCount(), seed.productCount());
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                    .maxConnections(settings.concurrency())
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                    .build();
+
+            LatencyReport report = new LoadGenerator(client, seed, settings).run();
+            report.print(System.out);
+            if (settings.reportFile() != null) {
+                report.writeCsv(Path.of(settings.reportFile()));
+                log.info("Wrote {}", settings.reportFile());
+            }
+            connections.dispose();
+        } finally {
+            if (mysql != null) {
+                mysql.stop();
+            }
+        }
+    }
+
+    // -Dloadtest.app.adapters.cache.enabled=false reaches the application as adapters.cache.enabled=false
+    private static Map<String, Object> applicationOverrides() {
+        Map<String, Object> overrides = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+                .forEach(name -> overrides.put(name.substring(APP_PROPERTY_PREFIX.length()), System.getProperty(name)));
+        return overrides;
+    }
+}
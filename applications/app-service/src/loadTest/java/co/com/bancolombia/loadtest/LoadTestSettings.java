@@ -0,0 +1,55 @@
+package co.com.bancolombia.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Every knob is a -Dloadtest.* system property; the Gradle task forwards -Ploadtest.* project properties
+record LoadTestSettings(
+        int franchises,
+        int branchesPerFranchise,
+        int productsPerBranch,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        String mysqlUrl,
+        String mysqlImage,
+        String reportFile) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.franchises", 10),
+                Integer.getInteger("loadtest.branches-per-franchise", 20),
+                Integer.getInteger("loadtest.products-per-branch", 50),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                parseMix(System.getProperty("loadtest.mix")),
+                System.getProperty("loadtest.mysql-url"),
+                System.getProperty("loadtest.mysql-image", "mysql:8.0"),
+                System.getProperty("loadtest.report-file"));
+    }
+
+    // Format: OPERATION=weight,OPERATION=weight; operations left out do not run
+    static Map<Operation, Integer> parseMix(String mix) {
+        if (mix == null || mix.isBlank()) {
+            return Operation.defaultMix();
+        }
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
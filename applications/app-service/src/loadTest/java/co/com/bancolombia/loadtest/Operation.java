@@ -0,0 +1,181 @@
+package co.com.bancolombia.loadtest;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// One constant per route, named after the operation each handler logs, so reports line up with the service logs
+enum Operation {
+
+    CREATE_FRANCHISE(2) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.post().uri("/api/franchises")
+                    .bodyValue(Map.of("name", seed.uniqueName("Load Franchise"))));
+        }
+    },
+    UPDATE_FRANCHISE_NAME(3) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.patch().uri("/api/franchises/{franchiseId}/name", seed.randomFranchiseId())
+                    .bodyValue(Map.of("name", seed.uniqueName("Renamed Franchise"))));
+        }
+    },
+    GET_MAX_STOCK_PRODUCTS(30) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/franchises/{franchiseId}/max-stock-products", seed.randomFranchiseId()));
+        }
+    },
+    STREAM_MAX_STOCK_PRODUCTS(5) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/franchises/{franchiseId}/max-stock-products", seed.randomFranchiseId())
+                    .accept(MediaType.APPLICATION_NDJSON));
+        }
+    },
+    EXPORT_FRANCHISE(1) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/franchises/{franchiseId}/export", seed.randomFranchiseId())
+                    .accept(MediaType.APPLICATION_NDJSON));
+        }
+    },
+    LIST_FRANCHISES(2) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/franchises?limit={limit}", 50));
+        }
+    },
+    LIST_BRANCHES(3) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/franchises/{franchiseId}/branches?limit={limit}", seed.randomFranchiseId(), 50));
+        }
+    },
+    ADD_BRANCH_TO_FRANCHISE(4) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.post().uri("/api/franchises/{franchiseId}/branches", seed.randomFranchiseId())
+                    .bodyValue(Map.of("name", seed.uniqueName("Load Branch"))));
+        }
+    },
+    UPDATE_BRANCH_NAME(5) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.patch().uri("/api/branches/{branchId}/name", seed.randomBranchId())
+                    .bodyValue(Map.of("name", seed.uniqueName("Renamed Branch"))));
+        }
+    },
+    ADD_PRODUCT_TO_BRANCH(8) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            long branchId = seed.randomBranchId();
+            return client.post().uri("/api/branches/{branchId}/products", branchId)
+                    .bodyValue(Map.of("name", seed.uniqueName("Load Product"), "stock", randomStock()))
+                    .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                            ? response.bodyToMono(Map.class)
+                                .doOnNext(body -> seed.addRemovable(branchId, ((Number) body.get("id")).longValue()))
+                                .thenReturn(response.statusCode().value())
+                            : release(response));
+        }
+    },
+    LIST_PRODUCTS(3) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.get().uri("/api/branches/{branchId}/products?limit={limit}", seed.randomBranchId(), 50));
+        }
+    },
+    REMOVE_PRODUCT_FROM_BRANCH(6) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            long[] removable = seed.pollRemovable();
+            if (removable == null) {
+                return Mono.empty();
+            }
+            return status(client.delete().uri("/api/branches/{branchId}/products/{productId}", removable[0], removable[1]));
+        }
+    },
+    UPDATE_PRODUCT_STOCK(15) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.patch().uri("/api/products/{productId}/stock", seed.randomProductId())
+                    .bodyValue(Map.of("stock", randomStock())));
+        }
+    },
+    ADJUST_PRODUCT_STOCK(15) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            int delta = ThreadLocalRandom.current().nextInt(-5, 6);
+            return status(client.post().uri("/api/products/{productId}/stock/adjustments", seed.randomProductId())
+                    .bodyValue(Map.of("delta", delta == 0 ? 1 : delta)));
+        }
+    },
+    UPDATE_PRODUCT_STOCK_BATCH(5) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            List<Map<String, Object>> updates = IntStream.range(0, BULK_SIZE)
+                    .mapToObj(i -> Map.<String, Object>of("productId", seed.randomProductId(), "stock", randomStock()))
+                    .toList();
+            return status(client.post().uri("/api/products/stock:batch").bodyValue(updates));
+        }
+    },
+    IMPORT_PRODUCTS_TO_BRANCH(2) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            String lines = IntStream.range(0, BULK_SIZE)
+                    .mapToObj(i -> "{\"name\":\"" + seed.uniqueName("Imported Product") + "\",\"stock\":" + randomStock() + "}")
+                    .collect(Collectors.joining("\n", "", "\n"));
+            return status(client.post().uri("/api/branches/{branchId}/products:import", seed.randomBranchId())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .bodyValue(lines));
+        }
+    },
+    UPDATE_PRODUCT_NAME(5) {
+        @Override
+        Mono<Integer> execute(WebClient client, SeedData seed) {
+            return status(client.patch().uri("/api/products/{productId}/name", seed.randomProductId())
+                    .bodyValue(Map.of("name", seed.uniqueName("Renamed Product"))));
+        }
+    };
+
+    private static final int BULK_SIZE = 50;
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    // Emits the HTTP status, or completes empty when the operation has nothing to act on yet
+    abstract Mono<Integer> execute(WebClient client, SeedData seed);
+
+    static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : values()) {
+            mix.put(operation, operation.defaultWeight);
+        }
+        return mix;
+    }
+
+    private static Mono<Integer> status(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(Operation::release);
+    }
+
+    private static Mono<Integer> release(ClientResponse response) {
+        return response.releaseBody().thenReturn(response.statusCode().value());
+    }
+
+    private static int randomStock() {
+        return ThreadLocalRandom.current().nextInt(0, 1000);
+    }
+}
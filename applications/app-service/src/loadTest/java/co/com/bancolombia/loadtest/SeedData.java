@@ -0,0 +1,62 @@
+package co.com.bancolombia.loadtest;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ids seeded before the run plus the state operations share while it runs
+final class SeedData {
+
+    private final long[] franchiseIds;
+    private final long[] branchIds;
+    private final long[] productIds;
+    private final AtomicLong sequence = new AtomicLong();
+    // Products added during the run, handed to REMOVE_PRODUCT so seeded rows are never deleted
+    private final ConcurrentLinkedQueue<long[]> removableProducts = new ConcurrentLinkedQueue<>();
+
+    SeedData(long[] franchiseIds, long[] branchIds, long[] productIds) {
+        this.franchiseIds = franchiseIds;
+        this.branchIds = branchIds;
+        this.productIds = productIds;
+    }
+
+    long randomFranchiseId() {
+        return pick(franchiseIds);
+    }
+
+    long randomBranchId() {
+        return pick(branchIds);
+    }
+
+    long randomProductId() {
+        return pick(productIds);
+    }
+
+    String uniqueName(String prefix) {
+        return prefix + " " + sequence.incrementAndGet();
+    }
+
+    void addRemovable(long branchId, long productId) {
+        removableProducts.add(new long[]{branchId, productId});
+    }
+
+    long[] pollRemovable() {
+        return removableProducts.poll();
+    }
+
+    int franchiseCount() {
+        return franchiseIds.length;
+    }
+
+    int branchCount() {
+        return branchIds.length;
+    }
+
+    int productCount() {
+        return productIds.length;
+    }
+
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -3,15 +3,26 @@ package co.com.bancolombia.config;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.exportfranchise.ExportFranchiseUseCase;
 import co.com.bancolombia.usecase.getmaxstockproductsbyfranchise.GetMaxStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.importproductstobranch.ImportProductsToBranchUseCase;
+import co.com.bancolombia.usecase.listbranches.ListBranchesUseCase;
+import co.com.bancolombia.usecase.listfranchises.ListFranchisesUseCase;
+import co.com.bancolombia.usecase.listproducts.ListProductsUseCase;
 import co.com.bancolombia.usecase.removeproductfrombranch.RemoveProductFromBranchUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
 import co.com.bancolombia.usecase.updateproductstock.UpdateProductStockUseCase;
+import co.com.bancolombia.usecase.updateproductstockbatch.UpdateProductStockBatchUseCase;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
+import co.com.bancolombia.usecase.watchstockchanges.WatchStockChangesUseCase;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,18 +44,46 @@ public class UseCasesConfig {
     @Bean
     public AddProductToBranchUseCase addProductToBranchUseCase(
             ProductRepository productRepository,
-            BranchRepository branchRepository) {
-        return new AddProductToBranchUseCase(productRepository, branchRepository);
+            BranchRepository branchRepository,
+            StockChangeNotifier stockChangeNotifier) {
+        return new AddProductToBranchUseCase(productRepository, branchRepository, stockChangeNotifier);
+    }
+
+    @Bean
+    public ImportProductsToBranchUseCase importProductsToBranchUseCase(
+            ProductRepository productRepository,
+            BranchRepository branchRepository,
+            @Value("${usecases.product-import.chunk-size:200}") int chunkSize) {
+        return new ImportProductsToBranchUseCase(productRepository, branchRepository, chunkSize);
     }
 
     @Bean
-    public RemoveProductFromBranchUseCase removeProductFromBranchUseCase(ProductRepository productRepository, BranchRepository repository) {
-        return new RemoveProductFromBranchUseCase(productRepository, repository);
+    public RemoveProductFromBranchUseCase removeProductFromBranchUseCase(
+            ProductRepository productRepository,
+            BranchRepository repository,
+            StockChangeNotifier stockChangeNotifier) {
+        return new RemoveProductFromBranchUseCase(productRepository, repository, stockChangeNotifier);
     }
 
     @Bean
-    public UpdateProductStockUseCase updateProductStockUseCase(ProductRepository productRepository) {
-        return new UpdateProductStockUseCase(productRepository);
+    public UpdateProductStockUseCase updateProductStockUseCase(
+            ProductRepository productRepository,
+            StockChangeNotifier stockChangeNotifier) {
+        return new UpdateProductStockUseCase(productRepository, stockChangeNotifier);
+    }
+
+    @Bean
+    public UpdateProductStockBatchUseCase updateProductStockBatchUseCase(
+            ProductRepository productRepository,
+            @Value("${usecases.stock-batch.chunk-size:500}") int chunkSize) {
+        return new UpdateProductStockBatchUseCase(productRepository, chunkSize);
+    }
+
+    @Bean
+    public AdjustProductStockUseCase adjustProductStockUseCase(
+            ProductRepository productRepository,
+            StockChangeNotifier stockChangeNotifier) {
+        return new AdjustProductStockUseCase(productRepository, stockChangeNotifier);
     }
 
     @Bean
@@ -54,6 +93,57 @@ public class UseCasesConfig {
         return new GetMaxStockProductsByFranchiseUseCase(franchiseRepository, branchRepository);
     }
 
+    @Bean
+    public ExportFranchiseUseCase exportFranchiseUseCase(
+            FranchiseRepository franchiseRepository,
+            BranchRepository branchRepository,
+            ProductRepository productRepository,
+            @Value("${usecases.franchise-export.page-size:500}") int pageSize) {
+        return new ExportFranchiseUseCase(franchiseRepository, branchRepository, productRepository, pageSize);
+    }
+
+    @Bean
+    public ListFranchisesUseCase listFranchisesUseCase(
+            FranchiseRepository franchiseRepository,
+            @Value("${usecases.listing.default-limit:50}") int defaultLimit,
+            @Value("${usecases.listing.max-limit:500}") int maxLimit) {
+        return new ListFranchisesUseCase(franchiseRepository, defaultLimit, maxLimit);
+    }
+
+    @Bean
+    public ListBranchesUseCase listBranchesUseCase(
+            BranchRepository branchRepository,
+            FranchiseRepository franchiseRepository,
+            @Value("${usecases.listing.default-limit:50}") int defaultLimit,
+            @Value("${usecases.listing.max-limit:500}") int maxLimit) {
+        return new ListBranchesUseCase(branchRepository, franchiseRepository, defaultLimit, maxLimit);
+    }
+
+    @Bean
+    public ListProductsUseCase listProductsUseCase(
+            ProductRepository productRepository,
+            BranchRepository branchRepository,
+            @Value("${usecases.listing.default-limit:50}") int defaultLimit,
+            @Value("${usecases.listing.max-limit:500}") int maxLimit) {
+        return new ListProductsUseCase(productRepository, branchRepository, defaultLimit, maxLimit);
+    }
+
+    @Bean
+    public StockChangeNotifier stockChangeNotifier(
+            StockChangeBus stockChangeBus,
+            BranchRepository branchRepository,
+            ProductRepository productRepository) {
+        return new StockChangeNotifier(stockChangeBus, branchRepository, productRepository);
+    }
+
+    @Bean
+    public WatchStockChangesUseCase watchStockChangesUseCase(
+            StockChangeBus stockChangeBus,
+            FranchiseRepository franchiseRepository,
+            BranchRepository branchRepository) {
+        return new WatchStockChangesUseCase(stockChangeBus, franchiseRepository, branchRepository);
+    }
+
     @Bean
     public UpdateFranchiseNameUseCase updateFranchiseNameUseCase(FranchiseRepository franchiseRepository) {
         return new UpdateFranchiseNameUseCase(franchiseRepository);
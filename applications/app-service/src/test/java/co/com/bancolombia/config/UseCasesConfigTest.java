@@ -3,6 +3,7 @@ package co.com.bancolombia.config;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -49,5 +50,10 @@ class UseCasesConfigTest {
         public ProductRepository productRepository() {
             return mock(ProductRepository.class);
         }
+
+        @Bean
+        public StockChangeBus stockChangeBus() {
+            return mock(StockChangeBus.class);
+        }
     }
 }
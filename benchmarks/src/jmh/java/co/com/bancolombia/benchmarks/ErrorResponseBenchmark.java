@@ -0,0 +1,54 @@
+package co.com.bancolombia.benchmarks;
+
+import co.com.bancolombia.api.config.ErrorResponseEncoder;
+import co.com.bancolombia.api.dto.response.ErrorResponse;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Body encoding cost per error: the former String.format path in GlobalErrorHandler against the pre-encoded bodies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    private final ErrorResponseEncoder encoder = new ErrorResponseEncoder();
+    private final BusinessException notFound = new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND);
+    private final BusinessException withDetail =
+            new BusinessException(TechnicalMessage.VALIDATION_ERROR, "stock must be greater than or equal to zero");
+
+    @Benchmark
+    public byte[] formattedWithoutDetail() {
+        return formatted(notFound);
+    }
+
+    @Benchmark
+    public byte[] preEncodedWithoutDetail() {
+        return encoder.encode(notFound.getTechnicalMessage(), notFound.getDetail());
+    }
+
+    @Benchmark
+    public byte[] preEncodedWithDetail() {
+        return encoder.encode(withDetail.getTechnicalMessage(), withDetail.getDetail());
+    }
+
+    private static byte[] formatted(BusinessException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code(ex.getCode())
+                .message(ex.getMessage())
+                .detail(ex.getDetail())
+                .build();
+        String json = String.format("{\"code\":\"%s\",\"message\":\"%s\"}",
+                errorResponse.getCode(),
+                errorResponse.getMessage());
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
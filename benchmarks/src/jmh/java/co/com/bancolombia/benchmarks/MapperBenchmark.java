@@ -0,0 +1,87 @@
+package co.com.bancolombia.benchmarks;
+
+import co.com.bancolombia.api.dto.response.FranchiseWithMaxStockProductsResponse;
+import co.com.bancolombia.api.mapper.FranchiseWithMaxStockProductsResponseMapper;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.mysql.dto.BranchWithProductDto;
+import co.com.bancolombia.mysql.entity.ProductEntity;
+import co.com.bancolombia.mysql.mapper.BranchWithProductMapper;
+import co.com.bancolombia.mysql.mapper.ProductMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({"10", "100"})
+    private int branches;
+
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+    private final BranchWithProductMapper branchWithProductMapper = Mappers.getMapper(BranchWithProductMapper.class);
+    private final FranchiseWithMaxStockProductsResponseMapper responseMapper =
+            Mappers.getMapper(FranchiseWithMaxStockProductsResponseMapper.class);
+
+    private ProductEntity productEntity;
+    private Product product;
+    private List<BranchWithProductDto> branchRows;
+    private FranchiseWithTopProducts franchiseWithTopProducts;
+
+    @Setup
+    public void setUp() {
+        productEntity = new ProductEntity(1L, "Café Latte", 120, 7L, LocalDateTime.now(), LocalDateTime.now());
+        product = Product.builder().id(1L).name("Café Latte").stock(120).branchId(7L).build();
+        branchRows = IntStream.range(0, branches)
+                .mapToObj(i -> BranchWithProductDto.builder()
+                        .branchId((long) i)
+                        .branchName("Branch " + i)
+                        .franchiseId(1L)
+                        // Every tenth branch has no products, like the LEFT JOIN returns
+                        .productId(i % 10 == 0 ? null : (long) i * 100)
+                        .productName("Product " + i)
+                        .productStock(i * 3)
+                        .productBranchId((long) i)
+                        .build())
+                .toList();
+        franchiseWithTopProducts = FranchiseWithTopProducts.builder()
+                .franchise(Franchise.builder().id(1L).name("Benchmark Franchise").build())
+                .branchesWithTopProducts(branchRows.stream().map(branchWithProductMapper::toDomain).toList())
+                .build();
+    }
+
+    @Benchmark
+    public Product productEntityToDomain() {
+        return productMapper.toDomain(productEntity);
+    }
+
+    @Benchmark
+    public ProductEntity productToEntity() {
+        return productMapper.toEntity(product);
+    }
+
+    @Benchmark
+    public List<BranchWithTopProduct> branchRowsToDomain() {
+        return branchRows.stream().map(branchWithProductMapper::toDomain).toList();
+    }
+
+    @Benchmark
+    public FranchiseWithMaxStockProductsResponse franchiseWithTopProductsToResponse() {
+        return responseMapper.toResponse(franchiseWithTopProducts);
+    }
+}
@@ -0,0 +1,88 @@
+package co.com.bancolombia.benchmarks;
+
+import co.com.bancolombia.api.dto.response.BranchWithTopProductResponse;
+import co.com.bancolombia.api.dto.response.FranchiseWithMaxStockProductsResponse;
+import co.com.bancolombia.api.dto.response.ProductImportResultResponse;
+import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.StockUpdateResultResponse;
+import co.com.bancolombia.api.dto.response.TopProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Jackson 3 is what the WebFlux codecs use, so these numbers match what the handlers pay per response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int branches;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private ProductResponse product;
+    private FranchiseWithMaxStockProductsResponse maxStockProducts;
+    private StockUpdateResultResponse stockUpdateResult;
+    private ProductImportResultResponse importResult;
+
+    @Setup
+    public void setUp() {
+        product = ProductResponse.builder().id(1L).name("Café Latte").stock(120).branchId(7L).build();
+        maxStockProducts = FranchiseWithMaxStockProductsResponse.builder()
+                .franchiseId(1L)
+                .franchiseName("Benchmark Franchise")
+                .branches(IntStream.range(0, branches)
+                        .mapToObj(i -> BranchWithTopProductResponse.builder()
+                                .branchId((long) i)
+                                .branchName("Branch " + i)
+                                .topProduct(TopProductResponse.builder()
+                                        .productId((long) i * 100)
+                                        .productName("Product " + i)
+                                        .stock(i * 3)
+                                        .build())
+                                .build())
+                        .toList())
+                .build();
+        stockUpdateResult = StockUpdateResultResponse.builder()
+                .productId(1L).stock(10).updated(false).code("404").message("Product not found").build();
+        importResult = ProductImportResultResponse.builder()
+                .line(42).name("Café Latte").productId(1L).imported(true).build();
+    }
+
+    @Benchmark
+    public byte[] productResponse() {
+        return jsonMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] maxStockProductsResponse() {
+        return jsonMapper.writeValueAsBytes(maxStockProducts);
+    }
+
+    @Benchmark
+    public byte[] stockUpdateResultLine() {
+        return jsonMapper.writeValueAsBytes(stockUpdateResult);
+    }
+
+    @Benchmark
+    public byte[] productImportResultLine() {
+        return jsonMapper.writeValueAsBytes(importResult);
+    }
+
+    @Benchmark
+    public List<ProductResponse> roundTripProductResponse() {
+        byte[] json = jsonMapper.writeValueAsBytes(List.of(product, product, product));
+        return jsonMapper.readerForListOf(ProductResponse.class).readValue(json);
+    }
+}
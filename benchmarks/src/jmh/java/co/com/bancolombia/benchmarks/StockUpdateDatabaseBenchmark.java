@@ -0,0 +1,156 @@
+package co.com.bancolombia.benchmarks;
+
+import co.com.bancolombia.mysql.entity.ProductEntity;
+import co.com.bancolombia.mysql.migration.SchemaMigrator;
+import co.com.bancolombia.mysql.pool.PoolSettings;
+import co.com.bancolombia.mysql.pool.PooledConnectionFactory;
+import co.com.bancolombia.mysql.repository.ProductR2dbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.mysql.MySQLContainer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a stock update against MySQL, before and after the single-statement update.
+ * findThenUpdate is the removed UpdateProductStockUseCase path (findById, then updateStock); conditionalUpdate is
+ * what ProductMySQLAdapter.updateStockAndGet issues (updateStock, then a read-back only when a row matched).
+ * Both run the repository's own queries, so the comparison is round trips and lock time rather than mapping.
+ * Compare the p0.99 rows of the two methods for the same target; "missing" is where the old path paid for a lookup
+ * that the UPDATE's matched-row count now answers.
+ * Runs on a throwaway MySQL container unless -Dbenchmark.mysql-url (r2dbc:mysql://...) points at an existing one:
+ * ./gradlew :benchmarks:jmh -PjmhIncludes=StockUpdateDatabaseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class StockUpdateDatabaseBenchmark {
+
+    private static final String DATABASE = "franchises_benchmark";
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark";
+    private static final int PRODUCTS = 1_000;
+
+    @Param({"existing", "missing"})
+    private String target;
+
+    private MySQLContainer mysql;
+    private PooledConnectionFactory connectionFactory;
+    private ProductR2dbcRepository repository;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        String url = System.getProperty("benchmark.mysql-url");
+        String username = System.getProperty("benchmark.mysql-username", USERNAME);
+        String password = System.getProperty("benchmark.mysql-password", PASSWORD);
+        if (url == null) {
+            mysql = new MySQLContainer(System.getProperty("benchmark.mysql-image", "mysql:8.0"))
+                    .withDatabaseName(DATABASE)
+                    .withUsername(USERNAME)
+                    .withPassword(PASSWORD);
+            mysql.start();
+            url = mysql.getJdbcUrl().replaceFirst("^jdbc:", "r2dbc:");
+        }
+        // Sized above the thread count so the numbers measure the statements, not waits for a connection
+        connectionFactory = new PooledConnectionFactory("benchmark",
+                PooledConnectionFactory.options(url, username, password),
+                PoolSettings.builder()
+                        .initialSize(16)
+                        .maxSize(16)
+                        .maxIdleTime(Duration.ofMinutes(30))
+                        .validationQuery("SELECT 1")
+                        .build(),
+                null, new SimpleMeterRegistry());
+        new SchemaMigrator(connectionFactory, 30).migrate().block();
+        repository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(ProductR2dbcRepository.class);
+        productIds = seed(DatabaseClient.create(connectionFactory));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        connectionFactory.close();
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @Benchmark
+    public ProductEntity findThenUpdate() {
+        Long id = nextId();
+        int stock = nextStock();
+        return repository.findById(id)
+                .flatMap(product -> repository.updateStock(id, stock)
+                        .then(Mono.fromSupplier(() -> {
+                            product.setStock(stock);
+                            return product;
+                        })))
+                .block();
+    }
+
+    @Benchmark
+    public ProductEntity conditionalUpdate() {
+        Long id = nextId();
+        return repository.updateStock(id, nextStock())
+                .flatMap(updated -> updated > 0 ? repository.findById(id) : Mono.empty())
+                .block();
+    }
+
+    private Long nextId() {
+        Long id = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return "missing".equals(target) ? -id : id;
+    }
+
+    private static int nextStock() {
+        return ThreadLocalRandom.current().nextInt(1_000);
+    }
+
+    private static List<Long> seed(DatabaseClient client) {
+        Long franchiseId = client.sql("INSERT INTO franchises (name) VALUES (:name)")
+                .bind("name", "Benchmark Franchise " + System.nanoTime())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        Long branchId = client.sql("INSERT INTO branches (name, franchise_id) VALUES ('Benchmark Branch', :franchiseId)")
+                .bind("franchiseId", franchiseId)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        client.sql("""
+                    INSERT INTO products (name, stock, branch_id)
+                    WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < :count)
+                    SELECT CONCAT('Benchmark Product ', n), n % 1000, :branchId FROM seq
+                    """)
+                .bind("count", PRODUCTS)
+                .bind("branchId", branchId)
+                .then()
+                .block();
+        return client.sql("SELECT id FROM products WHERE branch_id = :branchId")
+                .bind("branchId", branchId)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+}
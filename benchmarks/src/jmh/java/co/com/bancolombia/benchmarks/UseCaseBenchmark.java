@@ -0,0 +1,171 @@
+package co.com.bancolombia.benchmarks;
+
+import co.com.bancolombia.benchmarks.fakes.InMemoryBranchRepository;
+import co.com.bancolombia.benchmarks.fakes.InMemoryFranchiseRepository;
+import co.com.bancolombia.benchmarks.fakes.InMemoryProductRepository;
+import co.com.bancolombia.benchmarks.fakes.InMemoryStore;
+import co.com.bancolombia.eventbus.StockChangeSinkBus;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductImportResult;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
+import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.getmaxstockproductsbyfranchise.GetMaxStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.importproductstobranch.ImportProductsToBranchUseCase;
+import co.com.bancolombia.usecase.removeproductfrombranch.RemoveProductFromBranchUseCase;
+import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
+import co.com.bancolombia.usecase.updateproductstock.UpdateProductStockUseCase;
+import co.com.bancolombia.usecase.updateproductstockbatch.UpdateProductStockBatchUseCase;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Use cases against in-memory gateways: measures the reactive pipelines themselves, not the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UseCaseBenchmark {
+
+    // Bulk paths report time per item so they line up with the single-product stock benchmarks
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10"})
+    private int branchesPerFranchise;
+
+    @Param({"50"})
+    private int productsPerBranch;
+
+    private final InMemoryStore store = new InMemoryStore();
+    private final InMemoryFranchiseRepository franchiseRepository = new InMemoryFranchiseRepository(store);
+    private final InMemoryBranchRepository branchRepository = new InMemoryBranchRepository(store);
+    private final InMemoryProductRepository productRepository = new InMemoryProductRepository(store);
+    // Real bus without listeners: the write paths pay only the subscriber check, as in production with no SSE clients
+    private final StockChangeNotifier stockChangeNotifier = new StockChangeNotifier(
+            new StockChangeSinkBus(256, 64, new SimpleMeterRegistry()), branchRepository, productRepository);
+
+    private final CreateFranchiseUseCase createFranchiseUseCase = new CreateFranchiseUseCase(franchiseRepository);
+    private final AddBranchToFranchiseUseCase addBranchToFranchiseUseCase =
+            new AddBranchToFranchiseUseCase(branchRepository, franchiseRepository);
+    private final AddProductToBranchUseCase addProductToBranchUseCase =
+            new AddProductToBranchUseCase(productRepository, branchRepository, stockChangeNotifier);
+    private final RemoveProductFromBranchUseCase removeProductFromBranchUseCase =
+            new RemoveProductFromBranchUseCase(productRepository, branchRepository, stockChangeNotifier);
+    private final UpdateProductStockUseCase updateProductStockUseCase =
+            new UpdateProductStockUseCase(productRepository, stockChangeNotifier);
+    private final AdjustProductStockUseCase adjustProductStockUseCase =
+            new AdjustProductStockUseCase(productRepository, stockChangeNotifier);
+    private final UpdateProductStockBatchUseCase updateProductStockBatchUseCase =
+            new UpdateProductStockBatchUseCase(productRepository, BATCH_SIZE);
+    private final ImportProductsToBranchUseCase importProductsToBranchUseCase =
+            new ImportProductsToBranchUseCase(productRepository, branchRepository, BATCH_SIZE);
+    private final UpdateProductNameUseCase updateProductNameUseCase = new UpdateProductNameUseCase(productRepository);
+    private final GetMaxStockProductsByFranchiseUseCase getMaxStockProductsByFranchiseUseCase =
+            new GetMaxStockProductsByFranchiseUseCase(franchiseRepository, branchRepository);
+
+    private Long franchiseId;
+    private Long branchId;
+    private Long productId;
+    private List<StockUpdate> stockUpdates;
+    private long sequence;
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        store.clear();
+        franchiseId = store.franchise("Benchmark Franchise").getId();
+        for (int b = 0; b < branchesPerFranchise; b++) {
+            Long seededBranchId = store.branch(franchiseId, "Branch " + b).getId();
+            for (int p = 0; p < productsPerBranch; p++) {
+                store.product(seededBranchId, "Product " + p, (p * 31 + b * 17) % 500);
+            }
+        }
+        branchId = store.branch(franchiseId, "Target Branch").getId();
+        stockUpdates = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Product product = store.product(branchId, "Target Product " + i, i);
+            stockUpdates.add(new StockUpdate(product.getId(), i + 1));
+        }
+        productId = stockUpdates.get(0).getProductId();
+        sequence = 0;
+    }
+
+    @Benchmark
+    public Franchise createFranchise() {
+        return createFranchiseUseCase.execute(Franchise.builder().name("Franchise " + sequence++).build()).block();
+    }
+
+    @Benchmark
+    public Branch addBranchToFranchise() {
+        return addBranchToFranchiseUseCase.execute(franchiseId, Branch.builder().name("Branch #" + sequence++).build())
+                .block();
+    }
+
+    @Benchmark
+    public Product addProductToBranch() {
+        return addProductToBranchUseCase.execute(branchId,
+                Product.builder().name("Product #" + sequence++).stock(10).build()).block();
+    }
+
+    @Benchmark
+    public Product addAndRemoveProduct() {
+        Product added = addProductToBranchUseCase.execute(branchId,
+                Product.builder().name("Transient #" + sequence++).stock(10).build()).block();
+        removeProductFromBranchUseCase.execute(branchId, added.getId()).block();
+        return added;
+    }
+
+    @Benchmark
+    public Product updateProductStock() {
+        return updateProductStockUseCase.execute(productId, (int) (sequence++ % 1000), null).block();
+    }
+
+    @Benchmark
+    public Product adjustProductStock() {
+        return adjustProductStockUseCase.execute(productId, (sequence++ & 1) == 0 ? 1 : -1).block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<StockUpdateResult> updateProductStockBatch() {
+        return updateProductStockBatchUseCase.execute(Flux.fromIterable(stockUpdates)).collectList().block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<ProductImportResult> importProductsToBranch() {
+        long run = sequence++;
+        return importProductsToBranchUseCase.execute(branchId, Flux.range(0, BATCH_SIZE)
+                        .map(i -> Product.builder().name("Imported " + run + "-" + i).stock(i).build()))
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public Product updateProductName() {
+        return updateProductNameUseCase.execute(productId, "Renamed " + sequence++, null).block();
+    }
+
+    @Benchmark
+    public FranchiseWithTopProducts getMaxStockProducts() {
+        return getMaxStockProductsByFranchiseUseCase.execute(franchiseId).block();
+    }
+}
@@ -0,0 +1,91 @@
+package co.com.bancolombia.benchmarks.fakes;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+
+public class InMemoryBranchRepository implements BranchRepository {
+
+    static final Comparator<Product> TOP_PRODUCT_ORDER = Comparator
+            .comparing(Product::getStock, Comparator.reverseOrder())
+            .thenComparing(Product::getId);
+
+    private final InMemoryStore store;
+
+    public InMemoryBranchRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return Mono.fromSupplier(() -> {
+            if (!store.branchNames.add(InMemoryStore.key(branch.getFranchiseId(), branch.getName()))) {
+                throw new BusinessException(TechnicalMessage.BRANCH_NAME_ALREADY_EXISTS);
+            }
+            Branch saved = branch.toBuilder().id(store.nextId()).version(0L).build();
+            store.branches.put(saved.getId(), saved);
+            return saved.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Mono<Branch> findById(Long branchId) {
+        return Mono.justOrEmpty(store.branches.get(branchId))
+                .map(branch -> branch.toBuilder().build());
+    }
+
+    @Override
+    public Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId) {
+        return Mono.justOrEmpty(store.branches.values().stream()
+                        .filter(branch -> branch.getFranchiseId().equals(franchiseId)
+                                && branch.getName().equalsIgnoreCase(name))
+                        .findFirst())
+                .map(branch -> branch.toBuilder().build());
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            Branch current = store.branches.get(branchId);
+            if (current == null || !InMemoryStore.versionMatches(current.getVersion(), expectedVersion)) {
+                return null;
+            }
+            InMemoryStore.rename(store.branchNames, current.getFranchiseId(), current.getName(), newName,
+                    TechnicalMessage.BRANCH_NAME_DUPLICATE);
+            Branch updated = current.toBuilder().name(newName).version(current.getVersion() + 1).build();
+            store.branches.put(branchId, updated);
+            return updated.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Flux<BranchWithTopProduct> findBranchesWithTopProductByFranchiseId(Long franchiseId) {
+        return Flux.fromStream(() -> store.branches.values().stream()
+                .filter(branch -> branch.getFranchiseId().equals(franchiseId))
+                .sorted(Comparator.comparing(Branch::getName))
+                .map(branch -> BranchWithTopProduct.builder()
+                        .branch(branch.toBuilder().build())
+                        .topProduct(store.products.values().stream()
+                                .filter(product -> product.getBranchId().equals(branch.getId()))
+                                .min(TOP_PRODUCT_ORDER)
+                                .map(product -> product.toBuilder().build())
+                                .orElse(null))
+                        .build()));
+    }
+
+    @Override
+    public Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit) {
+        return Flux.fromStream(() -> store.branches.values().stream()
+                .filter(branch -> branch.getFranchiseId().equals(franchiseId) && branch.getId() > afterId)
+                .sorted(Comparator.comparing(Branch::getId))
+                .limit(limit)
+                .map(branch -> branch.toBuilder().build()));
+    }
+}
@@ -0,0 +1,87 @@
+package co.com.bancolombia.benchmarks.fakes;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+public class InMemoryFranchiseRepository implements FranchiseRepository {
+
+    private final InMemoryStore store;
+
+    public InMemoryFranchiseRepository(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return Mono.fromSupplier(() -> {
+            if (!store.franchiseNames.add(InMemoryStore.key(0L, franchise.getName()))) {
+                throw new BusinessException(TechnicalMessage.FRANCHISE_NAME_ALREADY_EXISTS);
+            }
+            Franchise saved = franchise.toBuilder().id(store.nextId()).version(0L).build();
+            store.franchises.put(saved.getId(), saved);
+            return saved.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long franchiseId) {
+        return Mono.justOrEmpty(store.franchises.get(franchiseId))
+                .map(franchise -> franchise.toBuilder().build());
+    }
+
+    @Override
+    public Mono<Franchise> findCurrentById(Long franchiseId) {
+        return findById(franchiseId);
+    }
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        return Mono.justOrEmpty(store.franchises.values().stream()
+                        .filter(franchise -> franchise.getName().equalsIgnoreCase(name))
+                        .findFirst())
+                .map(franchise -> franchise.toBuilder().build());
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            Franchise current = store.franchises.get(franchiseId);
+            if (current == null || !InMemoryStore.versionMatches(current.getVersion(), expectedVersion)) {
+                return null;
+            }
+            InMemoryStore.rename(store.franchiseNames, 0L, current.getName(), newName,
+                    TechnicalMessage.FRANCHISE_NAME_DUPLICATE);
+            Franchise updated = current.toBuilder().name(newName).version(current.getVersion() + 1).build();
+            store.franchises.put(franchiseId, updated);
+            return updated.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Flux<Franchise> findPage(Long afterId, int limit) {
+        return Flux.fromStream(() -> store.franchises.values().stream()
+                .filter(franchise -> franchise.getId() > afterId)
+                .sorted(Comparator.comparing(Franchise::getId))
+                .limit(limit)
+                .map(franchise -> franchise.toBuilder().build()));
+    }
+
+    @Override
+    public Mono<String> findTopProductsVersion(Long franchiseId) {
+        return Mono.justOrEmpty(store.franchises.get(franchiseId))
+                .map(franchise -> franchise.getName().hashCode() + "-" + store.branches.values().stream()
+                        .filter(branch -> branch.getFranchiseId().equals(franchiseId))
+                        .mapToInt(branch -> Objects.hash(branch.getId(), branch.getName(), store.products.values().stream()
+                                .filter(product -> product.getBranchId().equals(branch.getId()))
+                                .mapToInt(product -> Objects.hash(product.getId(), product.getName(), product.getStock()))
+                                .sum()))
+                        .reduce(0, (left, right) -> left ^ right));
+    }
+}
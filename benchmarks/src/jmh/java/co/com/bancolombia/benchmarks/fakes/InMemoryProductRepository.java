@@ -0,0 +1,165 @@
+package co.com.bancolombia.benchmarks.fakes;
+
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class InMemoryProductRepository implements ProductRepository {
+
+    private final InMemoryStore store;
+    private final InMemoryBranchRepository branchRepository;
+
+    public InMemoryProductRepository(InMemoryStore store) {
+        this.store = store;
+        this.branchRepository = new InMemoryBranchRepository(store);
+    }
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return Mono.fromSupplier(() -> insert(product));
+    }
+
+    @Override
+    public Mono<Product> findById(Long productId) {
+        return Mono.justOrEmpty(store.products.get(productId))
+                .map(product -> product.toBuilder().build());
+    }
+
+    @Override
+    public Mono<Product> findByNameAndBranchId(String name, Long branchId) {
+        return Mono.justOrEmpty(store.products.values().stream()
+                        .filter(product -> product.getBranchId().equals(branchId)
+                                && product.getName().equalsIgnoreCase(name))
+                        .findFirst())
+                .map(product -> product.toBuilder().build());
+    }
+
+    @Override
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        Set<String> wanted = names.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return Flux.fromStream(() -> store.products.values().stream()
+                .filter(product -> product.getBranchId().equals(branchId))
+                .map(Product::getName)
+                .filter(name -> wanted.contains(name.toLowerCase(Locale.ROOT))));
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return Flux.fromIterable(products)
+                .map(product -> insert(product.toBuilder().branchId(branchId).build()));
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return Mono.fromSupplier(() -> {
+            Product current = store.products.get(productId);
+            if (current == null || !current.getBranchId().equals(branchId) || !store.products.remove(productId, current)) {
+                return false;
+            }
+            store.productNames.remove(InMemoryStore.key(branchId, current.getName()));
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<Void> updateStock(Long productId, Integer newStock) {
+        return updateStockAndGet(productId, newStock, null).then();
+    }
+
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            Product current = store.products.get(productId);
+            if (current == null || !InMemoryStore.versionMatches(current.getVersion(), expectedVersion)) {
+                return null;
+            }
+            Product updated = current.toBuilder().stock(newStock).version(current.getVersion() + 1).build();
+            store.products.put(productId, updated);
+            return updated.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return Mono.fromSupplier(() -> {
+            Product current = store.products.get(productId);
+            if (current == null || current.getStock() + delta < 0) {
+                return null;
+            }
+            Product adjusted = current.toBuilder().stock(current.getStock() + delta).version(current.getVersion() + 1).build();
+            store.products.put(productId, adjusted);
+            return adjusted.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return Flux.fromIterable(updates)
+                .map(update -> store.products.computeIfPresent(update.getProductId(),
+                        (id, product) -> product.toBuilder().stock(update.getStock()).version(product.getVersion() + 1).build()) != null
+                        ? StockUpdateResult.updated(update)
+                        : StockUpdateResult.rejected(update, TechnicalMessage.PRODUCT_NOT_FOUND));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            Product current = store.products.get(productId);
+            if (current == null || !InMemoryStore.versionMatches(current.getVersion(), expectedVersion)) {
+                return null;
+            }
+            InMemoryStore.rename(store.productNames, current.getBranchId(), current.getName(), newName,
+                    TechnicalMessage.PRODUCT_NAME_DUPLICATE);
+            Product updated = current.toBuilder().name(newName).version(current.getVersion() + 1).build();
+            store.products.put(productId, updated);
+            return updated.toBuilder().build();
+        });
+    }
+
+    @Override
+    public Flux<Product> findMaxStockByFranchise(Long franchiseId) {
+        return branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId)
+                .filter(branch -> branch.getTopProduct() != null)
+                .map(BranchWithTopProduct::getTopProduct);
+    }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return Flux.fromStream(() -> store.products.values().stream()
+                .filter(product -> product.getBranchId().equals(branchId) && product.getId() > afterId)
+                .sorted(Comparator.comparing(Product::getId))
+                .limit(limit)
+                .map(product -> product.toBuilder().build()));
+    }
+
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return Mono.justOrEmpty(store.products.values().stream()
+                        .filter(product -> product.getBranchId().equals(branchId))
+                        .min(InMemoryBranchRepository.TOP_PRODUCT_ORDER))
+                .map(product -> product.toBuilder().build());
+    }
+
+    private Product insert(Product product) {
+        if (!store.productNames.add(InMemoryStore.key(product.getBranchId(), product.getName()))) {
+            throw new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE);
+        }
+        Product saved = product.toBuilder().id(store.nextId()).version(0L).build();
+        store.products.put(saved.getId(), saved);
+        return saved.toBuilder().build();
+    }
+}
@@ -0,0 +1,80 @@
+package co.com.bancolombia.benchmarks.fakes;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.product.Product;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared tables for the in-memory gateways; values are copied on the way in and out like rows mapped from R2DBC
+public class InMemoryStore {
+
+    final Map<Long, Franchise> franchises = new ConcurrentHashMap<>();
+    final Map<Long, Branch> branches = new ConcurrentHashMap<>();
+    final Map<Long, Product> products = new ConcurrentHashMap<>();
+    // Stand-ins for the unique keys, so duplicate checks stay O(1) as the tables grow during a run
+    final Set<String> franchiseNames = ConcurrentHashMap.newKeySet();
+    final Set<String> branchNames = ConcurrentHashMap.newKeySet();
+    final Set<String> productNames = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    static String key(Long parentId, String name) {
+        return parentId + ":" + name.toLowerCase(Locale.ROOT);
+    }
+
+    // Same rule as the conditional UPDATE queries: no expected version always matches
+    static boolean versionMatches(Long current, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(current);
+    }
+
+    // Renames the unique-key entry, failing like the index would when the new name is taken by another row
+    static void rename(Set<String> names, Long parentId, String oldName, String newName, TechnicalMessage duplicate) {
+        if (oldName.equalsIgnoreCase(newName)) {
+            return;
+        }
+        if (!names.add(key(parentId, newName))) {
+            throw new BusinessException(duplicate);
+        }
+        names.remove(key(parentId, oldName));
+    }
+
+    public void clear() {
+        franchises.clear();
+        branches.clear();
+        products.clear();
+        franchiseNames.clear();
+        branchNames.clear();
+        productNames.clear();
+    }
+
+    public Franchise franchise(String name) {
+        Franchise franchise = Franchise.builder().id(nextId()).name(name).version(0L).build();
+        franchises.put(franchise.getId(), franchise);
+        franchiseNames.add(key(0L, name));
+        return franchise;
+    }
+
+    public Branch branch(Long franchiseId, String name) {
+        Branch branch = Branch.builder().id(nextId()).name(name).franchiseId(franchiseId).version(0L).build();
+        branches.put(branch.getId(), branch);
+        branchNames.add(key(franchiseId, name));
+        return branch;
+    }
+
+    public Product product(Long branchId, String name, int stock) {
+        Product product = Product.builder().id(nextId()).name(name).stock(stock).branchId(branchId).version(0L).build();
+        products.put(product.getId(), product);
+        productNames.add(key(branchId, name));
+        return product;
+    }
+}
@@ -16,4 +16,5 @@ public class Branch {
     private String name;
     private Long franchiseId;
     private List<Product> productList;
+    private Long version;
 }
@@ -13,7 +13,10 @@ public interface BranchRepository {
 
     Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId);
 
-    Mono<Void> updateName(Long branchId, String newName);
+    // Compare-and-set on the row version when expectedVersion is given; emits the updated row, or nothing when no row matched
+    Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion);
 
     Flux<BranchWithTopProduct> findBranchesWithTopProductByFranchiseId(Long franchiseId);
+
+    Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit);
 }
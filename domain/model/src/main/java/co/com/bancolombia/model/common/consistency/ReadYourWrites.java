@@ -0,0 +1,46 @@
+package co.com.bancolombia.model.common.consistency;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Scope carried in the Reactor context of one request: once a gateway writes inside it, later reads of the
+// same request must observe that write, so they stay off read replicas that may not have applied it yet
+public final class ReadYourWrites {
+
+    private static final Class<ReadYourWrites> KEY = ReadYourWrites.class;
+
+    private final boolean primary;
+    private final AtomicBoolean written = new AtomicBoolean();
+
+    private ReadYourWrites(boolean primary) {
+        this.primary = primary;
+    }
+
+    public static Context open(Context context) {
+        return open(context, false);
+    }
+
+    // For a request that writes: its reads may guard the write, and the rows they check may have been created
+    // moments ago, possibly through another instance, so a replica that has not applied them must not answer
+    public static Context openForWrites(Context context) {
+        return open(context, true);
+    }
+
+    private static Context open(Context context, boolean primary) {
+        return context.hasKey(KEY) ? context : context.put(KEY, new ReadYourWrites(primary));
+    }
+
+    public static void recordWrite(ContextView context) {
+        context.<ReadYourWrites>getOrEmpty(KEY).ifPresent(scope -> scope.written.set(true));
+    }
+
+    public static boolean hasWritten(ContextView context) {
+        return context.<ReadYourWrites>getOrEmpty(KEY).map(scope -> scope.written.get()).orElse(false);
+    }
+
+    public static boolean requiresPrimary(ContextView context) {
+        return context.<ReadYourWrites>getOrEmpty(KEY).map(scope -> scope.primary || scope.written.get()).orElse(false);
+    }
+}
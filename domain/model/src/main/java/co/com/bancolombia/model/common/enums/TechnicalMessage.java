@@ -26,6 +26,8 @@ public enum TechnicalMessage {
     PRODUCT_NAME_EMPTY("400", "Product name cannot be empty", ""),
     PRODUCT_NAME_DUPLICATE("409", "A product with this name already exists in the branch", ""),
     PRODUCT_STOCK_INVALID("400", "Product stock must be greater than or equal to zero", ""),
+    PRODUCT_STOCK_INSUFFICIENT("409", "The stock adjustment would leave the product with negative stock", ""),
+    PRODUCT_STOCK_WRITES_PENDING("503", "Earlier stock writes of the product are still being saved, please retry", ""),
     PRODUCT_CREATION_ERROR("500", "Error adding product to branch", ""),
     PRODUCT_REMOVAL_ERROR("500", "Error removing product from branch", ""),
 
@@ -33,6 +35,12 @@ public enum TechnicalMessage {
     INVALID_ID("400", "The provided identifier is invalid", ""),
     REQUIRED_FIELD_MISSING("400", "Required fields are missing in the request", ""),
     VALIDATION_ERROR("400", "Validation error", ""),
+    INVALID_PAGE_REQUEST("400", "The pagination parameters are invalid", ""),
+    INVALID_VERSION("400", "The If-Match header must hold a single version ETag", ""),
+    VERSION_CONFLICT("412", "The resource was modified since the version in If-Match", ""),
+    INVALID_IDEMPOTENCY_KEY("400", "The Idempotency-Key header must have between 1 and 255 characters", ""),
+    IDEMPOTENCY_KEY_REUSED("422", "The Idempotency-Key was already used for a different request", ""),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("409", "A request with this Idempotency-Key is still in progress", ""),
 
     // Technical errors
     INTERNAL_ERROR("500", "An internal error occurred, please try again later", ""),
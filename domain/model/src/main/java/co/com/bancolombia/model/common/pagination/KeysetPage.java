@@ -0,0 +1,26 @@
+package co.com.bancolombia.model.common.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    // Id of the last item when more rows exist, null on the last page
+    private final Long nextCursor;
+
+    public static <T> KeysetPage<T> of(List<T> rows, KeysetPageRequest request, Function<T, Long> idOf) {
+        if (rows.size() <= request.getLimit()) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, request.getLimit());
+        return new KeysetPage<>(items, idOf.apply(items.get(items.size() - 1)));
+    }
+}
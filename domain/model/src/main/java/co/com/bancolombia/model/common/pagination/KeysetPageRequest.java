@@ -0,0 +1,32 @@
+package co.com.bancolombia.model.common.pagination;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetPageRequest {
+
+    public static final long FIRST_CURSOR = 0L;
+
+    private final long cursor;
+    private final int limit;
+
+    public static KeysetPageRequest of(Long cursor, Integer limit, int defaultLimit, int maxLimit) {
+        if (cursor != null && cursor < FIRST_CURSOR) {
+            throw new BusinessException(TechnicalMessage.INVALID_PAGE_REQUEST, "cursor must not be negative");
+        }
+        if (limit != null && (limit < 1 || limit > maxLimit)) {
+            throw new BusinessException(TechnicalMessage.INVALID_PAGE_REQUEST, "limit must be between 1 and " + maxLimit);
+        }
+        return new KeysetPageRequest(cursor == null ? FIRST_CURSOR : cursor, limit == null ? defaultLimit : limit);
+    }
+
+    // One row past the page tells whether another page exists without a COUNT query
+    public int fetchSize() {
+        return limit + 1;
+    }
+}
@@ -18,5 +18,6 @@ public class Franchise {
     private Long id;
     private String name;
     private List<Branch> branchList;
+    private Long version;
 
 }
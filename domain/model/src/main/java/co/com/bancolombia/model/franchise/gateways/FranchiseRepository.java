@@ -1,6 +1,7 @@
 package co.com.bancolombia.model.franchise.gateways;
 
 import co.com.bancolombia.model.franchise.Franchise;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface FranchiseRepository {
@@ -9,7 +10,16 @@ public interface FranchiseRepository {
 
     Mono<Franchise> findById(Long franchiseId);
 
+    // Same row as findById, but never served from a cache; for responses labelled with a version read from the store
+    Mono<Franchise> findCurrentById(Long franchiseId);
+
     Mono<Franchise> findByName(String name);
 
-    Mono<Void> updateName(Long franchiseId, String newName);
+    // Compare-and-set on the row version when expectedVersion is given; emits the updated row, or nothing when no row matched
+    Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion);
+
+    Flux<Franchise> findPage(Long afterId, int limit);
+
+    // Fingerprint of the franchise and the top product of each branch; empty when the franchise does not exist
+    Mono<String> findTopProductsVersion(Long franchiseId);
 }
@@ -0,0 +1,19 @@
+package co.com.bancolombia.model.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class IdempotentResponse {
+
+    // Hash of the request the response was produced for; a retry must match it to be replayed
+    private final String fingerprint;
+    private final int status;
+    // Serialized JSON body, replayed as-is
+    private final String body;
+    // Reserved by an attempt that is still running, so it has no status or body yet
+    private final boolean pending;
+}
@@ -0,0 +1,20 @@
+package co.com.bancolombia.model.idempotency.gateways;
+
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import reactor.core.publisher.Mono;
+
+public interface IdempotencyRepository {
+
+    // Empty when the key was never stored or its retention expired; pending while the attempt holding it runs
+    Mono<IdempotentResponse> find(String key);
+
+    // Claims the key for a new attempt with a pending entry. Emits false when another attempt or a stored response
+    // already holds it
+    Mono<Boolean> reserve(String key, String fingerprint);
+
+    // Replaces the pending entry; keeps the response that was stored first while it is retained
+    Mono<Void> save(String key, IdempotentResponse response);
+
+    // Drops the pending entry of an attempt that failed, so the key can be retried
+    Mono<Void> release(String key);
+}
@@ -16,5 +16,6 @@ public class Product {
     private String name;
     private Integer stock;
     private Long branchId;
+    private Long version;
 
 }
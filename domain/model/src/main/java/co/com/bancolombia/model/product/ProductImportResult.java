@@ -0,0 +1,41 @@
+package co.com.bancolombia.model.product;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductImportResult {
+
+    private long line;
+    private String name;
+    private Long productId;
+    private boolean imported;
+    private String code;
+    private String message;
+
+    public static ProductImportResult imported(long line, Product product) {
+        return ProductImportResult.builder()
+                .line(line)
+                .name(product.getName())
+                .productId(product.getId())
+                .imported(true)
+                .build();
+    }
+
+    public static ProductImportResult rejected(long line, Product product, TechnicalMessage reason) {
+        return ProductImportResult.builder()
+                .line(line)
+                .name(product.getName())
+                .imported(false)
+                .code(reason.getCode())
+                .message(reason.getMessage())
+                .build();
+    }
+}
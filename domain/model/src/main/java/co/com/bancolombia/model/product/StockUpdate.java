@@ -0,0 +1,18 @@
+package co.com.bancolombia.model.product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class StockUpdate {
+
+    private Long productId;
+    private Integer stock;
+
+}
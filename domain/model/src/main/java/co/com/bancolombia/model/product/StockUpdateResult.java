@@ -0,0 +1,39 @@
+package co.com.bancolombia.model.product;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class StockUpdateResult {
+
+    private Long productId;
+    private Integer stock;
+    private boolean updated;
+    private String code;
+    private String message;
+
+    public static StockUpdateResult updated(StockUpdate update) {
+        return StockUpdateResult.builder()
+                .productId(update.getProductId())
+                .stock(update.getStock())
+                .updated(true)
+                .build();
+    }
+
+    public static StockUpdateResult rejected(StockUpdate update, TechnicalMessage reason) {
+        return StockUpdateResult.builder()
+                .productId(update.getProductId())
+                .stock(update.getStock())
+                .updated(false)
+                .code(reason.getCode())
+                .message(reason.getMessage())
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package co.com.bancolombia.model.product.gateways;
 
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface ProductRepository {
 
     Mono<Product> save(Product product);
@@ -12,11 +16,27 @@ public interface ProductRepository {
 
     Mono<Product> findByNameAndBranchId(String name, Long branchId);
 
-    Mono<Void> deleteById(Long productId);
+    Flux<String> findExistingNames(Long branchId, List<String> names);
+
+    Flux<Product> insertAll(Long branchId, List<Product> products);
+
+    Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId);
 
     Mono<Void> updateStock(Long productId, Integer newStock);
 
-    Mono<Void> updateName(Long productId, String newName);
+    // Compare-and-set on the row version when expectedVersion is given; emits the updated row, or nothing when no row matched
+    Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion);
+
+    Mono<Product> adjustStock(Long productId, Integer delta);
+
+    Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates);
+
+    // Same contract as updateStockAndGet
+    Mono<Product> updateName(Long productId, String newName, Long expectedVersion);
 
     Flux<Product> findMaxStockByFranchise(Long franchiseId);
+
+    Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit);
+
+    Mono<Product> findTopByBranchId(Long branchId);
 }
@@ -0,0 +1,22 @@
+package co.com.bancolombia.model.stockchange;
+
+import co.com.bancolombia.model.product.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class StockChange {
+
+    private final StockChangeType type;
+    private final Long franchiseId;
+    private final Long branchId;
+    private final Long productId;
+    // Null for PRODUCT_REMOVED
+    private final String productName;
+    private final Integer stock;
+    // Highest-stock product of the branch after the change, null when the branch has no products left
+    private final Product topProduct;
+}
@@ -0,0 +1,7 @@
+package co.com.bancolombia.model.stockchange;
+
+public enum StockChangeType {
+    PRODUCT_ADDED,
+    STOCK_UPDATED,
+    PRODUCT_REMOVED
+}
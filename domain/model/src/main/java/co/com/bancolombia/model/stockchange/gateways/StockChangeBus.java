@@ -0,0 +1,17 @@
+package co.com.bancolombia.model.stockchange.gateways;
+
+import co.com.bancolombia.model.stockchange.StockChange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StockChangeBus {
+
+    // Lets publishers skip building events nobody would receive
+    boolean hasSubscribers();
+
+    // Takes the event still to be built and builds it off the caller's path: the caller neither waits for the
+    // lookups behind it nor sees them fail. Events of one product reach subscribers in the order they were published
+    void publish(Long productId, Mono<StockChange> change);
+
+    Flux<StockChange> listen();
+}
@@ -14,19 +14,13 @@ public class AddBranchToFranchiseUseCase {
     private final BranchRepository branchRepository;
     private final FranchiseRepository franchiseRepository;
 
+    // Duplicate names are rejected by the (franchise_id, name) unique key and mapped to BRANCH_NAME_ALREADY_EXISTS
     public Mono<Branch> execute(Long franchiseId, Branch branch) {
         return franchiseRepository.findById(franchiseId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND))))
                 .flatMap(franchise -> {
-                            return branchRepository.findByNameAndFranchiseId(branch.getName(), franchiseId)
-                                    .flatMap(existing ->
-                                            Mono.<Branch>error(new BusinessException(TechnicalMessage.BRANCH_NAME_ALREADY_EXISTS))
-                                    )
-                                    .switchIfEmpty(Mono.defer(() -> {
-                                        branch.setFranchiseId(franchiseId);
-                                        return branchRepository.save(branch);
-                                    }));
-                        }
-                );
+                    branch.setFranchiseId(franchiseId);
+                    return branchRepository.save(branch);
+                });
     }
 }
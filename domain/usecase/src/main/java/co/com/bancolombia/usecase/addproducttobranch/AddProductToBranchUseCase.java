@@ -5,6 +5,8 @@ import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
@@ -13,18 +15,17 @@ public class AddProductToBranchUseCase {
 
     private final ProductRepository productRepository;
     private final BranchRepository branchRepository;
+    private final StockChangeNotifier stockChangeNotifier;
 
+    // Duplicate names are rejected by the (branch_id, name) unique key and mapped to PRODUCT_NAME_DUPLICATE
     public Mono<Product> execute(Long branchId, Product product) {
         return branchRepository.findById(branchId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
-                .flatMap(branch -> 
-                    productRepository.findByNameAndBranchId(product.getName(), branchId)
-                        .flatMap(existing -> 
-                            Mono.<Product>error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE)))
-                        .switchIfEmpty(Mono.defer(() -> {
-                            product.setBranchId(branchId);
-                            return productRepository.save(product);
-                        }))
-                );
+                .flatMap(branch -> {
+                    product.setBranchId(branchId);
+                    return productRepository.save(product);
+                })
+                .flatMap(saved -> stockChangeNotifier.productChanged(StockChangeType.PRODUCT_ADDED, saved)
+                        .thenReturn(saved));
     }
 }
@@ -0,0 +1,32 @@
+package co.com.bancolombia.usecase.adjustproductstock;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class AdjustProductStockUseCase {
+
+    private final ProductRepository productRepository;
+    private final StockChangeNotifier stockChangeNotifier;
+
+    public Mono<Product> execute(Long productId, Integer delta) {
+        return Mono.justOrEmpty(delta)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING))))
+                .flatMap(validDelta -> productRepository.adjustStock(productId, validDelta))
+                .flatMap(product -> stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, product)
+                        .thenReturn(product))
+                .switchIfEmpty(Mono.defer(() -> diagnoseRejectedAdjustment(productId)));
+    }
+
+    private Mono<Product> diagnoseRejectedAdjustment(Long productId) {
+        return productRepository.findById(productId)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND))))
+                .flatMap(product -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_STOCK_INSUFFICIENT)));
+    }
+}
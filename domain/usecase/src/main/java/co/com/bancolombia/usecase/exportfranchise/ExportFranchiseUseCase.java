@@ -0,0 +1,58 @@
+package co.com.bancolombia.usecase.exportfranchise;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.common.pagination.KeysetPageRequest;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Emits the franchise one product page at a time: each branch becomes one or more copies of itself whose productList
+// holds the next keyset page, so at most one branch and one page are held in memory however large the branch is
+@RequiredArgsConstructor
+public class ExportFranchiseUseCase {
+
+    private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+    private final int pageSize;
+
+    // pageSize is optional and capped at the configured one; non-positive or larger values are INVALID_PAGE_REQUEST
+    public Flux<Branch> execute(Long franchiseId, Integer pageSize) {
+        return Mono.fromCallable(() -> KeysetPageRequest.of(null, pageSize, this.pageSize, this.pageSize).getLimit())
+                .flatMapMany(limit -> franchiseRepository.findById(franchiseId)
+                        .switchIfEmpty(
+                                Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND)))
+                        )
+                        .flatMapMany(franchise -> pages(
+                                afterId -> branchRepository.findPageByFranchiseId(franchiseId, afterId, limit),
+                                Branch::getId, limit))
+                        .concatMapIterable(branches -> branches, 1)
+                        .concatMap(branch -> productPages(branch, limit), 1));
+    }
+
+    // A branch without products still yields one line, with an empty productList
+    private Flux<Branch> productPages(Branch branch, int limit) {
+        return pages(afterId -> productRepository.findPageByBranchId(branch.getId(), afterId, limit), Product::getId, limit)
+                .index()
+                .filter(page -> page.getT1() == 0 || !page.getT2().isEmpty())
+                .map(page -> branch.toBuilder().productList(page.getT2()).build());
+    }
+
+    // Next page starts after the last id of the previous one; a short or empty page means there is nothing left
+    private <T> Flux<List<T>> pages(Function<Long, Flux<T>> page, Function<T, Long> idOf, int limit) {
+        return page.apply(KeysetPageRequest.FIRST_CURSOR)
+                .collectList()
+                .expand(rows -> rows.isEmpty() || rows.size() < limit
+                        ? Mono.empty()
+                        : page.apply(idOf.apply(rows.get(rows.size() - 1))).collectList());
+    }
+}
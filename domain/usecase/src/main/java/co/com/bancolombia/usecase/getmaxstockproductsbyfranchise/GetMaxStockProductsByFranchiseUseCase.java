@@ -1,11 +1,14 @@
 package co.com.bancolombia.usecase.getmaxstockproductsbyfranchise;
 
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 
@@ -16,10 +19,7 @@ public class GetMaxStockProductsByFranchiseUseCase {
     private final BranchRepository branchRepository;
 
     public Mono<FranchiseWithTopProducts> execute(Long franchiseId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(
-                        Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND)))
-                )
+        return findFranchise(franchiseId)
                 .flatMap(franchise ->
                         branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId)
                                 .collectList()
@@ -30,4 +30,26 @@ public class GetMaxStockProductsByFranchiseUseCase {
                 );
     }
 
-}
\ No newline at end of file
+    // Emits branches as rows arrive instead of collecting them, so memory does not grow with the franchise size
+    public Flux<BranchWithTopProduct> stream(Long franchiseId) {
+        return findFranchise(franchiseId)
+                .flatMapMany(franchise -> branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId));
+    }
+
+    // Cheap enough to run on every request, so unchanged franchises can answer 304 without the full read
+    public Mono<String> version(Long franchiseId) {
+        return franchiseRepository.findTopProductsVersion(franchiseId)
+                .switchIfEmpty(
+                        Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND)))
+                );
+    }
+
+    // Not the cached findById: the body has to be at least as new as the version that labels it
+    private Mono<Franchise> findFranchise(Long franchiseId) {
+        return franchiseRepository.findCurrentById(franchiseId)
+                .switchIfEmpty(
+                        Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND)))
+                );
+    }
+
+}
@@ -0,0 +1,155 @@
+package co.com.bancolombia.usecase.importproductstobranch;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductImportResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ImportProductsToBranchUseCase {
+
+    private final ProductRepository productRepository;
+    private final BranchRepository branchRepository;
+    private final int chunkSize;
+
+    public Flux<ProductImportResult> execute(Long branchId, Flux<Product> products) {
+        return branchRepository.findById(branchId)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
+                .flatMapMany(branch -> Flux.defer(() -> {
+                    Set<String> importedNames = new HashSet<>();
+                    // concatMap keeps a single chunk in flight, so the upload is read only as fast as rows are inserted
+                    return products
+                            .index((index, product) -> new ImportLine(index + 1, product))
+                            .buffer(chunkSize)
+                            .concatMap(chunk -> importChunk(branchId, chunk, importedNames));
+                }));
+    }
+
+    private Flux<ProductImportResult> importChunk(Long branchId, List<ImportLine> chunk, Set<String> importedNames) {
+        List<String> candidateNames = chunk.stream()
+                .map(ImportLine::product)
+                .filter(product -> validate(product).isEmpty())
+                .map(Product::getName)
+                .distinct()
+                .toList();
+
+        Mono<Set<String>> existingNames = candidateNames.isEmpty()
+                ? Mono.just(Set.of())
+                : productRepository.findExistingNames(branchId, candidateNames)
+                        .map(ImportProductsToBranchUseCase::nameKey)
+                        .collect(Collectors.toSet());
+
+        return existingNames.flatMapMany(existing -> {
+            List<Optional<TechnicalMessage>> rejections = new ArrayList<>(chunk.size());
+            List<Product> toInsert = new ArrayList<>();
+            for (ImportLine line : chunk) {
+                Optional<TechnicalMessage> rejection = validate(line.product())
+                        .or(() -> isDuplicate(line.product(), existing, importedNames)
+                                ? Optional.of(TechnicalMessage.PRODUCT_NAME_DUPLICATE)
+                                : Optional.empty());
+                rejections.add(rejection);
+                if (rejection.isEmpty()) {
+                    toInsert.add(line.product().toBuilder().id(null).branchId(branchId).build());
+                }
+            }
+            return insert(branchId, toInsert)
+                    .flatMapIterable(inserted -> mergeInLineOrder(chunk, rejections, inserted));
+        });
+    }
+
+    private Mono<List<InsertOutcome>> insert(Long branchId, List<Product> toInsert) {
+        if (toInsert.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return productRepository.insertAll(branchId, toInsert)
+                .map(InsertOutcome::inserted)
+                .collectList()
+                .filter(inserted -> inserted.size() == toInsert.size())
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_CREATION_ERROR))))
+                .onErrorResume(ImportProductsToBranchUseCase::isDuplicateName, error -> insertOneByOne(toInsert));
+    }
+
+    // A name taken by a concurrent writer after the existence check rolls back the whole chunk; retrying row by row
+    // rejects only the lines that clash and keeps the rest of the import going
+    private Mono<List<InsertOutcome>> insertOneByOne(List<Product> toInsert) {
+        return Flux.fromIterable(toInsert)
+                .concatMap(product -> productRepository.save(product)
+                        .map(InsertOutcome::inserted)
+                        .onErrorResume(ImportProductsToBranchUseCase::isDuplicateName,
+                                error -> Mono.just(InsertOutcome.rejected(TechnicalMessage.PRODUCT_NAME_DUPLICATE))))
+                .collectList();
+    }
+
+    private List<ProductImportResult> mergeInLineOrder(List<ImportLine> chunk,
+                                                       List<Optional<TechnicalMessage>> rejections,
+                                                       List<InsertOutcome> inserted) {
+        Iterator<InsertOutcome> outcomes = inserted.iterator();
+        List<ProductImportResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportLine line = chunk.get(i);
+            Optional<TechnicalMessage> rejection = rejections.get(i);
+            if (rejection.isPresent()) {
+                results.add(ProductImportResult.rejected(line.number(), line.product(), rejection.get()));
+                continue;
+            }
+            InsertOutcome outcome = outcomes.next();
+            results.add(outcome.rejection() != null
+                    ? ProductImportResult.rejected(line.number(), line.product(), outcome.rejection())
+                    : ProductImportResult.imported(line.number(), outcome.product()));
+        }
+        return results;
+    }
+
+    private static boolean isDuplicateName(Throwable error) {
+        return error instanceof BusinessException businessException
+                && businessException.getTechnicalMessage() == TechnicalMessage.PRODUCT_NAME_DUPLICATE;
+    }
+
+    private boolean isDuplicate(Product product, Set<String> existingNames, Set<String> importedNames) {
+        String key = nameKey(product.getName());
+        return existingNames.contains(key) || !importedNames.add(key);
+    }
+
+    private Optional<TechnicalMessage> validate(Product product) {
+        if (product.getName() == null || product.getName().isBlank()) {
+            return Optional.of(TechnicalMessage.PRODUCT_NAME_EMPTY);
+        }
+        if (product.getStock() == null || product.getStock() < 0) {
+            return Optional.of(TechnicalMessage.PRODUCT_STOCK_INVALID);
+        }
+        return Optional.empty();
+    }
+
+    // products.name uses a case-insensitive collation, so duplicates are detected the same way
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportLine(long number, Product product) {
+    }
+
+    private record InsertOutcome(Product product, TechnicalMessage rejection) {
+
+        static InsertOutcome inserted(Product product) {
+            return new InsertOutcome(product, null);
+        }
+
+        static InsertOutcome rejected(TechnicalMessage reason) {
+            return new InsertOutcome(null, reason);
+        }
+    }
+}
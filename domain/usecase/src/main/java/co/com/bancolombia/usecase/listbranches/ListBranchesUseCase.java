@@ -0,0 +1,30 @@
+package co.com.bancolombia.usecase.listbranches;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import co.com.bancolombia.model.common.pagination.KeysetPageRequest;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ListBranchesUseCase {
+
+    private final BranchRepository branchRepository;
+    private final FranchiseRepository franchiseRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public Mono<KeysetPage<Branch>> execute(Long franchiseId, Long cursor, Integer limit) {
+        return Mono.fromCallable(() -> KeysetPageRequest.of(cursor, limit, defaultLimit, maxLimit))
+                .flatMap(page -> franchiseRepository.findById(franchiseId)
+                        .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND))))
+                        .flatMap(franchise -> branchRepository
+                                .findPageByFranchiseId(franchiseId, page.getCursor(), page.fetchSize())
+                                .collectList())
+                        .map(rows -> KeysetPage.of(rows, page, Branch::getId)));
+    }
+}
@@ -0,0 +1,23 @@
+package co.com.bancolombia.usecase.listfranchises;
+
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import co.com.bancolombia.model.common.pagination.KeysetPageRequest;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ListFranchisesUseCase {
+
+    private final FranchiseRepository franchiseRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public Mono<KeysetPage<Franchise>> execute(Long cursor, Integer limit) {
+        return Mono.fromCallable(() -> KeysetPageRequest.of(cursor, limit, defaultLimit, maxLimit))
+                .flatMap(page -> franchiseRepository.findPage(page.getCursor(), page.fetchSize())
+                        .collectList()
+                        .map(rows -> KeysetPage.of(rows, page, Franchise::getId)));
+    }
+}
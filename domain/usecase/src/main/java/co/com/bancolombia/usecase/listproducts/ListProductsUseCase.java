@@ -0,0 +1,30 @@
+package co.com.bancolombia.usecase.listproducts;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import co.com.bancolombia.model.common.pagination.KeysetPageRequest;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ListProductsUseCase {
+
+    private final ProductRepository productRepository;
+    private final BranchRepository branchRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public Mono<KeysetPage<Product>> execute(Long branchId, Long cursor, Integer limit) {
+        return Mono.fromCallable(() -> KeysetPageRequest.of(cursor, limit, defaultLimit, maxLimit))
+                .flatMap(page -> branchRepository.findById(branchId)
+                        .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
+                        .flatMap(branch -> productRepository
+                                .findPageByBranchId(branchId, page.getCursor(), page.fetchSize())
+                                .collectList())
+                        .map(rows -> KeysetPage.of(rows, page, Product::getId)));
+    }
+}
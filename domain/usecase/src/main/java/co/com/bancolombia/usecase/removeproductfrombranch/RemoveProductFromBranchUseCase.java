@@ -4,6 +4,7 @@ import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
@@ -12,19 +13,21 @@ public class RemoveProductFromBranchUseCase {
 
     private final ProductRepository productRepository;
     private final BranchRepository branchRepository;
+    private final StockChangeNotifier stockChangeNotifier;
 
     public Mono<Void> execute(Long branchId, Long productId) {
+        return productRepository.deleteByIdAndBranchId(productId, branchId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.defer(() -> explainMissedDelete(branchId, productId)))
+                .then(Mono.defer(() -> stockChangeNotifier.productRemoved(branchId, productId)));
+    }
+
+    // Only reached when the scoped delete matched nothing, so the happy path stays a single statement
+    private Mono<Boolean> explainMissedDelete(Long branchId, Long productId) {
         return branchRepository.findById(branchId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
-                .flatMap(branch -> 
-                    productRepository.findById(productId)
-                        .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND))))
-                        .flatMap(product -> 
-                            Mono.just(product.getBranchId())
-                                .filter(productBranchId -> productBranchId.equals(branchId))
-                                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_REMOVAL_ERROR))))
-                                .flatMap(validBranchId -> productRepository.deleteById(productId))
-                        )
-                );
+                .flatMap(branch -> productRepository.findById(productId))
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND))))
+                .flatMap(product -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_REMOVAL_ERROR)));
     }
 }
@@ -12,23 +12,19 @@ public class UpdateBranchNameUseCase {
 
     private final BranchRepository branchRepository;
 
-    public Mono<Branch> execute(Long branchId, String newName) {
+    // The (franchise_id, name) unique key rejects duplicates, so no lookup runs before the UPDATE
+    public Mono<Branch> execute(Long branchId, String newName, Long expectedVersion) {
+        return branchRepository.updateName(branchId, newName.trim(), expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> notUpdated(branchId, expectedVersion)));
+    }
+
+    private Mono<Branch> notUpdated(Long branchId, Long expectedVersion) {
+        Mono<Branch> notFound = Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND));
+        if (expectedVersion == null) {
+            return notFound;
+        }
         return branchRepository.findById(branchId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
-                .flatMap(branch ->
-                    branchRepository.findByNameAndFranchiseId(newName.trim(), branch.getFranchiseId())
-                        .flatMap(existing -> {
-                            if (existing.getId().equals(branchId)) {
-                                return branchRepository.updateName(branchId, newName.trim())
-                                        .then(Mono.just(branch));
-                            } else {
-                                return Mono.error(new BusinessException(TechnicalMessage.BRANCH_NAME_DUPLICATE));
-                            }
-                        })
-                        .switchIfEmpty(Mono.defer(() ->
-                            branchRepository.updateName(branchId, newName.trim())
-                                .then(Mono.just(branch))
-                        ))
-                );
+                .flatMap(current -> Mono.<Branch>error(new BusinessException(TechnicalMessage.VERSION_CONFLICT)))
+                .switchIfEmpty(notFound);
     }
 }
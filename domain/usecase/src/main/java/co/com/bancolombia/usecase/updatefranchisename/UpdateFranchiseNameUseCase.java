@@ -12,23 +12,20 @@ public class UpdateFranchiseNameUseCase {
 
     private final FranchiseRepository franchiseRepository;
 
-    public Mono<Franchise> execute(Long franchiseId, String newName) {
+    // The unique name key rejects duplicates, so the happy path is a single conditional UPDATE plus its read-back
+    public Mono<Franchise> execute(Long franchiseId, String newName, Long expectedVersion) {
+        return franchiseRepository.updateName(franchiseId, newName.trim(), expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> notUpdated(franchiseId, expectedVersion)));
+    }
+
+    // Only a failed compare-and-set pays the extra read that tells a stale version from a missing franchise
+    private Mono<Franchise> notUpdated(Long franchiseId, Long expectedVersion) {
+        Mono<Franchise> notFound = Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND));
+        if (expectedVersion == null) {
+            return notFound;
+        }
         return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND))))
-                .flatMap(franchise ->
-                    franchiseRepository.findByName(newName.trim())
-                        .flatMap(existing -> {
-                            if (existing.getId().equals(franchiseId)) {
-                                return franchiseRepository.updateName(franchiseId, newName.trim())
-                                        .then(Mono.just(franchise));
-                            } else {
-                                return Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NAME_DUPLICATE));
-                            }
-                        })
-                        .switchIfEmpty(Mono.defer(() ->
-                            franchiseRepository.updateName(franchiseId, newName.trim())
-                                .then(Mono.just(franchise))
-                        ))
-                );
+                .flatMap(current -> Mono.<Franchise>error(new BusinessException(TechnicalMessage.VERSION_CONFLICT)))
+                .switchIfEmpty(notFound);
     }
 }
@@ -12,23 +12,19 @@ public class UpdateProductNameUseCase {
 
     private final ProductRepository productRepository;
 
-    public Mono<Product> execute(Long productId, String newName) {
+    // The (branch_id, name) unique key rejects duplicates, so no lookup runs before the UPDATE
+    public Mono<Product> execute(Long productId, String newName, Long expectedVersion) {
+        return productRepository.updateName(productId, newName.trim(), expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> notUpdated(productId, expectedVersion)));
+    }
+
+    private Mono<Product> notUpdated(Long productId, Long expectedVersion) {
+        Mono<Product> notFound = Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND));
+        if (expectedVersion == null) {
+            return notFound;
+        }
         return productRepository.findById(productId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND))))
-                .flatMap(product ->
-                    productRepository.findByNameAndBranchId(newName.trim(), product.getBranchId())
-                        .flatMap(existing -> {
-                            if (existing.getId().equals(productId)) {
-                                return productRepository.updateName(productId, newName.trim())
-                                        .then(Mono.just(product));
-                            } else {
-                                return Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE));
-                            }
-                        })
-                        .switchIfEmpty(Mono.defer(() ->
-                            productRepository.updateName(productId, newName.trim())
-                                .then(Mono.just(product))
-                        ))
-                );
+                .flatMap(current -> Mono.<Product>error(new BusinessException(TechnicalMessage.VERSION_CONFLICT)))
+                .switchIfEmpty(notFound);
     }
 }
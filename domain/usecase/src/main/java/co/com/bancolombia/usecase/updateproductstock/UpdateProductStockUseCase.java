@@ -4,6 +4,8 @@ import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
@@ -11,13 +13,22 @@ import reactor.core.publisher.Mono;
 public class UpdateProductStockUseCase {
 
     private final ProductRepository productRepository;
+    private final StockChangeNotifier stockChangeNotifier;
 
-    public Mono<Product> execute(Long productId, Integer newStock) {
+    public Mono<Product> execute(Long productId, Integer newStock, Long expectedVersion) {
+        return productRepository.updateStockAndGet(productId, newStock, expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> notUpdated(productId, expectedVersion)))
+                .flatMap(product -> stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, product)
+                        .thenReturn(product));
+    }
+
+    private Mono<Product> notUpdated(Long productId, Long expectedVersion) {
+        Mono<Product> notFound = Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND));
+        if (expectedVersion == null) {
+            return notFound;
+        }
         return productRepository.findById(productId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND))))
-                .flatMap(product ->
-                    productRepository.updateStock(productId, newStock)
-                        .then(Mono.just(product.toBuilder().stock(newStock).build()))
-                );
+                .flatMap(current -> Mono.<Product>error(new BusinessException(TechnicalMessage.VERSION_CONFLICT)))
+                .switchIfEmpty(notFound);
     }
 }
@@ -0,0 +1,59 @@
+package co.com.bancolombia.usecase.updateproductstockbatch;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UpdateProductStockBatchUseCase {
+
+    private final ProductRepository productRepository;
+    private final int chunkSize;
+
+    public Flux<StockUpdateResult> execute(Flux<StockUpdate> updates) {
+        // concatMap keeps a single chunk in flight, so the request body is only read as fast as the database accepts it
+        return updates
+                .buffer(chunkSize)
+                .concatMap(this::processChunk);
+    }
+
+    private Flux<StockUpdateResult> processChunk(List<StockUpdate> chunk) {
+        List<StockUpdate> valid = chunk.stream()
+                .filter(update -> validate(update).isEmpty())
+                .toList();
+
+        Flux<StockUpdateResult> applied = valid.isEmpty()
+                ? Flux.empty()
+                : productRepository.updateStockBatch(valid);
+
+        return applied
+                .collectList()
+                .flatMapIterable(results -> mergeInInputOrder(chunk, results));
+    }
+
+    private List<StockUpdateResult> mergeInInputOrder(List<StockUpdate> chunk, List<StockUpdateResult> appliedResults) {
+        Iterator<StockUpdateResult> applied = appliedResults.iterator();
+        return chunk.stream()
+                .map(update -> validate(update)
+                        .map(reason -> StockUpdateResult.rejected(update, reason))
+                        .orElseGet(applied::next))
+                .toList();
+    }
+
+    private Optional<TechnicalMessage> validate(StockUpdate update) {
+        if (update.getProductId() == null || update.getStock() == null) {
+            return Optional.of(TechnicalMessage.REQUIRED_FIELD_MISSING);
+        }
+        if (update.getStock() < 0) {
+            return Optional.of(TechnicalMessage.PRODUCT_STOCK_INVALID);
+        }
+        return Optional.empty();
+    }
+}
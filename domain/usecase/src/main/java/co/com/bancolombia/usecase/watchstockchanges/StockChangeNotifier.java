@@ -0,0 +1,51 @@
+package co.com.bancolombia.usecase.watchstockchanges;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class StockChangeNotifier {
+
+    private final StockChangeBus stockChangeBus;
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+
+    public Mono<Void> productChanged(StockChangeType type, Product product) {
+        return publish(product.getBranchId(), product.getId(), StockChange.builder()
+                .type(type)
+                .productId(product.getId())
+                .productName(product.getName())
+                .stock(product.getStock()));
+    }
+
+    public Mono<Void> productRemoved(Long branchId, Long productId) {
+        return publish(branchId, productId, StockChange.builder()
+                .type(StockChangeType.PRODUCT_REMOVED)
+                .productId(productId));
+    }
+
+    // Runs after the write committed and only hands the event over: the lookups that complete it run on the bus,
+    // so they add no latency to the write, and a failed one drops the event instead of failing the write. They
+    // carry the write's context, so the gateways read them as part of the same request
+    private Mono<Void> publish(Long branchId, Long productId, StockChange.StockChangeBuilder change) {
+        return Mono.deferContextual(context -> {
+            if (!stockChangeBus.hasSubscribers()) {
+                return Mono.empty();
+            }
+            change.branchId(branchId);
+            stockChangeBus.publish(productId, branchRepository.findById(branchId)
+                    .flatMap(branch -> productRepository.findTopByBranchId(branchId)
+                            .map(change::topProduct)
+                            .defaultIfEmpty(change)
+                            .map(builder -> builder.franchiseId(branch.getFranchiseId()).build()))
+                    .contextWrite(context));
+            return Mono.empty();
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.bancolombia.usecase.watchstockchanges;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class WatchStockChangesUseCase {
+
+    private final StockChangeBus stockChangeBus;
+    private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+
+    public Flux<StockChange> byFranchise(Long franchiseId) {
+        return franchiseRepository.findById(franchiseId)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND))))
+                .flatMapMany(franchise -> stockChangeBus.listen()
+                        .filter(change -> franchiseId.equals(change.getFranchiseId())));
+    }
+
+    public Flux<StockChange> byBranch(Long branchId) {
+        return branchRepository.findById(branchId)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND))))
+                .flatMapMany(branch -> stockChangeBus.listen()
+                        .filter(change -> branchId.equals(change.getBranchId())));
+    }
+}
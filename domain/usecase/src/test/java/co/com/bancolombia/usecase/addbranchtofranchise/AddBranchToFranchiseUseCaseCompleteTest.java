@@ -16,8 +16,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,7 +52,6 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .build();
 
         when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(branchRepository.findByNameAndFranchiseId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(branchRepository.save(any(Branch.class))).thenReturn(Mono.just(savedBranch));
 
         // Act & Assert
@@ -63,7 +60,6 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .verifyComplete();
 
         verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId("New Branch", franchiseId);
         verify(branchRepository, times(1)).save(any(Branch.class));
     }
 
@@ -87,12 +83,11 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .verify();
 
         verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(branchRepository, never()).findByNameAndFranchiseId(anyString(), anyLong());
         verify(branchRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when branch name already exists in franchise")
+    @DisplayName("Should propagate BusinessException when the unique name constraint rejects the insert")
     void shouldThrowBusinessException_WhenBranchNameAlreadyExistsInFranchise() {
         // Arrange
         Long franchiseId = 1L;
@@ -105,15 +100,9 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .name("Test Franchise")
                 .build();
 
-        Branch existingBranch = Branch.builder()
-                .id(5L)
-                .name("Existing Branch")
-                .franchiseId(franchiseId)
-                .build();
-
         when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(branchRepository.findByNameAndFranchiseId(anyString(), anyLong()))
-                .thenReturn(Mono.just(existingBranch));
+        when(branchRepository.save(any(Branch.class)))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BRANCH_NAME_ALREADY_EXISTS)));
 
         // Act & Assert
         StepVerifier.create(useCase.execute(franchiseId, inputBranch))
@@ -124,8 +113,7 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .verify();
 
         verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId("Existing Branch", franchiseId);
-        verify(branchRepository, never()).save(any());
+        verify(branchRepository, times(1)).save(any(Branch.class));
     }
 
     @Test
@@ -146,7 +134,6 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .verify();
 
         verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(branchRepository, never()).findByNameAndFranchiseId(anyString(), anyLong());
     }
 
     @Test
@@ -164,7 +151,6 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .build();
 
         when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(branchRepository.findByNameAndFranchiseId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(branchRepository.save(any(Branch.class)))
                 .thenReturn(Mono.error(new RuntimeException("Save failed")));
 
@@ -174,7 +160,6 @@ class AddBranchToFranchiseUseCaseCompleteTest {
                 .verify();
 
         verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId("New Branch", franchiseId);
         verify(branchRepository, times(1)).save(any(Branch.class));
     }
 }
@@ -4,8 +4,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
@@ -48,7 +46,6 @@ class AddBranchToFranchiseUseCaseTest {
                 .build();
 
         when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(branchRepository.findByNameAndFranchiseId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(branchRepository.save(any(Branch.class))).thenReturn(Mono.just(newBranch));
 
         // Then
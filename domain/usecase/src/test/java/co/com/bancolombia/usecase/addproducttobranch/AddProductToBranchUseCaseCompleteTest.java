@@ -6,6 +6,8 @@ import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +18,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +30,9 @@ class AddProductToBranchUseCaseCompleteTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private AddProductToBranchUseCase useCase;
 
@@ -57,8 +60,8 @@ class AddProductToBranchUseCaseCompleteTest {
                 .build();
 
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findByNameAndBranchId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(productRepository.save(any(Product.class))).thenReturn(Mono.just(savedProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.PRODUCT_ADDED, savedProduct)).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(useCase.execute(branchId, inputProduct))
@@ -66,7 +69,6 @@ class AddProductToBranchUseCaseCompleteTest {
                 .verifyComplete();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findByNameAndBranchId("New Product", branchId);
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
@@ -91,12 +93,11 @@ class AddProductToBranchUseCaseCompleteTest {
                 .verify();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, never()).findByNameAndBranchId(anyString(), anyLong());
         verify(productRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when product name already exists in branch")
+    @DisplayName("Should propagate BusinessException when the unique name constraint rejects the insert")
     void shouldThrowBusinessException_WhenProductNameAlreadyExistsInBranch() {
         // Arrange
         Long branchId = 1L;
@@ -111,16 +112,9 @@ class AddProductToBranchUseCaseCompleteTest {
                 .franchiseId(10L)
                 .build();
 
-        Product existingProduct = Product.builder()
-                .id(3L)
-                .name("Existing Product")
-                .stock(50)
-                .branchId(branchId)
-                .build();
-
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findByNameAndBranchId(anyString(), anyLong()))
-                .thenReturn(Mono.just(existingProduct));
+        when(productRepository.save(any(Product.class)))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE)));
 
         // Act & Assert
         StepVerifier.create(useCase.execute(branchId, inputProduct))
@@ -131,8 +125,7 @@ class AddProductToBranchUseCaseCompleteTest {
                 .verify();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findByNameAndBranchId("Existing Product", branchId);
-        verify(productRepository, never()).save(any());
+        verify(productRepository, times(1)).save(any(Product.class));
     }
 
     @Test
@@ -154,7 +147,6 @@ class AddProductToBranchUseCaseCompleteTest {
                 .verify();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, never()).findByNameAndBranchId(anyString(), anyLong());
     }
 
     @Test
@@ -174,7 +166,6 @@ class AddProductToBranchUseCaseCompleteTest {
                 .build();
 
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findByNameAndBranchId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(productRepository.save(any(Product.class)))
                 .thenReturn(Mono.error(new RuntimeException("Save failed")));
 
@@ -184,7 +175,6 @@ class AddProductToBranchUseCaseCompleteTest {
                 .verify();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findByNameAndBranchId("New Product", branchId);
         verify(productRepository, times(1)).save(any(Product.class));
     }
 }
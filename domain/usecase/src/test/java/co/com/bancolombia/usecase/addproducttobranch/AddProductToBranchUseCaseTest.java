@@ -4,8 +4,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
@@ -15,6 +13,8 @@ import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -28,6 +28,9 @@ class AddProductToBranchUseCaseTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private AddProductToBranchUseCase addProductToBranchUseCase;
 
@@ -51,8 +54,8 @@ class AddProductToBranchUseCaseTest {
                 .build();
 
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findByNameAndBranchId(anyString(), anyLong())).thenReturn(Mono.empty());
         when(productRepository.save(any(Product.class))).thenReturn(Mono.just(newProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.PRODUCT_ADDED, newProduct)).thenReturn(Mono.empty());
 
         // When & Then
         StepVerifier.create(addProductToBranchUseCase.execute(branchId,newProduct))
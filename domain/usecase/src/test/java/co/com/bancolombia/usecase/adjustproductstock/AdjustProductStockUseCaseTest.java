@@ -0,0 +1,93 @@
+package co.com.bancolombia.usecase.adjustproductstock;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdjustProductStockUseCase - Unit Test")
+class AdjustProductStockUseCaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
+    @InjectMocks
+    private AdjustProductStockUseCase adjustProductStockUseCase;
+
+    @Test
+    @DisplayName("Should return the adjusted product without an extra lookup")
+    void shouldReturnAdjustedProduct() {
+        // Given
+        Product adjusted = Product.builder().id(1L).name("Product A").stock(37).branchId(10L).build();
+        when(productRepository.adjustStock(1L, -3)).thenReturn(Mono.just(adjusted));
+        when(stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, adjusted)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(adjustProductStockUseCase.execute(1L, -3))
+                .expectNextMatches(product -> product.getStock().equals(37))
+                .verifyComplete();
+
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should fail with PRODUCT_NOT_FOUND when the product does not exist")
+    void shouldFailWhenProductDoesNotExist() {
+        // Given
+        when(productRepository.adjustStock(99L, 5)).thenReturn(Mono.empty());
+        when(productRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(adjustProductStockUseCase.execute(99L, 5))
+                .expectErrorMatches(error -> error instanceof BusinessException &&
+                        ((BusinessException) error).getTechnicalMessage() == TechnicalMessage.PRODUCT_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail with PRODUCT_STOCK_INSUFFICIENT when the stock would become negative")
+    void shouldFailWhenStockWouldBecomeNegative() {
+        // Given
+        Product current = Product.builder().id(1L).name("Product A").stock(2).branchId(10L).build();
+        when(productRepository.adjustStock(1L, -3)).thenReturn(Mono.empty());
+        when(productRepository.findById(1L)).thenReturn(Mono.just(current));
+
+        // When & Then
+        StepVerifier.create(adjustProductStockUseCase.execute(1L, -3))
+                .expectErrorMatches(error -> error instanceof BusinessException &&
+                        ((BusinessException) error).getTechnicalMessage() == TechnicalMessage.PRODUCT_STOCK_INSUFFICIENT)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail with REQUIRED_FIELD_MISSING when delta is null")
+    void shouldFailWhenDeltaIsNull() {
+        // When & Then
+        StepVerifier.create(adjustProductStockUseCase.execute(1L, null))
+                .expectErrorMatches(error -> error instanceof BusinessException &&
+                        ((BusinessException) error).getTechnicalMessage() == TechnicalMessage.REQUIRED_FIELD_MISSING)
+                .verify();
+
+        verify(productRepository, never()).adjustStock(any(), anyInt());
+    }
+}
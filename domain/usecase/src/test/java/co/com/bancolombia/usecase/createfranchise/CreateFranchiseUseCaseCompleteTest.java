@@ -14,7 +14,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +39,6 @@ class CreateFranchiseUseCaseCompleteTest {
                 .name("New Franchise")
                 .build();
 
-        when(franchiseRepository.findByName(anyString())).thenReturn(Mono.empty());
         when(franchiseRepository.save(any(Franchise.class))).thenReturn(Mono.just(savedFranchise));
 
         // Act & Assert
@@ -48,25 +46,20 @@ class CreateFranchiseUseCaseCompleteTest {
                 .expectNext(savedFranchise)
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findByName("New Franchise");
         verify(franchiseRepository, times(1)).save(inputFranchise);
         verifyNoMoreInteractions(franchiseRepository);
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when franchise name already exists")
-    void shouldThrowBusinessException_WhenFranchiseNameAlreadyExists() {
+    @DisplayName("Should propagate BusinessException when the unique name constraint rejects the insert")
+    void shouldPropagateBusinessException_WhenFranchiseNameAlreadyExists() {
         // Arrange
         Franchise inputFranchise = Franchise.builder()
                 .name("Existing Franchise")
                 .build();
 
-        Franchise existingFranchise = Franchise.builder()
-                .id(1L)
-                .name("Existing Franchise")
-                .build();
-
-        when(franchiseRepository.findByName(anyString())).thenReturn(Mono.just(existingFranchise));
+        when(franchiseRepository.save(any(Franchise.class)))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NAME_ALREADY_EXISTS)));
 
         // Act & Assert
         StepVerifier.create(useCase.execute(inputFranchise))
@@ -76,31 +69,10 @@ class CreateFranchiseUseCaseCompleteTest {
                 )
                 .verify();
 
-        verify(franchiseRepository, times(1)).findByName("Existing Franchise");
-        verify(franchiseRepository, never()).save(any());
+        verify(franchiseRepository, times(1)).save(inputFranchise);
         verifyNoMoreInteractions(franchiseRepository);
     }
 
-    @Test
-    @DisplayName("Should propagate error when repository findByName fails")
-    void shouldPropagateError_WhenRepositoryFindByNameFails() {
-        // Arrange
-        Franchise inputFranchise = Franchise.builder()
-                .name("Test Franchise")
-                .build();
-
-        when(franchiseRepository.findByName(anyString()))
-                .thenReturn(Mono.error(new RuntimeException("Database error")));
-
-        // Act & Assert
-        StepVerifier.create(useCase.execute(inputFranchise))
-                .expectError(RuntimeException.class)
-                .verify();
-
-        verify(franchiseRepository, times(1)).findByName("Test Franchise");
-        verify(franchiseRepository, never()).save(any());
-    }
-
     @Test
     @DisplayName("Should propagate error when repository save fails")
     void shouldPropagateError_WhenRepositorySaveFails() {
@@ -109,7 +81,6 @@ class CreateFranchiseUseCaseCompleteTest {
                 .name("Test Franchise")
                 .build();
 
-        when(franchiseRepository.findByName(anyString())).thenReturn(Mono.empty());
         when(franchiseRepository.save(any(Franchise.class)))
                 .thenReturn(Mono.error(new RuntimeException("Save failed")));
 
@@ -118,7 +89,6 @@ class CreateFranchiseUseCaseCompleteTest {
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(franchiseRepository, times(1)).findByName("Test Franchise");
         verify(franchiseRepository, times(1)).save(inputFranchise);
     }
 }
@@ -4,7 +4,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;    
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;    
 import org.mockito.Mock;
 import static org.mockito.Mockito.times;
@@ -42,8 +41,6 @@ class CreateFranchiseUseCaseTest {
                 .build();
 
 
-        when(franchiseRepository.findByName(anyString())).thenReturn(Mono.empty());
-        
         when(franchiseRepository.save(any(Franchise.class))).thenReturn(Mono.just(expectedFranchise));
 
         Mono<Franchise> result = createFranchiseUseCase.execute(franchise);
@@ -72,10 +69,6 @@ class CreateFranchiseUseCaseTest {
                 .verify();
 
 
-        // Verificar que se consultó si la franquicia existe
-        verify(franchiseRepository, times(1))
-                .findByName(franchise.getName());
-
         // Verificar que se guardó una franquicia
         verify(franchiseRepository, times(1))
                 .save(any(Franchise.class));
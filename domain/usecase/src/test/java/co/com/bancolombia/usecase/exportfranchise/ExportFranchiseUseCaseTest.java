@@ -0,0 +1,143 @@
+package co.com.bancolombia.usecase.exportfranchise;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportFranchiseUseCase - Unit Test")
+class ExportFranchiseUseCaseTest {
+
+    private static final Long FRANCHISE_ID = 1L;
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ExportFranchiseUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportFranchiseUseCase(franchiseRepository, branchRepository, productRepository, PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should emit one branch line per product page using the last id as cursor")
+    void shouldWalkPagesWithKeysetCursor() {
+        // Given
+        when(franchiseRepository.findById(FRANCHISE_ID))
+                .thenReturn(Mono.just(Franchise.builder().id(FRANCHISE_ID).name("Franchise").build()));
+        when(branchRepository.findPageByFranchiseId(FRANCHISE_ID, 0L, PAGE_SIZE))
+                .thenReturn(Flux.just(branch(10L), branch(20L)));
+        when(branchRepository.findPageByFranchiseId(FRANCHISE_ID, 20L, PAGE_SIZE))
+                .thenReturn(Flux.just(branch(30L)));
+        when(productRepository.findPageByBranchId(10L, 0L, PAGE_SIZE))
+                .thenReturn(Flux.just(product(100L, 10L), product(101L, 10L)));
+        when(productRepository.findPageByBranchId(10L, 101L, PAGE_SIZE))
+                .thenReturn(Flux.just(product(102L, 10L)));
+        when(productRepository.findPageByBranchId(20L, 0L, PAGE_SIZE))
+                .thenReturn(Flux.just(product(200L, 20L), product(201L, 20L)));
+        when(productRepository.findPageByBranchId(20L, 201L, PAGE_SIZE))
+                .thenReturn(Flux.empty());
+        when(productRepository.findPageByBranchId(30L, 0L, PAGE_SIZE))
+                .thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, null))
+                .assertNext(branch -> {
+                    assertThat(branch.getId()).isEqualTo(10L);
+                    assertThat(branch.getProductList()).extracting(Product::getId).containsExactly(100L, 101L);
+                })
+                .assertNext(branch -> {
+                    assertThat(branch.getId()).isEqualTo(10L);
+                    assertThat(branch.getProductList()).extracting(Product::getId).containsExactly(102L);
+                })
+                .assertNext(branch -> assertThat(branch.getProductList()).extracting(Product::getId).containsExactly(200L, 201L))
+                .assertNext(branch -> assertThat(branch.getProductList()).isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with FRANCHISE_NOT_FOUND before reading any branch")
+    void shouldFailWhenFranchiseNotFound() {
+        // Given
+        when(franchiseRepository.findById(FRANCHISE_ID)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, null))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND)
+                .verify();
+
+        verify(branchRepository, never()).findPageByFranchiseId(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should use the requested page size when it is within the configured one")
+    void shouldUseRequestedPageSize() {
+        // Given
+        when(franchiseRepository.findById(FRANCHISE_ID))
+                .thenReturn(Mono.just(Franchise.builder().id(FRANCHISE_ID).name("Franchise").build()));
+        when(branchRepository.findPageByFranchiseId(FRANCHISE_ID, 0L, 1))
+                .thenReturn(Flux.just(branch(10L)));
+        when(branchRepository.findPageByFranchiseId(FRANCHISE_ID, 10L, 1))
+                .thenReturn(Flux.empty());
+        when(productRepository.findPageByBranchId(10L, 0L, 1))
+                .thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, 1))
+                .assertNext(branch -> assertThat(branch.getProductList()).isEmpty())
+                .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, PAGE_SIZE + 1})
+    @DisplayName("Should reject a page size outside 1 and the configured one with INVALID_PAGE_REQUEST")
+    void shouldRejectInvalidPageSize(int pageSize) {
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, pageSize))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.INVALID_PAGE_REQUEST)
+                .verify();
+
+        verify(franchiseRepository, never()).findById(anyLong());
+    }
+
+    private static Branch branch(Long id) {
+        return Branch.builder().id(id).name("Branch " + id).franchiseId(FRANCHISE_ID).build();
+    }
+
+    private static Product product(Long id, Long branchId) {
+        return Product.builder().id(id).name("Product " + id).stock(1).branchId(branchId).build();
+    }
+}
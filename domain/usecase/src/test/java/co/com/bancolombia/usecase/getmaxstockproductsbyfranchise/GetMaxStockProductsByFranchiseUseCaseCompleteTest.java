@@ -85,7 +85,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .topProduct(product2)
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId))
                 .thenReturn(Flux.just(branchWithProduct1, branchWithProduct2));
 
@@ -100,7 +100,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 })
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, times(1)).findBranchesWithTopProductByFranchiseId(franchiseId);
     }
 
@@ -115,7 +115,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .name("Test Franchise")
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId))
                 .thenReturn(Flux.empty());
 
@@ -128,7 +128,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 })
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, times(1)).findBranchesWithTopProductByFranchiseId(franchiseId);
     }
 
@@ -138,7 +138,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
         // Arrange
         Long franchiseId = 999L;
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.empty());
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(useCase.execute(franchiseId))
@@ -148,7 +148,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 )
                 .verify();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, never()).findBranchesWithTopProductByFranchiseId(anyLong());
     }
 
@@ -158,7 +158,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
         // Arrange
         Long franchiseId = 1L;
 
-        when(franchiseRepository.findById(franchiseId))
+        when(franchiseRepository.findCurrentById(franchiseId))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         // Act & Assert
@@ -166,7 +166,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, never()).findBranchesWithTopProductByFranchiseId(anyLong());
     }
 
@@ -181,7 +181,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .name("Test Franchise")
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId))
                 .thenReturn(Flux.error(new RuntimeException("Database error")));
 
@@ -190,7 +190,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, times(1)).findBranchesWithTopProductByFranchiseId(franchiseId);
     }
 
@@ -223,7 +223,7 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 .topProduct(product)
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId))
                 .thenReturn(Flux.just(branchWithProduct));
 
@@ -238,7 +238,97 @@ class GetMaxStockProductsByFranchiseUseCaseCompleteTest {
                 })
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
+        verify(franchiseRepository, times(1)).findCurrentById(franchiseId);
         verify(branchRepository, times(1)).findBranchesWithTopProductByFranchiseId(franchiseId);
     }
+
+    @Test
+    @DisplayName("Should stream branches with their top product as they arrive")
+    void shouldStreamBranchesWithTopProduct() {
+        // Arrange
+        Long franchiseId = 1L;
+
+        Franchise franchise = Franchise.builder()
+                .id(franchiseId)
+                .name("Test Franchise")
+                .build();
+
+        BranchWithTopProduct first = BranchWithTopProduct.builder()
+                .branch(Branch.builder().id(10L).name("Branch 1").franchiseId(franchiseId).build())
+                .build();
+
+        BranchWithTopProduct second = BranchWithTopProduct.builder()
+                .branch(Branch.builder().id(20L).name("Branch 2").franchiseId(franchiseId).build())
+                .build();
+
+        when(franchiseRepository.findCurrentById(franchiseId)).thenReturn(Mono.just(franchise));
+        when(branchRepository.findBranchesWithTopProductByFranchiseId(franchiseId))
+                .thenReturn(Flux.just(first, second));
+
+        // Act & Assert
+        StepVerifier.create(useCase.stream(franchiseId), 1)
+                .expectNext(first)
+                .thenRequest(1)
+                .expectNext(second)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail the stream before any branch when franchise does not exist")
+    void shouldFailStreamWhenFranchiseNotFound() {
+        // Arrange
+        when(franchiseRepository.findCurrentById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.stream(99L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND)
+                .verify();
+
+        verify(branchRepository, never()).findBranchesWithTopProductByFranchiseId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should build the body from the current franchise row, not the cached one")
+    void shouldBuildBodyFromCurrentFranchiseRow() {
+        // Arrange
+        Franchise renamed = Franchise.builder().id(1L).name("Renamed Franchise").version(4L).build();
+        when(franchiseRepository.findCurrentById(1L)).thenReturn(Mono.just(renamed));
+        when(branchRepository.findBranchesWithTopProductByFranchiseId(1L)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(1L))
+                .assertNext(result -> assertThat(result.getFranchise().getName()).isEqualTo("Renamed Franchise"))
+                .verifyComplete();
+
+        verify(franchiseRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return the franchise version without reading branches")
+    void shouldReturnVersionWithoutReadingBranches() {
+        // Arrange
+        when(franchiseRepository.findTopProductsVersion(1L)).thenReturn(Mono.just("12-3-45"));
+
+        // Act & Assert
+        StepVerifier.create(useCase.version(1L))
+                .expectNext("12-3-45")
+                .verifyComplete();
+
+        verifyNoInteractions(branchRepository);
+    }
+
+    @Test
+    @DisplayName("Should fail version lookup with FRANCHISE_NOT_FOUND when the franchise does not exist")
+    void shouldFailVersionWhenFranchiseNotFound() {
+        // Arrange
+        when(franchiseRepository.findTopProductsVersion(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.version(99L))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND)
+                .verify();
+    }
 }
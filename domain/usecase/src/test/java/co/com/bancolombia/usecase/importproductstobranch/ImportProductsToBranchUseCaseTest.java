@@ -0,0 +1,150 @@
+package co.com.bancolombia.usecase.importproductstobranch;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportProductsToBranchUseCase - Unit Test")
+class ImportProductsToBranchUseCaseTest {
+
+    private static final Long BRANCH_ID = 10L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private ImportProductsToBranchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ImportProductsToBranchUseCase(productRepository, branchRepository, 2);
+    }
+
+    @Test
+    @DisplayName("Should insert valid lines in chunks and report results in line order")
+    void shouldInsertValidLinesInChunks() {
+        // Given
+        when(branchRepository.findById(BRANCH_ID)).thenReturn(Mono.just(Branch.builder().id(BRANCH_ID).build()));
+        when(productRepository.findExistingNames(eq(BRANCH_ID), anyList())).thenReturn(Flux.empty());
+        when(productRepository.insertAll(eq(BRANCH_ID), anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(1);
+            return Flux.fromIterable(products)
+                    .map(product -> product.toBuilder().id((long) product.getName().length()).build());
+        });
+
+        Flux<Product> upload = Flux.just(
+                Product.builder().name("Latte").stock(5).build(),
+                Product.builder().name("Mocha").stock(3).build(),
+                Product.builder().name("Espresso").stock(8).build());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(BRANCH_ID, upload))
+                .expectNextMatches(result -> result.getLine() == 1 && result.isImported() && result.getProductId() == 5L)
+                .expectNextMatches(result -> result.getLine() == 2 && result.isImported())
+                .expectNextMatches(result -> result.getLine() == 3 && result.isImported() && result.getProductId() == 8L)
+                .verifyComplete();
+
+        verify(branchRepository, times(1)).findById(BRANCH_ID);
+        verify(productRepository, times(2)).insertAll(eq(BRANCH_ID), anyList());
+        verify(productRepository, times(2)).findExistingNames(eq(BRANCH_ID), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lines and names that already exist or repeat in the upload")
+    void shouldRejectInvalidAndDuplicateLines() {
+        // Given
+        useCase = new ImportProductsToBranchUseCase(productRepository, branchRepository, 10);
+        when(branchRepository.findById(BRANCH_ID)).thenReturn(Mono.just(Branch.builder().id(BRANCH_ID).build()));
+        when(productRepository.findExistingNames(eq(BRANCH_ID), anyList())).thenReturn(Flux.just("LATTE"));
+        when(productRepository.insertAll(eq(BRANCH_ID), argThat(products -> products.size() == 1)))
+                .thenReturn(Flux.just(Product.builder().id(1L).name("Mocha").stock(3).branchId(BRANCH_ID).build()));
+
+        Flux<Product> upload = Flux.just(
+                Product.builder().name("Latte").stock(5).build(),
+                Product.builder().name("Mocha").stock(3).build(),
+                Product.builder().name("mocha").stock(4).build(),
+                Product.builder().name(" ").stock(1).build(),
+                Product.builder().name("Tea").stock(-1).build());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(BRANCH_ID, upload))
+                .expectNextMatches(result -> !result.isImported()
+                        && TechnicalMessage.PRODUCT_NAME_DUPLICATE.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> result.isImported() && result.getProductId() == 1L)
+                .expectNextMatches(result -> !result.isImported()
+                        && TechnicalMessage.PRODUCT_NAME_DUPLICATE.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> !result.isImported()
+                        && TechnicalMessage.PRODUCT_NAME_EMPTY.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> !result.isImported()
+                        && TechnicalMessage.PRODUCT_STOCK_INVALID.getMessage().equals(result.getMessage()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk row by row and reject only the names taken concurrently")
+    void shouldRejectOnlyConcurrentDuplicatesWhenChunkFails() {
+        // Given
+        when(branchRepository.findById(BRANCH_ID)).thenReturn(Mono.just(Branch.builder().id(BRANCH_ID).build()));
+        when(productRepository.findExistingNames(eq(BRANCH_ID), anyList())).thenReturn(Flux.empty());
+        when(productRepository.insertAll(eq(BRANCH_ID), anyList()))
+                .thenReturn(Flux.error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE)));
+        when(productRepository.save(argThat(product -> product != null && "Latte".equals(product.getName()))))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE)));
+        when(productRepository.save(argThat(product -> product != null && "Mocha".equals(product.getName()))))
+                .thenReturn(Mono.just(Product.builder().id(2L).name("Mocha").stock(3).branchId(BRANCH_ID).build()));
+
+        Flux<Product> upload = Flux.just(
+                Product.builder().name("Latte").stock(5).build(),
+                Product.builder().name("Mocha").stock(3).build());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(BRANCH_ID, upload))
+                .expectNextMatches(result -> result.getLine() == 1 && !result.isImported()
+                        && TechnicalMessage.PRODUCT_NAME_DUPLICATE.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> result.getLine() == 2 && result.isImported() && result.getProductId() == 2L)
+                .verifyComplete();
+
+        verify(productRepository, times(2)).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should fail with BRANCH_NOT_FOUND before reading the upload")
+    void shouldFailWhenBranchDoesNotExist() {
+        // Given
+        when(branchRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(99L, Flux.just(Product.builder().name("Latte").stock(1).build())))
+                .expectErrorMatches(error -> error instanceof BusinessException &&
+                        ((BusinessException) error).getTechnicalMessage() == TechnicalMessage.BRANCH_NOT_FOUND)
+                .verify();
+
+        verify(productRepository, never()).insertAll(any(), anyList());
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.bancolombia.usecase.listbranches;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListBranchesUseCase - Unit Test")
+class ListBranchesUseCaseTest {
+
+    private static final Long FRANCHISE_ID = 1L;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    private ListBranchesUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListBranchesUseCase(branchRepository, franchiseRepository, 2, 10);
+    }
+
+    @Test
+    @DisplayName("Should list branches of the franchise after the cursor")
+    void shouldListBranchesAfterCursor() {
+        // Given
+        when(franchiseRepository.findById(FRANCHISE_ID)).thenReturn(Mono.just(Franchise.builder().id(FRANCHISE_ID).build()));
+        when(branchRepository.findPageByFranchiseId(FRANCHISE_ID, 10L, 3))
+                .thenReturn(Flux.just(branch(11L), branch(12L), branch(13L)));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, 10L, null))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Branch::getId).containsExactly(11L, 12L);
+                    assertThat(page.getNextCursor()).isEqualTo(12L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with FRANCHISE_NOT_FOUND when the franchise does not exist")
+    void shouldFailWhenFranchiseNotFound() {
+        // Given
+        when(franchiseRepository.findById(FRANCHISE_ID)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, null, null))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND)
+                .verify();
+
+        verify(branchRepository, never()).findPageByFranchiseId(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative cursor")
+    void shouldRejectNegativeCursor() {
+        // When & Then
+        StepVerifier.create(useCase.execute(FRANCHISE_ID, -1L, null))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.INVALID_PAGE_REQUEST)
+                .verify();
+    }
+
+    private static Branch branch(Long id) {
+        return Branch.builder().id(id).name("Branch " + id).franchiseId(FRANCHISE_ID).build();
+    }
+}
@@ -0,0 +1,82 @@
+package co.com.bancolombia.usecase.listfranchises;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListFranchisesUseCase - Unit Test")
+class ListFranchisesUseCaseTest {
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    private ListFranchisesUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListFranchisesUseCase(franchiseRepository, 2, 10);
+    }
+
+    @Test
+    @DisplayName("Should return a full page with the last id as next cursor when more rows exist")
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        // Given
+        when(franchiseRepository.findPage(0L, 3)).thenReturn(Flux.just(franchise(1L), franchise(4L), franchise(9L)));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(null, null))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Franchise::getId).containsExactly(1L, 4L);
+                    assertThat(page.getNextCursor()).isEqualTo(4L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return no next cursor on the last page")
+    void shouldReturnNoCursorOnLastPage() {
+        // Given
+        when(franchiseRepository.findPage(4L, 6)).thenReturn(Flux.just(franchise(9L)));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(4L, 5))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Franchise::getId).containsExactly(9L);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a limit above the maximum without querying")
+    void shouldRejectLimitAboveMaximum() {
+        // When & Then
+        StepVerifier.create(useCase.execute(null, 11))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.INVALID_PAGE_REQUEST)
+                .verify();
+
+        verify(franchiseRepository, never()).findPage(anyLong(), anyInt());
+    }
+
+    private static Franchise franchise(Long id) {
+        return Franchise.builder().id(id).name("Franchise " + id).build();
+    }
+}
@@ -0,0 +1,70 @@
+package co.com.bancolombia.usecase.listproducts;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListProductsUseCase - Unit Test")
+class ListProductsUseCaseTest {
+
+    private static final Long BRANCH_ID = 5L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private ListProductsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListProductsUseCase(productRepository, branchRepository, 50, 500);
+    }
+
+    @Test
+    @DisplayName("Should list products of the branch from the first cursor with the default limit")
+    void shouldListProductsWithDefaults() {
+        // Given
+        when(branchRepository.findById(BRANCH_ID)).thenReturn(Mono.just(Branch.builder().id(BRANCH_ID).build()));
+        when(productRepository.findPageByBranchId(BRANCH_ID, 0L, 51))
+                .thenReturn(Flux.just(Product.builder().id(7L).name("Product").stock(3).branchId(BRANCH_ID).build()));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(BRANCH_ID, null, null))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Product::getId).containsExactly(7L);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with BRANCH_NOT_FOUND when the branch does not exist")
+    void shouldFailWhenBranchNotFound() {
+        // Given
+        when(branchRepository.findById(BRANCH_ID)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.execute(BRANCH_ID, null, null))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.BRANCH_NOT_FOUND)
+                .verify();
+    }
+}
@@ -6,6 +6,7 @@ import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,40 +29,29 @@ class RemoveProductFromBranchUseCaseCompleteTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private RemoveProductFromBranchUseCase useCase;
 
     @Test
-    @DisplayName("Should remove product from branch successfully")
+    @DisplayName("Should remove product with a single scoped delete and no lookups")
     void shouldRemoveProductFromBranchSuccessfully() {
         // Arrange
         Long branchId = 1L;
         Long productId = 10L;
 
-        Branch branch = Branch.builder()
-                .id(branchId)
-                .name("Test Branch")
-                .franchiseId(100L)
-                .build();
-
-        Product product = Product.builder()
-                .id(productId)
-                .name("Test Product")
-                .branchId(branchId)
-                .stock(50)
-                .build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.deleteById(productId)).thenReturn(Mono.empty());
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(true));
+        when(stockChangeNotifier.productRemoved(branchId, productId)).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(useCase.execute(branchId, productId))
                 .verifyComplete();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).deleteById(productId);
+        verify(productRepository, times(1)).deleteByIdAndBranchId(productId, branchId);
+        verify(productRepository, never()).findById(anyLong());
+        verifyNoInteractions(branchRepository);
     }
 
     @Test
@@ -71,6 +61,7 @@ class RemoveProductFromBranchUseCaseCompleteTest {
         Long branchId = 999L;
         Long productId = 10L;
 
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(false));
         when(branchRepository.findById(branchId)).thenReturn(Mono.empty());
 
         // Act & Assert
@@ -83,7 +74,6 @@ class RemoveProductFromBranchUseCaseCompleteTest {
 
         verify(branchRepository, times(1)).findById(branchId);
         verify(productRepository, never()).findById(anyLong());
-        verify(productRepository, never()).deleteById(anyLong());
     }
 
     @Test
@@ -99,6 +89,7 @@ class RemoveProductFromBranchUseCaseCompleteTest {
                 .franchiseId(100L)
                 .build();
 
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(false));
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
         when(productRepository.findById(productId)).thenReturn(Mono.empty());
 
@@ -112,7 +103,6 @@ class RemoveProductFromBranchUseCaseCompleteTest {
 
         verify(branchRepository, times(1)).findById(branchId);
         verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).deleteById(anyLong());
     }
 
     @Test
@@ -136,6 +126,7 @@ class RemoveProductFromBranchUseCaseCompleteTest {
                 .stock(50)
                 .build();
 
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(false));
         when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
         when(productRepository.findById(productId)).thenReturn(Mono.just(product));
 
@@ -149,44 +140,36 @@ class RemoveProductFromBranchUseCaseCompleteTest {
 
         verify(branchRepository, times(1)).findById(branchId);
         verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).deleteById(anyLong());
     }
 
     @Test
-    @DisplayName("Should propagate error when branch repository fails")
-    void shouldPropagateError_WhenBranchRepositoryFails() {
+    @DisplayName("Should propagate error when product repository delete fails")
+    void shouldPropagateError_WhenProductRepositoryDeleteFails() {
         // Arrange
         Long branchId = 1L;
         Long productId = 10L;
 
-        when(branchRepository.findById(branchId))
-                .thenReturn(Mono.error(new RuntimeException("Database error")));
+        when(productRepository.deleteByIdAndBranchId(productId, branchId))
+                .thenReturn(Mono.error(new RuntimeException("Delete failed")));
 
         // Act & Assert
         StepVerifier.create(useCase.execute(branchId, productId))
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(branchRepository, times(1)).findById(branchId);
         verify(productRepository, never()).findById(anyLong());
-        verify(productRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(branchRepository);
     }
 
     @Test
-    @DisplayName("Should propagate error when product repository findById fails")
-    void shouldPropagateError_WhenProductRepositoryFindByIdFails() {
+    @DisplayName("Should propagate error when a diagnostic lookup fails")
+    void shouldPropagateError_WhenBranchRepositoryFails() {
         // Arrange
         Long branchId = 1L;
         Long productId = 10L;
 
-        Branch branch = Branch.builder()
-                .id(branchId)
-                .name("Test Branch")
-                .franchiseId(100L)
-                .build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findById(productId))
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(false));
+        when(branchRepository.findById(branchId))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         // Act & Assert
@@ -195,42 +178,6 @@ class RemoveProductFromBranchUseCaseCompleteTest {
                 .verify();
 
         verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).deleteById(anyLong());
-    }
-
-    @Test
-    @DisplayName("Should propagate error when product repository deleteById fails")
-    void shouldPropagateError_WhenProductRepositoryDeleteByIdFails() {
-        // Arrange
-        Long branchId = 1L;
-        Long productId = 10L;
-
-        Branch branch = Branch.builder()
-                .id(branchId)
-                .name("Test Branch")
-                .franchiseId(100L)
-                .build();
-
-        Product product = Product.builder()
-                .id(productId)
-                .name("Test Product")
-                .branchId(branchId)
-                .stock(50)
-                .build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.deleteById(productId))
-                .thenReturn(Mono.error(new RuntimeException("Delete failed")));
-
-        // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, productId))
-                .expectError(RuntimeException.class)
-                .verify();
-
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).deleteById(productId);
+        verify(productRepository, never()).findById(anyLong());
     }
 }
@@ -3,16 +3,14 @@ package co.com.bancolombia.usecase.removeproductfrombranch;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
-import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -26,6 +24,9 @@ class RemoveProductFromBranchUseCaseTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private RemoveProductFromBranchUseCase removeProductFromBranchUseCase;
 
@@ -35,21 +36,8 @@ class RemoveProductFromBranchUseCaseTest {
         // Given
         Long branchId = 1L;
         Long productId = 10L;
-        Branch branch = Branch.builder()
-                .id(branchId)
-                .name("Downtown Branch")
-                .franchiseId(100L)
-                .build();
-        Product product = Product.builder()
-                .id(productId)
-                .name("Product A")
-                .stock(50)
-                .branchId(branchId)
-                .build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.deleteById(anyLong())).thenReturn(Mono.empty());
+        when(productRepository.deleteByIdAndBranchId(productId, branchId)).thenReturn(Mono.just(true));
+        when(stockChangeNotifier.productRemoved(branchId, productId)).thenReturn(Mono.empty());
 
         // When & Then
         StepVerifier.create(removeProductFromBranchUseCase.execute(branchId, productId))
@@ -1,9 +1,9 @@
 package co.com.bancolombia.usecase.updatebranchname;
 
-import co.com.bancolombia.model.branch.Branch;
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,8 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,119 +28,133 @@ class UpdateBranchNameUseCaseCompleteTest {
     private UpdateBranchNameUseCase useCase;
 
     @Test
-    @DisplayName("Should update branch name successfully when new name is unique")
-    void shouldUpdateBranchNameSuccessfully_WhenNewNameIsUnique() {
+    @DisplayName("Should return the updated branch without reading it first")
+    void shouldReturnUpdatedBranch_WithoutPreRead() {
         // Arrange
         Long branchId = 1L;
-        Long franchiseId = 10L;
         String newName = "Updated Branch";
 
-        Branch existingBranch = Branch.builder()
+        Branch updatedBranch = Branch.builder()
                 .id(branchId)
-                .name("Old Branch")
-                .franchiseId(franchiseId)
+                .name(newName)
+                .franchiseId(1L)
+                .version(2L)
                 .build();
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(existingBranch));
-        when(branchRepository.findByNameAndFranchiseId(newName, franchiseId)).thenReturn(Mono.empty());
-        when(branchRepository.updateName(branchId, newName)).thenReturn(Mono.empty());
+        when(branchRepository.updateName(branchId, newName, null)).thenReturn(Mono.just(updatedBranch));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, newName))
-                .expectNext(existingBranch)
+        StepVerifier.create(useCase.execute(branchId, newName, null))
+                .assertNext(branch -> {
+                    assertThat(branch.getName()).isEqualTo(newName);
+                    assertThat(branch.getVersion()).isEqualTo(2L);
+                })
                 .verifyComplete();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId(newName, franchiseId);
-        verify(branchRepository, times(1)).updateName(branchId, newName);
+        verify(branchRepository, times(1)).updateName(branchId, newName, null);
+        verify(branchRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should update branch name successfully when updating to same name (same ID)")
-    void shouldUpdateBranchNameSuccessfully_WhenUpdatingToSameName() {
+    @DisplayName("Should update when the expected version matches")
+    void shouldUpdate_WhenVersionMatches() {
         // Arrange
         Long branchId = 1L;
-        Long franchiseId = 10L;
-        String sameName = "Same Branch";
+        String newName = "Updated Branch";
 
-        Branch existingBranch = Branch.builder()
+        Branch updatedBranch = Branch.builder()
                 .id(branchId)
-                .name(sameName)
-                .franchiseId(franchiseId)
+                .name(newName)
+                .version(4L)
                 .build();
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(existingBranch));
-        when(branchRepository.findByNameAndFranchiseId(sameName, franchiseId))
-                .thenReturn(Mono.just(existingBranch));
-        when(branchRepository.updateName(branchId, sameName)).thenReturn(Mono.empty());
+        when(branchRepository.updateName(branchId, newName, 3L)).thenReturn(Mono.just(updatedBranch));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, sameName))
-                .expectNext(existingBranch)
+        StepVerifier.create(useCase.execute(branchId, newName, 3L))
+                .expectNext(updatedBranch)
                 .verifyComplete();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId(sameName, franchiseId);
-        verify(branchRepository, times(1)).updateName(branchId, sameName);
+        verify(branchRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when branch does not exist")
-    void shouldThrowBusinessException_WhenBranchDoesNotExist() {
+    @DisplayName("Should throw BRANCH_NOT_FOUND when an unconditional update matches no row")
+    void shouldThrowNotFound_WhenUnconditionalUpdateMatchesNoRow() {
         // Arrange
         Long branchId = 999L;
         String newName = "New Name";
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.empty());
+        when(branchRepository.updateName(branchId, newName, null)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, newName))
+        StepVerifier.create(useCase.execute(branchId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BRANCH_NOT_FOUND
                 )
                 .verify();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(branchRepository, never()).findByNameAndFranchiseId(anyString(), anyLong());
-        verify(branchRepository, never()).updateName(anyLong(), anyString());
+        verify(branchRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when new name already exists in franchise (different ID)")
-    void shouldThrowBusinessException_WhenNewNameAlreadyExistsInFranchise() {
+    @DisplayName("Should throw VERSION_CONFLICT when the branch changed since the expected version")
+    void shouldThrowVersionConflict_WhenVersionIsStale() {
         // Arrange
         Long branchId = 1L;
-        Long franchiseId = 10L;
-        String newName = "Existing Branch";
+        String newName = "New Name";
 
-        Branch currentBranch = Branch.builder()
-                .id(branchId)
-                .name("Old Branch")
-                .franchiseId(franchiseId)
-                .build();
+        when(branchRepository.updateName(branchId, newName, 3L)).thenReturn(Mono.empty());
+        when(branchRepository.findById(branchId)).thenReturn(Mono.just(Branch.builder().id(branchId).version(5L).build()));
 
-        Branch otherBranch = Branch.builder()
-                .id(2L)  // Different ID
-                .name(newName)
-                .franchiseId(franchiseId)
-                .build();
+        // Act & Assert
+        StepVerifier.create(useCase.execute(branchId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.VERSION_CONFLICT
+                )
+                .verify();
+    }
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(currentBranch));
-        when(branchRepository.findByNameAndFranchiseId(newName, franchiseId))
-                .thenReturn(Mono.just(otherBranch));
+    @Test
+    @DisplayName("Should throw BRANCH_NOT_FOUND when a conditional update finds no branch")
+    void shouldThrowNotFound_WhenConditionalUpdateFindsNoBranch() {
+        // Arrange
+        Long branchId = 999L;
+        String newName = "New Name";
+
+        when(branchRepository.updateName(branchId, newName, 3L)).thenReturn(Mono.empty());
+        when(branchRepository.findById(branchId)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, newName))
+        StepVerifier.create(useCase.execute(branchId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BRANCH_NOT_FOUND
+                )
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate the duplicate name error raised by the unique key")
+    void shouldPropagateDuplicateName() {
+        // Arrange
+        Long branchId = 1L;
+        String newName = "Existing Branch";
+
+        when(branchRepository.updateName(branchId, newName, null))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BRANCH_NAME_DUPLICATE)));
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(branchId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.BRANCH_NAME_DUPLICATE
                 )
                 .verify();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId(newName, franchiseId);
-        verify(branchRepository, never()).updateName(anyLong(), anyString());
+        verify(branchRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -148,27 +162,16 @@ class UpdateBranchNameUseCaseCompleteTest {
     void shouldHandleWhitespaceInNewName() {
         // Arrange
         Long branchId = 1L;
-        Long franchiseId = 10L;
-        String newNameWithSpaces = "  Updated Branch  ";
         String trimmedName = "Updated Branch";
 
-        Branch existingBranch = Branch.builder()
-                .id(branchId)
-                .name("Old Branch")
-                .franchiseId(franchiseId)
-                .build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(existingBranch));
-        when(branchRepository.findByNameAndFranchiseId(trimmedName, franchiseId)).thenReturn(Mono.empty());
-        when(branchRepository.updateName(branchId, trimmedName)).thenReturn(Mono.empty());
+        when(branchRepository.updateName(branchId, trimmedName, null))
+                .thenReturn(Mono.just(Branch.builder().id(branchId).name(trimmedName).version(1L).build()));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(branchId, newNameWithSpaces))
-                .expectNext(existingBranch)
+        StepVerifier.create(useCase.execute(branchId, "  " + trimmedName + "  ", null))
+                .assertNext(branch -> assertThat(branch.getName()).isEqualTo(trimmedName))
                 .verifyComplete();
 
-        verify(branchRepository, times(1)).findById(branchId);
-        verify(branchRepository, times(1)).findByNameAndFranchiseId(trimmedName, franchiseId);
-        verify(branchRepository, times(1)).updateName(branchId, trimmedName);
+        verify(branchRepository, times(1)).updateName(branchId, trimmedName, null);
     }
 }
@@ -13,8 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,110 +28,132 @@ class UpdateFranchiseNameUseCaseCompleteTest {
     private UpdateFranchiseNameUseCase useCase;
 
     @Test
-    @DisplayName("Should update franchise name successfully when new name is unique")
-    void shouldUpdateFranchiseNameSuccessfully_WhenNewNameIsUnique() {
+    @DisplayName("Should return the updated franchise without reading it first")
+    void shouldReturnUpdatedFranchise_WithoutPreRead() {
         // Arrange
         Long franchiseId = 1L;
         String newName = "Updated Franchise";
 
-        Franchise existingFranchise = Franchise.builder()
+        Franchise updatedFranchise = Franchise.builder()
                 .id(franchiseId)
-                .name("Old Franchise")
+                .name(newName)
+                .version(2L)
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(existingFranchise));
-        when(franchiseRepository.findByName(newName)).thenReturn(Mono.empty());
-        when(franchiseRepository.updateName(franchiseId, newName)).thenReturn(Mono.empty());
+        when(franchiseRepository.updateName(franchiseId, newName, null)).thenReturn(Mono.just(updatedFranchise));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(franchiseId, newName))
-                .expectNext(existingFranchise)
+        StepVerifier.create(useCase.execute(franchiseId, newName, null))
+                .assertNext(franchise -> {
+                    assertThat(franchise.getName()).isEqualTo(newName);
+                    assertThat(franchise.getVersion()).isEqualTo(2L);
+                })
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(franchiseRepository, times(1)).findByName(newName);
-        verify(franchiseRepository, times(1)).updateName(franchiseId, newName);
+        verify(franchiseRepository, times(1)).updateName(franchiseId, newName, null);
+        verify(franchiseRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should update franchise name successfully when updating to same name (same ID)")
-    void shouldUpdateFranchiseNameSuccessfully_WhenUpdatingToSameName() {
+    @DisplayName("Should update when the expected version matches")
+    void shouldUpdate_WhenVersionMatches() {
         // Arrange
         Long franchiseId = 1L;
-        String sameName = "Same Franchise";
+        String newName = "Updated Franchise";
 
-        Franchise existingFranchise = Franchise.builder()
+        Franchise updatedFranchise = Franchise.builder()
                 .id(franchiseId)
-                .name(sameName)
+                .name(newName)
+                .version(4L)
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(existingFranchise));
-        when(franchiseRepository.findByName(sameName)).thenReturn(Mono.just(existingFranchise));
-        when(franchiseRepository.updateName(franchiseId, sameName)).thenReturn(Mono.empty());
+        when(franchiseRepository.updateName(franchiseId, newName, 3L)).thenReturn(Mono.just(updatedFranchise));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(franchiseId, sameName))
-                .expectNext(existingFranchise)
+        StepVerifier.create(useCase.execute(franchiseId, newName, 3L))
+                .expectNext(updatedFranchise)
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(franchiseRepository, times(1)).findByName(sameName);
-        verify(franchiseRepository, times(1)).updateName(franchiseId, sameName);
+        verify(franchiseRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when franchise does not exist")
-    void shouldThrowBusinessException_WhenFranchiseDoesNotExist() {
+    @DisplayName("Should throw FRANCHISE_NOT_FOUND when an unconditional update matches no row")
+    void shouldThrowNotFound_WhenUnconditionalUpdateMatchesNoRow() {
         // Arrange
         Long franchiseId = 999L;
         String newName = "New Name";
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.empty());
+        when(franchiseRepository.updateName(franchiseId, newName, null)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(franchiseId, newName))
+        StepVerifier.create(useCase.execute(franchiseId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND
                 )
                 .verify();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(franchiseRepository, never()).findByName(anyString());
-        verify(franchiseRepository, never()).updateName(anyLong(), anyString());
+        verify(franchiseRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when new name already exists (different ID)")
-    void shouldThrowBusinessException_WhenNewNameAlreadyExistsDifferentId() {
+    @DisplayName("Should throw VERSION_CONFLICT when the franchise changed since the expected version")
+    void shouldThrowVersionConflict_WhenVersionIsStale() {
         // Arrange
         Long franchiseId = 1L;
-        String newName = "Existing Franchise";
+        String newName = "New Name";
 
-        Franchise currentFranchise = Franchise.builder()
-                .id(franchiseId)
-                .name("Old Franchise")
-                .build();
+        when(franchiseRepository.updateName(franchiseId, newName, 3L)).thenReturn(Mono.empty());
+        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(Franchise.builder().id(franchiseId).version(5L).build()));
 
-        Franchise otherFranchise = Franchise.builder()
-                .id(2L)  // Different ID
-                .name(newName)
-                .build();
+        // Act & Assert
+        StepVerifier.create(useCase.execute(franchiseId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.VERSION_CONFLICT
+                )
+                .verify();
+    }
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(currentFranchise));
-        when(franchiseRepository.findByName(newName)).thenReturn(Mono.just(otherFranchise));
+    @Test
+    @DisplayName("Should throw FRANCHISE_NOT_FOUND when a conditional update finds no franchise")
+    void shouldThrowNotFound_WhenConditionalUpdateFindsNoFranchise() {
+        // Arrange
+        Long franchiseId = 999L;
+        String newName = "New Name";
+
+        when(franchiseRepository.updateName(franchiseId, newName, 3L)).thenReturn(Mono.empty());
+        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(franchiseId, newName))
+        StepVerifier.create(useCase.execute(franchiseId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND
+                )
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate the duplicate name error raised by the unique key")
+    void shouldPropagateDuplicateName() {
+        // Arrange
+        Long franchiseId = 1L;
+        String newName = "Existing Franchise";
+
+        when(franchiseRepository.updateName(franchiseId, newName, null))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.FRANCHISE_NAME_DUPLICATE)));
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(franchiseId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.FRANCHISE_NAME_DUPLICATE
                 )
                 .verify();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(franchiseRepository, times(1)).findByName(newName);
-        verify(franchiseRepository, never()).updateName(anyLong(), anyString());
+        verify(franchiseRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -139,25 +161,16 @@ class UpdateFranchiseNameUseCaseCompleteTest {
     void shouldHandleWhitespaceInNewName() {
         // Arrange
         Long franchiseId = 1L;
-        String newNameWithSpaces = "  Updated Franchise  ";
         String trimmedName = "Updated Franchise";
 
-        Franchise existingFranchise = Franchise.builder()
-                .id(franchiseId)
-                .name("Old Franchise")
-                .build();
-
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(existingFranchise));
-        when(franchiseRepository.findByName(trimmedName)).thenReturn(Mono.empty());
-        when(franchiseRepository.updateName(franchiseId, trimmedName)).thenReturn(Mono.empty());
+        when(franchiseRepository.updateName(franchiseId, trimmedName, null))
+                .thenReturn(Mono.just(Franchise.builder().id(franchiseId).name(trimmedName).version(1L).build()));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(franchiseId, newNameWithSpaces))
-                .expectNext(existingFranchise)
+        StepVerifier.create(useCase.execute(franchiseId, "  " + trimmedName + "  ", null))
+                .assertNext(franchise -> assertThat(franchise.getName()).isEqualTo(trimmedName))
                 .verifyComplete();
 
-        verify(franchiseRepository, times(1)).findById(franchiseId);
-        verify(franchiseRepository, times(1)).findByName(trimmedName);
-        verify(franchiseRepository, times(1)).updateName(franchiseId, trimmedName);
+        verify(franchiseRepository, times(1)).updateName(franchiseId, trimmedName, null);
     }
 }
@@ -1,20 +1,18 @@
 package co.com.bancolombia.usecase.updatefranchisename;
 
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import co.com.bancolombia.model.franchise.Franchise;
-import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.mockito.Mockito.when;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UpdateFranchiseNameUseCase - Unit Test")
 class UpdateFranchiseNameUseCaseTest {
@@ -30,23 +28,17 @@ class UpdateFranchiseNameUseCaseTest {
     void shouldUpdateFranchiseNameSuccessfully() {
         // Given
         Long franchiseId = 1L;
-        String newName = "New Franchise";
-        Franchise existingFranchise = Franchise.builder()
-                .id(franchiseId)
-                .name("Original Franchise")
-                .build();
+        String newName = "Updated Franchise";
         Franchise updatedFranchise = Franchise.builder()
                 .id(franchiseId)
                 .name(newName)
+                .version(1L)
                 .build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(existingFranchise));
-        when(franchiseRepository.findByName(anyString())).thenReturn(Mono.empty());
-        when(franchiseRepository.updateName(anyLong(), anyString())).thenReturn(Mono.empty());
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(updatedFranchise));
+        when(franchiseRepository.updateName(franchiseId, newName, null)).thenReturn(Mono.just(updatedFranchise));
 
         // When & Then
-        StepVerifier.create(updateFranchiseNameUseCase.execute(franchiseId, newName))
+        StepVerifier.create(updateFranchiseNameUseCase.execute(franchiseId, newName, null))
                 .expectNextMatches(franchise ->
                         franchise.getId().equals(franchiseId) &&
                         franchise.getName().equals(newName)
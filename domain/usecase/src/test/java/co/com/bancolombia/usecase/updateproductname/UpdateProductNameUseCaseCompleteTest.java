@@ -13,8 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,123 +28,133 @@ class UpdateProductNameUseCaseCompleteTest {
     private UpdateProductNameUseCase useCase;
 
     @Test
-    @DisplayName("Should update product name successfully when new name is unique")
-    void shouldUpdateProductNameSuccessfully_WhenNewNameIsUnique() {
+    @DisplayName("Should return the updated product without reading it first")
+    void shouldReturnUpdatedProduct_WithoutPreRead() {
         // Arrange
         Long productId = 1L;
-        Long branchId = 10L;
         String newName = "Updated Product";
 
-        Product existingProduct = Product.builder()
+        Product updatedProduct = Product.builder()
                 .id(productId)
-                .name("Old Product")
-                .branchId(branchId)
-                .stock(100)
+                .name(newName)
+                .branchId(10L)
+                .version(2L)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.findByNameAndBranchId(newName, branchId)).thenReturn(Mono.empty());
-        when(productRepository.updateName(productId, newName)).thenReturn(Mono.empty());
+        when(productRepository.updateName(productId, newName, null)).thenReturn(Mono.just(updatedProduct));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newName))
-                .expectNext(existingProduct)
+        StepVerifier.create(useCase.execute(productId, newName, null))
+                .assertNext(product -> {
+                    assertThat(product.getName()).isEqualTo(newName);
+                    assertThat(product.getVersion()).isEqualTo(2L);
+                })
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).findByNameAndBranchId(newName, branchId);
-        verify(productRepository, times(1)).updateName(productId, newName);
+        verify(productRepository, times(1)).updateName(productId, newName, null);
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should update product name successfully when updating to same name (same ID)")
-    void shouldUpdateProductNameSuccessfully_WhenUpdatingToSameName() {
+    @DisplayName("Should update when the expected version matches")
+    void shouldUpdate_WhenVersionMatches() {
         // Arrange
         Long productId = 1L;
-        Long branchId = 10L;
-        String sameName = "Same Product";
+        String newName = "Updated Product";
 
-        Product existingProduct = Product.builder()
+        Product updatedProduct = Product.builder()
                 .id(productId)
-                .name(sameName)
-                .branchId(branchId)
-                .stock(100)
+                .name(newName)
+                .version(4L)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.findByNameAndBranchId(sameName, branchId))
-                .thenReturn(Mono.just(existingProduct));
-        when(productRepository.updateName(productId, sameName)).thenReturn(Mono.empty());
+        when(productRepository.updateName(productId, newName, 3L)).thenReturn(Mono.just(updatedProduct));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, sameName))
-                .expectNext(existingProduct)
+        StepVerifier.create(useCase.execute(productId, newName, 3L))
+                .expectNext(updatedProduct)
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).findByNameAndBranchId(sameName, branchId);
-        verify(productRepository, times(1)).updateName(productId, sameName);
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when product does not exist")
-    void shouldThrowBusinessException_WhenProductDoesNotExist() {
+    @DisplayName("Should throw PRODUCT_NOT_FOUND when an unconditional update matches no row")
+    void shouldThrowNotFound_WhenUnconditionalUpdateMatchesNoRow() {
         // Arrange
         Long productId = 999L;
         String newName = "New Name";
 
-        when(productRepository.findById(productId)).thenReturn(Mono.empty());
+        when(productRepository.updateName(productId, newName, null)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newName))
+        StepVerifier.create(useCase.execute(productId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.PRODUCT_NOT_FOUND
                 )
                 .verify();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).findByNameAndBranchId(anyString(), anyLong());
-        verify(productRepository, never()).updateName(anyLong(), anyString());
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when new name already exists in branch (different ID)")
-    void shouldThrowBusinessException_WhenNewNameAlreadyExistsInBranch() {
+    @DisplayName("Should throw VERSION_CONFLICT when the product changed since the expected version")
+    void shouldThrowVersionConflict_WhenVersionIsStale() {
         // Arrange
         Long productId = 1L;
-        Long branchId = 10L;
-        String newName = "Existing Product";
+        String newName = "New Name";
 
-        Product currentProduct = Product.builder()
-                .id(productId)
-                .name("Old Product")
-                .branchId(branchId)
-                .stock(100)
-                .build();
+        when(productRepository.updateName(productId, newName, 3L)).thenReturn(Mono.empty());
+        when(productRepository.findById(productId)).thenReturn(Mono.just(Product.builder().id(productId).version(5L).build()));
 
-        Product otherProduct = Product.builder()
-                .id(2L)  // Different ID
-                .name(newName)
-                .branchId(branchId)
-                .stock(50)
-                .build();
+        // Act & Assert
+        StepVerifier.create(useCase.execute(productId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.VERSION_CONFLICT
+                )
+                .verify();
+    }
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(currentProduct));
-        when(productRepository.findByNameAndBranchId(newName, branchId))
-                .thenReturn(Mono.just(otherProduct));
+    @Test
+    @DisplayName("Should throw PRODUCT_NOT_FOUND when a conditional update finds no product")
+    void shouldThrowNotFound_WhenConditionalUpdateFindsNoProduct() {
+        // Arrange
+        Long productId = 999L;
+        String newName = "New Name";
+
+        when(productRepository.updateName(productId, newName, 3L)).thenReturn(Mono.empty());
+        when(productRepository.findById(productId)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newName))
+        StepVerifier.create(useCase.execute(productId, newName, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.PRODUCT_NOT_FOUND
+                )
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate the duplicate name error raised by the unique key")
+    void shouldPropagateDuplicateName() {
+        // Arrange
+        Long productId = 1L;
+        String newName = "Existing Product";
+
+        when(productRepository.updateName(productId, newName, null))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE)));
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(productId, newName, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.PRODUCT_NAME_DUPLICATE
                 )
                 .verify();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).findByNameAndBranchId(newName, branchId);
-        verify(productRepository, never()).updateName(anyLong(), anyString());
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -152,28 +162,16 @@ class UpdateProductNameUseCaseCompleteTest {
     void shouldHandleWhitespaceInNewName() {
         // Arrange
         Long productId = 1L;
-        Long branchId = 10L;
-        String newNameWithSpaces = "  Updated Product  ";
         String trimmedName = "Updated Product";
 
-        Product existingProduct = Product.builder()
-                .id(productId)
-                .name("Old Product")
-                .branchId(branchId)
-                .stock(100)
-                .build();
-
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.findByNameAndBranchId(trimmedName, branchId)).thenReturn(Mono.empty());
-        when(productRepository.updateName(productId, trimmedName)).thenReturn(Mono.empty());
+        when(productRepository.updateName(productId, trimmedName, null))
+                .thenReturn(Mono.just(Product.builder().id(productId).name(trimmedName).version(1L).build()));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newNameWithSpaces))
-                .expectNext(existingProduct)
+        StepVerifier.create(useCase.execute(productId, "  " + trimmedName + "  ", null))
+                .assertNext(product -> assertThat(product.getName()).isEqualTo(trimmedName))
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).findByNameAndBranchId(trimmedName, branchId);
-        verify(productRepository, times(1)).updateName(productId, trimmedName);
+        verify(productRepository, times(1)).updateName(productId, trimmedName, null);
     }
 }
@@ -1,20 +1,18 @@
 package co.com.bancolombia.usecase.updateproductname;
 
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import co.com.bancolombia.model.product.Product;
-import co.com.bancolombia.model.product.gateways.ProductRepository;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.mockito.Mockito.when;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UpdateProductNameUseCase - Unit Test")
 class UpdateProductNameUseCaseTest {
@@ -30,28 +28,18 @@ class UpdateProductNameUseCaseTest {
     void shouldUpdateProductNameSuccessfully() {
         // Given
         Long productId = 1L;
-        Long branchId = 10L;
         String newName = "Updated Product";
-        Product existingProduct = Product.builder()
-                .id(productId)
-                .name("Original Product")
-                .stock(50)
-                .branchId(branchId)
-                .build();
         Product updatedProduct = Product.builder()
                 .id(productId)
                 .name(newName)
-                .stock(50)
-                .branchId(branchId)
+                .branchId(10L)
+                .version(1L)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.findByNameAndBranchId(anyString(), anyLong())).thenReturn(Mono.empty());
-        when(productRepository.updateName(anyLong(), anyString())).thenReturn(Mono.empty());
-        when(productRepository.findById(productId)).thenReturn(Mono.just(updatedProduct));
+        when(productRepository.updateName(productId, newName, null)).thenReturn(Mono.just(updatedProduct));
 
         // When & Then
-        StepVerifier.create(updateProductNameUseCase.execute(productId, newName))
+        StepVerifier.create(updateProductNameUseCase.execute(productId, newName, null))
                 .expectNextMatches(product ->
                         product.getId().equals(productId) &&
                         product.getName().equals(newName)
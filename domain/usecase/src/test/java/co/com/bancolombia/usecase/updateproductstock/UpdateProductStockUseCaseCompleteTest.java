@@ -4,6 +4,8 @@ import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +16,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +26,9 @@ class UpdateProductStockUseCaseCompleteTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private UpdateProductStockUseCase useCase;
 
@@ -35,28 +39,28 @@ class UpdateProductStockUseCaseCompleteTest {
         Long productId = 1L;
         Integer newStock = 200;
 
-        Product existingProduct = Product.builder()
+        Product updatedProduct = Product.builder()
                 .id(productId)
                 .name("Test Product")
                 .branchId(10L)
-                .stock(100)
+                .stock(newStock)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.updateStock(productId, newStock)).thenReturn(Mono.empty());
+        when(productRepository.updateStockAndGet(productId, newStock, null)).thenReturn(Mono.just(updatedProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, updatedProduct)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newStock))
-                .assertNext(updatedProduct -> {
-                    assertThat(updatedProduct.getId()).isEqualTo(productId);
-                    assertThat(updatedProduct.getName()).isEqualTo("Test Product");
-                    assertThat(updatedProduct.getStock()).isEqualTo(newStock);
-                    assertThat(updatedProduct.getBranchId()).isEqualTo(10L);
+        StepVerifier.create(useCase.execute(productId, newStock, null))
+                .assertNext(product -> {
+                    assertThat(product.getId()).isEqualTo(productId);
+                    assertThat(product.getName()).isEqualTo("Test Product");
+                    assertThat(product.getStock()).isEqualTo(newStock);
+                    assertThat(product.getBranchId()).isEqualTo(10L);
                 })
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).updateStock(productId, newStock);
+        verify(productRepository, times(1)).updateStockAndGet(productId, newStock, null);
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -66,92 +70,130 @@ class UpdateProductStockUseCaseCompleteTest {
         Long productId = 1L;
         Integer newStock = 0;
 
-        Product existingProduct = Product.builder()
+        Product updatedProduct = Product.builder()
                 .id(productId)
                 .name("Test Product")
                 .branchId(10L)
-                .stock(100)
+                .stock(newStock)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.updateStock(productId, newStock)).thenReturn(Mono.empty());
+        when(productRepository.updateStockAndGet(productId, newStock, null)).thenReturn(Mono.just(updatedProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, updatedProduct)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newStock))
-                .assertNext(updatedProduct -> {
-                    assertThat(updatedProduct.getId()).isEqualTo(productId);
-                    assertThat(updatedProduct.getStock()).isEqualTo(0);
+        StepVerifier.create(useCase.execute(productId, newStock, null))
+                .assertNext(product -> {
+                    assertThat(product.getId()).isEqualTo(productId);
+                    assertThat(product.getStock()).isEqualTo(0);
                 })
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).updateStock(productId, newStock);
+        verify(productRepository, times(1)).updateStockAndGet(productId, newStock, null);
     }
 
     @Test
-    @DisplayName("Should throw BusinessException when product does not exist")
+    @DisplayName("Should throw BusinessException when no product row was updated")
     void shouldThrowBusinessException_WhenProductDoesNotExist() {
         // Arrange
         Long productId = 999L;
         Integer newStock = 100;
 
-        when(productRepository.findById(productId)).thenReturn(Mono.empty());
+        when(productRepository.updateStockAndGet(productId, newStock, null)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newStock))
+        StepVerifier.create(useCase.execute(productId, newStock, null))
                 .expectErrorMatches(throwable ->
                         throwable instanceof BusinessException &&
                         ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.PRODUCT_NOT_FOUND
                 )
                 .verify();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).updateStock(anyLong(), anyInt());
+        verify(productRepository, times(1)).updateStockAndGet(productId, newStock, null);
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("Should propagate error when repository findById fails")
-    void shouldPropagateError_WhenRepositoryFindByIdFails() {
+    @DisplayName("Should propagate error when repository updateStockAndGet fails")
+    void shouldPropagateError_WhenRepositoryUpdateFails() {
         // Arrange
         Long productId = 1L;
         Integer newStock = 100;
 
-        when(productRepository.findById(productId))
-                .thenReturn(Mono.error(new RuntimeException("Database error")));
+        when(productRepository.updateStockAndGet(productId, newStock, null))
+                .thenReturn(Mono.error(new RuntimeException("Update failed")));
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newStock))
+        StepVerifier.create(useCase.execute(productId, newStock, null))
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, never()).updateStock(anyLong(), anyInt());
+        verify(productRepository, times(1)).updateStockAndGet(productId, newStock, null);
     }
 
     @Test
-    @DisplayName("Should propagate error when repository updateStock fails")
-    void shouldPropagateError_WhenRepositoryUpdateStockFails() {
+    @DisplayName("Should update stock when the expected version matches")
+    void shouldUpdateStock_WhenVersionMatches() {
         // Arrange
         Long productId = 1L;
-        Integer newStock = 100;
+        Integer newStock = 30;
 
-        Product existingProduct = Product.builder()
+        Product updatedProduct = Product.builder()
                 .id(productId)
                 .name("Test Product")
                 .branchId(10L)
-                .stock(50)
+                .stock(newStock)
+                .version(4L)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.updateStock(productId, newStock))
-                .thenReturn(Mono.error(new RuntimeException("Update failed")));
+        when(productRepository.updateStockAndGet(productId, newStock, 3L)).thenReturn(Mono.just(updatedProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, updatedProduct)).thenReturn(Mono.empty());
 
         // Act & Assert
-        StepVerifier.create(useCase.execute(productId, newStock))
-                .expectError(RuntimeException.class)
+        StepVerifier.create(useCase.execute(productId, newStock, 3L))
+                .assertNext(product -> assertThat(product.getVersion()).isEqualTo(4L))
+                .verifyComplete();
+
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw VERSION_CONFLICT when the product changed since the expected version")
+    void shouldThrowVersionConflict_WhenVersionIsStale() {
+        // Arrange
+        Long productId = 1L;
+        Integer newStock = 30;
+
+        when(productRepository.updateStockAndGet(productId, newStock, 3L)).thenReturn(Mono.empty());
+        when(productRepository.findById(productId))
+                .thenReturn(Mono.just(Product.builder().id(productId).stock(12).version(5L).build()));
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(productId, newStock, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.VERSION_CONFLICT
+                )
                 .verify();
 
-        verify(productRepository, times(1)).findById(productId);
-        verify(productRepository, times(1)).updateStock(productId, newStock);
+        verifyNoInteractions(stockChangeNotifier);
+    }
+
+    @Test
+    @DisplayName("Should throw PRODUCT_NOT_FOUND when a conditional update finds no product")
+    void shouldThrowNotFound_WhenConditionalUpdateFindsNoProduct() {
+        // Arrange
+        Long productId = 999L;
+        Integer newStock = 30;
+
+        when(productRepository.updateStockAndGet(productId, newStock, 3L)).thenReturn(Mono.empty());
+        when(productRepository.findById(productId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(useCase.execute(productId, newStock, 3L))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getTechnicalMessage() == TechnicalMessage.PRODUCT_NOT_FOUND
+                )
+                .verify();
     }
 }
@@ -3,8 +3,6 @@ package co.com.bancolombia.usecase.updateproductstock;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
@@ -12,6 +10,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.usecase.watchstockchanges.StockChangeNotifier;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -22,6 +22,9 @@ class UpdateProductStockUseCaseTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockChangeNotifier stockChangeNotifier;
+
     @InjectMocks
     private UpdateProductStockUseCase updateProductStockUseCase;
 
@@ -31,12 +34,6 @@ class UpdateProductStockUseCaseTest {
         // Given
         Long productId = 1L;
         Integer newStock = 200;
-        Product existingProduct = Product.builder()
-                .id(productId)
-                .name("Product A")
-                .stock(100)
-                .branchId(10L)
-                .build();
         Product updatedProduct = Product.builder()
                 .id(productId)
                 .name("Product A")
@@ -44,12 +41,11 @@ class UpdateProductStockUseCaseTest {
                 .branchId(10L)
                 .build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
-        when(productRepository.updateStock(anyLong(), anyInt())).thenReturn(Mono.empty());
-        when(productRepository.findById(productId)).thenReturn(Mono.just(updatedProduct));
+        when(productRepository.updateStockAndGet(productId, newStock, null)).thenReturn(Mono.just(updatedProduct));
+        when(stockChangeNotifier.productChanged(StockChangeType.STOCK_UPDATED, updatedProduct)).thenReturn(Mono.empty());
 
         // When & Then
-        StepVerifier.create(updateProductStockUseCase.execute(productId, newStock))
+        StepVerifier.create(updateProductStockUseCase.execute(productId, newStock, null))
                 .expectNextMatches(product ->
                         product.getId().equals(productId) &&
                         product.getStock().equals(newStock)
@@ -0,0 +1,93 @@
+package co.com.bancolombia.usecase.updateproductstockbatch;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UpdateProductStockBatchUseCase - Unit Test")
+class UpdateProductStockBatchUseCaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private UpdateProductStockBatchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new UpdateProductStockBatchUseCase(productRepository, 2);
+    }
+
+    @Test
+    @DisplayName("Should send one batch per chunk and emit results in input order")
+    void shouldSendOneBatchPerChunk() {
+        // Given
+        StockUpdate first = new StockUpdate(1L, 10);
+        StockUpdate second = new StockUpdate(2L, 20);
+        StockUpdate third = new StockUpdate(3L, 30);
+
+        when(productRepository.updateStockBatch(List.of(first, second)))
+                .thenReturn(Flux.just(StockUpdateResult.updated(first), StockUpdateResult.updated(second)));
+        when(productRepository.updateStockBatch(List.of(third)))
+                .thenReturn(Flux.just(StockUpdateResult.rejected(third, TechnicalMessage.PRODUCT_NOT_FOUND)));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(Flux.just(first, second, third)))
+                .expectNextMatches(result -> result.getProductId().equals(1L) && result.isUpdated())
+                .expectNextMatches(result -> result.getProductId().equals(2L) && result.isUpdated())
+                .expectNextMatches(result -> result.getProductId().equals(3L) && !result.isUpdated()
+                        && TechnicalMessage.PRODUCT_NOT_FOUND.getCode().equals(result.getCode()))
+                .verifyComplete();
+
+        verify(productRepository, times(2)).updateStockBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid items without sending them to the repository")
+    void shouldRejectInvalidItems() {
+        // Given
+        StockUpdate negative = new StockUpdate(1L, -5);
+        StockUpdate valid = new StockUpdate(2L, 20);
+
+        when(productRepository.updateStockBatch(List.of(valid)))
+                .thenReturn(Flux.just(StockUpdateResult.updated(valid)));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(Flux.just(negative, valid)))
+                .expectNextMatches(result -> !result.isUpdated()
+                        && TechnicalMessage.PRODUCT_STOCK_INVALID.getCode().equals(result.getCode())
+                        && TechnicalMessage.PRODUCT_STOCK_INVALID.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> result.getProductId().equals(2L) && result.isUpdated())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not touch the repository when a chunk has no valid items")
+    void shouldSkipRepositoryForFullyInvalidChunk() {
+        // When & Then
+        StepVerifier.create(useCase.execute(Flux.just(new StockUpdate(null, 5), new StockUpdate(2L, null))))
+                .expectNextMatches(result -> !result.isUpdated()
+                        && TechnicalMessage.REQUIRED_FIELD_MISSING.getMessage().equals(result.getMessage()))
+                .expectNextMatches(result -> !result.isUpdated())
+                .verifyComplete();
+
+        verify(productRepository, never()).updateStockBatch(anyList());
+    }
+}
@@ -0,0 +1,145 @@
+package co.com.bancolombia.usecase.watchstockchanges;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockChangeNotifier - Unit Test")
+class StockChangeNotifierTest {
+
+    @Mock
+    private StockChangeBus stockChangeBus;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private StockChangeNotifier notifier;
+
+    @Test
+    @DisplayName("Should skip the lookups when nobody listens")
+    void shouldSkipWhenNobodyListens() {
+        // Given
+        Product product = Product.builder().id(7L).name("Product").stock(3).branchId(5L).build();
+        when(stockChangeBus.hasSubscribers()).thenReturn(false);
+
+        // When & Then
+        StepVerifier.create(notifier.productChanged(StockChangeType.STOCK_UPDATED, product)).verifyComplete();
+
+        verifyNoInteractions(branchRepository, productRepository);
+        verify(stockChangeBus, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should publish the change with the franchise and the branch top product")
+    void shouldPublishEnrichedChange() {
+        // Given
+        Product product = Product.builder().id(7L).name("Product").stock(3).branchId(5L).build();
+        Product top = Product.builder().id(8L).name("Top").stock(90).branchId(5L).build();
+        when(stockChangeBus.hasSubscribers()).thenReturn(true);
+        when(branchRepository.findById(5L)).thenReturn(Mono.just(Branch.builder().id(5L).franchiseId(1L).build()));
+        when(productRepository.findTopByBranchId(5L)).thenReturn(Mono.just(top));
+
+        // When
+        StepVerifier.create(notifier.productChanged(StockChangeType.STOCK_UPDATED, product)).verifyComplete();
+
+        // Then
+        StepVerifier.create(publishedChange())
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(StockChangeType.STOCK_UPDATED);
+                    assertThat(change.getFranchiseId()).isEqualTo(1L);
+                    assertThat(change.getBranchId()).isEqualTo(5L);
+                    assertThat(change.getStock()).isEqualTo(3);
+                    assertThat(change.getTopProduct()).isSameAs(top);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should publish a removal without top product when the branch is left empty")
+    void shouldPublishRemovalWithoutTopProduct() {
+        // Given
+        when(stockChangeBus.hasSubscribers()).thenReturn(true);
+        when(branchRepository.findById(5L)).thenReturn(Mono.just(Branch.builder().id(5L).franchiseId(1L).build()));
+        when(productRepository.findTopByBranchId(5L)).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(notifier.productRemoved(5L, 7L)).verifyComplete();
+
+        // Then
+        StepVerifier.create(publishedChange())
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(StockChangeType.PRODUCT_REMOVED);
+                    assertThat(change.getProductId()).isEqualTo(7L);
+                    assertThat(change.getTopProduct()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete the write without running the enrichment lookups itself")
+    void shouldHandOverLookupsToTheBus() {
+        // Given
+        when(stockChangeBus.hasSubscribers()).thenReturn(true);
+        when(branchRepository.findById(5L)).thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        // When
+        StepVerifier.create(notifier.productRemoved(5L, 7L)).verifyComplete();
+
+        // Then
+        StepVerifier.create(publishedChange())
+                .verifyErrorMessage("Database error");
+    }
+
+    @Test
+    @DisplayName("Should run the lookups with the context of the write")
+    void shouldCarryWriteContextToLookups() {
+        // Given
+        when(stockChangeBus.hasSubscribers()).thenReturn(true);
+        when(branchRepository.findById(5L)).thenReturn(Mono.deferContextual(context ->
+                Mono.just(Branch.builder().id(5L).franchiseId(context.<Long>get("franchiseId")).build())));
+        when(productRepository.findTopByBranchId(5L)).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(notifier.productRemoved(5L, 7L).contextWrite(Context.of("franchiseId", 1L)))
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(publishedChange())
+                .assertNext(change -> assertThat(change.getFranchiseId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    private Mono<StockChange> publishedChange() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Mono<StockChange>> published = ArgumentCaptor.forClass(Mono.class);
+        verify(stockChangeBus).publish(eq(7L), published.capture());
+        return published.getValue();
+    }
+}
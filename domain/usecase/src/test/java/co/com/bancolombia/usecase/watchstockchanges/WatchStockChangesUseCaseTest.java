@@ -0,0 +1,96 @@
+package co.com.bancolombia.usecase.watchstockchanges;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WatchStockChangesUseCase - Unit Test")
+class WatchStockChangesUseCaseTest {
+
+    @Mock
+    private StockChangeBus stockChangeBus;
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @InjectMocks
+    private WatchStockChangesUseCase useCase;
+
+    @Test
+    @DisplayName("Should only emit changes of the requested franchise")
+    void shouldFilterByFranchise() {
+        // Given
+        StockChange ours = change(1L, 10L);
+        StockChange other = change(2L, 20L);
+        when(franchiseRepository.findById(1L)).thenReturn(Mono.just(Franchise.builder().id(1L).build()));
+        when(stockChangeBus.listen()).thenReturn(Flux.just(other, ours));
+
+        // When & Then
+        StepVerifier.create(useCase.byFranchise(1L))
+                .expectNext(ours)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should only emit changes of the requested branch")
+    void shouldFilterByBranch() {
+        // Given
+        StockChange ours = change(1L, 10L);
+        StockChange sibling = change(1L, 11L);
+        when(branchRepository.findById(10L)).thenReturn(Mono.just(Branch.builder().id(10L).franchiseId(1L).build()));
+        when(stockChangeBus.listen()).thenReturn(Flux.just(sibling, ours));
+
+        // When & Then
+        StepVerifier.create(useCase.byBranch(10L))
+                .expectNext(ours)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with FRANCHISE_NOT_FOUND before subscribing to the bus")
+    void shouldFailWhenFranchiseNotFound() {
+        // Given
+        when(franchiseRepository.findById(99L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(useCase.byFranchise(99L))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NOT_FOUND)
+                .verify();
+
+        verify(stockChangeBus, never()).listen();
+    }
+
+    private static StockChange change(Long franchiseId, Long branchId) {
+        return StockChange.builder()
+                .type(StockChangeType.STOCK_UPDATED)
+                .franchiseId(franchiseId)
+                .branchId(branchId)
+                .productId(100L)
+                .stock(5)
+                .build();
+    }
+}
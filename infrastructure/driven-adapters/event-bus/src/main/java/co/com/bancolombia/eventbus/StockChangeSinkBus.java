@@ -0,0 +1,168 @@
+package co.com.bancolombia.eventbus;
+
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.gateways.StockChangeBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+// In-process fan-out: events only reach subscribers of this instance
+@Slf4j
+@Component
+public class StockChangeSinkBus implements StockChangeBus {
+
+    // directBestEffort never holds back the publisher or the other subscribers because of one slow subscriber
+    private final Sinks.Many<StockChange> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final int maxBuilding;
+    // Guarded by this: products with events being built or waiting for a slot, and the order they were published in
+    private final Map<Long, ProductEvents> products = new HashMap<>();
+    private final Deque<Long> waiting = new ArrayDeque<>();
+    private int building;
+    private long sequence;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter shed;
+    private final Counter superseded;
+
+    public StockChangeSinkBus(@Value("${stock-events.buffer-size:256}") int bufferSize,
+                              @Value("${stock-events.max-building:64}") int maxBuilding,
+                              MeterRegistry registry) {
+        this.bufferSize = bufferSize;
+        this.maxBuilding = maxBuilding;
+        this.published = counter(registry, "published");
+        this.dropped = counter(registry, "dropped");
+        this.failed = counter(registry, "failed");
+        this.shed = counter(registry, "shed");
+        this.superseded = counter(registry, "superseded");
+        Gauge.builder("stock.events.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .register(registry);
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return sink.currentSubscriberCount() > 0;
+    }
+
+    // Fire-and-forget: the lookups behind an event run on their own subscription, at most maxBuilding at a time so a
+    // write burst cannot pile them up against the connection pool. Past that, each product keeps only its latest
+    // event waiting for a slot, up to bufferSize products; beyond those the event is shed and counted
+    @Override
+    public void publish(Long productId, Mono<StockChange> change) {
+        Pending started;
+        synchronized (this) {
+            ProductEvents events = products.computeIfAbsent(productId, id -> new ProductEvents());
+            Pending pending = new Pending(productId, ++sequence, change);
+            if (building < maxBuilding) {
+                started = start(events, pending);
+            } else if (events.waiting != null) {
+                superseded.increment();
+                events.waiting = pending;
+                return;
+            } else if (waiting.size() < bufferSize) {
+                events.waiting = pending;
+                waiting.add(productId);
+                return;
+            } else {
+                shed.increment();
+                release(productId, events);
+                return;
+            }
+        }
+        build(started);
+    }
+
+    private Pending start(ProductEvents events, Pending pending) {
+        building++;
+        events.building++;
+        return pending;
+    }
+
+    private void build(Pending pending) {
+        pending.change()
+                .doFinally(signal -> built(pending.productId()))
+                .subscribe(change -> emit(pending, change), error -> {
+                    failed.increment();
+                    log.warn("Stock change event dropped, building it failed: {}", error.toString());
+                });
+    }
+
+    // Hands the freed slot to the product that has waited longest
+    private void built(Long productId) {
+        Pending next = null;
+        synchronized (this) {
+            building--;
+            ProductEvents events = products.get(productId);
+            events.building--;
+            release(productId, events);
+            Long nextProductId = waiting.poll();
+            if (nextProductId != null) {
+                ProductEvents nextEvents = products.get(nextProductId);
+                next = start(nextEvents, nextEvents.waiting);
+                nextEvents.waiting = null;
+            }
+        }
+        if (next != null) {
+            build(next);
+        }
+    }
+
+    // Once nothing of a product is building or waiting, later events cannot be overtaken by earlier ones
+    private void release(Long productId, ProductEvents events) {
+        if (events.building == 0 && events.waiting == null) {
+            products.remove(productId);
+        }
+    }
+
+    // Events are built on many threads at once, so emission is serialized instead of retried: with directBestEffort
+    // the lock is only held while each event is handed to the subscribers' own buffers. An event whose lookups
+    // finished after those of a later write to the same product would take its stock back, so it is skipped
+    private synchronized void emit(Pending pending, StockChange change) {
+        ProductEvents events = products.get(pending.productId());
+        if (pending.sequence() < events.emitted) {
+            superseded.increment();
+            return;
+        }
+        events.emitted = pending.sequence();
+        sink.emitNext(change, Sinks.EmitFailureHandler.FAIL_FAST);
+        published.increment();
+    }
+
+    // Each subscriber drains its own bounded buffer; when a slow client fills it the oldest events go first, so it
+    // falls behind by at most bufferSize events. Since the events of a product are emitted in publish order, a
+    // client ends on the latest stock of each product unless that product's last event was shed or dropped
+    @Override
+    public Flux<StockChange> listen() {
+        return sink.asFlux()
+                .onBackpressureBuffer(bufferSize, change -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("stock.events")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Pending(Long productId, long sequence, Mono<StockChange> change) {
+    }
+
+    private static final class ProductEvents {
+
+        private int building;
+        private long emitted;
+        private Pending waiting;
+    }
+}
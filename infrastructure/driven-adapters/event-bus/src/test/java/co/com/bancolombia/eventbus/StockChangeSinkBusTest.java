@@ -0,0 +1,202 @@
+package co.com.bancolombia.eventbus;
+
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.model.stockchange.StockChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StockChangeSinkBus - Unit Tests")
+class StockChangeSinkBusTest {
+
+    private SimpleMeterRegistry registry;
+    private StockChangeSinkBus bus;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        bus = new StockChangeSinkBus(2, 1, registry);
+    }
+
+    @Test
+    @DisplayName("Should report subscribers only while someone listens")
+    void shouldTrackSubscribers() {
+        // Arrange
+        assertThat(bus.hasSubscribers()).isFalse();
+
+        // Act
+        Disposable subscription = bus.listen().subscribe();
+
+        // Assert
+        assertThat(bus.hasSubscribers()).isTrue();
+        subscription.dispose();
+        assertThat(bus.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should deliver every event to every subscriber")
+    void shouldFanOutToAllSubscribers() {
+        // Arrange
+        List<StockChange> first = new ArrayList<>();
+        List<StockChange> second = new ArrayList<>();
+        Disposable one = bus.listen().subscribe(first::add);
+        Disposable two = bus.listen().subscribe(second::add);
+
+        // Act
+        bus.publish(100L, Mono.just(change(1)));
+        bus.publish(100L, Mono.just(change(2)));
+
+        // Assert
+        assertThat(first).extracting(StockChange::getStock).containsExactly(1, 2);
+        assertThat(second).extracting(StockChange::getStock).containsExactly(1, 2);
+        one.dispose();
+        two.dispose();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest events of a slow subscriber and keep the latest ones")
+    void shouldDropOldestForSlowSubscriber() {
+        // Act & Assert
+        StepVerifier.create(bus.listen(), 0)
+                .then(() -> {
+                    bus.publish(100L, Mono.just(change(1)));
+                    bus.publish(100L, Mono.just(change(2)));
+                    bus.publish(100L, Mono.just(change(3)));
+                })
+                .thenRequest(2)
+                .assertNext(change -> assertThat(change.getStock()).isEqualTo(2))
+                .assertNext(change -> assertThat(change.getStock()).isEqualTo(3))
+                .thenCancel()
+                .verify();
+
+        assertThat(registry.get("stock.events").tag("result", "dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should accept events when nobody listens")
+    void shouldIgnoreEventsWithoutSubscribers() {
+        // Act
+        bus.publish(100L, Mono.just(change(1)));
+
+        // Assert
+        assertThat(registry.get("stock.events").tag("result", "published").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should count an event whose lookups fail without emitting it")
+    void shouldCountFailedEvents() {
+        // Arrange
+        List<StockChange> received = new ArrayList<>();
+        Disposable subscription = bus.listen().subscribe(received::add);
+
+        // Act
+        bus.publish(100L, Mono.error(new RuntimeException("Database error")));
+        bus.publish(100L, Mono.just(change(1)));
+
+        // Assert
+        assertThat(received).extracting(StockChange::getStock).containsExactly(1);
+        assertThat(registry.get("stock.events").tag("result", "failed").counter().count()).isEqualTo(1.0);
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should skip an event whose lookups finish after those of a later event of the same product")
+    void shouldSkipEventOvertakenByLaterOne() {
+        // Arrange
+        bus = new StockChangeSinkBus(2, 2, registry);
+        List<StockChange> received = new ArrayList<>();
+        Disposable subscription = bus.listen().subscribe(received::add);
+        Sinks.One<StockChange> earlier = Sinks.one();
+        Sinks.One<StockChange> later = Sinks.one();
+        bus.publish(100L, earlier.asMono());
+        bus.publish(100L, later.asMono());
+
+        // Act
+        later.tryEmitValue(change(2));
+        earlier.tryEmitValue(change(1));
+
+        // Assert
+        assertThat(received).extracting(StockChange::getStock).containsExactly(2);
+        assertThat(registry.get("stock.events").tag("result", "superseded").counter().count()).isEqualTo(1.0);
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should keep events of different products that finish in reverse order")
+    void shouldEmitOtherProductsInAnyOrder() {
+        // Arrange
+        bus = new StockChangeSinkBus(2, 2, registry);
+        List<StockChange> received = new ArrayList<>();
+        Disposable subscription = bus.listen().subscribe(received::add);
+        Sinks.One<StockChange> first = Sinks.one();
+        Sinks.One<StockChange> second = Sinks.one();
+        bus.publish(100L, first.asMono());
+        bus.publish(200L, second.asMono());
+
+        // Act
+        second.tryEmitValue(change(200L, 2));
+        first.tryEmitValue(change(1));
+
+        // Assert
+        assertThat(received).extracting(StockChange::getStock).containsExactly(2, 1);
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should build only the latest waiting event of a product once a slot frees up")
+    void shouldBuildLatestWaitingEventWhenSlotFrees() {
+        // Arrange
+        List<StockChange> received = new ArrayList<>();
+        Disposable subscription = bus.listen().subscribe(received::add);
+        Sinks.One<StockChange> building = Sinks.one();
+        bus.publish(200L, building.asMono());
+        bus.publish(100L, Mono.just(change(1)));
+        bus.publish(100L, Mono.just(change(2)));
+
+        // Act
+        building.tryEmitValue(change(200L, 5));
+
+        // Assert
+        assertThat(received).extracting(StockChange::getStock).containsExactly(5, 2);
+        assertThat(registry.get("stock.events").tag("result", "superseded").counter().count()).isEqualTo(1.0);
+        subscription.dispose();
+    }
+
+    @Test
+    @DisplayName("Should shed events while too many products are waiting to be built")
+    void shouldShedEventsOverLimit() {
+        // Act
+        bus.publish(100L, Mono.never());
+        bus.publish(200L, Mono.just(change(200L, 1)));
+        bus.publish(300L, Mono.just(change(300L, 1)));
+        bus.publish(400L, Mono.just(change(400L, 1)));
+
+        // Assert
+        assertThat(registry.get("stock.events").tag("result", "shed").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("stock.events").tag("result", "published").counter().count()).isZero();
+    }
+
+    private static StockChange change(int stock) {
+        return change(100L, stock);
+    }
+
+    private static StockChange change(Long productId, int stock) {
+        return StockChange.builder()
+                .type(StockChangeType.STOCK_UPDATED)
+                .franchiseId(1L)
+                .branchId(10L)
+                .productId(productId)
+                .stock(stock)
+                .build();
+    }
+}
@@ -5,10 +5,14 @@ import org.springframework.stereotype.Component;
 import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.BranchWithTopProduct;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.mysql.mapper.BranchMapper;
 import co.com.bancolombia.mysql.mapper.BranchWithProductMapper;
 import co.com.bancolombia.mysql.repository.BranchR2dbcRepository;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -19,12 +23,18 @@ public class BranchMySQLAdapter implements BranchRepository {
     private final BranchR2dbcRepository r2dbcRepository;
     private final BranchMapper branchMapper;
     private final BranchWithProductMapper branchWithProductMapper;
+    private final BranchTopProductR2dbcRepository topProductRepository;
+    private final TransactionalOperator transactionalOperator;
 
     @Override
     public Mono<Branch> save(Branch branch) {
         return Mono.fromSupplier(() -> branchMapper.toEntity(branch))
                 .flatMap(r2dbcRepository::save)
-                .map(branchMapper::toDomain);
+                .onErrorMap(DuplicateKeys::isDuplicateKey,
+                    error -> new BusinessException(TechnicalMessage.BRANCH_NAME_ALREADY_EXISTS))
+                .flatMap(saved -> topProductRepository.createForBranch(saved.getId()).thenReturn(saved))
+                .map(branchMapper::toDomain)
+                .as(transactionalOperator::transactional);
     }
 
     @Override
@@ -40,9 +50,16 @@ public class BranchMySQLAdapter implements BranchRepository {
     }
 
     @Override
-    public Mono<Void> updateName(Long branchId, String newName) {
-        return r2dbcRepository.updateName(branchId, newName)
-            .then();
+    public Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion) {
+        Mono<Integer> update = expectedVersion == null
+            ? r2dbcRepository.updateName(branchId, newName)
+            : r2dbcRepository.updateNameIfVersion(branchId, newName, expectedVersion);
+        return update
+            .onErrorMap(DuplicateKeys::isDuplicateKey,
+                error -> new BusinessException(TechnicalMessage.BRANCH_NAME_DUPLICATE))
+            .filter(updatedRows -> updatedRows > 0)
+            .flatMap(updatedRows -> r2dbcRepository.findById(branchId))
+            .map(branchMapper::toDomain);
     }
 
     @Override
@@ -50,4 +67,10 @@ public class BranchMySQLAdapter implements BranchRepository {
         return r2dbcRepository.findBranchesWithTopProductByFranchiseId(franchiseId)
                 .map(branchWithProductMapper::toDomain);
     }
+
+    @Override
+    public Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit) {
+        return r2dbcRepository.findPageByFranchiseId(franchiseId, afterId, limit)
+                .map(branchMapper::toDomain);
+    }
 }
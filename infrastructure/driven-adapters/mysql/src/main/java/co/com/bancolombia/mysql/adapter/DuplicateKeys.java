@@ -0,0 +1,23 @@
+package co.com.bancolombia.mysql.adapter;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+final class DuplicateKeys {
+
+    // MySQL ER_DUP_ENTRY
+    private static final int DUPLICATE_ENTRY = 1062;
+
+    private DuplicateKeys() {
+    }
+
+    // Spring translates the driver exception when it goes through DatabaseClient; raw driver errors are checked as well
+    static boolean isDuplicateKey(Throwable error) {
+        if (error instanceof DuplicateKeyException) {
+            return true;
+        }
+        Throwable cause = error.getCause() instanceof R2dbcDataIntegrityViolationException ? error.getCause() : error;
+        return cause instanceof R2dbcDataIntegrityViolationException violation
+            && violation.getErrorCode() == DUPLICATE_ENTRY;
+    }
+}
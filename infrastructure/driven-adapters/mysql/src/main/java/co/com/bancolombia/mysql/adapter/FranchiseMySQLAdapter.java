@@ -1,5 +1,7 @@
 package co.com.bancolombia.mysql.adapter;
 
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.mysql.mapper.FranchiseMapper;
@@ -7,6 +9,7 @@ import co.com.bancolombia.mysql.repository.FranchiseR2dbcRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
@@ -21,6 +24,8 @@ public class FranchiseMySQLAdapter implements FranchiseRepository {
     public Mono<Franchise> save(Franchise franchise) {
         return Mono.fromSupplier(() -> franchiseMapper.toEntity(franchise))
             .flatMap(r2dbcRepository::save)
+            .onErrorMap(DuplicateKeys::isDuplicateKey,
+                error -> new BusinessException(TechnicalMessage.FRANCHISE_NAME_ALREADY_EXISTS))
             .map(franchiseMapper::toDomain);
     }
 
@@ -30,6 +35,11 @@ public class FranchiseMySQLAdapter implements FranchiseRepository {
             .map(franchiseMapper::toDomain);
     }
 
+    @Override
+    public Mono<Franchise> findCurrentById(Long franchiseId) {
+        return findById(franchiseId);
+    }
+
     @Override
     public Mono<Franchise> findByName(String name) {
         return r2dbcRepository.findByName(name)
@@ -37,8 +47,26 @@ public class FranchiseMySQLAdapter implements FranchiseRepository {
     }
 
     @Override
-    public Mono<Void> updateName(Long franchiseId, String newName) {
-        return r2dbcRepository.updateName(franchiseId, newName)
-            .then();
+    public Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion) {
+        Mono<Integer> update = expectedVersion == null
+            ? r2dbcRepository.updateName(franchiseId, newName)
+            : r2dbcRepository.updateNameIfVersion(franchiseId, newName, expectedVersion);
+        return update
+            .onErrorMap(DuplicateKeys::isDuplicateKey,
+                error -> new BusinessException(TechnicalMessage.FRANCHISE_NAME_DUPLICATE))
+            .filter(updatedRows -> updatedRows > 0)
+            .flatMap(updatedRows -> r2dbcRepository.findById(franchiseId))
+            .map(franchiseMapper::toDomain);
+    }
+
+    @Override
+    public Flux<Franchise> findPage(Long afterId, int limit) {
+        return r2dbcRepository.findPage(afterId, limit)
+            .map(franchiseMapper::toDomain);
+    }
+
+    @Override
+    public Mono<String> findTopProductsVersion(Long franchiseId) {
+        return r2dbcRepository.findTopProductsVersion(franchiseId);
     }
 }
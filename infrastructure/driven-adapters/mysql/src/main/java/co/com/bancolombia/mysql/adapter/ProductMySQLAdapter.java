@@ -1,26 +1,42 @@
 package co.com.bancolombia.mysql.adapter;
 
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.mysql.batch.ProductBatchOperations;
 import co.com.bancolombia.mysql.mapper.ProductMapper;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
 import co.com.bancolombia.mysql.repository.ProductR2dbcRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class ProductMySQLAdapter implements ProductRepository {
 
     private final ProductR2dbcRepository r2dbcRepository;
     private final ProductMapper productMapper;
+    private final ProductBatchOperations batchOperations;
+    private final BranchTopProductR2dbcRepository topProductRepository;
+    private final TransactionalOperator transactionalOperator;
 
     @Override
     public Mono<Product> save(Product product) {
         return Mono.fromSupplier(() -> productMapper.toEntity(product))
             .flatMap(r2dbcRepository::save)
-            .map(productMapper::toDomain);
+            .onErrorMap(DuplicateKeys::isDuplicateKey, error -> duplicateName())
+            .flatMap(saved -> refreshTopProductsOf(List.of(saved.getId())).thenReturn(saved))
+            .map(productMapper::toDomain)
+            .as(transactionalOperator::transactional);
     }
 
     @Override
@@ -36,20 +52,78 @@ public class ProductMySQLAdapter implements ProductRepository {
     }
 
     @Override
-    public Mono<Void> deleteById(Long productId) {
-        return r2dbcRepository.deleteById(productId);
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        return r2dbcRepository.findNamesByBranchIdAndNameIn(branchId, names);
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return batchOperations.insertAll(branchId, products)
+            .onErrorMap(DuplicateKeys::isDuplicateKey, error -> duplicateName())
+            .collectList()
+            .flatMapMany(inserted -> refreshTopProductsOf(inserted.stream().map(Product::getId).toList())
+                .thenMany(Flux.fromIterable(inserted)))
+            .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return r2dbcRepository.deleteByIdAndBranchId(productId, branchId)
+            .flatMap(deletedRows -> deletedRows > 0
+                ? refreshClearedTopProductOf(branchId).thenReturn(true)
+                : Mono.just(false))
+            .as(transactionalOperator::transactional);
     }
 
     @Override
     public Mono<Void> updateStock(Long productId, Integer newStock) {
         return r2dbcRepository.updateStock(productId, newStock)
-            .then();
+            .filter(updatedRows -> updatedRows > 0)
+            .flatMap(updatedRows -> refreshTopProductsOf(List.of(productId)))
+            .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        return readBackIfUpdated(productId, expectedVersion == null
+            ? r2dbcRepository.updateStock(productId, newStock)
+            : r2dbcRepository.updateStockIfVersion(productId, newStock, expectedVersion));
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return readBackIfUpdated(productId, r2dbcRepository.adjustStock(productId, delta));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return batchOperations.updateStock(updates)
+            .zipWithIterable(updates, (updatedRows, update) -> updatedRows > 0
+                ? StockUpdateResult.updated(update)
+                : StockUpdateResult.rejected(update, TechnicalMessage.PRODUCT_NOT_FOUND))
+            .collectList()
+            .flatMapMany(results -> refreshTopProductsOf(results.stream()
+                    .filter(StockUpdateResult::isUpdated)
+                    .map(StockUpdateResult::getProductId)
+                    .toList())
+                .thenMany(Flux.fromIterable(results)))
+            .as(transactionalOperator::transactional);
     }
 
+    // A rename cannot move the branch ranking, so unlike the stock writes it skips the top-product refresh; the
+    // renamed product may still be the one the max-stock response shows, so its branch's version moves
     @Override
-    public Mono<Void> updateName(Long productId, String newName) {
-        return r2dbcRepository.updateName(productId, newName)
-            .then();
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        Mono<Integer> update = expectedVersion == null
+            ? r2dbcRepository.updateName(productId, newName)
+            : r2dbcRepository.updateNameIfVersion(productId, newName, expectedVersion);
+        return update
+            .onErrorMap(DuplicateKeys::isDuplicateKey, error -> duplicateName())
+            .filter(updatedRows -> updatedRows > 0)
+            .flatMap(updatedRows -> topProductRepository.bumpVersionForTopProduct(productId))
+            .flatMap(bumped -> r2dbcRepository.findById(productId))
+            .map(productMapper::toDomain)
+            .as(transactionalOperator::transactional);
     }
 
     @Override
@@ -57,4 +131,42 @@ public class ProductMySQLAdapter implements ProductRepository {
         return r2dbcRepository.findMaxStockByFranchise(franchiseId)
             .map(productMapper::toDomain);
     }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return r2dbcRepository.findPageByBranchId(branchId, afterId, limit)
+            .map(productMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return r2dbcRepository.findTopByBranchId(branchId)
+            .map(productMapper::toDomain);
+    }
+
+    private static BusinessException duplicateName() {
+        return new BusinessException(TechnicalMessage.PRODUCT_NAME_DUPLICATE);
+    }
+
+    // r2dbc-mysql reports matched (found) rows, so 0 means the WHERE clause matched nothing
+    private Mono<Product> readBackIfUpdated(Long productId, Mono<Integer> update) {
+        return update
+            .filter(updatedRows -> updatedRows > 0)
+            .flatMap(updatedRows -> r2dbcRepository.findById(productId))
+            .flatMap(updated -> refreshTopProductsOf(List.of(productId)).thenReturn(updated))
+            .map(productMapper::toDomain)
+            .as(transactionalOperator::transactional);
+    }
+
+    // Every write that can change a branch ranking refreshes branch_top_product in the same transaction, so the
+    // projection and its version never commit out of step with the rows they describe. Branches whose top
+    // product the written products neither are nor outrank are left untouched.
+    private Mono<Void> refreshTopProductsOf(Collection<Long> productIds) {
+        return topProductRepository.refreshForProducts(productIds);
+    }
+
+    // Deleting any other product cannot move the ranking
+    private Mono<Void> refreshClearedTopProductOf(Long branchId) {
+        return topProductRepository.refreshIfCleared(branchId);
+    }
 }
@@ -0,0 +1,106 @@
+package co.com.bancolombia.mysql.batch;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductBatchOperations {
+
+    private static final String UPDATE_STOCK_SQL =
+            "UPDATE products SET stock = ?, version = version + 1, updated_at = NOW() WHERE id = ?";
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE products SET stock = stock + ?, version = version + 1, updated_at = NOW() WHERE id = ? AND stock + ? >= 0";
+    private static final String INSERT_PRODUCTS_SQL = "INSERT INTO products (name, stock, branch_id) VALUES ";
+    private static final String SELECT_INSERTED_SQL =
+            "SELECT id, name, stock, branch_id FROM products WHERE branch_id = :branchId AND name IN (:names)";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    // Emits the affected-row count of every update in input order; the whole list runs in one transaction
+    public Flux<Long> updateStock(List<StockUpdate> updates) {
+        return executeBatch(UPDATE_STOCK_SQL, updates, (statement, update) -> statement
+                .bind(0, update.getStock())
+                .bind(1, update.getProductId()));
+    }
+
+    // Same as updateStock with each stock read as a delta; a delta that would leave negative stock matches no row
+    public Flux<Long> adjustStock(List<StockUpdate> adjustments) {
+        return executeBatch(ADJUST_STOCK_SQL, adjustments, (statement, adjustment) -> statement
+                .bind(0, adjustment.getStock())
+                .bind(1, adjustment.getProductId())
+                .bind(2, adjustment.getStock()));
+    }
+
+    // One multi-row INSERT per call; generated ids are read back by name because auto-increment values of a
+    // multi-row insert are not guaranteed to be consecutive. Emits the inserted products in input order.
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        if (products.isEmpty()) {
+            return Flux.empty();
+        }
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(
+                INSERT_PRODUCTS_SQL + String.join(", ", Collections.nCopies(products.size(), "(?, ?, ?)")));
+        for (int i = 0; i < products.size(); i++) {
+            insert = insert.bind(3 * i, products.get(i).getName())
+                    .bind(3 * i + 1, products.get(i).getStock())
+                    .bind(3 * i + 2, branchId);
+        }
+        List<String> names = products.stream().map(Product::getName).toList();
+
+        return insert.fetch().rowsUpdated()
+                .thenMany(databaseClient.sql(SELECT_INSERTED_SQL)
+                        .bind("branchId", branchId)
+                        .bind("names", names)
+                        .map((row, metadata) -> Product.builder()
+                                .id(row.get("id", Long.class))
+                                .name(row.get("name", String.class))
+                                .stock(row.get("stock", Integer.class))
+                                .branchId(row.get("branch_id", Long.class))
+                                .build())
+                        .all())
+                .collect(Collectors.toMap(Product::getName, product -> product,
+                        (first, second) -> first.getId() > second.getId() ? first : second))
+                .flatMapIterable(byName -> insertedInInputOrder(products, byName))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<Long> executeBatch(String sql, List<StockUpdate> updates, BiConsumer<Statement, StockUpdate> binder) {
+        if (updates.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(sql);
+                    for (int i = 0; i < updates.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        binder.accept(statement, updates.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(Result::getRowsUpdated);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private static List<Product> insertedInInputOrder(List<Product> products, Map<String, Product> byName) {
+        return products.stream()
+                .map(product -> byName.get(product.getName()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package co.com.bancolombia.mysql.cache;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachedBranchRepository implements BranchRepository {
+
+    private final BranchRepository delegate;
+    private final ReadThroughCache<Branch> cache;
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return delegate.save(branch)
+                .doOnNext(saved -> cache.put(saved.getId(), saved));
+    }
+
+    @Override
+    public Mono<Branch> findById(Long branchId) {
+        return cache.get(branchId, delegate::findById);
+    }
+
+    @Override
+    public Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId) {
+        return delegate.findByNameAndFranchiseId(name, franchiseId);
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion) {
+        return delegate.updateName(branchId, newName, expectedVersion)
+                .doFinally(signal -> cache.invalidate(branchId));
+    }
+
+    @Override
+    public Flux<BranchWithTopProduct> findBranchesWithTopProductByFranchiseId(Long franchiseId) {
+        return delegate.findBranchesWithTopProductByFranchiseId(franchiseId);
+    }
+
+    @Override
+    public Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit) {
+        return delegate.findPageByFranchiseId(franchiseId, afterId, limit);
+    }
+}
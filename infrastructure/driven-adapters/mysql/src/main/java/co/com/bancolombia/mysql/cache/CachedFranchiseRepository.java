@@ -0,0 +1,54 @@
+package co.com.bancolombia.mysql.cache;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachedFranchiseRepository implements FranchiseRepository {
+
+    private final FranchiseRepository delegate;
+    private final ReadThroughCache<Franchise> cache;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise)
+                .doOnNext(saved -> cache.put(saved.getId(), saved));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long franchiseId) {
+        return cache.get(franchiseId, delegate::findById);
+    }
+
+    // Bypasses the cache: another instance may have renamed the franchise within the TTL, and the max-stock
+    // ETag, read from the database, would then label this instance's stale name
+    @Override
+    public Mono<Franchise> findCurrentById(Long franchiseId) {
+        return delegate.findCurrentById(franchiseId);
+    }
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion) {
+        return delegate.updateName(franchiseId, newName, expectedVersion)
+                .doFinally(signal -> cache.invalidate(franchiseId));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    // Never cached: it is the freshness probe for conditional GETs
+    @Override
+    public Mono<String> findTopProductsVersion(Long franchiseId) {
+        return delegate.findTopProductsVersion(franchiseId);
+    }
+}
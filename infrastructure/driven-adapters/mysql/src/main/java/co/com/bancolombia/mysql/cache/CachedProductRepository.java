@@ -0,0 +1,96 @@
+package co.com.bancolombia.mysql.cache;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CachedProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final ReadThroughCache<Product> cache;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return delegate.save(product)
+                .doOnNext(saved -> cache.put(saved.getId(), saved));
+    }
+
+    @Override
+    public Mono<Product> findById(Long productId) {
+        return cache.get(productId, delegate::findById);
+    }
+
+    @Override
+    public Mono<Product> findByNameAndBranchId(String name, Long branchId) {
+        return delegate.findByNameAndBranchId(name, branchId);
+    }
+
+    @Override
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        return delegate.findExistingNames(branchId, names);
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return delegate.insertAll(branchId, products)
+                .doOnNext(inserted -> cache.put(inserted.getId(), inserted));
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return delegate.deleteByIdAndBranchId(productId, branchId)
+                .doFinally(signal -> cache.invalidate(productId));
+    }
+
+    @Override
+    public Mono<Void> updateStock(Long productId, Integer newStock) {
+        return delegate.updateStock(productId, newStock)
+                .doFinally(signal -> cache.invalidate(productId));
+    }
+
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        return delegate.updateStockAndGet(productId, newStock, expectedVersion)
+                .doFinally(signal -> cache.invalidate(productId));
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return delegate.adjustStock(productId, delta)
+                .doFinally(signal -> cache.invalidate(productId));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return delegate.updateStockBatch(updates)
+                .doFinally(signal -> updates.forEach(update -> cache.invalidate(update.getProductId())));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        return delegate.updateName(productId, newName, expectedVersion)
+                .doFinally(signal -> cache.invalidate(productId));
+    }
+
+    @Override
+    public Flux<Product> findMaxStockByFranchise(Long franchiseId) {
+        return delegate.findMaxStockByFranchise(franchiseId);
+    }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return delegate.findPageByBranchId(branchId, afterId, limit);
+    }
+
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return delegate.findTopByBranchId(branchId);
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.bancolombia.mysql.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded, TTL-based in-process cache for lookups by id.
+ * Values are copied on the way in and out because the domain models are mutable.
+ * Every invalidation bumps a striped generation counter so that a load that raced
+ * with a write never repopulates the cache with the pre-write value.
+ */
+public class ReadThroughCache<V> {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<Long, V> cache;
+    private final UnaryOperator<V> copier;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public ReadThroughCache(String name, long maximumSize, Duration ttl,
+                            UnaryOperator<V> copier, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.copier = copier;
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public Mono<V> get(Long id, Function<Long, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            V cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(copier.apply(cached));
+            }
+            long generation = generations.get(stripe(id));
+            return loader.apply(id)
+                    .doOnNext(value -> {
+                        if (generations.get(stripe(id)) == generation) {
+                            cache.put(id, copier.apply(value));
+                        }
+                    });
+        });
+    }
+
+    public void put(Long id, V value) {
+        if (id != null && value != null) {
+            cache.put(id, copier.apply(value));
+        }
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            generations.incrementAndGet(stripe(id));
+            cache.invalidate(id);
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+}
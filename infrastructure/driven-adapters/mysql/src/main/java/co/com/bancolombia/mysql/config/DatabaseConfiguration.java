@@ -1,6 +1,15 @@
 package co.com.bancolombia.mysql.config;
 
+import co.com.bancolombia.mysql.pool.AdaptivePoolSizing;
+import co.com.bancolombia.mysql.pool.PoolSettings;
+import co.com.bancolombia.mysql.pool.PooledConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -8,15 +17,96 @@ import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.ReactiveTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 @Configuration
 @ComponentScan(basePackages = "co.com.bancolombia.mysql")
 @EnableR2dbcRepositories(basePackages = "co.com.bancolombia.mysql.repository")
 @EnableTransactionManagement
+@EnableConfigurationProperties(R2dbcProperties.class)
 public class DatabaseConfiguration {
 
+    // Replaces the auto-configured pool, still bound from spring.r2dbc, so the pool can be instrumented and resized
+    @Bean
+    public PooledConnectionFactory connectionFactory(
+            R2dbcProperties properties,
+            @Value("${adapters.pool.adaptive.enabled:false}") boolean adaptive,
+            @Value("${adapters.pool.adaptive.min-size:5}") int minSize,
+            @Value("${adapters.pool.adaptive.step:2}") int step,
+            @Value("${adapters.pool.adaptive.interval:1s}") Duration interval,
+            @Value("${adapters.pool.adaptive.shrink-delay:30s}") Duration shrinkDelay,
+            MeterRegistry registry) {
+        rejectUnsupported(properties);
+        R2dbcProperties.Pool pool = properties.getPool();
+        PoolSettings settings = PoolSettings.builder()
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .validationQuery(Objects.requireNonNullElse(pool.getValidationQuery(), "SELECT 1"))
+                .adjustInterval(interval)
+                .build();
+        AdaptivePoolSizing sizing = adaptive
+                ? new AdaptivePoolSizing(minSize, pool.getMaxSize(), step, interval, shrinkDelay)
+                : null;
+        return new PooledConnectionFactory("primary",
+                PooledConnectionFactory.options(properties.getUrl(), properties.getUsername(),
+                        Objects.requireNonNullElse(properties.getPassword(), "")),
+                settings, sizing, registry);
+    }
+
+    // Runs during context refresh, so readiness only reports UP once the initial connections are open
+    @Bean
+    public InitializingBean connectionPoolWarmup(PooledConnectionFactory connectionFactory,
+                                                @Value("${adapters.pool.warmup-timeout:30s}") Duration timeout) {
+        return () -> connectionFactory.warmup().block(timeout);
+    }
+
+    // Settings the pool does not carry over fail startup instead of being silently ignored
+    private static void rejectUnsupported(R2dbcProperties properties) {
+        R2dbcProperties.Pool pool = properties.getPool();
+        List<String> unsupported = new ArrayList<>();
+        if (!pool.isEnabled()) {
+            unsupported.add("spring.r2dbc.pool.enabled=false");
+        }
+        if (!properties.getProperties().isEmpty()) {
+            unsupported.add("spring.r2dbc.properties");
+        }
+        if (pool.getMinIdle() != 0) {
+            unsupported.add("spring.r2dbc.pool.min-idle");
+        }
+        if (pool.getMaxLifeTime() != null) {
+            unsupported.add("spring.r2dbc.pool.max-life-time");
+        }
+        if (pool.getMaxCreateConnectionTime() != null) {
+            unsupported.add("spring.r2dbc.pool.max-create-connection-time");
+        }
+        if (pool.getMaxValidationTime() != null) {
+            unsupported.add("spring.r2dbc.pool.max-validation-time");
+        }
+        if (pool.getAcquireRetry() != 1) {
+            unsupported.add("spring.r2dbc.pool.acquire-retry");
+        }
+        if (pool.getValidationDepth() != ValidationDepth.LOCAL) {
+            unsupported.add("spring.r2dbc.pool.validation-depth");
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("The adapter's connection pool does not support " + unsupported);
+        }
+    }
+
     @Bean
     public ReactiveTransactionManager transactionManager(ConnectionFactory connectionFactory) {
         return new R2dbcTransactionManager(connectionFactory);
     }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
 }
@@ -0,0 +1,37 @@
+package co.com.bancolombia.mysql.config;
+
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
+import co.com.bancolombia.mysql.idempotency.IdempotencyMySQLAdapter;
+import co.com.bancolombia.mysql.idempotency.InMemoryIdempotencyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// The in-memory store only replays retries that land on the same instance; mysql shares them across instances
+@Configuration
+public class IdempotencyConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "adapters.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyRepository inMemoryIdempotencyRepository(
+            @Value("${adapters.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${adapters.idempotency.ttl:24h}") Duration ttl,
+            MeterRegistry registry) {
+        return new InMemoryIdempotencyRepository(maximumSize, ttl, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "adapters.idempotency", name = "store", havingValue = "mysql")
+    public IdempotencyMySQLAdapter idempotencyMySQLAdapter(
+            DatabaseClient databaseClient,
+            @Value("${adapters.idempotency.ttl:24h}") Duration ttl,
+            @Value("${adapters.idempotency.pending-timeout:30s}") Duration pendingTimeout,
+            @Value("${adapters.idempotency.purge-interval:1m}") Duration purgeInterval) {
+        return new IdempotencyMySQLAdapter(databaseClient, ttl, pendingTimeout, purgeInterval);
+    }
+}
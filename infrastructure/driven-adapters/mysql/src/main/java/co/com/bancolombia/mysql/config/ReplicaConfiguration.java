@@ -0,0 +1,54 @@
+package co.com.bancolombia.mysql.config;
+
+import co.com.bancolombia.mysql.pool.PoolSettings;
+import co.com.bancolombia.mysql.replica.ReplicaDatabase;
+import co.com.bancolombia.mysql.replica.ReplicaLagMonitor;
+import co.com.bancolombia.mysql.replica.ReplicaRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Everything under spring.r2dbc stays the primary; the replica only serves the reads RepositoryDecoratorConfiguration routes to it
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfiguration {
+
+    @Bean
+    public ReplicaDatabase replicaDatabase(
+            @Value("${adapters.replica.url}") String url,
+            @Value("${adapters.replica.username}") String username,
+            @Value("${adapters.replica.password:}") String password,
+            @Value("${adapters.replica.pool.initial-size:5}") int initialSize,
+            @Value("${adapters.replica.pool.max-size:20}") int maxSize,
+            @Value("${adapters.replica.pool.max-idle-time:30m}") Duration maxIdleTime,
+            MeterRegistry registry) {
+        return new ReplicaDatabase(url, username, password, PoolSettings.builder()
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .validationQuery("SELECT 1")
+                .build(), registry);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaDatabase replicaDatabase,
+            @Value("${adapters.replica.max-staleness:2s}") Duration maxStaleness,
+            @Value("${adapters.replica.probe-interval:1s}") Duration probeInterval,
+            MeterRegistry registry) {
+        return new ReplicaLagMonitor(replicaDatabase.databaseClient(), maxStaleness, probeInterval, registry);
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(
+            ReplicaLagMonitor lagMonitor,
+            @Value("${adapters.replica.max-staleness:2s}") Duration maxStaleness,
+            @Value("${adapters.replica.max-recent-writes:100000}") long maxRecentWrites,
+            MeterRegistry registry) {
+        return new ReplicaRouter(lagMonitor, maxStaleness, maxRecentWrites, registry);
+    }
+}
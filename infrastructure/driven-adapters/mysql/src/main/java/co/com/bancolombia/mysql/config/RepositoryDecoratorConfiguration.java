@@ -0,0 +1,152 @@
+package co.com.bancolombia.mysql.config;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.mysql.adapter.BranchMySQLAdapter;
+import co.com.bancolombia.mysql.adapter.FranchiseMySQLAdapter;
+import co.com.bancolombia.mysql.adapter.ProductMySQLAdapter;
+import co.com.bancolombia.mysql.batch.ProductBatchOperations;
+import co.com.bancolombia.mysql.cache.CachedBranchRepository;
+import co.com.bancolombia.mysql.cache.CachedFranchiseRepository;
+import co.com.bancolombia.mysql.cache.CachedProductRepository;
+import co.com.bancolombia.mysql.cache.ReadThroughCache;
+import co.com.bancolombia.mysql.mapper.BranchMapper;
+import co.com.bancolombia.mysql.mapper.BranchWithProductMapper;
+import co.com.bancolombia.mysql.mapper.FranchiseMapper;
+import co.com.bancolombia.mysql.mapper.ProductMapper;
+import co.com.bancolombia.mysql.metrics.GatewayMetrics;
+import co.com.bancolombia.mysql.metrics.TimedBranchRepository;
+import co.com.bancolombia.mysql.metrics.TimedFranchiseRepository;
+import co.com.bancolombia.mysql.metrics.TimedProductRepository;
+import co.com.bancolombia.mysql.replica.ReplicaDatabase;
+import co.com.bancolombia.mysql.replica.ReplicaRouter;
+import co.com.bancolombia.mysql.replica.ReplicaRoutingBranchRepository;
+import co.com.bancolombia.mysql.replica.ReplicaRoutingFranchiseRepository;
+import co.com.bancolombia.mysql.replica.ReplicaRoutingProductRepository;
+import co.com.bancolombia.mysql.repository.BranchR2dbcRepository;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
+import co.com.bancolombia.mysql.repository.FranchiseR2dbcRepository;
+import co.com.bancolombia.mysql.repository.ProductR2dbcRepository;
+import co.com.bancolombia.mysql.writebehind.StockWriteBehindBuffer;
+import co.com.bancolombia.mysql.writebehind.WriteBehindProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+
+// Wraps each adapter as cache -> timer -> adapter, so gateway timers only see calls that reach the database.
+// With write-behind enabled, products become cache -> write-behind -> timer -> adapter.
+// With a replica enabled, the adapter becomes a router over the primary adapter and a replica copy of it.
+@Configuration
+public class RepositoryDecoratorConfiguration {
+
+    private final boolean cacheEnabled;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final GatewayMetrics metrics;
+
+    public RepositoryDecoratorConfiguration(
+            @Value("${adapters.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${adapters.cache.maximum-size:10000}") long maximumSize,
+            @Value("${adapters.cache.ttl:30s}") Duration ttl,
+            @Value("${adapters.metrics.slo:5ms,10ms,25ms,50ms,100ms,250ms}") Duration[] serviceLevelObjectives,
+            MeterRegistry registry) {
+        this.cacheEnabled = cacheEnabled;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.metrics = new GatewayMetrics(registry, serviceLevelObjectives);
+    }
+
+    @Bean
+    @Primary
+    public FranchiseRepository franchiseRepository(FranchiseMySQLAdapter adapter,
+                                                   FranchiseMapper franchiseMapper,
+                                                   ObjectProvider<ReplicaRouter> replicaRouter,
+                                                   ObjectProvider<ReplicaDatabase> replicaDatabase,
+                                                   MeterRegistry registry) {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        FranchiseRepository routed = router == null ? adapter : new ReplicaRoutingFranchiseRepository(adapter,
+                new FranchiseMySQLAdapter(replicaDatabase.getObject().repository(FranchiseR2dbcRepository.class),
+                        franchiseMapper),
+                router);
+        FranchiseRepository timed = new TimedFranchiseRepository(routed, metrics);
+        if (!cacheEnabled) {
+            return timed;
+        }
+        return new CachedFranchiseRepository(timed,
+                new ReadThroughCache<Franchise>("franchises", maximumSize, ttl, f -> f.toBuilder().build(), registry));
+    }
+
+    @Bean
+    @Primary
+    public BranchRepository branchRepository(BranchMySQLAdapter adapter,
+                                             BranchMapper branchMapper,
+                                             BranchWithProductMapper branchWithProductMapper,
+                                             TransactionalOperator transactionalOperator,
+                                             ObjectProvider<ReplicaRouter> replicaRouter,
+                                             ObjectProvider<ReplicaDatabase> replicaDatabase,
+                                             MeterRegistry registry) {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        BranchRepository routed = router == null ? adapter : new ReplicaRoutingBranchRepository(adapter,
+                new BranchMySQLAdapter(replicaDatabase.getObject().repository(BranchR2dbcRepository.class),
+                        branchMapper, branchWithProductMapper, transactionalOperator),
+                router);
+        BranchRepository timed = new TimedBranchRepository(routed, metrics);
+        if (!cacheEnabled) {
+            return timed;
+        }
+        return new CachedBranchRepository(timed,
+                new ReadThroughCache<Branch>("branches", maximumSize, ttl, b -> b.toBuilder().build(), registry));
+    }
+
+    @Bean
+    @Primary
+    public ProductRepository productRepository(ProductMySQLAdapter adapter,
+                                               ProductMapper productMapper,
+                                               ProductBatchOperations batchOperations,
+                                               BranchTopProductR2dbcRepository topProductRepository,
+                                               TransactionalOperator transactionalOperator,
+                                               ObjectProvider<StockWriteBehindBuffer> writeBehindBuffer,
+                                               ObjectProvider<ReplicaRouter> replicaRouter,
+                                               ObjectProvider<ReplicaDatabase> replicaDatabase,
+                                               MeterRegistry registry) {
+        StockWriteBehindBuffer buffer = writeBehindBuffer.getIfAvailable();
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        // The replica copy only ever serves reads, so its write collaborators are the primary ones
+        ProductRepository routed = router == null ? adapter : new ReplicaRoutingProductRepository(adapter,
+                new ProductMySQLAdapter(replicaDatabase.getObject().repository(ProductR2dbcRepository.class),
+                        productMapper, batchOperations, topProductRepository, transactionalOperator),
+                router, buffer == null);
+        ProductRepository timed = new TimedProductRepository(routed, metrics);
+        ProductRepository source = buffer != null ? new WriteBehindProductRepository(timed, buffer) : timed;
+        if (!cacheEnabled) {
+            return source;
+        }
+        return new CachedProductRepository(source,
+                new ReadThroughCache<Product>("products", maximumSize, ttl, p -> p.toBuilder().build(), registry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "adapters.stock-write-behind", name = "enabled", havingValue = "true")
+    public StockWriteBehindBuffer stockWriteBehindBuffer(
+            ProductBatchOperations batchOperations,
+            BranchTopProductR2dbcRepository topProductRepository,
+            TransactionalOperator transactionalOperator,
+            @Value("${adapters.stock-write-behind.flush-interval:100ms}") Duration flushInterval,
+            @Value("${adapters.stock-write-behind.max-pending:1000}") int maxPending,
+            @Value("${adapters.stock-write-behind.shutdown-timeout:10s}") Duration shutdownTimeout,
+            MeterRegistry registry) {
+        return new StockWriteBehindBuffer(batchOperations, topProductRepository, transactionalOperator,
+                flushInterval, maxPending, shutdownTimeout, registry);
+    }
+}
@@ -0,0 +1,29 @@
+package co.com.bancolombia.mysql.config;
+
+import co.com.bancolombia.mysql.migration.SchemaMigrator;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.migrations", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationConfiguration {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(ConnectionFactory connectionFactory,
+                                         @Value("${adapters.migrations.lock-timeout:60s}") Duration lockTimeout) {
+        return new SchemaMigrator(connectionFactory, (int) lockTimeout.toSeconds());
+    }
+
+    // Runs during context refresh so the schema is current before the server accepts requests
+    @Bean
+    public InitializingBean schemaMigrationRunner(SchemaMigrator schemaMigrator,
+                                                  @Value("${adapters.migrations.lock-timeout:60s}") Duration lockTimeout) {
+        return () -> schemaMigrator.migrate().block(lockTimeout.plusMinutes(5));
+    }
+}
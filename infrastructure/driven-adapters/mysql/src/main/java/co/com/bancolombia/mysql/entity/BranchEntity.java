@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.data.relational.core.mapping.Column;
 
@@ -30,4 +31,8 @@ public class BranchEntity {
 
     @Column("updated_at")
     private LocalDateTime updatedAt;
+
+    // Set to 0 by the insert; only the conditional UPDATE queries advance it
+    @Version
+    private Long version;
 }
@@ -0,0 +1,27 @@
+package co.com.bancolombia.mysql.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("branch_top_product")
+public class BranchTopProductEntity {
+
+    @Id
+    @Column("branch_id")
+    private Long branchId;
+
+    @Column("product_id")
+    private Long productId;
+
+    @Column("version")
+    private Long version;
+}
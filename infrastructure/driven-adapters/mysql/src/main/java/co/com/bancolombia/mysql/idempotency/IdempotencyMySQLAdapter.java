@@ -0,0 +1,157 @@
+package co.com.bancolombia.mysql.idempotency;
+
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Shares idempotent responses across instances through the idempotency_keys table.
+ * An attempt first reserves its key with a pending row (status 0, no body), so a retry on another instance sees it
+ * in progress instead of running it again. The pending row expires after the pending timeout, in case the attempt
+ * never finishes. Only the pending row is replaced by a response, so the first response under a key wins while it
+ * is retained. Expired rows are deleted in bounded batches every purge interval.
+ */
+@Slf4j
+public class IdempotencyMySQLAdapter implements IdempotencyRepository, SmartLifecycle {
+
+    private static final int PENDING_STATUS = 0;
+    private static final String FIND_SQL =
+            "SELECT fingerprint, status, body FROM idempotency_keys WHERE key_hash = :keyHash AND expires_at > NOW(3)";
+    // An expired row no longer holds its key, so it is cleared before the reservation competes for it
+    private static final String CLEAR_EXPIRED_SQL =
+            "DELETE FROM idempotency_keys WHERE key_hash = :keyHash AND expires_at <= NOW(3)";
+    private static final String RESERVE_SQL =
+            "INSERT IGNORE INTO idempotency_keys (key_hash, fingerprint, status, body, expires_at) "
+                    + "VALUES (:keyHash, :fingerprint, " + PENDING_STATUS + ", NULL, "
+                    + "NOW(3) + INTERVAL :pendingMicros MICROSECOND)";
+    // Every assignment checks the old status, so it has to be the last one updated. Inserts when the pending row
+    // expired and was purged while the attempt still ran
+    private static final String SAVE_SQL =
+            "INSERT INTO idempotency_keys (key_hash, fingerprint, status, body, expires_at) "
+                    + "VALUES (:keyHash, :fingerprint, :status, :body, NOW(3) + INTERVAL :ttlMicros MICROSECOND) "
+                    + "ON DUPLICATE KEY UPDATE "
+                    + "fingerprint = IF(status = " + PENDING_STATUS + ", VALUES(fingerprint), fingerprint), "
+                    + "body = IF(status = " + PENDING_STATUS + ", VALUES(body), body), "
+                    + "expires_at = IF(status = " + PENDING_STATUS + ", VALUES(expires_at), expires_at), "
+                    + "status = IF(status = " + PENDING_STATUS + ", VALUES(status), status)";
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE key_hash = :keyHash AND status = " + PENDING_STATUS;
+    private static final String PURGE_SQL =
+            "DELETE FROM idempotency_keys WHERE expires_at <= NOW(3) LIMIT :limit";
+    private static final int PURGE_BATCH = 1000;
+
+    private final DatabaseClient databaseClient;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Duration purgeInterval;
+    private volatile Disposable purger;
+
+    public IdempotencyMySQLAdapter(DatabaseClient databaseClient, Duration ttl, Duration pendingTimeout,
+                                   Duration purgeInterval) {
+        this.databaseClient = databaseClient;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @Override
+    public Mono<IdempotentResponse> find(String key) {
+        return databaseClient.sql(FIND_SQL)
+                .bind("keyHash", hash(key))
+                .map((row, metadata) -> {
+                    int status = row.get("status", Integer.class);
+                    return IdempotentResponse.builder()
+                            .fingerprint(row.get("fingerprint", String.class))
+                            .status(status)
+                            .body(row.get("body", String.class))
+                            .pending(status == PENDING_STATUS)
+                            .build();
+                })
+                .one();
+    }
+
+    // INSERT IGNORE reports no affected row when the key is already held, whatever the connection's found-rows setting
+    @Override
+    public Mono<Boolean> reserve(String key, String fingerprint) {
+        String keyHash = hash(key);
+        return databaseClient.sql(CLEAR_EXPIRED_SQL)
+                .bind("keyHash", keyHash)
+                .then()
+                .then(databaseClient.sql(RESERVE_SQL)
+                        .bind("keyHash", keyHash)
+                        .bind("fingerprint", fingerprint)
+                        .bind("pendingMicros", pendingTimeout.toNanos() / 1000)
+                        .fetch()
+                        .rowsUpdated())
+                .map(inserted -> inserted > 0);
+    }
+
+    @Override
+    public Mono<Void> save(String key, IdempotentResponse response) {
+        return databaseClient.sql(SAVE_SQL)
+                .bind("keyHash", hash(key))
+                .bind("fingerprint", response.getFingerprint())
+                .bind("status", response.getStatus())
+                .bind("body", response.getBody())
+                .bind("ttlMicros", ttl.toNanos() / 1000)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return databaseClient.sql(RELEASE_SQL)
+                .bind("keyHash", hash(key))
+                .then();
+    }
+
+    // Emits the number of rows deleted
+    public Mono<Long> purgeExpired() {
+        return databaseClient.sql(PURGE_SQL)
+                .bind("limit", PURGE_BATCH)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public void start() {
+        purger = Flux.interval(purgeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> purgeExpired()
+                        .onErrorResume(error -> {
+                            log.warn("Purging expired idempotency keys failed, retrying on the next interval", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        purger.dispose();
+        purger = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return purger != null;
+    }
+
+    static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package co.com.bancolombia.mysql.idempotency;
+
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Single-node store: bounded by size and retention, so a flood of distinct keys evicts the oldest instead of growing
+public class InMemoryIdempotencyRepository implements IdempotencyRepository {
+
+    private final Cache<String, IdempotentResponse> responses;
+
+    public InMemoryIdempotencyRepository(long maximumSize, Duration ttl, MeterRegistry registry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, responses, "idempotency");
+    }
+
+    @Override
+    public Mono<IdempotentResponse> find(String key) {
+        return Mono.fromSupplier(() -> responses.getIfPresent(key));
+    }
+
+    @Override
+    public Mono<Boolean> reserve(String key, String fingerprint) {
+        IdempotentResponse reservation = IdempotentResponse.builder().fingerprint(fingerprint).pending(true).build();
+        return Mono.fromSupplier(() -> responses.asMap().putIfAbsent(key, reservation) == null);
+    }
+
+    @Override
+    public Mono<Void> save(String key, IdempotentResponse response) {
+        return Mono.fromRunnable(() -> responses.asMap()
+                .merge(key, response, (stored, saved) -> stored.isPending() ? saved : stored));
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return Mono.fromRunnable(() -> responses.asMap()
+                .computeIfPresent(key, (stored, response) -> response.isPending() ? null : response));
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.bancolombia.mysql.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GatewayMetrics {
+
+    static final String METRIC_NAME = "gateway.calls";
+
+    private final MeterRegistry registry;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(MeterRegistry registry, Duration... serviceLevelObjectives) {
+        this.registry = registry;
+        this.serviceLevelObjectives = serviceLevelObjectives;
+    }
+
+    public <T> Mono<T> time(String gateway, String method, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doFinally(signal -> sample.stop(timer(gateway, method, outcomeOf(signal))));
+        });
+    }
+
+    public <T> Flux<T> time(String gateway, String method, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doFinally(signal -> sample.stop(timer(gateway, method, outcomeOf(signal))));
+        });
+    }
+
+    private Timer timer(String gateway, String method, String outcome) {
+        return timers.computeIfAbsent(gateway + '.' + method + '|' + outcome, key -> Timer.builder(METRIC_NAME)
+                .description("Latency of each gateway call against the database")
+                .tag("gateway", gateway)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(registry));
+    }
+
+    private static String outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+}
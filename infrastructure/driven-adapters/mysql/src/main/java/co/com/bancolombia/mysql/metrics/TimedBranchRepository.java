@@ -0,0 +1,48 @@
+package co.com.bancolombia.mysql.metrics;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TimedBranchRepository implements BranchRepository {
+
+    private static final String GATEWAY = "branch";
+
+    private final BranchRepository delegate;
+    private final GatewayMetrics metrics;
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return metrics.time(GATEWAY, "save", delegate.save(branch));
+    }
+
+    @Override
+    public Mono<Branch> findById(Long branchId) {
+        return metrics.time(GATEWAY, "findById", delegate.findById(branchId));
+    }
+
+    @Override
+    public Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId) {
+        return metrics.time(GATEWAY, "findByNameAndFranchiseId", delegate.findByNameAndFranchiseId(name, franchiseId));
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion) {
+        return metrics.time(GATEWAY, "updateName", delegate.updateName(branchId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<BranchWithTopProduct> findBranchesWithTopProductByFranchiseId(Long franchiseId) {
+        return metrics.time(GATEWAY, "findBranchesWithTopProductByFranchiseId",
+                delegate.findBranchesWithTopProductByFranchiseId(franchiseId));
+    }
+
+    @Override
+    public Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit) {
+        return metrics.time(GATEWAY, "findPageByFranchiseId", delegate.findPageByFranchiseId(franchiseId, afterId, limit));
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.bancolombia.mysql.metrics;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TimedFranchiseRepository implements FranchiseRepository {
+
+    private static final String GATEWAY = "franchise";
+
+    private final FranchiseRepository delegate;
+    private final GatewayMetrics metrics;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return metrics.time(GATEWAY, "save", delegate.save(franchise));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long franchiseId) {
+        return metrics.time(GATEWAY, "findById", delegate.findById(franchiseId));
+    }
+
+    @Override
+    public Mono<Franchise> findCurrentById(Long franchiseId) {
+        return metrics.time(GATEWAY, "findCurrentById", delegate.findCurrentById(franchiseId));
+    }
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        return metrics.time(GATEWAY, "findByName", delegate.findByName(name));
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion) {
+        return metrics.time(GATEWAY, "updateName", delegate.updateName(franchiseId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(Long afterId, int limit) {
+        return metrics.time(GATEWAY, "findPage", delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public Mono<String> findTopProductsVersion(Long franchiseId) {
+        return metrics.time(GATEWAY, "findTopProductsVersion", delegate.findTopProductsVersion(franchiseId));
+    }
+}
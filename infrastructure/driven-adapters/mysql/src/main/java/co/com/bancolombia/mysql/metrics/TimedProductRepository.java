@@ -0,0 +1,90 @@
+package co.com.bancolombia.mysql.metrics;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TimedProductRepository implements ProductRepository {
+
+    private static final String GATEWAY = "product";
+
+    private final ProductRepository delegate;
+    private final GatewayMetrics metrics;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return metrics.time(GATEWAY, "save", delegate.save(product));
+    }
+
+    @Override
+    public Mono<Product> findById(Long productId) {
+        return metrics.time(GATEWAY, "findById", delegate.findById(productId));
+    }
+
+    @Override
+    public Mono<Product> findByNameAndBranchId(String name, Long branchId) {
+        return metrics.time(GATEWAY, "findByNameAndBranchId", delegate.findByNameAndBranchId(name, branchId));
+    }
+
+    @Override
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        return metrics.time(GATEWAY, "findExistingNames", delegate.findExistingNames(branchId, names));
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return metrics.time(GATEWAY, "insertAll", delegate.insertAll(branchId, products));
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return metrics.time(GATEWAY, "deleteByIdAndBranchId", delegate.deleteByIdAndBranchId(productId, branchId));
+    }
+
+    @Override
+    public Mono<Void> updateStock(Long productId, Integer newStock) {
+        return metrics.time(GATEWAY, "updateStock", delegate.updateStock(productId, newStock));
+    }
+
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        return metrics.time(GATEWAY, "updateStockAndGet", delegate.updateStockAndGet(productId, newStock, expectedVersion));
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return metrics.time(GATEWAY, "adjustStock", delegate.adjustStock(productId, delta));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return metrics.time(GATEWAY, "updateStockBatch", delegate.updateStockBatch(updates));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        return metrics.time(GATEWAY, "updateName", delegate.updateName(productId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<Product> findMaxStockByFranchise(Long franchiseId) {
+        return metrics.time(GATEWAY, "findMaxStockByFranchise", delegate.findMaxStockByFranchise(franchiseId));
+    }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return metrics.time(GATEWAY, "findPageByBranchId", delegate.findPageByBranchId(branchId, afterId, limit));
+    }
+
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return metrics.time(GATEWAY, "findTopByBranchId", delegate.findTopByBranchId(branchId));
+    }
+}
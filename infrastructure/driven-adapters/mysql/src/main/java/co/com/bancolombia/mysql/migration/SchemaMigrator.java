@@ -0,0 +1,156 @@
+package co.com.bancolombia.mysql.migration;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.connection.init.ScriptUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Applies db/migration/V{version}__{description}.sql scripts in version order and records them in schema_version.
+// A MySQL named lock serialises instances that start at the same time.
+@Slf4j
+public class SchemaMigrator {
+
+    private static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String LOCK_NAME = "franchise_schema_migration";
+
+    private static final String CREATE_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INT PRIMARY KEY,
+            description VARCHAR(200) NOT NULL,
+            checksum BIGINT NOT NULL,
+            installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+        ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+        """;
+
+    private final ConnectionFactory connectionFactory;
+    private final List<Migration> migrations;
+    private final int lockTimeoutSeconds;
+
+    public SchemaMigrator(ConnectionFactory connectionFactory, int lockTimeoutSeconds) {
+        this.connectionFactory = connectionFactory;
+        this.migrations = discover();
+        this.lockTimeoutSeconds = lockTimeoutSeconds;
+    }
+
+    public Mono<Void> migrate() {
+        return Mono.usingWhen(connectionFactory.create(),
+                this::migrate,
+                this::releaseAndClose,
+                (connection, error) -> releaseAndClose(connection),
+                this::releaseAndClose);
+    }
+
+    private Mono<Void> migrate(Connection connection) {
+        return acquireLock(connection)
+                .then(execute(connection, CREATE_VERSION_TABLE))
+                .then(appliedChecksums(connection))
+                .flatMapMany(applied -> Flux.fromIterable(migrations)
+                        .filter(migration -> isPending(migration, applied)))
+                .concatMap(migration -> apply(connection, migration))
+                .then();
+    }
+
+    private boolean isPending(Migration migration, Map<Integer, Long> applied) {
+        Long checksum = applied.get(migration.version());
+        if (checksum == null) {
+            return true;
+        }
+        if (checksum != migration.checksum()) {
+            throw new IllegalStateException("Migration " + migration.fileName() + " was modified after it was applied");
+        }
+        return false;
+    }
+
+    private Mono<Void> apply(Connection connection, Migration migration) {
+        log.info("Applying schema migration {}", migration.fileName());
+        Statement record = connection
+                .createStatement("INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")
+                .bind(0, migration.version())
+                .bind(1, migration.description())
+                .bind(2, migration.checksum());
+        return ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), StandardCharsets.UTF_8))
+                .then(Flux.from(record.execute()).flatMap(Result::getRowsUpdated).then());
+    }
+
+    private Mono<Void> acquireLock(Connection connection) {
+        Statement lock = connection.createStatement("SELECT GET_LOCK(?, ?)")
+                .bind(0, LOCK_NAME)
+                .bind(1, lockTimeoutSeconds);
+        return Flux.from(lock.execute())
+                .flatMap(result -> result.map((row, metadata) -> Objects.requireNonNullElse(row.get(0, Long.class), 0L)))
+                .next()
+                .filter(acquired -> acquired == 1L)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Timed out waiting for the schema migration lock")))
+                .then();
+    }
+
+    private Mono<Map<Integer, Long>> appliedChecksums(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT version, checksum FROM schema_version").execute())
+                .flatMap(result -> result.map((row, metadata) ->
+                        Map.entry(row.get("version", Integer.class), row.get("checksum", Long.class))))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Void> releaseAndClose(Connection connection) {
+        return execute(connection, "DO RELEASE_LOCK('" + LOCK_NAME + "')")
+                .onErrorResume(error -> Mono.empty())
+                .then(Mono.from(connection.close()));
+    }
+
+    private static Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
+    private static List<Migration> discover() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+            return Arrays.stream(resources)
+                    .map(SchemaMigrator::toMigration)
+                    .sorted(Comparator.comparingInt(Migration::version))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list schema migrations", e);
+        }
+    }
+
+    private static Migration toMigration(Resource resource) {
+        Matcher matcher = FILE_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration file name " + resource.getFilename());
+        }
+        try (InputStream content = resource.getInputStream()) {
+            CRC32 crc = new CRC32();
+            crc.update(content.readAllBytes());
+            return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                    crc.getValue(), resource.getFilename(), resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read migration " + resource.getFilename(), e);
+        }
+    }
+
+    private record Migration(int version, String description, long checksum, String fileName, Resource resource) {
+    }
+}
@@ -0,0 +1,113 @@
+package co.com.bancolombia.mysql.pool;
+
+import reactor.pool.AllocationStrategy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocation strategy whose connection limit moves between a minimum and a maximum with acquire pressure.
+ * Every interval with acquirers waiting on a saturated pool raises the limit by one step; once the pool has gone
+ * shrinkDelay without waiters and with at least one step of idle connections, the limit drops by one step.
+ * Lowering the limit never closes a connection in use: idle ones above the limit are evicted, see {@link #claimEviction()}.
+ */
+public class AdaptivePoolSizing implements AllocationStrategy {
+
+    private final int minimum;
+    private final int maximum;
+    private final int step;
+    private final int calmIntervalsToShrink;
+    private final AtomicInteger granted = new AtomicInteger();
+    private final AtomicInteger evicting = new AtomicInteger();
+    private volatile int limit;
+    private int calmIntervals;
+
+    public AdaptivePoolSizing(int minimum, int maximum, int step, Duration interval, Duration shrinkDelay) {
+        if (minimum < 0 || maximum < Math.max(1, minimum) || step < 1) {
+            throw new IllegalArgumentException("Adaptive pool sizing needs 0 <= minimum <= maximum, maximum >= 1 and step >= 1");
+        }
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.step = step;
+        this.calmIntervalsToShrink = (int) Math.max(1, shrinkDelay.toMillis() / Math.max(1, interval.toMillis()));
+        this.limit = Math.max(1, minimum);
+    }
+
+    // Called once per interval from a single thread with a snapshot of the pool
+    public void adjust(int pendingAcquirers, int idle) {
+        if (pendingAcquirers > 0) {
+            calmIntervals = 0;
+            if (granted.get() >= limit) {
+                limit = Math.min(maximum, limit + step);
+            }
+        } else if (idle >= step && ++calmIntervals >= calmIntervalsToShrink) {
+            calmIntervals = 0;
+            limit = Math.max(Math.max(1, minimum), limit - step);
+        } else if (idle < step) {
+            calmIntervals = 0;
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    // Called by the eviction predicate for each idle connection. A connection keeps its permit until it is destroyed,
+    // so the ones already claimed in this pass are subtracted from the live count; otherwise one pass would evict
+    // every idle connection instead of only the excess.
+    public boolean claimEviction() {
+        for (;;) {
+            int claimed = evicting.get();
+            if (granted.get() - claimed <= limit) {
+                return false;
+            }
+            if (evicting.compareAndSet(claimed, claimed + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int estimatePermitCount() {
+        return Math.max(0, limit - granted.get());
+    }
+
+    // Grants at least enough permits to reach the minimum, and never more than the current limit allows
+    @Override
+    public int getPermits(int desired) {
+        if (desired < 0) {
+            return 0;
+        }
+        for (;;) {
+            int current = granted.get();
+            int permits = Math.min(Math.max(desired, minimum - current), limit - current);
+            if (permits <= 0) {
+                return 0;
+            }
+            if (granted.compareAndSet(current, current + permits)) {
+                return permits;
+            }
+        }
+    }
+
+    @Override
+    public int permitGranted() {
+        return granted.get();
+    }
+
+    @Override
+    public int permitMinimum() {
+        return minimum;
+    }
+
+    @Override
+    public int permitMaximum() {
+        return maximum;
+    }
+
+    @Override
+    public void returnPermits(int returned) {
+        granted.updateAndGet(current -> Math.max(0, current - returned));
+        evicting.updateAndGet(current -> Math.max(0, current - returned));
+    }
+}
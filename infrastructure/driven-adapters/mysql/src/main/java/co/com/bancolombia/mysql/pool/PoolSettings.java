@@ -0,0 +1,20 @@
+package co.com.bancolombia.mysql.pool;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+public class PoolSettings {
+
+    private final int initialSize;
+    private final int maxSize;
+    private final Duration maxIdleTime;
+    private final String validationQuery;
+    // Null waits for a connection indefinitely
+    private final Duration maxAcquireTime;
+    // Only used by adaptive sizing
+    private final Duration adjustInterval;
+}
@@ -0,0 +1,173 @@
+package co.com.bancolombia.mysql.pool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * r2dbc-pool connection pool with Micrometer instrumentation and optional adaptive sizing.
+ * Times every acquire, so saturation shows up as acquire latency long before it shows up as timeouts, and publishes
+ * the limit in force when sizing is adaptive. Occupancy gauges are left to Spring Boot's r2dbc.pool.* metrics,
+ * which find the pool through unwrap().
+ */
+@Slf4j
+public class PooledConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, SmartLifecycle,
+        AutoCloseable {
+
+    static final String ACQUIRE_METRIC = "db.pool.acquire";
+
+    private final String name;
+    private final ConnectionPool pool;
+    private final AdaptivePoolSizing sizing;
+    private final MeterRegistry registry;
+    private final Duration adjustInterval;
+    private final Map<String, Timer> acquireTimers = new ConcurrentHashMap<>();
+    private volatile Disposable adjuster;
+
+    // sizing is null for a fixed pool of maxSize connections
+    public PooledConnectionFactory(String name, ConnectionFactoryOptions options, PoolSettings settings,
+                                   AdaptivePoolSizing sizing, MeterRegistry registry) {
+        this.name = name;
+        this.sizing = sizing;
+        this.registry = registry;
+        this.adjustInterval = settings.getAdjustInterval();
+        this.pool = new ConnectionPool(configuration(name, options, settings, sizing));
+        if (sizing != null) {
+            Gauge.builder("db.pool.limit", sizing, AdaptivePoolSizing::limit)
+                    .description("Maximum connections the adaptive pool may open right now")
+                    .tag("pool", name)
+                    .register(registry);
+        }
+    }
+
+    public static ConnectionFactoryOptions options(String url, String username, String password) {
+        return ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+    }
+
+    // Allocates the initial connections up front; emits how many were opened
+    public Mono<Integer> warmup() {
+        return pool.warmup();
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return pool.create()
+                    .doFinally(signal -> sample.stop(acquireTimer(outcomeOf(signal))));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return pool;
+    }
+
+    // Adaptive sizing is re-evaluated only while the context is running; a fixed pool has nothing to start
+    @Override
+    public void start() {
+        if (sizing != null) {
+            adjuster = Flux.interval(adjustInterval)
+                    .onBackpressureDrop()
+                    .subscribe(tick -> adjust());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = adjuster;
+        if (running != null) {
+            running.dispose();
+            adjuster = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return adjuster != null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        pool.dispose();
+    }
+
+    private void adjust() {
+        pool.getMetrics().ifPresent(metrics -> {
+            int before = sizing.limit();
+            sizing.adjust(metrics.pendingAcquireSize(), metrics.idleSize());
+            if (sizing.limit() != before) {
+                log.info("Pool {} limit moved from {} to {} with {} pending acquirers",
+                        name, before, sizing.limit(), metrics.pendingAcquireSize());
+            }
+        });
+    }
+
+    private static ConnectionPoolConfiguration configuration(String name, ConnectionFactoryOptions options,
+                                                             PoolSettings settings, AdaptivePoolSizing sizing) {
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(name)
+                .initialSize(settings.getInitialSize())
+                .maxSize(settings.getMaxSize())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .validationQuery(settings.getValidationQuery());
+        if (settings.getMaxAcquireTime() != null) {
+            builder.maxAcquireTime(settings.getMaxAcquireTime());
+        }
+        if (sizing != null) {
+            // Idle connections above a lowered limit are closed by the next background eviction run
+            long maxIdleMillis = settings.getMaxIdleTime().toMillis();
+            long shrinkIdleMillis = settings.getAdjustInterval().toMillis();
+            builder.backgroundEvictionInterval(settings.getAdjustInterval())
+                    .customizer(pool -> pool
+                            .allocationStrategy(sizing)
+                            .evictionPredicate((connection, metadata) -> metadata.idleTime() >= maxIdleMillis
+                                    || metadata.idleTime() >= shrinkIdleMillis && sizing.claimEviction()));
+        }
+        return builder.build();
+    }
+
+    private Timer acquireTimer(String outcome) {
+        return acquireTimers.computeIfAbsent(outcome, key -> Timer.builder(ACQUIRE_METRIC)
+                .description("Time to acquire a connection from the pool, including the wait for a free one")
+                .tag("pool", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+}
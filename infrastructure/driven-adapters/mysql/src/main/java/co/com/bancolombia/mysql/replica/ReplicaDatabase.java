@@ -0,0 +1,42 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.mysql.pool.PoolSettings;
+import co.com.bancolombia.mysql.pool.PooledConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Connection pool and repository factory for the read replica.
+ * The pool is deliberately not exposed as a ConnectionFactory bean: the primary factory has to stay the single
+ * candidate that the DatabaseClient, the entity template, transactions and migrations are wired to.
+ */
+public class ReplicaDatabase implements AutoCloseable {
+
+    private final PooledConnectionFactory pool;
+    private final R2dbcRepositoryFactory repositoryFactory;
+    private final DatabaseClient databaseClient;
+
+    public ReplicaDatabase(String url, String username, String password, PoolSettings settings,
+                           MeterRegistry registry) {
+        this.pool = new PooledConnectionFactory("replica", PooledConnectionFactory.options(url, username, password),
+                settings, null, registry);
+        this.repositoryFactory = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(pool));
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    // A second instance of a Spring Data repository interface whose queries run on the replica
+    public <T> T repository(Class<T> repositoryInterface) {
+        return repositoryFactory.getRepository(repositoryInterface);
+    }
+
+    public DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
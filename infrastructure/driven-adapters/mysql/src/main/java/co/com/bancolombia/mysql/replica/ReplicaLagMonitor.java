@@ -0,0 +1,114 @@
+package co.com.bancolombia.mysql.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Polls the replica for its replication lag and reports whether reads can be served within the staleness tolerance.
+ * Until the first probe succeeds, and whenever a probe fails or replication is stopped (NULL lag), the replica is
+ * considered out of tolerance. Seconds_Behind_Source has one-second resolution and is sampled every probe interval,
+ * so the effective bound on staleness is the tolerance plus one interval.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final String LAG_SQL = "SHOW REPLICA STATUS";
+    private static final long UNKNOWN = -1;
+
+    private final DatabaseClient databaseClient;
+    private final Duration maxStaleness;
+    private final Duration probeInterval;
+    private volatile long lagSeconds = UNKNOWN;
+    private volatile boolean probeFailing;
+    private volatile Disposable prober;
+
+    public ReplicaLagMonitor(DatabaseClient databaseClient, Duration maxStaleness, Duration probeInterval,
+                             MeterRegistry registry) {
+        this.databaseClient = databaseClient;
+        this.maxStaleness = maxStaleness;
+        this.probeInterval = probeInterval;
+        Gauge.builder("replica.lag", this, monitor -> monitor.lagSeconds == UNKNOWN ? Double.NaN : monitor.lagSeconds)
+                .description("Replication lag of the read replica as of the last probe; NaN while unknown")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public boolean isWithinTolerance() {
+        long lag = lagSeconds;
+        return lag != UNKNOWN && Duration.ofSeconds(lag).compareTo(maxStaleness) <= 0;
+    }
+
+    // A server that is not replicating returns no row; it is as fresh as it will ever be, so it counts as no lag
+    public Mono<Long> probe() {
+        return databaseClient.sql(LAG_SQL)
+                .map((row, metadata) -> {
+                    Long lag = row.get("Seconds_Behind_Source", Long.class);
+                    return lag != null ? lag : UNKNOWN;
+                })
+                .first()
+                .defaultIfEmpty(0L)
+                .timeout(probeInterval)
+                .doOnNext(lag -> probeRecovered())
+                .onErrorResume(error -> {
+                    probeFailed(error);
+                    return Mono.just(UNKNOWN);
+                })
+                .doOnNext(this::update);
+    }
+
+    // One WARN per run of failures, whether or not the replica was in use, so a down replica does not log every tick
+    private void probeFailed(Throwable error) {
+        if (!probeFailing) {
+            probeFailing = true;
+            log.warn("Probing replica lag failed, routing reads to the primary until a probe succeeds", error);
+        }
+    }
+
+    private void probeRecovered() {
+        if (probeFailing) {
+            probeFailing = false;
+            log.info("Probing replica lag succeeded again");
+        }
+    }
+
+    private void update(long lag) {
+        boolean wasWithin = isWithinTolerance();
+        lagSeconds = lag;
+        boolean within = isWithinTolerance();
+        // A failed probe has already logged its own WARN
+        if (wasWithin && !within && !probeFailing) {
+            log.warn("Replica lag {} is beyond the {} staleness tolerance, routing reads to the primary",
+                    lag == UNKNOWN ? "unknown" : lag + "s", maxStaleness);
+        } else if (!wasWithin && within) {
+            log.info("Replica lag {}s is within the {} staleness tolerance, routing reads to the replica",
+                    lag, maxStaleness);
+        }
+    }
+
+    @Override
+    public void start() {
+        prober = Flux.interval(Duration.ZERO, probeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> probe())
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        prober.dispose();
+        prober = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return prober != null;
+    }
+}
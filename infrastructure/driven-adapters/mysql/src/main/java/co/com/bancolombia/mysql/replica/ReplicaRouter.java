@@ -0,0 +1,96 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.model.common.consistency.ReadYourWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Decides per read whether the replica may serve it. A read stays on the primary when the replica lag is beyond
+ * the staleness tolerance, when the same request already wrote or is a write request (see
+ * {@link ReadYourWrites#requiresPrimary}), or when this instance wrote the same row within the tolerance. The last rule keeps the read-through caches from being refilled with a row the replica has not
+ * caught up on yet.
+ */
+public class ReplicaRouter {
+
+    static final String METRIC_NAME = "replica.reads";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<String, Boolean> recentWrites;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ReplicaRouter(ReplicaLagMonitor lagMonitor, Duration maxStaleness, long maxRecentWrites,
+                         MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maxRecentWrites)
+                .expireAfterWrite(maxStaleness)
+                .build();
+        this.registry = registry;
+    }
+
+    // id is the row the read is keyed on within the gateway, or null for reads that span rows
+    public <T> Mono<T> read(String gateway, String method, Long id,
+                            Supplier<Mono<T>> onReplica, Supplier<Mono<T>> onPrimary) {
+        return Mono.deferContextual(context ->
+                route(gateway, method, id, context) ? onReplica.get() : onPrimary.get());
+    }
+
+    public <T> Flux<T> readAll(String gateway, String method, Supplier<Flux<T>> onReplica, Supplier<Flux<T>> onPrimary) {
+        return Flux.deferContextual(context ->
+                route(gateway, method, null, context) ? onReplica.get() : onPrimary.get());
+    }
+
+    // Marked on subscription, since a write that fails or is cancelled may still have committed, and again on
+    // termination so the tolerance window of the row starts no earlier than the commit
+    public <T> Mono<T> write(String gateway, Long id, Mono<T> write) {
+        return Mono.deferContextual(context -> {
+            ReadYourWrites.recordWrite(context);
+            wrote(gateway, id);
+            return write.doFinally(signal -> wrote(gateway, id));
+        });
+    }
+
+    public <T> Flux<T> write(String gateway, Collection<Long> ids, Flux<T> write) {
+        return Flux.deferContextual(context -> {
+            ReadYourWrites.recordWrite(context);
+            ids.forEach(id -> wrote(gateway, id));
+            return write.doFinally(signal -> ids.forEach(id -> wrote(gateway, id)));
+        });
+    }
+
+    // For writes that only learn the row id from their result
+    public void wrote(String gateway, Long id) {
+        if (id != null) {
+            recentWrites.put(gateway + ':' + id, Boolean.TRUE);
+        }
+    }
+
+    private boolean route(String gateway, String method, Long id, ContextView context) {
+        boolean replica = lagMonitor.isWithinTolerance()
+                && !ReadYourWrites.requiresPrimary(context)
+                && (id == null || recentWrites.getIfPresent(gateway + ':' + id) == null);
+        counter(gateway, method, replica ? "replica" : "primary").increment();
+        return replica;
+    }
+
+    private Counter counter(String gateway, String method, String target) {
+        return counters.computeIfAbsent(gateway + '.' + method + '|' + target, key -> Counter.builder(METRIC_NAME)
+                .description("Routed gateway reads by the database that served them")
+                .tag("gateway", gateway)
+                .tag("method", method)
+                .tag("target", target)
+                .register(registry));
+    }
+}
@@ -0,0 +1,52 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReplicaRoutingBranchRepository implements BranchRepository {
+
+    private static final String GATEWAY = "branch";
+
+    private final BranchRepository primary;
+    private final BranchRepository replica;
+    private final ReplicaRouter router;
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return router.write(GATEWAY, null, primary.save(branch))
+                .doOnNext(saved -> router.wrote(GATEWAY, saved.getId()));
+    }
+
+    @Override
+    public Mono<Branch> findById(Long branchId) {
+        return router.read(GATEWAY, "findById", branchId,
+                () -> replica.findById(branchId), () -> primary.findById(branchId));
+    }
+
+    @Override
+    public Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId) {
+        return primary.findByNameAndFranchiseId(name, franchiseId);
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long branchId, String newName, Long expectedVersion) {
+        return router.write(GATEWAY, branchId, primary.updateName(branchId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<BranchWithTopProduct> findBranchesWithTopProductByFranchiseId(Long franchiseId) {
+        return router.readAll(GATEWAY, "findBranchesWithTopProductByFranchiseId",
+                () -> replica.findBranchesWithTopProductByFranchiseId(franchiseId),
+                () -> primary.findBranchesWithTopProductByFranchiseId(franchiseId));
+    }
+
+    @Override
+    public Flux<Branch> findPageByFranchiseId(Long franchiseId, Long afterId, int limit) {
+        return primary.findPageByFranchiseId(franchiseId, afterId, limit);
+    }
+}
@@ -0,0 +1,57 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The max-stock version is read wherever the top products are, so an ETag never gets ahead of the body it labels
+@RequiredArgsConstructor
+public class ReplicaRoutingFranchiseRepository implements FranchiseRepository {
+
+    private static final String GATEWAY = "franchise";
+
+    private final FranchiseRepository primary;
+    private final FranchiseRepository replica;
+    private final ReplicaRouter router;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return router.write(GATEWAY, null, primary.save(franchise))
+                .doOnNext(saved -> router.wrote(GATEWAY, saved.getId()));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long franchiseId) {
+        return router.read(GATEWAY, "findById", franchiseId,
+                () -> replica.findById(franchiseId), () -> primary.findById(franchiseId));
+    }
+
+    @Override
+    public Mono<Franchise> findCurrentById(Long franchiseId) {
+        return router.read(GATEWAY, "findCurrentById", franchiseId,
+                () -> replica.findCurrentById(franchiseId), () -> primary.findCurrentById(franchiseId));
+    }
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        return primary.findByName(name);
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long franchiseId, String newName, Long expectedVersion) {
+        return router.write(GATEWAY, franchiseId, primary.updateName(franchiseId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(Long afterId, int limit) {
+        return primary.findPage(afterId, limit);
+    }
+
+    @Override
+    public Mono<String> findTopProductsVersion(Long franchiseId) {
+        return router.read(GATEWAY, "findTopProductsVersion", null,
+                () -> replica.findTopProductsVersion(franchiseId), () -> primary.findTopProductsVersion(franchiseId));
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// With stock write-behind, reads by id stay on the primary: the buffer bases pending deltas on those reads and
+// stops overlaying a product once it is flushed, so a lagging replica would show the stock from before the flush
+@RequiredArgsConstructor
+public class ReplicaRoutingProductRepository implements ProductRepository {
+
+    private static final String GATEWAY = "product";
+
+    private final ProductRepository primary;
+    private final ProductRepository replica;
+    private final ReplicaRouter router;
+    private final boolean findByIdOnReplica;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return router.write(GATEWAY, null, primary.save(product))
+                .doOnNext(saved -> router.wrote(GATEWAY, saved.getId()));
+    }
+
+    @Override
+    public Mono<Product> findById(Long productId) {
+        if (!findByIdOnReplica) {
+            return primary.findById(productId);
+        }
+        return router.read(GATEWAY, "findById", productId,
+                () -> replica.findById(productId), () -> primary.findById(productId));
+    }
+
+    @Override
+    public Mono<Product> findByNameAndBranchId(String name, Long branchId) {
+        return primary.findByNameAndBranchId(name, branchId);
+    }
+
+    @Override
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        return primary.findExistingNames(branchId, names);
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return router.write(GATEWAY, List.of(), primary.insertAll(branchId, products))
+                .doOnNext(inserted -> router.wrote(GATEWAY, inserted.getId()));
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return router.write(GATEWAY, productId, primary.deleteByIdAndBranchId(productId, branchId));
+    }
+
+    @Override
+    public Mono<Void> updateStock(Long productId, Integer newStock) {
+        return router.write(GATEWAY, productId, primary.updateStock(productId, newStock));
+    }
+
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        return router.write(GATEWAY, productId, primary.updateStockAndGet(productId, newStock, expectedVersion));
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return router.write(GATEWAY, productId, primary.adjustStock(productId, delta));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return router.write(GATEWAY, updates.stream().map(StockUpdate::getProductId).toList(),
+                primary.updateStockBatch(updates));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        return router.write(GATEWAY, productId, primary.updateName(productId, newName, expectedVersion));
+    }
+
+    @Override
+    public Flux<Product> findMaxStockByFranchise(Long franchiseId) {
+        return router.readAll(GATEWAY, "findMaxStockByFranchise",
+                () -> replica.findMaxStockByFranchise(franchiseId), () -> primary.findMaxStockByFranchise(franchiseId));
+    }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return primary.findPageByBranchId(branchId, afterId, limit);
+    }
+
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return primary.findTopByBranchId(branchId);
+    }
+}
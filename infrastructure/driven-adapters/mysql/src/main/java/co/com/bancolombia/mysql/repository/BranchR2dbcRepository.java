@@ -16,21 +16,28 @@ public interface BranchR2dbcRepository extends R2dbcRepository<BranchEntity, Lon
     Mono<BranchEntity> findByNameAndFranchiseId(String name, Long franchiseId);
 
     @Modifying
-    @Query("UPDATE branches SET name = :name, updated_at = NOW() WHERE id = :id")
+    @Query("UPDATE branches SET name = :name, version = version + 1, updated_at = NOW() WHERE id = :id")
     Mono<Integer> updateName(@Param("id") Long id, @Param("name") String name);
 
+    @Modifying
+    @Query("""
+        UPDATE branches SET name = :name, version = version + 1, updated_at = NOW()
+        WHERE id = :id AND version = :version
+        """)
+    Mono<Integer> updateNameIfVersion(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+
     @Query("""
         SELECT b.id as branch_id, b.name as branch_name, b.franchise_id,
                p.id as product_id, p.name as product_name, p.stock as product_stock, p.branch_id as product_branch_id
         FROM branches b
-        LEFT JOIN products p 
-            ON p.branch_id = b.id
-            AND p.stock = (
-                SELECT MAX(p2.stock)
-                FROM products p2
-                WHERE p2.branch_id = b.id
-            )
+        LEFT JOIN branch_top_product t ON t.branch_id = b.id
+        LEFT JOIN products p ON p.id = t.product_id
         WHERE b.franchise_id = :franchiseId
         """)
     Flux<BranchWithProductDto> findBranchesWithTopProductByFranchiseId(@Param("franchiseId") Long franchiseId);
+
+    @Query("SELECT * FROM branches WHERE franchise_id = :franchiseId AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<BranchEntity> findPageByFranchiseId(@Param("franchiseId") Long franchiseId,
+                                             @Param("afterId") Long afterId,
+                                             @Param("limit") int limit);
 }
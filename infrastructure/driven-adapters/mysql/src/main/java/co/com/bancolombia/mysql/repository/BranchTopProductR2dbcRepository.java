@@ -0,0 +1,76 @@
+package co.com.bancolombia.mysql.repository;
+
+import co.com.bancolombia.mysql.entity.BranchTopProductEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+// branch_top_product keeps one row per branch pointing at its highest-stock product (ties go to the lowest id).
+// A write only refreshes a branch when the product it wrote is that branch's top product or now outranks it. The
+// check is a plain read, so writes that cannot move a ranking neither lock nor rewrite the branch's row.
+// version moves with every refresh, since each one changes the top product or its stock, and is part of the
+// max-stock ETag (see FranchiseR2dbcRepository.findTopProductsVersion).
+public interface BranchTopProductR2dbcRepository extends R2dbcRepository<BranchTopProductEntity, Long> {
+
+    // Every branch gets its row when it is created, so the refreshes only ever update existing rows
+    @Modifying
+    @Query("INSERT INTO branch_top_product (branch_id, product_id) VALUES (:branchId, NULL)")
+    Mono<Integer> createForBranch(@Param("branchId") Long branchId);
+
+    // Branches where one of these just-written products is the top product, outranks it, or fills an empty row
+    @Query("""
+        SELECT DISTINCT w.branch_id
+        FROM products w
+        INNER JOIN branch_top_product t ON t.branch_id = w.branch_id
+        LEFT JOIN products cur ON cur.id = t.product_id
+        WHERE w.id IN (:productIds)
+          AND (t.product_id IS NULL
+               OR t.product_id = w.id
+               OR cur.stock < w.stock
+               OR cur.stock = w.stock AND cur.id > w.id)
+        """)
+    Flux<Long> findBranchesToRefresh(@Param("productIds") Collection<Long> productIds);
+
+    // Deleting a branch's top product clears its row through the foreign key
+    @Query("SELECT branch_id FROM branch_top_product WHERE branch_id = :branchId AND product_id IS NULL")
+    Mono<Long> findClearedBranch(@Param("branchId") Long branchId);
+
+    @Modifying
+    @Query("""
+        UPDATE branch_top_product t
+        SET t.product_id = (SELECT p.id FROM products p WHERE p.branch_id = t.branch_id
+                            ORDER BY p.stock DESC, p.id LIMIT 1),
+            t.version = t.version + 1
+        WHERE t.branch_id IN (:branchIds)
+        """)
+    Mono<Integer> refreshBranches(@Param("branchIds") Collection<Long> branchIds);
+
+    // Runs in the write's transaction, after the write, so the check sees it
+    default Mono<Void> refreshForProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return findBranchesToRefresh(productIds)
+            .collectList()
+            .filter(branchIds -> !branchIds.isEmpty())
+            .flatMap(this::refreshBranches)
+            .then();
+    }
+
+    default Mono<Void> refreshIfCleared(Long branchId) {
+        return findClearedBranch(branchId)
+            .flatMap(clearedBranchId -> refreshBranches(List.of(clearedBranchId)))
+            .then();
+    }
+
+    // A renamed product shows in the max-stock response only while it is its branch's top product
+    @Modifying
+    @Query("UPDATE branch_top_product SET version = version + 1 WHERE product_id = :productId")
+    Mono<Integer> bumpVersionForTopProduct(@Param("productId") Long productId);
+}
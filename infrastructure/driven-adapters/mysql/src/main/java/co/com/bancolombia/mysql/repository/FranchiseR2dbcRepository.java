@@ -5,6 +5,7 @@ import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface FranchiseR2dbcRepository extends R2dbcRepository<FranchiseEntity, Long> {
@@ -13,6 +14,32 @@ public interface FranchiseR2dbcRepository extends R2dbcRepository<FranchiseEntit
     Mono<FranchiseEntity> findByName(String name);
 
     @Modifying
-    @Query("UPDATE franchises SET name = :name, updated_at = NOW() WHERE id = :id")
+    @Query("""
+        UPDATE franchises SET name = :name, version = version + 1, updated_at = NOW()
+        WHERE id = :id
+        """)
     Mono<Integer> updateName(@Param("id") Long id, @Param("name") String name);
+
+    @Modifying
+    @Query("""
+        UPDATE franchises SET name = :name, version = version + 1, updated_at = NOW()
+        WHERE id = :id AND version = :version
+        """)
+    Mono<Integer> updateNameIfVersion(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+
+    @Query("SELECT * FROM franchises WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<FranchiseEntity> findPage(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Versions only grow and branches are never deleted on their own, so renaming the franchise or a branch, adding a
+    // branch, or changing a top product, its stock or its name always changes the tag (see V6). Reads one
+    // (franchise_id, id) index range and one branch_top_product row per branch, and writes nothing.
+    @Query("""
+        SELECT CONCAT_WS('-', f.version, COUNT(b.id), COALESCE(SUM(b.version), 0), COALESCE(SUM(t.version), 0))
+        FROM franchises f
+        LEFT JOIN branches b ON b.franchise_id = f.id
+        LEFT JOIN branch_top_product t ON t.branch_id = b.id
+        WHERE f.id = :franchiseId
+        GROUP BY f.id, f.version
+        """)
+    Mono<String> findTopProductsVersion(@Param("franchiseId") Long franchiseId);
 }
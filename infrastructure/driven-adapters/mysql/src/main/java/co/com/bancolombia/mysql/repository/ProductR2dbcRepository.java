@@ -8,33 +8,69 @@ import org.springframework.data.repository.query.Param;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface ProductR2dbcRepository extends R2dbcRepository<ProductEntity, Long> {
 
     @Query("SELECT * FROM products WHERE name = :name AND branch_id = :branchId")
     Mono<ProductEntity> findByNameAndBranchId(String name, Long branchId);
 
+    @Query("SELECT name FROM products WHERE branch_id = :branchId AND name IN (:names)")
+    Flux<String> findNamesByBranchIdAndNameIn(@Param("branchId") Long branchId, @Param("names") Collection<String> names);
+
     @Modifying
-    @Query("UPDATE products SET stock = :stock, updated_at = NOW() WHERE id = :id")
+    @Query("DELETE FROM products WHERE id = :id AND branch_id = :branchId")
+    Mono<Integer> deleteByIdAndBranchId(@Param("id") Long id, @Param("branchId") Long branchId);
+
+    @Modifying
+    @Query("UPDATE products SET stock = :stock, version = version + 1, updated_at = NOW() WHERE id = :id")
     Mono<Integer> updateStock(@Param("id") Long id, @Param("stock") Integer stock);
 
     @Modifying
-    @Query("UPDATE products SET name = :name, updated_at = NOW() WHERE id = :id")
+    @Query("""
+        UPDATE products SET stock = :stock, version = version + 1, updated_at = NOW()
+        WHERE id = :id AND version = :version
+        """)
+    Mono<Integer> updateStockIfVersion(@Param("id") Long id, @Param("stock") Integer stock, @Param("version") Long version);
+
+    @Modifying
+    @Query("""
+        UPDATE products SET stock = stock + :delta, version = version + 1, updated_at = NOW()
+        WHERE id = :id AND stock + :delta >= 0
+        """)
+    Mono<Integer> adjustStock(@Param("id") Long id, @Param("delta") Integer delta);
+
+    @Modifying
+    @Query("UPDATE products SET name = :name, version = version + 1, updated_at = NOW() WHERE id = :id")
     Mono<Integer> updateName(@Param("id") Long id, @Param("name") String name);
 
+    @Modifying
+    @Query("""
+        UPDATE products SET name = :name, version = version + 1, updated_at = NOW()
+        WHERE id = :id AND version = :version
+        """)
+    Mono<Integer> updateNameIfVersion(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+
     @Query("""
-        SELECT p.* 
-        FROM products p
-        INNER JOIN branches b ON p.branch_id = b.id
-        INNER JOIN (
-            SELECT branch_id, MAX(stock) as max_stock
-            FROM products
-            WHERE branch_id IN (
-                SELECT id FROM branches WHERE franchise_id = :franchiseId
-            )
-            GROUP BY branch_id
-        ) max_products ON p.branch_id = max_products.branch_id AND p.stock = max_products.max_stock
+        SELECT p.*
+        FROM branches b
+        INNER JOIN branch_top_product t ON t.branch_id = b.id
+        INNER JOIN products p ON p.id = t.product_id
         WHERE b.franchise_id = :franchiseId
         ORDER BY b.name, p.name
         """)
     Flux<ProductEntity> findMaxStockByFranchise(Long franchiseId);
+
+    @Query("SELECT * FROM products WHERE branch_id = :branchId AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<ProductEntity> findPageByBranchId(@Param("branchId") Long branchId,
+                                           @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    @Query("""
+        SELECT p.*
+        FROM branch_top_product t
+        INNER JOIN products p ON p.id = t.product_id
+        WHERE t.branch_id = :branchId
+        """)
+    Mono<ProductEntity> findTopByBranchId(@Param("branchId") Long branchId);
 }
@@ -0,0 +1,77 @@
+package co.com.bancolombia.mysql.writebehind;
+
+import co.com.bancolombia.model.product.Product;
+
+// Not thread-safe: every access happens under the lock of the stripe that holds it
+final class PendingStock {
+
+    // Row as read when the first buffered write arrived; only its stock is ever overridden
+    private final Product snapshot;
+    private Integer absolute;
+    private int delta;
+    private final long bufferedSinceNanos;
+
+    PendingStock(Product snapshot, long nowNanos) {
+        this.snapshot = snapshot;
+        this.bufferedSinceNanos = nowNanos;
+    }
+
+    // Last write wins: an absolute stock discards whatever was pending before it
+    boolean set(int stock) {
+        absolute = stock;
+        delta = 0;
+        return true;
+    }
+
+    // Deltas are summed, or folded into a pending absolute; rejected when the buffered stock would go negative
+    boolean adjust(int amount) {
+        if (stockOver(snapshot.getStock()) + amount < 0) {
+            return false;
+        }
+        if (absolute != null) {
+            absolute += amount;
+        } else {
+            delta += amount;
+        }
+        return true;
+    }
+
+    // A failed flush puts its writes back underneath the ones buffered while it ran
+    PendingStock followedBy(PendingStock newer) {
+        PendingStock merged = new PendingStock(snapshot, Math.min(bufferedSinceNanos, newer.bufferedSinceNanos));
+        if (newer.absolute != null) {
+            merged.absolute = newer.absolute;
+        } else if (absolute != null) {
+            merged.absolute = absolute + newer.delta;
+        } else {
+            merged.delta = delta + newer.delta;
+        }
+        return merged;
+    }
+
+    int stockOver(int persistedStock) {
+        return absolute != null ? absolute : persistedStock + delta;
+    }
+
+    Product view() {
+        return overlay(snapshot);
+    }
+
+    Product overlay(Product persisted) {
+        return persisted.toBuilder()
+                .stock(stockOver(persisted.getStock()))
+                .build();
+    }
+
+    boolean isAbsolute() {
+        return absolute != null;
+    }
+
+    int value() {
+        return absolute != null ? absolute : delta;
+    }
+
+    long bufferedSinceNanos() {
+        return bufferedSinceNanos;
+    }
+}
@@ -0,0 +1,425 @@
+package co.com.bancolombia.mysql.writebehind;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.mysql.batch.ProductBatchOperations;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Absorbs stock writes in memory and persists them in batches, so a product updated hundreds of times per second
+ * costs one UPDATE per flush instead of one row-lock wait per request.
+ * Absolute writes are last-write-wins and deltas are summed; both are flushed every interval, or earlier once
+ * maxPending products are buffered. Acknowledged writes live only in memory until their flush commits: a graceful
+ * shutdown flushes them, a crash loses at most one interval of them.
+ */
+@Slf4j
+public class StockWriteBehindBuffer implements SmartLifecycle {
+
+    private static final int STRIPES = 64;
+    private static final Duration SHUTDOWN_POLL = Duration.ofMillis(20);
+    private static final int SETTLE_ATTEMPTS = 5;
+
+    private final ProductBatchOperations batchOperations;
+    private final BranchTopProductR2dbcRepository topProductRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration flushInterval;
+    private final int maxPending;
+    private final Duration shutdownTimeout;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final Timer flushLag;
+    private final Counter flushed;
+    private final Counter rejected;
+    private final Counter failed;
+    private volatile Disposable ticker;
+    private volatile Mono<Void> currentFlush = Mono.empty();
+
+    public StockWriteBehindBuffer(ProductBatchOperations batchOperations,
+                                  BranchTopProductR2dbcRepository topProductRepository,
+                                  TransactionalOperator transactionalOperator,
+                                  Duration flushInterval, int maxPending, Duration shutdownTimeout,
+                                  MeterRegistry registry) {
+        this.batchOperations = batchOperations;
+        this.topProductRepository = topProductRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.shutdownTimeout = shutdownTimeout;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.flushLag = Timer.builder("stock.write_behind.flush.lag")
+                .description("Time from the first buffered write of a product to the commit of its flush")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.flushed = counter(registry, "flushed");
+        this.rejected = counter(registry, "rejected");
+        this.failed = counter(registry, "failed");
+        Gauge.builder("stock.write_behind.pending", pending, AtomicInteger::get)
+                .description("Products with buffered stock writes")
+                .register(registry);
+    }
+
+    // Emits the product as buffered after the write, or nothing when the product does not exist
+    public Mono<Product> set(Long productId, Integer stock, Function<Long, Mono<Product>> loader) {
+        return buffer(productId, entry -> entry.set(stock), loader);
+    }
+
+    // Emits nothing when the product does not exist or the buffered stock would go negative
+    public Mono<Product> adjust(Long productId, Integer delta, Function<Long, Mono<Product>> loader) {
+        return buffer(productId, entry -> entry.adjust(delta), loader);
+    }
+
+    // Reads on this instance see their own buffered writes before they are flushed
+    public Product overlay(Product persisted) {
+        return stripeOf(persisted.getId()).overlay(persisted);
+    }
+
+    // For a direct write that supersedes the buffered stock of these products: drops what is buffered and completes
+    // once no flush can still write them, so the caller's write commits last. A flush already writing one of them
+    // is waited out, and its entries for it are not put back if it fails.
+    public Mono<Void> fence(Collection<Long> productIds) {
+        return Mono.defer(() -> {
+            boolean inFlight = false;
+            for (Long productId : productIds) {
+                Fenced fenced = stripeOf(productId).fence(productId);
+                if (fenced.discarded()) {
+                    pending.decrementAndGet();
+                }
+                inFlight |= fenced.inFlight();
+            }
+            // Read after fencing: while one of them is in flight its flush has not finished, so no newer one started
+            return inFlight ? currentFlush : Mono.empty();
+        });
+    }
+
+    // For a conditional write that must compare against a version including every write acknowledged so far:
+    // flushes what is buffered for the product, or waits for the flush already writing it. New writes to the
+    // product wait until it has settled, so a hot product cannot keep re-buffering ahead of it. Fails with a
+    // retryable error when it cannot get there, e.g. because flushes keep failing.
+    public Mono<Void> settle(Long productId) {
+        Stripe stripe = stripeOf(productId);
+        return Mono.defer(() -> {
+            stripe.holdSettle(productId);
+            return Mono.defer(() -> {
+                        if (stripe.isInFlight(productId)) {
+                            return currentFlush;
+                        }
+                        // flush() is a no-op while another flush runs, so that one is waited out first
+                        return stripe.isBuffered(productId) ? currentFlush.then(flush()) : Mono.<Void>empty();
+                    })
+                    .then(Mono.fromSupplier(() -> !stripe.isInFlight(productId) && !stripe.isBuffered(productId)))
+                    .filter(Boolean::booleanValue)
+                    .repeatWhenEmpty(SETTLE_ATTEMPTS, attempts -> attempts.delayElements(SHUTDOWN_POLL))
+                    .onErrorMap(IllegalStateException.class,
+                            error -> new BusinessException(TechnicalMessage.PRODUCT_STOCK_WRITES_PENDING))
+                    .doFinally(signal -> stripe.releaseSettle(productId))
+                    .then();
+        });
+    }
+
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            if (!flushing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            // Published before draining, so whoever sees an entry in flight can wait for this flush
+            Sinks.Empty<Void> done = Sinks.empty();
+            currentFlush = done.asMono();
+            List<Map.Entry<Long, PendingStock>> drained = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                drained.addAll(stripe.drain().entrySet());
+            }
+            pending.addAndGet(-drained.size());
+            return persist(drained)
+                    .doOnSuccess(outcomes -> {
+                        outcomes.forEach(this::record);
+                        long now = System.nanoTime();
+                        drained.forEach(entry ->
+                                flushLag.record(now - entry.getValue().bufferedSinceNanos(), TimeUnit.NANOSECONDS));
+                        completeFlush(false);
+                    })
+                    .onErrorResume(error -> {
+                        log.warn("Stock write-behind flush of {} products failed, retrying on the next flush",
+                                drained.size(), error);
+                        failed.increment(drained.size());
+                        completeFlush(true);
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> {
+                        flushing.set(false);
+                        done.tryEmitEmpty();
+                    });
+        });
+    }
+
+    @Override
+    public void start() {
+        ticker = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .subscribe(tick -> flush().subscribe());
+    }
+
+    // Runs after the web server has stopped taking requests, and before the connection pool is closed
+    @Override
+    public void stop() {
+        ticker.dispose();
+        ticker = null;
+        Mono.defer(this::flush)
+                .then(Mono.fromSupplier(() -> pending.get() == 0 && !flushing.get()))
+                .filter(Boolean::booleanValue)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(SHUTDOWN_POLL))
+                .timeout(shutdownTimeout)
+                .onErrorResume(error -> {
+                    log.error("Stock write-behind buffer stopped with {} products not flushed", pending.get());
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private Mono<Product> buffer(Long productId, Predicate<PendingStock> write, Function<Long, Mono<Product>> loader) {
+        return Mono.defer(() -> {
+            Stripe stripe = stripeOf(productId);
+            Applied applied = stripe.apply(productId, null, write);
+            if (applied != null) {
+                return accepted(applied, productId, write, loader);
+            }
+            return loader.apply(productId)
+                    .flatMap(snapshot -> accepted(stripe.apply(productId, snapshot, write), productId, write, loader));
+        });
+    }
+
+    // The size threshold is checked outside the stripe lock, since a flush drains every stripe. A write that met
+    // a settling product is applied from scratch once the settle is over.
+    private Mono<Product> accepted(Applied applied, Long productId, Predicate<PendingStock> write,
+                                   Function<Long, Mono<Product>> loader) {
+        if (applied.settling() != null) {
+            return applied.settling().then(buffer(productId, write, loader));
+        }
+        if (applied.created() && pending.incrementAndGet() >= maxPending) {
+            flush().subscribe();
+        }
+        return Mono.justOrEmpty(applied.product());
+    }
+
+    // Absolutes, deltas and the ranking refresh commit in one transaction: a flush that fails at any step leaves
+    // nothing applied, so putting all of its writes back cannot apply a delta twice
+    private Mono<List<Outcome>> persist(List<Map.Entry<Long, PendingStock>> drained) {
+        if (drained.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<StockUpdate> absolutes = new ArrayList<>();
+        List<StockUpdate> deltas = new ArrayList<>();
+        drained.forEach(entry -> (entry.getValue().isAbsolute() ? absolutes : deltas)
+                .add(new StockUpdate(entry.getKey(), entry.getValue().value())));
+
+        return outcomes(batchOperations.updateStock(absolutes), absolutes, true)
+                .concatWith(outcomes(batchOperations.adjustStock(deltas), deltas, false))
+                .collectList()
+                .flatMap(outcomes -> {
+                    List<Long> productIds = outcomes.stream()
+                            .filter(Outcome::updated)
+                            .map(outcome -> outcome.update().getProductId())
+                            .toList();
+                    return productIds.isEmpty()
+                            ? Mono.just(outcomes)
+                            : topProductRepository.refreshForProducts(productIds).thenReturn(outcomes);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private Flux<Outcome> outcomes(Flux<Long> updatedRows, List<StockUpdate> updates, boolean absolute) {
+        return updatedRows.zipWithIterable(updates, (rows, update) -> new Outcome(update, absolute, rows > 0));
+    }
+
+    // Deltas are checked against the stock this instance knows of when buffered, but writes from other instances
+    // can still make one go negative by flush time; like a deleted product, it was acknowledged and is now lost
+    private void record(Outcome outcome) {
+        if (outcome.updated()) {
+            flushed.increment();
+            return;
+        }
+        rejected.increment();
+        log.warn("Dropped acknowledged {} {} of product {}: the product no longer exists or its stock would go negative",
+                outcome.absolute() ? "stock" : "stock delta", outcome.update().getStock(),
+                outcome.update().getProductId());
+    }
+
+    private void completeFlush(boolean restore) {
+        for (Stripe stripe : stripes) {
+            pending.addAndGet(stripe.completeFlush(restore));
+        }
+    }
+
+    private Stripe stripeOf(Long productId) {
+        return stripes[Long.hashCode(productId) & (STRIPES - 1)];
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("stock.write_behind.writes")
+                .description("Buffered product writes by flush result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Applied(Product product, boolean created, Mono<Void> settling) {
+    }
+
+    private record Outcome(StockUpdate update, boolean absolute, boolean updated) {
+    }
+
+    private record Fenced(boolean discarded, boolean inFlight) {
+    }
+
+    // Entries being flushed stay visible to reads and serve as the base of new writes until the flush completes,
+    // unless a direct write has fenced them
+    private static final class Stripe {
+
+        private Map<Long, PendingStock> buffered = new HashMap<>();
+        private Map<Long, PendingStock> inFlight = Map.of();
+        private final Set<Long> fenced = new HashSet<>();
+        private final Map<Long, Settling> settling = new HashMap<>();
+
+        // Null when the product has no entry and no snapshot was given, so the caller has to load it first
+        synchronized Applied apply(Long productId, Product snapshot, Predicate<PendingStock> write) {
+            Settling hold = settling.get(productId);
+            if (hold != null) {
+                return new Applied(null, false, hold.released.asMono());
+            }
+            PendingStock entry = buffered.get(productId);
+            boolean created = entry == null;
+            if (created) {
+                PendingStock flushingEntry = inFlightEntry(productId);
+                Product base = flushingEntry != null ? flushingEntry.view() : snapshot;
+                if (base == null) {
+                    return null;
+                }
+                entry = new PendingStock(base, System.nanoTime());
+            }
+            if (!write.test(entry)) {
+                return new Applied(null, false, null);
+            }
+            if (created) {
+                buffered.put(productId, entry);
+            }
+            return new Applied(entry.view(), created, null);
+        }
+
+        synchronized Product overlay(Product persisted) {
+            // The in-flight stock is taken as is: the row may or may not include it yet
+            PendingStock flushingEntry = inFlightEntry(persisted.getId());
+            Product base = flushingEntry != null
+                    ? persisted.toBuilder().stock(flushingEntry.view().getStock()).build()
+                    : persisted;
+            PendingStock entry = buffered.get(persisted.getId());
+            return entry != null ? entry.overlay(base) : base;
+        }
+
+        synchronized Fenced fence(Long productId) {
+            boolean inFlightNow = inFlight.containsKey(productId);
+            if (inFlightNow) {
+                fenced.add(productId);
+            }
+            return new Fenced(buffered.remove(productId) != null, inFlightNow);
+        }
+
+        synchronized Map<Long, PendingStock> drain() {
+            inFlight = buffered;
+            buffered = new HashMap<>();
+            return inFlight;
+        }
+
+        // Returns how many products went back to pending
+        synchronized int completeFlush(boolean restore) {
+            int restored = 0;
+            if (restore) {
+                for (Map.Entry<Long, PendingStock> older : inFlight.entrySet()) {
+                    if (fenced.contains(older.getKey())) {
+                        continue;
+                    }
+                    PendingStock newer = buffered.get(older.getKey());
+                    buffered.put(older.getKey(), newer == null ? older.getValue() : older.getValue().followedBy(newer));
+                    restored += newer == null ? 1 : 0;
+                }
+            }
+            inFlight = Map.of();
+            fenced.clear();
+            return restored;
+        }
+
+        synchronized void holdSettle(Long productId) {
+            settling.computeIfAbsent(productId, id -> new Settling()).holders++;
+        }
+
+        // Waiting writers are released outside the lock, since they apply their write to this stripe right away
+        void releaseSettle(Long productId) {
+            Settling released;
+            synchronized (this) {
+                Settling hold = settling.get(productId);
+                if (--hold.holders > 0) {
+                    return;
+                }
+                settling.remove(productId);
+                released = hold;
+            }
+            released.released.tryEmitEmpty();
+        }
+
+        synchronized boolean isBuffered(Long productId) {
+            return buffered.containsKey(productId);
+        }
+
+        synchronized boolean isInFlight(Long productId) {
+            return inFlightEntry(productId) != null;
+        }
+
+        private PendingStock inFlightEntry(Long productId) {
+            return fenced.contains(productId) ? null : inFlight.get(productId);
+        }
+    }
+
+    // Concurrent settles of one product share a hold; writers to the product wait for the last one to finish
+    private static final class Settling {
+
+        private final Sinks.Empty<Void> released = Sinks.empty();
+        private int holders;
+    }
+}
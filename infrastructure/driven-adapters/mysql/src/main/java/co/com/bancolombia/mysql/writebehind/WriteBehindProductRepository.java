@@ -0,0 +1,108 @@
+package co.com.bancolombia.mysql.writebehind;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Single-product stock writes are absorbed by the buffer; everything else goes straight to the delegate
+@RequiredArgsConstructor
+public class WriteBehindProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final StockWriteBehindBuffer buffer;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return delegate.save(product);
+    }
+
+    @Override
+    public Mono<Product> findById(Long productId) {
+        return delegate.findById(productId)
+                .map(buffer::overlay);
+    }
+
+    @Override
+    public Mono<Product> findByNameAndBranchId(String name, Long branchId) {
+        return delegate.findByNameAndBranchId(name, branchId)
+                .map(buffer::overlay);
+    }
+
+    @Override
+    public Flux<String> findExistingNames(Long branchId, List<String> names) {
+        return delegate.findExistingNames(branchId, names);
+    }
+
+    @Override
+    public Flux<Product> insertAll(Long branchId, List<Product> products) {
+        return delegate.insertAll(branchId, products);
+    }
+
+    @Override
+    public Mono<Boolean> deleteByIdAndBranchId(Long productId, Long branchId) {
+        return delegate.deleteByIdAndBranchId(productId, branchId)
+                .flatMap(deleted -> deleted
+                        ? buffer.fence(List.of(productId)).thenReturn(true)
+                        : Mono.just(false));
+    }
+
+    @Override
+    public Mono<Void> updateStock(Long productId, Integer newStock) {
+        return buffer.set(productId, newStock, delegate::findById)
+                .then();
+    }
+
+    // A compare-and-set has to see the row, so it is written through, and only once the writes acknowledged before
+    // it have been flushed: otherwise it would compare against a stale version and be overwritten by their flush
+    @Override
+    public Mono<Product> updateStockAndGet(Long productId, Integer newStock, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return buffer.settle(productId)
+                    .then(Mono.defer(() -> delegate.updateStockAndGet(productId, newStock, expectedVersion)));
+        }
+        return buffer.set(productId, newStock, delegate::findById);
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long productId, Integer delta) {
+        return buffer.adjust(productId, delta, delegate::findById);
+    }
+
+    // Batches are written through once no buffered or in-flight write for those products can land after them
+    @Override
+    public Flux<StockUpdateResult> updateStockBatch(List<StockUpdate> updates) {
+        return buffer.fence(updates.stream().map(StockUpdate::getProductId).toList())
+                .thenMany(Flux.defer(() -> delegate.updateStockBatch(updates)));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long productId, String newName, Long expectedVersion) {
+        return delegate.updateName(productId, newName, expectedVersion)
+                .map(buffer::overlay);
+    }
+
+    // Rankings come from branch_top_product, which only moves when a flush commits
+    @Override
+    public Flux<Product> findMaxStockByFranchise(Long franchiseId) {
+        return delegate.findMaxStockByFranchise(franchiseId);
+    }
+
+    @Override
+    public Flux<Product> findPageByBranchId(Long branchId, Long afterId, int limit) {
+        return delegate.findPageByBranchId(branchId, afterId, limit)
+                .map(buffer::overlay);
+    }
+
+    // Which product is on top moves with the flush, but its stock is shown as buffered on this instance
+    @Override
+    public Mono<Product> findTopByBranchId(Long branchId) {
+        return delegate.findTopByBranchId(branchId)
+                .map(buffer::overlay);
+    }
+}
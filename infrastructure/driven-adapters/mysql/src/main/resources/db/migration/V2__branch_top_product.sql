@@ -0,0 +1,18 @@
+-- Highest-stock product per branch (ties resolved to the lowest product id).
+-- Maintained by the product adapter after every insert, stock change and delete.
+CREATE TABLE IF NOT EXISTS branch_top_product (
+    branch_id BIGINT PRIMARY KEY,
+    product_id BIGINT NULL,
+    refreshed_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    FOREIGN KEY (branch_id) REFERENCES branches(id) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE SET NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO branch_top_product (branch_id, product_id, refreshed_at)
+SELECT top.branch_id, top.product_id, NOW(6)
+FROM (
+    SELECT b.id AS branch_id,
+           (SELECT p.id FROM products p WHERE p.branch_id = b.id ORDER BY p.stock DESC, p.id LIMIT 1) AS product_id
+    FROM branches b
+) AS top
+ON DUPLICATE KEY UPDATE product_id = top.product_id, refreshed_at = NOW(6);
@@ -0,0 +1,19 @@
+-- Final index set for the lookups the adapters run, created in one step so no index is dropped and re-added later:
+--   products (branch_id, stock DESC, id)  -> top-product ranking (ORDER BY stock DESC, id LIMIT 1) without filesort
+--   products (branch_id, name) unique     -> findByNameAndBranchId, the bulk-import duplicate check and name uniqueness
+--   products (branch_id, id)              -> keyset pages: WHERE branch_id = ? AND id > ? ORDER BY id LIMIT ?
+--   branches (franchise_id, name) unique  -> findByNameAndFranchiseId and name uniqueness
+--   branches (franchise_id, id)           -> keyset pages: WHERE franchise_id = ? AND id > ? ORDER BY id LIMIT ?
+-- Names are unique per parent, so the database enforces it instead of a SELECT-before-INSERT in the use cases.
+-- This migration fails if duplicates already exist; they must be renamed or merged before upgrading.
+-- The single-column foreign key indexes are left-prefixes of the (parent, id) ones and are replaced in the same statement.
+ALTER TABLE products
+    ADD INDEX idx_products_branch_stock (branch_id, stock DESC, id),
+    ADD UNIQUE KEY uk_products_branch_name (branch_id, name),
+    ADD INDEX idx_products_branch_id (branch_id, id),
+    DROP INDEX idx_branch_id;
+
+ALTER TABLE branches
+    ADD UNIQUE KEY uk_branches_franchise_name (franchise_id, name),
+    ADD INDEX idx_branches_franchise_id (franchise_id, id),
+    DROP INDEX idx_franchise_id;
@@ -0,0 +1,11 @@
+-- Row versions for optimistic concurrency: every UPDATE bumps version, and conditional writes add
+--   WHERE id = ? AND version = ?
+-- so a stale writer matches no row instead of overwriting. Existing rows start at 0.
+ALTER TABLE franchises
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE branches
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE products
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
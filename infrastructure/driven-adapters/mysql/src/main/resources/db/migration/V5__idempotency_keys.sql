@@ -0,0 +1,10 @@
+-- Responses of POSTs sent with an Idempotency-Key, so retries from any instance are answered without re-running them.
+-- Keys are stored as SHA-256 hashes to keep the primary key fixed-size; expired rows are purged in batches by expires_at.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    key_hash CHAR(64) NOT NULL PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    status SMALLINT NOT NULL,
+    body MEDIUMTEXT NOT NULL,
+    expires_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- ETag of GET /franchises/{id}/max-stock-products, built from the franchise row and its branch rows: franchise
+-- and branch renames move their row versions, and branch_top_product.version moves whenever a branch's top
+-- product changes, or its stock or name does. Each write bumps only the row of the branch it touched, so stock
+-- writes in different branches of one franchise never wait on a shared row.
+-- refreshed_at was rewritten on every refresh and is superseded by the version.
+ALTER TABLE branch_top_product
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    DROP COLUMN refreshed_at;
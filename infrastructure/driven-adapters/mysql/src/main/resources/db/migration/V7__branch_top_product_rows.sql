@@ -0,0 +1,8 @@
+-- The top-product refreshes only update existing branch_top_product rows, and branches now get theirs on creation.
+-- Branches created before that without any product never had one, so every branch still missing its row gets it.
+INSERT INTO branch_top_product (branch_id, product_id)
+SELECT b.id,
+       (SELECT p.id FROM products p WHERE p.branch_id = b.id ORDER BY p.stock DESC, p.id LIMIT 1)
+FROM branches b
+LEFT JOIN branch_top_product t ON t.branch_id = b.id
+WHERE t.branch_id IS NULL;
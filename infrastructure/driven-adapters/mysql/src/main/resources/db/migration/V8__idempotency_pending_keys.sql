@@ -0,0 +1,3 @@
+-- A keyed create first reserves its Idempotency-Key with a pending row (status 0) that has no body until the
+-- response is stored, so a retry on another instance sees the attempt in progress instead of running it again.
+ALTER TABLE idempotency_keys MODIFY body MEDIUMTEXT NULL;
@@ -2,18 +2,24 @@ package co.com.bancolombia.mysql.adapter;
 
 import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.BranchWithTopProduct;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.mysql.dto.BranchWithProductDto;
 import co.com.bancolombia.mysql.entity.BranchEntity;
 import co.com.bancolombia.mysql.mapper.BranchMapper;
 import co.com.bancolombia.mysql.mapper.BranchWithProductMapper;
 import co.com.bancolombia.mysql.repository.BranchR2dbcRepository;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -34,9 +40,21 @@ class BranchMySQLAdapterTest {
     @Mock
     private BranchWithProductMapper branchWithProductMapper;
 
+    @Mock
+    private BranchTopProductR2dbcRepository topProductRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private BranchMySQLAdapter adapter;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     @DisplayName("Should save branch successfully")
     void shouldSaveBranchSuccessfully() {
@@ -63,6 +81,7 @@ class BranchMySQLAdapterTest {
 
         when(branchMapper.toEntity(branch)).thenReturn(entity);
         when(r2dbcRepository.save(entity)).thenReturn(Mono.just(savedEntity));
+        when(topProductRepository.createForBranch(1L)).thenReturn(Mono.just(1));
         when(branchMapper.toDomain(savedEntity)).thenReturn(savedBranch);
 
         // Act & Assert
@@ -72,6 +91,7 @@ class BranchMySQLAdapterTest {
 
         verify(branchMapper).toEntity(branch);
         verify(r2dbcRepository).save(entity);
+        verify(topProductRepository).createForBranch(1L);
         verify(branchMapper).toDomain(savedEntity);
     }
 
@@ -135,19 +155,45 @@ class BranchMySQLAdapterTest {
     }
 
     @Test
-    @DisplayName("Should update branch name successfully")
+    @DisplayName("Should update branch name and return the updated row")
     void shouldUpdateBranchNameSuccessfully() {
         // Arrange
         Long branchId = 1L;
         String newName = "Updated Branch";
+        BranchEntity entity = new BranchEntity();
+        entity.setId(branchId);
+        entity.setName(newName);
+        entity.setVersion(1L);
+        Branch updated = Branch.builder().id(branchId).name(newName).version(1L).build();
 
         when(r2dbcRepository.updateName(branchId, newName)).thenReturn(Mono.just(1));
+        when(r2dbcRepository.findById(branchId)).thenReturn(Mono.just(entity));
+        when(branchMapper.toDomain(entity)).thenReturn(updated);
 
         // Act & Assert
-        StepVerifier.create(adapter.updateName(branchId, newName))
+        StepVerifier.create(adapter.updateName(branchId, newName, null))
+                .expectNext(updated)
                 .verifyComplete();
 
         verify(r2dbcRepository).updateName(branchId, newName);
+        verify(r2dbcRepository, never()).updateNameIfVersion(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete empty without reading back when the branch version does not match")
+    void shouldCompleteEmptyWhenBranchVersionDoesNotMatch() {
+        // Arrange
+        Long branchId = 1L;
+        String newName = "Updated Branch";
+
+        when(r2dbcRepository.updateNameIfVersion(branchId, newName, 3L)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateName(branchId, newName, 3L))
+                .verifyComplete();
+
+        verify(r2dbcRepository, never()).updateName(any(), any());
+        verify(r2dbcRepository, never()).findById(branchId);
     }
 
     @Test
@@ -187,4 +233,26 @@ class BranchMySQLAdapterTest {
         verify(r2dbcRepository).findBranchesWithTopProductByFranchiseId(franchiseId);
         verify(branchWithProductMapper, times(2)).toDomain(any());
     }
+
+    @Test
+    @DisplayName("Should map duplicate key on insert to BRANCH_NAME_ALREADY_EXISTS")
+    void shouldMapDuplicateKeyOnSaveToBusinessException() {
+        // Arrange
+        Branch branch = Branch.builder().name("Existing Branch").franchiseId(1L).build();
+        BranchEntity entity = new BranchEntity();
+        entity.setName("Existing Branch");
+        entity.setFranchiseId(1L);
+
+        when(branchMapper.toEntity(branch)).thenReturn(entity);
+        when(r2dbcRepository.save(entity))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry '1-Existing Branch'")));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(branch))
+                .expectErrorMatches(error -> error instanceof BusinessException business
+                        && business.getTechnicalMessage() == TechnicalMessage.BRANCH_NAME_ALREADY_EXISTS)
+                .verify();
+
+        verify(branchMapper, never()).toDomain(any(BranchEntity.class));
+    }
 }
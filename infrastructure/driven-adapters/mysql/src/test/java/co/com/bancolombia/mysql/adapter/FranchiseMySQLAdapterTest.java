@@ -1,15 +1,20 @@
 package co.com.bancolombia.mysql.adapter;
 
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.mysql.entity.FranchiseEntity;
 import co.com.bancolombia.mysql.mapper.FranchiseMapper;
 import co.com.bancolombia.mysql.repository.FranchiseR2dbcRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -150,18 +155,94 @@ class FranchiseMySQLAdapterTest {
     }
 
     @Test
-    @DisplayName("Should update franchise name successfully")
+    @DisplayName("Should update franchise name and return the updated row")
     void shouldUpdateFranchiseNameSuccessfully() {
         // Arrange
         Long franchiseId = 1L;
         String newName = "Updated Franchise";
+        FranchiseEntity entity = new FranchiseEntity();
+        entity.setId(franchiseId);
+        entity.setName(newName);
+        entity.setVersion(1L);
+        Franchise updated = Franchise.builder().id(franchiseId).name(newName).version(1L).build();
 
         when(r2dbcRepository.updateName(franchiseId, newName)).thenReturn(Mono.just(1));
+        when(r2dbcRepository.findById(franchiseId)).thenReturn(Mono.just(entity));
+        when(franchiseMapper.toDomain(entity)).thenReturn(updated);
 
         // Act & Assert
-        StepVerifier.create(adapter.updateName(franchiseId, newName))
+        StepVerifier.create(adapter.updateName(franchiseId, newName, null))
+                .expectNext(updated)
                 .verifyComplete();
 
         verify(r2dbcRepository).updateName(franchiseId, newName);
+        verify(r2dbcRepository, never()).updateNameIfVersion(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete empty without reading back when the franchise version does not match")
+    void shouldCompleteEmptyWhenFranchiseVersionDoesNotMatch() {
+        // Arrange
+        Long franchiseId = 1L;
+        String newName = "Updated Franchise";
+
+        when(r2dbcRepository.updateNameIfVersion(franchiseId, newName, 3L)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateName(franchiseId, newName, 3L))
+                .verifyComplete();
+
+        verify(r2dbcRepository, never()).updateName(any(), any());
+        verify(r2dbcRepository, never()).findById(franchiseId);
+    }
+
+    @Test
+    @DisplayName("Should map duplicate key on insert to FRANCHISE_NAME_ALREADY_EXISTS")
+    void shouldMapDuplicateKeyOnSaveToBusinessException() {
+        // Arrange
+        Franchise franchise = Franchise.builder().name("Existing Franchise").build();
+        FranchiseEntity entity = new FranchiseEntity();
+        entity.setName("Existing Franchise");
+
+        when(franchiseMapper.toEntity(franchise)).thenReturn(entity);
+        when(r2dbcRepository.save(entity))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry 'Existing Franchise'")));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(franchise))
+                .expectErrorMatches(error -> error instanceof BusinessException business
+                        && business.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NAME_ALREADY_EXISTS)
+                .verify();
+
+        verify(franchiseMapper, never()).toDomain(any());
+    }
+
+    @Test
+    @DisplayName("Should map untranslated MySQL duplicate entry on rename to FRANCHISE_NAME_DUPLICATE")
+    void shouldMapDriverDuplicateEntryOnUpdateName() {
+        // Arrange
+        when(r2dbcRepository.updateName(1L, "Taken"))
+                .thenReturn(Mono.error(new R2dbcDataIntegrityViolationException("Duplicate entry", "23000", 1062)));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateName(1L, "Taken", null))
+                .expectErrorMatches(error -> error instanceof BusinessException business
+                        && business.getTechnicalMessage() == TechnicalMessage.FRANCHISE_NAME_DUPLICATE)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate integrity violations that are not duplicate keys")
+    void shouldPropagateOtherIntegrityViolations() {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Data too long",
+                new R2dbcDataIntegrityViolationException("Data too long", "22001", 1406));
+        when(r2dbcRepository.updateName(1L, "Too long"))
+                .thenReturn(Mono.error(violation));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateName(1L, "Too long", null))
+                .expectErrorMatches(error -> error == violation)
+                .verify();
     }
 }
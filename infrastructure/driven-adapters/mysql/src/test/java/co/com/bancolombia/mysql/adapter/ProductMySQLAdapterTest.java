@@ -1,19 +1,29 @@
 package co.com.bancolombia.mysql.adapter;
 
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.mysql.batch.ProductBatchOperations;
 import co.com.bancolombia.mysql.entity.ProductEntity;
 import co.com.bancolombia.mysql.mapper.ProductMapper;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
 import co.com.bancolombia.mysql.repository.ProductR2dbcRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -27,9 +37,26 @@ class ProductMySQLAdapterTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductBatchOperations batchOperations;
+
+    @Mock
+    private BranchTopProductR2dbcRepository topProductRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private ProductMySQLAdapter adapter;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(transactionalOperator.transactional(any(Flux.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     @DisplayName("Should save product successfully")
     void shouldSaveProductSuccessfully() {
@@ -60,6 +87,7 @@ class ProductMySQLAdapterTest {
 
         when(productMapper.toEntity(product)).thenReturn(entity);
         when(r2dbcRepository.save(entity)).thenReturn(Mono.just(savedEntity));
+        when(topProductRepository.refreshForProducts(List.of(1L))).thenReturn(Mono.empty());
         when(productMapper.toDomain(savedEntity)).thenReturn(savedProduct);
 
         // Act & Assert
@@ -69,6 +97,7 @@ class ProductMySQLAdapterTest {
 
         verify(productMapper).toEntity(product);
         verify(r2dbcRepository).save(entity);
+        verify(topProductRepository).refreshForProducts(List.of(1L));
         verify(productMapper).toDomain(savedEntity);
     }
 
@@ -136,18 +165,33 @@ class ProductMySQLAdapterTest {
     }
 
     @Test
-    @DisplayName("Should delete product by ID successfully")
-    void shouldDeleteProductByIdSuccessfully() {
+    @DisplayName("Should delete product scoped to its branch and refresh the projection if it was the top product")
+    void shouldDeleteProductByIdAndBranchIdSuccessfully() {
         // Arrange
-        Long productId = 1L;
+        when(r2dbcRepository.deleteByIdAndBranchId(1L, 7L)).thenReturn(Mono.just(1));
+        when(topProductRepository.refreshIfCleared(7L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.deleteByIdAndBranchId(1L, 7L))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(topProductRepository).refreshIfCleared(7L);
+        verify(r2dbcRepository, never()).findById(any(Long.class));
+    }
 
-        when(r2dbcRepository.deleteById(productId)).thenReturn(Mono.empty());
+    @Test
+    @DisplayName("Should report false and skip the refresh when the scoped delete matches no row")
+    void shouldReportFalseWhenScopedDeleteMatchesNothing() {
+        // Arrange
+        when(r2dbcRepository.deleteByIdAndBranchId(1L, 8L)).thenReturn(Mono.just(0));
 
         // Act & Assert
-        StepVerifier.create(adapter.deleteById(productId))
+        StepVerifier.create(adapter.deleteByIdAndBranchId(1L, 8L))
+                .expectNext(false)
                 .verifyComplete();
 
-        verify(r2dbcRepository).deleteById(productId);
+        verifyNoInteractions(topProductRepository);
     }
 
     @Test
@@ -158,28 +202,254 @@ class ProductMySQLAdapterTest {
         Integer newStock = 200;
 
         when(r2dbcRepository.updateStock(productId, newStock)).thenReturn(Mono.just(1));
+        when(topProductRepository.refreshForProducts(List.of(productId))).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(adapter.updateStock(productId, newStock))
                 .verifyComplete();
 
         verify(r2dbcRepository).updateStock(productId, newStock);
+        verify(topProductRepository).refreshForProducts(List.of(productId));
+    }
+
+    @Test
+    @DisplayName("Should update stock and return the updated product")
+    void shouldUpdateStockAndReturnUpdatedProduct() {
+        // Arrange
+        Long productId = 1L;
+        Integer newStock = 200;
+
+        ProductEntity entity = new ProductEntity();
+        entity.setId(productId);
+        entity.setName("Test Product");
+        entity.setStock(newStock);
+        entity.setBranchId(1L);
+
+        Product product = Product.builder()
+                .id(productId)
+                .name("Test Product")
+                .stock(newStock)
+                .branchId(1L)
+                .build();
+
+        when(r2dbcRepository.updateStock(productId, newStock)).thenReturn(Mono.just(1));
+        when(topProductRepository.refreshForProducts(List.of(productId))).thenReturn(Mono.empty());
+        when(r2dbcRepository.findById(productId)).thenReturn(Mono.just(entity));
+        when(productMapper.toDomain(entity)).thenReturn(product);
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateStockAndGet(productId, newStock, null))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(r2dbcRepository).updateStock(productId, newStock);
+        verify(r2dbcRepository).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should use the compare-and-set query when an expected version is given")
+    void shouldUseCompareAndSetWhenExpectedVersionGiven() {
+        // Arrange
+        Long productId = 1L;
+        ProductEntity entity = new ProductEntity();
+        entity.setId(productId);
+        entity.setStock(40);
+        entity.setVersion(3L);
+        entity.setBranchId(1L);
+        Product product = Product.builder().id(productId).stock(40).version(3L).build();
+
+        when(r2dbcRepository.updateStockIfVersion(productId, 40, 2L)).thenReturn(Mono.just(1));
+        when(topProductRepository.refreshForProducts(List.of(productId))).thenReturn(Mono.empty());
+        when(r2dbcRepository.findById(productId)).thenReturn(Mono.just(entity));
+        when(productMapper.toDomain(entity)).thenReturn(product);
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateStockAndGet(productId, 40, 2L))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(r2dbcRepository, never()).updateStock(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete empty without reading back when no row matched the stock update")
+    void shouldCompleteEmptyWhenNoRowMatchedStockUpdate() {
+        // Arrange
+        Long productId = 999L;
+        Integer newStock = 200;
+
+        when(r2dbcRepository.updateStock(productId, newStock)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateStockAndGet(productId, newStock, null))
+                .verifyComplete();
+
+        verify(r2dbcRepository).updateStock(productId, newStock);
+        verify(r2dbcRepository, never()).findById(productId);
+        verify(topProductRepository, never()).refreshForProducts(any());
+    }
+
+    @Test
+    @DisplayName("Should adjust stock and return the updated product")
+    void shouldAdjustStockAndReturnUpdatedProduct() {
+        // Arrange
+        Long productId = 1L;
+
+        ProductEntity entity = new ProductEntity();
+        entity.setId(productId);
+        entity.setName("Test Product");
+        entity.setStock(97);
+        entity.setBranchId(1L);
+
+        Product product = Product.builder()
+                .id(productId)
+                .name("Test Product")
+                .stock(97)
+                .branchId(1L)
+                .build();
+
+        when(r2dbcRepository.adjustStock(productId, -3)).thenReturn(Mono.just(1));
+        when(topProductRepository.refreshForProducts(List.of(productId))).thenReturn(Mono.empty());
+        when(r2dbcRepository.findById(productId)).thenReturn(Mono.just(entity));
+        when(productMapper.toDomain(entity)).thenReturn(product);
+
+        // Act & Assert
+        StepVerifier.create(adapter.adjustStock(productId, -3))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(r2dbcRepository).adjustStock(productId, -3);
     }
 
     @Test
-    @DisplayName("Should update product name successfully")
+    @DisplayName("Should fail the adjustment inside its transaction when the projection refresh fails")
+    void shouldRunAdjustmentAndRefreshInOneTransaction() {
+        // Arrange
+        Long productId = 1L;
+        ProductEntity entity = new ProductEntity();
+        entity.setId(productId);
+        entity.setStock(97);
+        entity.setBranchId(1L);
+
+        when(r2dbcRepository.adjustStock(productId, -3)).thenReturn(Mono.just(1));
+        when(r2dbcRepository.findById(productId)).thenReturn(Mono.just(entity));
+        when(topProductRepository.refreshForProducts(List.of(productId)))
+                .thenReturn(Mono.error(new RuntimeException("Lock wait timeout")));
+
+        // Act & Assert
+        StepVerifier.create(adapter.adjustStock(productId, -3))
+                .expectErrorMessage("Lock wait timeout")
+                .verify();
+
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the stock guard rejects the adjustment")
+    void shouldCompleteEmptyWhenStockGuardRejectsAdjustment() {
+        // Arrange
+        Long productId = 1L;
+
+        when(r2dbcRepository.adjustStock(productId, -500)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(adapter.adjustStock(productId, -500))
+                .verifyComplete();
+
+        verify(r2dbcRepository, never()).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should look up existing names with a single set-based query")
+    void shouldFindExistingNames() {
+        // Arrange
+        List<String> names = List.of("Latte", "Mocha");
+
+        when(r2dbcRepository.findNamesByBranchIdAndNameIn(1L, names)).thenReturn(Flux.just("Latte"));
+
+        // Act & Assert
+        StepVerifier.create(adapter.findExistingNames(1L, names))
+                .expectNext("Latte")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should delegate multi-row inserts to the batch operations")
+    void shouldInsertAllThroughBatchOperations() {
+        // Arrange
+        List<Product> products = List.of(Product.builder().name("Latte").stock(5).build());
+        Product inserted = Product.builder().id(3L).name("Latte").stock(5).branchId(1L).build();
+
+        when(batchOperations.insertAll(1L, products)).thenReturn(Flux.just(inserted));
+        when(topProductRepository.refreshForProducts(List.of(3L))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.insertAll(1L, products))
+                .expectNext(inserted)
+                .verifyComplete();
+
+        verify(topProductRepository).refreshForProducts(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Should map batch row counts to per-item results")
+    void shouldMapBatchRowCountsToResults() {
+        // Arrange
+        List<StockUpdate> updates = List.of(new StockUpdate(1L, 10), new StockUpdate(999L, 20));
+
+        when(batchOperations.updateStock(updates)).thenReturn(Flux.just(1L, 0L));
+        when(topProductRepository.refreshForProducts(List.of(1L))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateStockBatch(updates))
+                .expectNextMatches(result -> result.getProductId().equals(1L) && result.isUpdated())
+                .expectNextMatches(result -> result.getProductId().equals(999L) && !result.isUpdated()
+                        && TechnicalMessage.PRODUCT_NOT_FOUND.getMessage().equals(result.getMessage()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should update product name and return the updated row")
     void shouldUpdateProductNameSuccessfully() {
         // Arrange
         Long productId = 1L;
         String newName = "Updated Product";
+        ProductEntity entity = new ProductEntity();
+        entity.setId(productId);
+        entity.setName(newName);
+        entity.setVersion(1L);
+        Product updated = Product.builder().id(productId).name(newName).version(1L).build();
 
         when(r2dbcRepository.updateName(productId, newName)).thenReturn(Mono.just(1));
+        when(topProductRepository.bumpVersionForTopProduct(productId)).thenReturn(Mono.just(0));
+        when(r2dbcRepository.findById(productId)).thenReturn(Mono.just(entity));
+        when(productMapper.toDomain(entity)).thenReturn(updated);
 
         // Act & Assert
-        StepVerifier.create(adapter.updateName(productId, newName))
+        StepVerifier.create(adapter.updateName(productId, newName, null))
+                .expectNext(updated)
                 .verifyComplete();
 
         verify(r2dbcRepository).updateName(productId, newName);
+        verify(r2dbcRepository, never()).updateNameIfVersion(any(), any(), any());
+        verify(topProductRepository).bumpVersionForTopProduct(productId);
+    }
+
+    @Test
+    @DisplayName("Should complete empty without reading back when the product version does not match")
+    void shouldCompleteEmptyWhenProductVersionDoesNotMatch() {
+        // Arrange
+        Long productId = 1L;
+        String newName = "Updated Product";
+
+        when(r2dbcRepository.updateNameIfVersion(productId, newName, 3L)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(adapter.updateName(productId, newName, 3L))
+                .verifyComplete();
+
+        verify(r2dbcRepository, never()).updateName(any(), any());
+        verify(r2dbcRepository, never()).findById(productId);
     }
 
     @Test
@@ -228,4 +498,27 @@ class ProductMySQLAdapterTest {
         verify(r2dbcRepository).findMaxStockByFranchise(franchiseId);
         verify(productMapper, times(2)).toDomain(any());
     }
+
+    @Test
+    @DisplayName("Should map duplicate key on insert to PRODUCT_NAME_DUPLICATE without refreshing the projection")
+    void shouldMapDuplicateKeyOnSaveToBusinessException() {
+        // Arrange
+        Product product = Product.builder().name("Existing Product").stock(5).branchId(1L).build();
+        ProductEntity entity = new ProductEntity();
+        entity.setName("Existing Product");
+        entity.setStock(5);
+        entity.setBranchId(1L);
+
+        when(productMapper.toEntity(product)).thenReturn(entity);
+        when(r2dbcRepository.save(entity))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry '1-Existing Product'")));
+
+        // Act & Assert
+        StepVerifier.create(adapter.save(product))
+                .expectErrorMatches(error -> error instanceof BusinessException business
+                        && business.getTechnicalMessage() == TechnicalMessage.PRODUCT_NAME_DUPLICATE)
+                .verify();
+
+        verify(topProductRepository, never()).refreshForProducts(any());
+    }
 }
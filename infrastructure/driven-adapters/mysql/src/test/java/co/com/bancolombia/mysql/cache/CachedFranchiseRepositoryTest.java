@@ -0,0 +1,72 @@
+package co.com.bancolombia.mysql.cache;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedFranchiseRepository - Unit Tests")
+class CachedFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepository delegate;
+
+    private CachedFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachedFranchiseRepository(delegate,
+                new ReadThroughCache<>("franchises", 100, Duration.ofMinutes(1), f -> f.toBuilder().build(),
+                        new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should read the current row past a cached name that another instance renamed")
+    void shouldReadCurrentRowPastStaleCachedName() {
+        // Arrange
+        Franchise cached = Franchise.builder().id(1L).name("Old Name").version(0L).build();
+        Franchise renamed = cached.toBuilder().name("New Name").version(1L).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(cached));
+        when(delegate.findCurrentById(1L)).thenReturn(Mono.just(renamed));
+        StepVerifier.create(repository.findById(1L)).expectNextCount(1).verifyComplete();
+
+        // Act & Assert
+        StepVerifier.create(repository.findCurrentById(1L))
+                .assertNext(found -> assertThat(found.getName()).isEqualTo("New Name"))
+                .verifyComplete();
+        StepVerifier.create(repository.findCurrentById(1L))
+                .assertNext(found -> assertThat(found.getVersion()).isEqualTo(1L))
+                .verifyComplete();
+
+        verify(delegate, times(2)).findCurrentById(1L);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated findById lookups from cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        Franchise franchise = Franchise.builder().id(1L).name("Franchise").version(0L).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(franchise));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getName()).isEqualTo("Franchise"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(1L);
+    }
+}
@@ -0,0 +1,122 @@
+package co.com.bancolombia.mysql.cache;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedProductRepository - Unit Tests")
+class CachedProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private CachedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new CachedProductRepository(delegate,
+                new ReadThroughCache<>("products", 100, Duration.ofMinutes(1), p -> p.toBuilder().build(), registry));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(product));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getStock()).isEqualTo(10))
+                .verifyComplete();
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getName()).isEqualTo("Product"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(1L);
+        assertThat(registry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not cache absent products")
+    void shouldNotCacheAbsentProducts() {
+        // Arrange
+        when(delegate.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(99L)).verifyComplete();
+        StepVerifier.create(repository.findById(99L)).verifyComplete();
+
+        verify(delegate, times(2)).findById(99L);
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached product after stock update")
+    void shouldInvalidateCachedProductAfterStockUpdate() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        Product updated = product.toBuilder().stock(20).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(product), Mono.just(updated));
+        when(delegate.updateStock(1L, 20)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.updateStock(1L, 20)).verifyComplete();
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getStock()).isEqualTo(20))
+                .verifyComplete();
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should populate cache on save")
+    void shouldPopulateCacheOnSave() {
+        // Arrange
+        Product product = Product.builder().name("Product").stock(10).branchId(5L).build();
+        Product saved = product.toBuilder().id(7L).build();
+        when(delegate.save(product)).thenReturn(Mono.just(saved));
+
+        // Act & Assert
+        StepVerifier.create(repository.save(product)).expectNext(saved).verifyComplete();
+        StepVerifier.create(repository.findById(7L))
+                .assertNext(found -> assertThat(found.getId()).isEqualTo(7L))
+                .verifyComplete();
+
+        verify(delegate, never()).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot mutate cached values")
+    void shouldReturnCopies() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(product));
+
+        // Act
+        Product first = repository.findById(1L).block();
+        first.setStock(0);
+
+        // Assert
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getStock()).isEqualTo(10))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,200 @@
+package co.com.bancolombia.mysql.idempotency;
+
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import co.com.bancolombia.mysql.migration.SchemaMigrator;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.mysql.MySQLContainer;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs the adapter's statements against a migrated MySQL schema, since the expiry arithmetic and the
+// ON DUPLICATE KEY UPDATE assignment order only mean something to MySQL. Starts a throwaway MySQL container, or
+// uses QUERY_PLAN_MYSQL_URL=jdbc:mysql://host:3306/db?user=...&password=... when it is set; skipped without either.
+@DisplayName("IdempotencyMySQLAdapter - MySQL Tests")
+class IdempotencyMySQLAdapterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final Duration PENDING_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration SHORT = Duration.ofMillis(300);
+
+    private static MySQLContainer mysql;
+    private static DatabaseClient databaseClient;
+
+    private IdempotencyMySQLAdapter adapter;
+
+    @BeforeAll
+    static void migrate() {
+        String jdbcUrl = System.getenv("QUERY_PLAN_MYSQL_URL");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+            mysql = new MySQLContainer("mysql:8.0")
+                    .withDatabaseName("franchises_idempotency_test")
+                    .withUsername("idempotency")
+                    .withPassword("idempotency");
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl() + "?user=idempotency&password=idempotency";
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(jdbcUrl.replaceFirst("^jdbc:", "r2dbc:"));
+        new SchemaMigrator(connectionFactory, 30)
+                .migrate()
+                .block(Duration.ofMinutes(2));
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @AfterAll
+    static void close() {
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM idempotency_keys").then().block();
+        adapter = new IdempotencyMySQLAdapter(databaseClient, TTL, PENDING_TIMEOUT, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should let only one attempt reserve a key and show it as pending")
+    void shouldReserveKeyOnce() {
+        // Act & Assert
+        StepVerifier.create(adapter.reserve("CREATE_FRANCHISE:key", "a")).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.reserve("CREATE_FRANCHISE:key", "a")).expectNext(false).verifyComplete();
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> {
+                    assertThat(stored.isPending()).isTrue();
+                    assertThat(stored.getFingerprint()).isEqualTo("a");
+                    assertThat(stored.getBody()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should replace the reservation with the response and keep it for the retention")
+    void shouldStoreResponseOverReservation() {
+        // Arrange
+        adapter.reserve("CREATE_FRANCHISE:key", "a").block();
+
+        // Act
+        StepVerifier.create(adapter.save("CREATE_FRANCHISE:key", response("a", "{\"id\":1}"))).verifyComplete();
+
+        // Assert
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> {
+                    assertThat(stored.isPending()).isFalse();
+                    assertThat(stored.getStatus()).isEqualTo(201);
+                    assertThat(stored.getBody()).isEqualTo("{\"id\":1}");
+                })
+                .verifyComplete();
+        StepVerifier.create(secondsUntilExpiry("CREATE_FRANCHISE:key"))
+                .assertNext(seconds -> assertThat(seconds).isBetween(TTL.toSeconds() - 5, TTL.toSeconds()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep the first stored response when another one is saved under the key")
+    void shouldKeepFirstStoredResponse() {
+        // Arrange
+        adapter.reserve("CREATE_FRANCHISE:key", "a").block();
+        adapter.save("CREATE_FRANCHISE:key", response("a", "{\"id\":1}")).block();
+
+        // Act
+        StepVerifier.create(adapter.save("CREATE_FRANCHISE:key", response("b", "{\"id\":2}"))).verifyComplete();
+
+        // Assert
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> {
+                    assertThat(stored.getFingerprint()).isEqualTo("a");
+                    assertThat(stored.getBody()).isEqualTo("{\"id\":1}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should store the response even when the reservation was purged meanwhile")
+    void shouldStoreResponseWithoutReservation() {
+        // Act
+        StepVerifier.create(adapter.save("CREATE_FRANCHISE:key", response("a", "{}"))).verifyComplete();
+
+        // Assert
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> assertThat(stored.isPending()).isFalse())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should release a reservation but keep a stored response")
+    void shouldReleaseOnlyPendingReservations() {
+        // Arrange
+        adapter.reserve("CREATE_FRANCHISE:failed", "a").block();
+        adapter.reserve("CREATE_FRANCHISE:done", "a").block();
+        adapter.save("CREATE_FRANCHISE:done", response("a", "{}")).block();
+
+        // Act
+        StepVerifier.create(adapter.release("CREATE_FRANCHISE:failed")).verifyComplete();
+        StepVerifier.create(adapter.release("CREATE_FRANCHISE:done")).verifyComplete();
+
+        // Assert
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:failed")).verifyComplete();
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:done")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(adapter.reserve("CREATE_FRANCHISE:failed", "a")).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should let a new attempt take over a reservation that expired")
+    void shouldTakeOverExpiredReservation() {
+        // Arrange
+        IdempotencyMySQLAdapter abandoning = new IdempotencyMySQLAdapter(databaseClient, TTL, SHORT,
+                Duration.ofMinutes(1));
+        abandoning.reserve("CREATE_FRANCHISE:key", "a").block();
+
+        // Act & Assert
+        StepVerifier.create(Mono.delay(SHORT.multipliedBy(2)).then(adapter.reserve("CREATE_FRANCHISE:key", "b")))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(adapter.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> assertThat(stored.getFingerprint()).isEqualTo("b"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stop answering and purge a response once its retention expired")
+    void shouldExpireAndPurgeResponses() {
+        // Arrange
+        IdempotencyMySQLAdapter shortLived = new IdempotencyMySQLAdapter(databaseClient, SHORT, PENDING_TIMEOUT,
+                Duration.ofMinutes(1));
+        shortLived.save("CREATE_FRANCHISE:key", response("a", "{}")).block();
+
+        // Act & Assert
+        StepVerifier.create(Mono.delay(SHORT.multipliedBy(2)).then(shortLived.find("CREATE_FRANCHISE:key")))
+                .verifyComplete();
+        StepVerifier.create(shortLived.purgeExpired())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    private static IdempotentResponse response(String fingerprint, String body) {
+        return IdempotentResponse.builder().fingerprint(fingerprint).status(201).body(body).build();
+    }
+
+    private static Mono<Long> secondsUntilExpiry(String key) {
+        return databaseClient.sql("SELECT TIMESTAMPDIFF(SECOND, NOW(3), expires_at) AS seconds "
+                        + "FROM idempotency_keys WHERE key_hash = :keyHash")
+                .bind("keyHash", IdempotencyMySQLAdapter.hash(key))
+                .map((row, metadata) -> row.get("seconds", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.bancolombia.mysql.idempotency;
+
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryIdempotencyRepository - Unit Tests")
+class InMemoryIdempotencyRepositoryTest {
+
+    private InMemoryIdempotencyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryIdempotencyRepository(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should complete empty for a key that was never stored")
+    void shouldCompleteEmptyForUnknownKey() {
+        // Act & Assert
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:unknown"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep the first response stored under a key")
+    void shouldKeepFirstResponseStoredUnderKey() {
+        // Arrange
+        IdempotentResponse first = IdempotentResponse.builder().fingerprint("a").status(201).body("{\"id\":1}").build();
+        IdempotentResponse second = IdempotentResponse.builder().fingerprint("b").status(201).body("{\"id\":2}").build();
+
+        // Act
+        StepVerifier.create(repository.save("CREATE_FRANCHISE:key", first)).verifyComplete();
+        StepVerifier.create(repository.save("CREATE_FRANCHISE:key", second)).verifyComplete();
+
+        // Assert
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> {
+                    assertThat(stored.getFingerprint()).isEqualTo("a");
+                    assertThat(stored.getBody()).isEqualTo("{\"id\":1}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should let only one attempt reserve a key and replace its reservation with the response")
+    void shouldReserveKeyOnceAndReplaceReservationWithResponse() {
+        // Arrange
+        IdempotentResponse response = IdempotentResponse.builder().fingerprint("a").status(201).body("{\"id\":1}").build();
+
+        // Act & Assert
+        StepVerifier.create(repository.reserve("CREATE_FRANCHISE:key", "a")).expectNext(true).verifyComplete();
+        StepVerifier.create(repository.reserve("CREATE_FRANCHISE:key", "a")).expectNext(false).verifyComplete();
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> assertThat(stored.isPending()).isTrue())
+                .verifyComplete();
+
+        StepVerifier.create(repository.save("CREATE_FRANCHISE:key", response)).verifyComplete();
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:key"))
+                .assertNext(stored -> {
+                    assertThat(stored.isPending()).isFalse();
+                    assertThat(stored.getBody()).isEqualTo("{\"id\":1}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should release a reservation but keep a stored response")
+    void shouldReleaseOnlyPendingReservations() {
+        // Arrange
+        IdempotentResponse response = IdempotentResponse.builder().fingerprint("a").status(201).body("{}").build();
+        repository.reserve("CREATE_FRANCHISE:failed", "a").block();
+        repository.save("CREATE_FRANCHISE:done", response).block();
+
+        // Act
+        StepVerifier.create(repository.release("CREATE_FRANCHISE:failed")).verifyComplete();
+        StepVerifier.create(repository.release("CREATE_FRANCHISE:done")).verifyComplete();
+
+        // Assert
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:failed")).verifyComplete();
+        StepVerifier.create(repository.find("CREATE_FRANCHISE:done")).expectNextCount(1).verifyComplete();
+    }
+}
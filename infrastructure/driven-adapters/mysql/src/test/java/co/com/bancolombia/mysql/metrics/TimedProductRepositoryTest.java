@@ -0,0 +1,84 @@
+package co.com.bancolombia.mysql.metrics;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimedProductRepository - Unit Tests")
+class TimedProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private TimedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new TimedProductRepository(delegate,
+                new GatewayMetrics(registry, Duration.ofMillis(5), Duration.ofMillis(25)));
+    }
+
+    @Test
+    @DisplayName("Should time successful gateway calls per method")
+    void shouldTimeSuccessfulCalls() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(product));
+
+        // Act
+        StepVerifier.create(repository.findById(1L)).expectNext(product).verifyComplete();
+
+        // Assert
+        assertThat(registry.get(GatewayMetrics.METRIC_NAME)
+                .tag("gateway", "product")
+                .tag("method", "findById")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time failed streaming calls as errors")
+    void shouldTimeFailedCalls() {
+        // Arrange
+        when(delegate.findMaxStockByFranchise(1L)).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        // Act
+        StepVerifier.create(repository.findMaxStockByFranchise(1L)).verifyError(IllegalStateException.class);
+
+        // Assert
+        assertThat(registry.get(GatewayMetrics.METRIC_NAME)
+                .tag("method", "findMaxStockByFranchise")
+                .tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not record anything until the call is subscribed")
+    void shouldNotRecordBeforeSubscription() {
+        // Arrange
+        when(delegate.updateStock(1L, 5)).thenReturn(Mono.empty());
+
+        // Act
+        repository.updateStock(1L, 5);
+
+        // Assert
+        assertThat(registry.find(GatewayMetrics.METRIC_NAME).timers()).isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.bancolombia.mysql.pool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptivePoolSizing - Unit Tests")
+class AdaptivePoolSizingTest {
+
+    @Test
+    @DisplayName("Should grant the minimum up front and nothing beyond the limit")
+    void shouldGrantMinimumAndRespectLimit() {
+        // Arrange
+        AdaptivePoolSizing sizing = new AdaptivePoolSizing(5, 20, 2, Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+        // Act & Assert
+        assertThat(sizing.getPermits(0)).isEqualTo(5);
+        assertThat(sizing.getPermits(1)).isZero();
+        assertThat(sizing.estimatePermitCount()).isZero();
+        assertThat(sizing.permitGranted()).isEqualTo(5);
+        assertThat(sizing.permitMaximum()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while acquirers wait on a saturated pool, up to the maximum")
+    void shouldGrowUnderPressure() {
+        // Arrange
+        AdaptivePoolSizing sizing = new AdaptivePoolSizing(5, 8, 2, Duration.ofSeconds(1), Duration.ofSeconds(3));
+        sizing.getPermits(0);
+
+        // Act
+        sizing.adjust(10, 0);
+        int grown = sizing.getPermits(10);
+        sizing.adjust(10, 0);
+
+        // Assert
+        assertThat(grown).isEqualTo(2);
+        assertThat(sizing.limit()).isEqualTo(8);
+        assertThat(sizing.getPermits(10)).isEqualTo(1);
+        sizing.adjust(10, 0);
+        assertThat(sizing.limit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should not grow while the pool still has room under the current limit")
+    void shouldNotGrowBelowLimit() {
+        // Arrange
+        AdaptivePoolSizing sizing = new AdaptivePoolSizing(5, 20, 2, Duration.ofSeconds(1), Duration.ofSeconds(3));
+        sizing.getPermits(0);
+        sizing.returnPermits(2);
+
+        // Act
+        sizing.adjust(1, 0);
+
+        // Assert
+        assertThat(sizing.limit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit only after the shrink delay without waiters, never below the minimum")
+    void shouldShrinkAfterCalmPeriod() {
+        // Arrange
+        AdaptivePoolSizing sizing = new AdaptivePoolSizing(5, 20, 2, Duration.ofSeconds(1), Duration.ofSeconds(3));
+        sizing.getPermits(0);
+        sizing.adjust(4, 0);
+        sizing.getPermits(2);
+        sizing.adjust(4, 0);
+        sizing.getPermits(2);
+        assertThat(sizing.limit()).isEqualTo(9);
+
+        // Act
+        sizing.adjust(0, 4);
+        sizing.adjust(0, 4);
+        int beforeDelay = sizing.limit();
+        sizing.adjust(0, 4);
+
+        // Assert
+        assertThat(beforeDelay).isEqualTo(9);
+        assertThat(sizing.limit()).isEqualTo(7);
+        assertThat(sizing.claimEviction()).isTrue();
+        assertThat(sizing.claimEviction()).isTrue();
+        assertThat(sizing.claimEviction()).isFalse();
+        sizing.returnPermits(2);
+        assertThat(sizing.claimEviction()).isFalse();
+        for (int i = 0; i < 9; i++) {
+            sizing.adjust(0, 4);
+        }
+        assertThat(sizing.limit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject bounds that cannot hold a connection")
+    void shouldRejectInvalidBounds() {
+        // Act & Assert
+        assertThatThrownBy(() -> new AdaptivePoolSizing(10, 5, 1, Duration.ofSeconds(1), Duration.ofSeconds(3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package co.com.bancolombia.mysql.replica;
+
+import co.com.bancolombia.model.common.consistency.ReadYourWrites;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingProductRepository - Unit Tests")
+class ReplicaRoutingProductRepositoryTest {
+
+    @Mock
+    private ProductRepository primary;
+
+    @Mock
+    private ProductRepository replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private SimpleMeterRegistry registry;
+    private ReplicaRoutingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new ReplicaRoutingProductRepository(primary, replica,
+                new ReplicaRouter(lagMonitor, Duration.ofMinutes(1), 100, registry), true);
+    }
+
+    @Test
+    @DisplayName("Should serve reads from the replica while its lag is within tolerance")
+    void shouldServeReadsFromReplicaWithinTolerance() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(lagMonitor.isWithinTolerance()).thenReturn(true);
+        when(replica.findById(1L)).thenReturn(Mono.just(product));
+        when(replica.findMaxStockByFranchise(7L)).thenReturn(Flux.just(product));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .expectNext(product)
+                .verifyComplete();
+        StepVerifier.create(repository.findMaxStockByFranchise(7L))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(primary, never()).findById(anyLong());
+        verify(primary, never()).findMaxStockByFranchise(anyLong());
+        assertThat(registry.get(ReplicaRouter.METRIC_NAME).tag("target", "replica").counters()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags beyond tolerance")
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(lagMonitor.isWithinTolerance()).thenReturn(false);
+        when(primary.findById(1L)).thenReturn(Mono.just(product));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L))
+                .expectNext(product)
+                .verifyComplete();
+
+        verifyNoInteractions(replica);
+        assertThat(registry.get(ReplicaRouter.METRIC_NAME).tag("target", "primary").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after a write in the same request")
+    void shouldReadFromPrimaryAfterWriteInSameRequest() {
+        // Arrange
+        Product updated = Product.builder().id(1L).name("Product").stock(20).branchId(5L).build();
+        Product other = Product.builder().id(2L).name("Other").stock(30).branchId(5L).build();
+        when(lagMonitor.isWithinTolerance()).thenReturn(true);
+        when(primary.adjustStock(1L, 10)).thenReturn(Mono.just(updated));
+        when(primary.findById(2L)).thenReturn(Mono.just(other));
+
+        // Act & Assert
+        StepVerifier.create(repository.adjustStock(1L, 10)
+                        .then(repository.findById(2L))
+                        .contextWrite(ReadYourWrites::open))
+                .expectNext(other)
+                .verifyComplete();
+
+        verify(replica, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should serve the lookups of a write request from the primary")
+    void shouldServeWriteRequestLookupsFromPrimary() {
+        // Arrange
+        Product product = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+        when(lagMonitor.isWithinTolerance()).thenReturn(true);
+        when(primary.findById(1L)).thenReturn(Mono.just(product));
+
+        // Act & Assert
+        StepVerifier.create(repository.findById(1L)
+                        .contextWrite(ReadYourWrites::openForWrites))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(replica, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep reads of a recently written row on the primary across requests")
+    void shouldKeepRecentlyWrittenRowOnPrimary() {
+        // Arrange
+        Product updated = Product.builder().id(1L).name("Renamed").stock(10).branchId(5L).version(1L).build();
+        Product other = Product.builder().id(2L).name("Other").stock(30).branchId(5L).build();
+        when(lagMonitor.isWithinTolerance()).thenReturn(true);
+        when(primary.updateName(1L, "Renamed", null)).thenReturn(Mono.just(updated));
+        when(primary.findById(1L)).thenReturn(Mono.just(updated));
+        when(replica.findById(2L)).thenReturn(Mono.just(other));
+
+        // Act
+        StepVerifier.create(repository.updateName(1L, "Renamed", null))
+                .expectNext(updated)
+                .verifyComplete();
+
+        // Assert
+        StepVerifier.create(repository.findById(1L))
+                .assertNext(found -> assertThat(found.getName()).isEqualTo("Renamed"))
+                .verifyComplete();
+        StepVerifier.create(repository.findById(2L))
+                .expectNext(other)
+                .verifyComplete();
+        verify(replica, never()).findById(1L);
+    }
+}
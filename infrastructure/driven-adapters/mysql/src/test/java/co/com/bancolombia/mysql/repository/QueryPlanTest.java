@@ -0,0 +1,161 @@
+package co.com.bancolombia.mysql.repository;
+
+import co.com.bancolombia.mysql.migration.SchemaMigrator;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.data.r2dbc.repository.Query;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs EXPLAIN for every @Query declared on the R2DBC repositories against a migrated MySQL schema and fails
+// when any table is read with a full table or full index scan. Starts a throwaway MySQL container, or uses
+// QUERY_PLAN_MYSQL_URL=jdbc:mysql://host:3306/db?user=...&password=... when it is set; skipped without either.
+@DisplayName("Repository queries - Query plan regression")
+class QueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            FranchiseR2dbcRepository.class,
+            BranchR2dbcRepository.class,
+            ProductR2dbcRepository.class,
+            BranchTopProductR2dbcRepository.class);
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final Map<String, Object> SAMPLE_VALUES = Map.ofEntries(
+            Map.entry("franchiseId", 1L),
+            Map.entry("branchId", 1L),
+            Map.entry("id", 1L),
+            Map.entry("productId", 1L),
+            Map.entry("productIds", 1L),
+            Map.entry("branchIds", 1L),
+            Map.entry("name", "Product 1"),
+            Map.entry("names", "Product 1"),
+            Map.entry("stock", 10),
+            Map.entry("delta", -1),
+            Map.entry("version", 0L),
+            Map.entry("afterId", 0L),
+            Map.entry("limit", 100));
+    private static final Set<String> SCAN_ACCESS_TYPES = Set.of("ALL", "index");
+
+    private static MySQLContainer mysql;
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        String jdbcUrl = System.getenv("QUERY_PLAN_MYSQL_URL");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+            // Same engine as production: the migrations rely on MySQL-only syntax (GET_LOCK, DESC indexes)
+            mysql = new MySQLContainer("mysql:8.0")
+                    .withDatabaseName("franchises_plan_test")
+                    .withUsername("plan")
+                    .withPassword("plan");
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl() + "?user=plan&password=plan";
+        }
+        new SchemaMigrator(ConnectionFactories.get(jdbcUrl.replaceFirst("^jdbc:", "r2dbc:")), 30)
+                .migrate()
+                .block(Duration.ofMinutes(2));
+
+        connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement statement = connection.createStatement()) {
+            // Enough rows per table for the optimizer to prefer indexes over scanning tiny tables
+            statement.execute("SET SESSION cte_max_recursion_depth = 10000");
+            statement.execute("""
+                INSERT IGNORE INTO franchises (id, name)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 50)
+                SELECT n, CONCAT('Franchise ', n) FROM seq
+                """);
+            statement.execute("""
+                INSERT IGNORE INTO branches (id, name, franchise_id)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+                SELECT n, CONCAT('Branch ', n), 1 + n % 50 FROM seq
+                """);
+            statement.execute("""
+                INSERT IGNORE INTO products (id, name, stock, branch_id)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 10000)
+                SELECT n, CONCAT('Product ', n), n % 997, 1 + n % 500 FROM seq
+                """);
+            statement.execute("""
+                INSERT IGNORE INTO branch_top_product (branch_id, product_id)
+                SELECT b.id, (SELECT p.id FROM products p WHERE p.branch_id = b.id ORDER BY p.stock DESC, p.id LIMIT 1)
+                FROM branches b
+                """);
+            statement.execute("ANALYZE TABLE franchises, branches, products, branch_top_product");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyRepositoryQueryUsesAnIndex() {
+        return REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> method.isAnnotationPresent(Query.class))
+                        .sorted(Comparator.comparing(Method::getName)))
+                .map(method -> DynamicTest.dynamicTest(
+                        method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                        () -> assertUsesIndexes(method.getAnnotation(Query.class).value())));
+    }
+
+    private void assertUsesIndexes(String sql) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder positional = new StringBuilder();
+        while (matcher.find()) {
+            parameters.add(SAMPLE_VALUES.get(matcher.group(1)));
+            matcher.appendReplacement(positional, "?");
+        }
+        matcher.appendTail(positional);
+
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + positional)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                explain.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    boolean readsBaseTable = table != null && !table.startsWith("<")
+                            && !"INSERT".equals(plan.getString("select_type"));
+                    if (readsBaseTable) {
+                        assertThat(plan.getString("type"))
+                                .as("access type for %s in%n%s", table, sql)
+                                .isNotIn(SCAN_ACCESS_TYPES);
+                    }
+                }
+            }
+        }
+    }
+}
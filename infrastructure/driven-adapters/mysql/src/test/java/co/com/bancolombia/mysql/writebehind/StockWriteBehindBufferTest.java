@@ -0,0 +1,366 @@
+package co.com.bancolombia.mysql.writebehind;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.mysql.batch.ProductBatchOperations;
+import co.com.bancolombia.mysql.repository.BranchTopProductR2dbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockWriteBehindBuffer - Unit Tests")
+class StockWriteBehindBufferTest {
+
+    private static final Product PRODUCT = Product.builder().id(1L).name("Product").stock(10).branchId(5L).build();
+
+    @Mock
+    private ProductBatchOperations batchOperations;
+
+    @Mock
+    private BranchTopProductR2dbcRepository topProductRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private SimpleMeterRegistry registry;
+    private StockWriteBehindBuffer buffer;
+    private AtomicInteger loads;
+    private Function<Long, Mono<Product>> loader;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        buffer = new StockWriteBehindBuffer(batchOperations, topProductRepository, transactionalOperator,
+                Duration.ofMinutes(1), 1000, Duration.ofSeconds(1), registry);
+        loads = new AtomicInteger();
+        loader = id -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return PRODUCT.toBuilder().build();
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep only the last absolute stock and flush it once")
+    void shouldFlushLastAbsoluteStock() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.just(1L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+
+        // Act
+        buffer.set(1L, 5, loader).block();
+        StepVerifier.create(buffer.set(1L, 7, loader))
+                .assertNext(product -> assertThat(product.getStock()).isEqualTo(7))
+                .verifyComplete();
+        buffer.flush().block();
+
+        // Assert
+        List<StockUpdate> flushed = captureUpdates();
+        assertThat(flushed).singleElement().satisfies(update -> {
+            assertThat(update.getProductId()).isEqualTo(1L);
+            assertThat(update.getStock()).isEqualTo(7);
+        });
+        assertThat(loads.get()).isEqualTo(1);
+        verify(topProductRepository).refreshForProducts(List.of(1L));
+        assertThat(registry.get("stock.write_behind.writes").tag("result", "flushed").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("stock.write_behind.flush.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should sum deltas and flush them as one relative update")
+    void shouldSumDeltas() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.empty());
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.just(1L));
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+
+        // Act
+        buffer.adjust(1L, 3, loader).block();
+        StepVerifier.create(buffer.adjust(1L, 4, loader))
+                .assertNext(product -> assertThat(product.getStock()).isEqualTo(17))
+                .verifyComplete();
+        buffer.flush().block();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchOperations).adjustStock(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(update -> assertThat(update.getStock()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("Should fold a delta into a pending absolute stock")
+    void shouldFoldDeltaIntoAbsolute() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.just(1L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+
+        // Act
+        buffer.set(1L, 20, loader).block();
+        buffer.adjust(1L, -5, loader).block();
+        buffer.flush().block();
+
+        // Assert
+        assertThat(captureUpdates()).singleElement().satisfies(update -> assertThat(update.getStock()).isEqualTo(15));
+    }
+
+    @Test
+    @DisplayName("Should reject a delta that would leave negative stock")
+    void shouldRejectNegativeStock() {
+        // Act & Assert
+        StepVerifier.create(buffer.adjust(1L, -11, loader))
+                .verifyComplete();
+
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(10);
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should emit nothing for a product that does not exist")
+    void shouldIgnoreUnknownProduct() {
+        // Act & Assert
+        StepVerifier.create(buffer.set(99L, 5, id -> Mono.empty()))
+                .verifyComplete();
+
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should show buffered stock to reads before the flush")
+    void shouldOverlayBufferedStock() {
+        // Act
+        buffer.adjust(1L, 5, loader).block();
+
+        // Assert
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(15);
+        assertThat(buffer.overlay(PRODUCT.toBuilder().id(2L).build()).getStock()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should keep the writes of a failed flush for the next one")
+    void shouldRestoreWritesOfFailedFlush() {
+        // Arrange
+        when(batchOperations.updateStock(anyList()))
+                .thenReturn(Flux.error(new RuntimeException("connection lost")))
+                .thenReturn(Flux.just(1L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+        buffer.set(1L, 5, loader).block();
+
+        // Act
+        buffer.flush().block();
+        buffer.adjust(1L, 2, loader).block();
+        buffer.flush().block();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchOperations, times(2)).updateStock(captor.capture());
+        assertThat(captor.getAllValues().get(1)).singleElement()
+                .satisfies(update -> assertThat(update.getStock()).isEqualTo(7));
+        assertThat(registry.get("stock.write_behind.writes").tag("result", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should retry the deltas of a flush whose ranking refresh fails exactly once, since nothing committed")
+    void shouldRestoreDeltasWhenRefreshFails() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.empty());
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.just(1L));
+        when(topProductRepository.refreshForProducts(anyCollection()))
+                .thenReturn(Mono.error(new RuntimeException("lock wait timeout")))
+                .thenReturn(Mono.empty());
+        buffer.adjust(1L, 3, loader).block();
+
+        // Act
+        buffer.flush().block();
+        buffer.adjust(1L, 2, loader).block();
+        buffer.flush().block();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchOperations, times(2)).adjustStock(captor.capture());
+        assertThat(captor.getAllValues().get(1)).singleElement()
+                .satisfies(update -> assertThat(update.getStock()).isEqualTo(5));
+        verify(transactionalOperator, times(2)).transactional(any(Mono.class));
+        assertThat(registry.get("stock.write_behind.writes").tag("result", "failed").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("stock.write_behind.writes").tag("result", "flushed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop buffered writes of a fenced product that is not being flushed")
+    void shouldDiscardBufferedWritesOnFence() {
+        // Arrange
+        buffer.set(1L, 5, loader).block();
+
+        // Act & Assert
+        StepVerifier.create(buffer.fence(List.of(1L)))
+                .verifyComplete();
+
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(10);
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+        buffer.flush().block();
+        verifyNoInteractions(batchOperations);
+    }
+
+    @Test
+    @DisplayName("Should hold a fence until the flush writing the product ends, and not restore its write on failure")
+    void shouldWaitForInFlightFlushOnFence() {
+        // Arrange
+        Sinks.One<Long> updatedRows = Sinks.one();
+        when(batchOperations.updateStock(anyList())).thenReturn(updatedRows.asMono().flux());
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        buffer.set(1L, 5, loader).block();
+        buffer.flush().subscribe();
+        AtomicBoolean fenced = new AtomicBoolean();
+
+        // Act
+        buffer.fence(List.of(1L)).doOnSuccess(ignored -> fenced.set(true)).subscribe();
+        boolean fencedWhileInFlight = fenced.get();
+        updatedRows.tryEmitError(new RuntimeException("connection lost"));
+
+        // Assert
+        assertThat(fencedWhileInFlight).isFalse();
+        assertThat(fenced).isTrue();
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(10);
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush the buffered writes of a product before settling it")
+    void shouldFlushOnSettle() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.just(1L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+        buffer.set(1L, 5, loader).block();
+
+        // Act & Assert
+        StepVerifier.create(buffer.settle(1L))
+                .verifyComplete();
+
+        assertThat(captureUpdates()).singleElement().satisfies(update -> assertThat(update.getStock()).isEqualTo(5));
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should settle a product without flushing when nothing is buffered for it")
+    void shouldSettleUnbufferedProduct() {
+        // Act & Assert
+        StepVerifier.create(buffer.settle(1L))
+                .verifyComplete();
+
+        verifyNoInteractions(batchOperations);
+    }
+
+    @Test
+    @DisplayName("Should hold new writes to a settling product until it has settled")
+    void shouldHoldWritesWhileSettling() {
+        // Arrange
+        List<Product> heldWrites = new ArrayList<>();
+        when(batchOperations.updateStock(anyList())).thenAnswer(invocation -> {
+            buffer.set(1L, 6, loader).subscribe(heldWrites::add);
+            return Flux.just(1L);
+        });
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+        buffer.set(1L, 5, loader).block();
+
+        // Act & Assert
+        StepVerifier.create(buffer.settle(1L))
+                .verifyComplete();
+
+        assertThat(captureUpdates()).singleElement().satisfies(update -> assertThat(update.getStock()).isEqualTo(5));
+        assertThat(heldWrites).singleElement().satisfies(product -> assertThat(product.getStock()).isEqualTo(6));
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should fail to settle a product whose flushes keep failing")
+    void shouldFailToSettleWhenFlushesFail() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.error(new RuntimeException("connection lost")));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        buffer.set(1L, 5, loader).block();
+
+        // Act & Assert
+        StepVerifier.create(buffer.settle(1L))
+                .expectErrorSatisfies(error -> assertThat(error).isInstanceOf(BusinessException.class)
+                        .extracting("technicalMessage").isEqualTo(TechnicalMessage.PRODUCT_STOCK_WRITES_PENDING))
+                .verify();
+
+        assertThat(buffer.overlay(PRODUCT).getStock()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should count updates that no longer match a row as rejected")
+    void shouldCountRejectedFlushes() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.just(0L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        buffer.set(1L, 5, loader).block();
+
+        // Act
+        buffer.flush().block();
+
+        // Assert
+        verify(topProductRepository, never()).refreshForProducts(anyCollection());
+        assertThat(registry.get("stock.write_behind.writes").tag("result", "rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should flush pending writes when stopped")
+    void shouldFlushOnStop() {
+        // Arrange
+        when(batchOperations.updateStock(anyList())).thenReturn(Flux.just(1L));
+        when(batchOperations.adjustStock(anyList())).thenReturn(Flux.empty());
+        when(topProductRepository.refreshForProducts(anyCollection())).thenReturn(Mono.empty());
+        buffer.start();
+        buffer.set(1L, 5, loader).block();
+
+        // Act
+        buffer.stop();
+
+        // Assert
+        assertThat(buffer.isRunning()).isFalse();
+        verify(batchOperations).updateStock(anyList());
+        assertThat(registry.get("stock.write_behind.pending").gauge().value()).isZero();
+    }
+
+    private List<StockUpdate> captureUpdates() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchOperations).updateStock(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,69 @@
+package co.com.bancolombia.api.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class RequestCoalescer<K, V> {
+
+    private static final long IN_FLIGHT = -1L;
+
+    private final ConcurrentMap<K, Execution<V>> executions = new ConcurrentHashMap<>();
+    private final Duration freshness;
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public RequestCoalescer(String name, Duration freshness, MeterRegistry registry) {
+        this.freshness = freshness;
+        this.executed = Counter.builder("coalescer.requests")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(registry);
+        this.coalesced = Counter.builder("coalescer.requests")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    // Subscribers arriving while an execution for the same key is running, or within the freshness window
+    // after it succeeded, share its result instead of triggering a new one. Errors are never shared afterwards.
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Execution<V> candidate = new Execution<>();
+            candidate.result = Mono.defer(loader)
+                    .doOnSuccess(value -> completed(key, candidate))
+                    .doOnError(error -> executions.remove(key, candidate))
+                    .cache();
+
+            Execution<V> execution = executions.compute(key, (k, current) ->
+                    current != null && current.isUsable(System.nanoTime()) ? current : candidate);
+            (execution == candidate ? executed : coalesced).increment();
+            return execution.result;
+        });
+    }
+
+    private void completed(K key, Execution<V> execution) {
+        if (freshness.isZero() || freshness.isNegative()) {
+            executions.remove(key, execution);
+            return;
+        }
+        execution.expiresAt = System.nanoTime() + freshness.toNanos();
+        Mono.delay(freshness).subscribe(tick -> executions.remove(key, execution));
+    }
+
+    private static final class Execution<V> {
+
+        private volatile long expiresAt = IN_FLIGHT;
+        private volatile Mono<V> result;
+
+        private boolean isUsable(long now) {
+            long deadline = expiresAt;
+            return deadline == IN_FLIGHT || now - deadline < 0;
+        }
+    }
+}
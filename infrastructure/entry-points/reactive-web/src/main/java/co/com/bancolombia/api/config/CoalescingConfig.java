@@ -0,0 +1,22 @@
+package co.com.bancolombia.api.config;
+
+import co.com.bancolombia.api.coalescing.RequestCoalescer;
+import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CoalescingConfig {
+
+    // Keyed by franchiseId:version, so a shared result is never older than the version it was loaded for
+    @Bean
+    public RequestCoalescer<String, FranchiseWithTopProducts> maxStockProductsCoalescer(
+            @Value("${coalescing.max-stock-products.freshness:0s}") Duration freshness,
+            MeterRegistry registry) {
+        return new RequestCoalescer<>("max-stock-products", freshness, registry);
+    }
+}
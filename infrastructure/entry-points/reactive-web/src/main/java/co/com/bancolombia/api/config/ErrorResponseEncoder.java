@@ -0,0 +1,88 @@
+package co.com.bancolombia.api.config;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Error bodies are fixed per TechnicalMessage, so they are encoded once; only a dynamic detail is serialized per error
+public class ErrorResponseEncoder {
+
+    private static final byte[] DETAIL_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<TechnicalMessage, byte[]> bodies = new EnumMap<>(TechnicalMessage.class);
+    private final Map<TechnicalMessage, byte[]> detailPrefixes = new EnumMap<>(TechnicalMessage.class);
+    private final Map<TechnicalMessage, HttpStatus> statuses = new EnumMap<>(TechnicalMessage.class);
+
+    public ErrorResponseEncoder() {
+        for (TechnicalMessage message : TechnicalMessage.values()) {
+            String fields = "{\"code\":\"" + escape(message.getCode()) + "\",\"message\":\"" + escape(message.getMessage()) + "\"";
+            bodies.put(message, (fields + "}").getBytes(StandardCharsets.UTF_8));
+            detailPrefixes.put(message, (fields + ",\"detail\":\"").getBytes(StandardCharsets.UTF_8));
+            statuses.put(message, statusOf(message));
+        }
+    }
+
+    public HttpStatus status(TechnicalMessage message) {
+        return statuses.get(message);
+    }
+
+    // The status GlobalErrorHandler answers an error with: anything but a BusinessException is an INTERNAL_ERROR
+    public HttpStatus status(Throwable error) {
+        return status(error instanceof BusinessException businessException
+                ? businessException.getTechnicalMessage()
+                : TechnicalMessage.INTERNAL_ERROR);
+    }
+
+    // The returned array for a body without detail is shared; callers must only read it
+    public byte[] encode(TechnicalMessage message, String detail) {
+        if (detail == null || detail.isEmpty()) {
+            return bodies.get(message);
+        }
+        byte[] prefix = detailPrefixes.get(message);
+        byte[] escapedDetail = escape(detail).getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[prefix.length + escapedDetail.length + DETAIL_SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(escapedDetail, 0, body, prefix.length, escapedDetail.length);
+        System.arraycopy(DETAIL_SUFFIX, 0, body, prefix.length + escapedDetail.length, DETAIL_SUFFIX.length);
+        return body;
+    }
+
+    private static HttpStatus statusOf(TechnicalMessage message) {
+        try {
+            HttpStatus status = HttpStatus.resolve(Integer.parseInt(message.getCode()));
+            return status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR;
+        } catch (NumberFormatException e) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+}
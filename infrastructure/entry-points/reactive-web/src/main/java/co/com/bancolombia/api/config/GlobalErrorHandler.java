@@ -1,25 +1,24 @@
 package co.com.bancolombia.api.config;
 
-import co.com.bancolombia.api.dto.response.ErrorResponse;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-
 @Slf4j
 @Component
 @Order(-2)
 public class GlobalErrorHandler implements WebExceptionHandler {
 
+    private final ErrorResponseEncoder encoder = new ErrorResponseEncoder();
+
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
         if (ex instanceof BusinessException businessException) {
@@ -30,37 +29,23 @@ public class GlobalErrorHandler implements WebExceptionHandler {
 
     private Mono<Void> handleBusinessException(ServerWebExchange exchange, BusinessException ex) {
         log.warn("Business error: {} - {}", ex.getCode(), ex.getMessage());
-
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .code(ex.getCode())
-                .message(ex.getMessage())
-                .detail(ex.getDetail())
-                .build();
-
-        return writeResponse(exchange, errorResponse, HttpStatus.BAD_REQUEST);
+        return writeResponse(exchange, ex.getTechnicalMessage(), ex.getDetail());
     }
 
     private Mono<Void> handleGenericException(ServerWebExchange exchange, Throwable ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
-
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .code(TechnicalMessage.INTERNAL_ERROR.getCode())
-                .message(TechnicalMessage.INTERNAL_ERROR.getMessage())
-                .build();
-
-        return writeResponse(exchange, errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return writeResponse(exchange, TechnicalMessage.INTERNAL_ERROR, null);
     }
 
-    private Mono<Void> writeResponse(ServerWebExchange exchange, ErrorResponse errorResponse, HttpStatus status) {
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    private Mono<Void> writeResponse(ServerWebExchange exchange, TechnicalMessage message, String detail) {
+        ServerHttpResponse response = exchange.getResponse();
+        byte[] body = encoder.encode(message, detail);
+        // Must match ErrorResponseEncoder.status(Throwable), which the access log reports before this runs
+        response.setStatusCode(encoder.status(message));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
 
-        String json = String.format("{\"code\":\"%s\",\"message\":\"%s\"}", 
-                errorResponse.getCode(), 
-                errorResponse.getMessage());
-        
-        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
-        DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(bytes);
-        return exchange.getResponse().writeWith(Mono.just(buffer));
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
     }
 }
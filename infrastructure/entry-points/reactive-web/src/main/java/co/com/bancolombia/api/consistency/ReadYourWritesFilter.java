@@ -0,0 +1,23 @@
+package co.com.bancolombia.api.consistency;
+
+import co.com.bancolombia.model.common.consistency.ReadYourWrites;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// Opens one read-your-writes scope per exchange, so a read that follows a write in the same request skips the replica.
+// Every read of an exchange that is not a GET or HEAD stays on the primary, since it may guard the exchange's write
+@Component
+public class ReadYourWritesFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        boolean readOnly = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+        return chain.filter(exchange)
+                .contextWrite(readOnly ? ReadYourWrites::open : ReadYourWrites::openForWrites);
+    }
+}
@@ -0,0 +1,20 @@
+package co.com.bancolombia.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para ajustar el stock de un producto de forma relativa")
+public class AdjustStockRequest {
+
+    @NotNull(message = "Delta is mandatory")
+    @Schema(description = "Unidades a sumar (positivo) o restar (negativo) del stock actual", example = "-3", required = true)
+    private Integer delta;
+}
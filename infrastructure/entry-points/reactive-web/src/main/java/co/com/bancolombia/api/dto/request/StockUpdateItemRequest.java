@@ -0,0 +1,26 @@
+package co.com.bancolombia.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Elemento de una actualización masiva de stock")
+public class StockUpdateItemRequest {
+
+    @NotNull(message = "Product ID is mandatory")
+    @Schema(description = "ID del producto", example = "1", required = true)
+    private Long productId;
+
+    @NotNull(message = "Stock is mandatory")
+    @PositiveOrZero(message = "Stock must be zero or positive")
+    @Schema(description = "Nuevo stock", example = "100", required = true, minimum = "0")
+    private Integer stock;
+}
@@ -0,0 +1,31 @@
+package co.com.bancolombia.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of products of a branch in a franchise export")
+public class BranchExportResponse {
+
+    @Schema(description = "Unique branch ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Branch name", example = "Downtown")
+    private String name;
+
+    @Schema(description = "ID of the franchise it belongs to", example = "1")
+    private Long franchiseId;
+
+    @Schema(description = "Next page of products of the branch ordered by ID")
+    private List<ProductResponse> products;
+}
@@ -20,4 +20,6 @@ public class BranchResponse {
     private String name;
 
     private Long franchiseId;
+
+    private Long version;
 }
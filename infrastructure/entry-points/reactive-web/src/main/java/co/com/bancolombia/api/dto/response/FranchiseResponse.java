@@ -20,4 +20,7 @@ public class FranchiseResponse {
 
     @Schema(description = "Franchise name", example = "Starbucks")
     private String name;
+
+    @Schema(description = "Row version, also sent as the ETag; send it in If-Match to update conditionally", example = "3")
+    private Long version;
 }
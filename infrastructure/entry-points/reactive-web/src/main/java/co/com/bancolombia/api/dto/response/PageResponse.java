@@ -0,0 +1,31 @@
+package co.com.bancolombia.api.dto.response;
+
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of a keyset-paginated listing")
+public class PageResponse<T> {
+
+    @Schema(description = "Items of the page ordered by ID")
+    private List<T> items;
+
+    @Schema(description = "Cursor to request the next page, absent on the last page", example = "50")
+    private Long nextCursor;
+
+    public static <D, T> PageResponse<T> of(KeysetPage<D> page, Function<D, T> mapper) {
+        return new PageResponse<>(page.getItems().stream().map(mapper).toList(), page.getNextCursor());
+    }
+}
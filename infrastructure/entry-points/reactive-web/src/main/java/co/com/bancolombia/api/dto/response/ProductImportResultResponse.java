@@ -0,0 +1,35 @@
+package co.com.bancolombia.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a single line of a product import")
+public class ProductImportResultResponse {
+
+    @Schema(description = "1-based line number in the uploaded stream", example = "1")
+    private long line;
+
+    @Schema(description = "Product name", example = "Café Latte")
+    private String name;
+
+    @Schema(description = "ID of the created product", example = "1")
+    private Long productId;
+
+    @Schema(description = "Whether the product was created", example = "true")
+    private boolean imported;
+
+    @Schema(description = "Error code when the line was rejected", example = "409")
+    private String code;
+
+    @Schema(description = "Error message when the line was rejected", example = "A product with this name already exists in the branch")
+    private String message;
+}
@@ -0,0 +1,26 @@
+package co.com.bancolombia.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Final line of a product import stream")
+public class ProductImportSummaryResponse {
+
+    @Schema(description = "Lines processed", example = "120")
+    private long total;
+
+    @Schema(description = "Products created", example = "118")
+    private long imported;
+
+    @Schema(description = "Lines rejected", example = "2")
+    private long rejected;
+}
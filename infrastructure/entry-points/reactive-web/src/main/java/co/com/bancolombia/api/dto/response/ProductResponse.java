@@ -26,4 +26,7 @@ public class ProductResponse {
 
     @Schema(description = "ID of the branch it belongs to", example = "1")
     private Long branchId;
+
+    @Schema(description = "Row version, also sent as the ETag; send it in If-Match to update conditionally", example = "3")
+    private Long version;
 }
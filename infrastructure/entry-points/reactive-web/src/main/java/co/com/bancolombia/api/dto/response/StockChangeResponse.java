@@ -0,0 +1,38 @@
+package co.com.bancolombia.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Stock change event")
+public class StockChangeResponse {
+
+    @Schema(description = "Change type", example = "STOCK_UPDATED")
+    private String type;
+
+    @Schema(description = "Franchise ID", example = "1")
+    private Long franchiseId;
+
+    @Schema(description = "Branch ID", example = "1")
+    private Long branchId;
+
+    @Schema(description = "Changed product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Product name, absent when the product was removed", example = "Café Latte")
+    private String productName;
+
+    @Schema(description = "Stock after the change, absent when the product was removed", example = "100")
+    private Integer stock;
+
+    @Schema(description = "Highest-stock product of the branch after the change")
+    private ProductResponse topProduct;
+}
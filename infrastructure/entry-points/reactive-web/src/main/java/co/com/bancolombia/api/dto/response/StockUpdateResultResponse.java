@@ -0,0 +1,32 @@
+package co.com.bancolombia.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a single item in a bulk stock update")
+public class StockUpdateResultResponse {
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Requested stock", example = "100")
+    private Integer stock;
+
+    @Schema(description = "Whether the stock was updated", example = "true")
+    private boolean updated;
+
+    @Schema(description = "Error code when the item was rejected", example = "404")
+    private String code;
+
+    @Schema(description = "Error message when the item was rejected", example = "Product not found")
+    private String message;
+}
@@ -8,13 +8,18 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 
 import co.com.bancolombia.api.dto.request.BranchRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
+import co.com.bancolombia.api.dto.response.PageResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
 import co.com.bancolombia.api.mapper.BranchRequestMapper;
 import co.com.bancolombia.api.mapper.BranchResponseMapper;
+import co.com.bancolombia.api.utils.ConditionalHeaders;
 import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.api.utils.PageParams;
 import co.com.bancolombia.api.utils.ValidationUtils;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
+import co.com.bancolombia.usecase.listbranches.ListBranchesUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -25,10 +30,12 @@ public class BranchHandler {
 
     private final AddBranchToFranchiseUseCase addBranchToFranchiseUseCase;
     private final UpdateBranchNameUseCase updateBranchNameUseCase;
+    private final ListBranchesUseCase listBranchesUseCase;
     private final ValidationUtils validationUtils;
     private final BranchRequestMapper branchRequestMapper;
     private final BranchResponseMapper branchResponseMapper;
     private final LoggingUtils loggingUtils;
+    private final IdempotentResponder idempotentResponder;
 
     public Mono<ServerResponse> addBranchToFranchise(ServerRequest request) {
         final String operation = "ADD_BRANCH_TO_FRANCHISE";
@@ -39,22 +46,41 @@ public class BranchHandler {
                         request.bodyToMono(BranchRequest.class)
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
                                 .flatMap(validationUtils::validate)
-                                .map(branchRequestMapper::toDomain)
-                                .flatMap(branch -> addBranchToFranchiseUseCase.execute(franchiseId, branch))
+                                .flatMap(branchRequest -> idempotentResponder.created(request, operation, branchRequest, () ->
+                                        addBranchToFranchiseUseCase.execute(franchiseId, branchRequestMapper.toDomain(branchRequest))
+                                                .map(branchResponseMapper::toResponse))
+                                )
                 )
-                .map(branchResponseMapper::toResponse)
+                .doOnSuccess(response ->
+                        loggingUtils.logResponse(operation, HttpStatus.CREATED.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+
+    }
+
+    public Mono<ServerResponse> listBranches(ServerRequest request) {
+
+        final String operation = "LIST_BRANCHES";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("franchiseId")))
+                .flatMap(franchiseId ->
+                        listBranchesUseCase.execute(franchiseId, PageParams.cursor(request), PageParams.limit(request))
+                )
+                .map(page -> PageResponse.of(page, branchResponseMapper::toResponse))
                 .flatMap(response ->
-                        ServerResponse.status(HttpStatus.CREATED)
+                        ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .bodyValue(response)
                 )
                 .doOnSuccess(response ->
-                        loggingUtils.logResponse(operation, HttpStatus.CREATED.value())
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
                 )
                 .doOnError(error ->
                         loggingUtils.logError(operation, error)
                 );
-
     }
 
     public Mono<ServerResponse> updateBranchName(ServerRequest request) {
@@ -68,13 +94,15 @@ public class BranchHandler {
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
                                 .flatMap(validationUtils::validate)
                                 .flatMap(updateRequest ->
-                                        updateBranchNameUseCase.execute(branchId, updateRequest.getName())
+                                        updateBranchNameUseCase.execute(branchId, updateRequest.getName(),
+                                                ConditionalHeaders.expectedVersion(request))
                                 )
                 )
                 .map(branchResponseMapper::toResponse)
                 .flatMap(response ->
                         ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
+                                .headers(ConditionalHeaders.eTag(response.getVersion()))
                                 .bodyValue(response)
                 )
                 .doOnSuccess(response ->
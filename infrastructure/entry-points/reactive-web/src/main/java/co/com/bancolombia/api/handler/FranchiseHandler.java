@@ -1,21 +1,34 @@
 package co.com.bancolombia.api.handler;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import co.com.bancolombia.api.coalescing.RequestCoalescer;
+import co.com.bancolombia.api.dto.response.BranchWithTopProductResponse;
 import co.com.bancolombia.api.dto.request.FranchiseRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
+import co.com.bancolombia.api.dto.response.BranchExportResponse;
+import co.com.bancolombia.api.dto.response.PageResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
+import co.com.bancolombia.api.mapper.BranchResponseMapper;
 import co.com.bancolombia.api.mapper.FranchiseRequestMapper;
 import co.com.bancolombia.api.mapper.FranchiseResponseMapper;
 import co.com.bancolombia.api.mapper.FranchiseWithMaxStockProductsResponseMapper;
+import co.com.bancolombia.api.utils.ConditionalHeaders;
 import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.api.utils.MediaTypes;
+import co.com.bancolombia.api.utils.PageParams;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.exportfranchise.ExportFranchiseUseCase;
 import co.com.bancolombia.usecase.getmaxstockproductsbyfranchise.GetMaxStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.listfranchises.ListFranchisesUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -27,10 +40,15 @@ public class FranchiseHandler {
     private final CreateFranchiseUseCase createFranchiseUseCase;
     private final GetMaxStockProductsByFranchiseUseCase getMaxStockProductsByFranchiseUseCase;
     private final UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
+    private final ExportFranchiseUseCase exportFranchiseUseCase;
+    private final ListFranchisesUseCase listFranchisesUseCase;
     private final FranchiseRequestMapper franchiseRequestMapper;
     private final FranchiseResponseMapper franchiseResponseMapper;
     private final FranchiseWithMaxStockProductsResponseMapper franchiseWithMaxStockProductsResponseMapper;
+    private final BranchResponseMapper branchResponseMapper;
     private final LoggingUtils loggingUtils;
+    private final IdempotentResponder idempotentResponder;
+    private final RequestCoalescer<String, FranchiseWithTopProducts> maxStockProductsCoalescer;
 
 public Mono<ServerResponse> createFranchise(ServerRequest request) {
 
@@ -39,13 +57,9 @@ public Mono<ServerResponse> createFranchise(ServerRequest request) {
 
         return request.bodyToMono(FranchiseRequest.class)
                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
-                .map(franchiseRequestMapper::toDomain)
-                .flatMap(createFranchiseUseCase::execute)
-                .map(franchiseResponseMapper::toResponse)
-                .flatMap(response ->
-                        ServerResponse.status(HttpStatus.CREATED)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(response)
+                .flatMap(franchiseRequest -> idempotentResponder.created(request, operation, franchiseRequest, () ->
+                        createFranchiseUseCase.execute(franchiseRequestMapper.toDomain(franchiseRequest))
+                                .map(franchiseResponseMapper::toResponse))
                 )
                 .doOnSuccess(resp ->
                         loggingUtils.logResponse(operation, HttpStatus.CREATED.value())
@@ -57,25 +71,102 @@ public Mono<ServerResponse> createFranchise(ServerRequest request) {
 
         public Mono<ServerResponse> getMaxStockProducts(ServerRequest request) {
 
+                // */* keeps the JSON body and its ETag
+                if (MediaTypes.acceptsNdjson(request)) {
+                        return streamMaxStockProducts(request);
+                }
+
                 final String operation = "GET_MAX_STOCK_PRODUCTS";
                 loggingUtils.logRequest(operation, request);
 
+                // The version query answers If-None-Match before the top-product read and serialization run
                 return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("franchiseId")))
-                        .flatMap(getMaxStockProductsByFranchiseUseCase::execute)
-                        .map(franchiseWithMaxStockProductsResponseMapper::toResponse)
-                        .flatMap(response ->
-                                ServerResponse.ok()
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .bodyValue(response)
-                        )
+                        .flatMap(franchiseId -> getMaxStockProductsByFranchiseUseCase.version(franchiseId)
+                                .flatMap(version -> {
+                                        String eTag = "\"" + version + "\"";
+                                        return request.checkNotModified(eTag)
+                                                .switchIfEmpty(Mono.defer(() -> maxStockProductsCoalescer
+                                                        .execute(franchiseId + ":" + version,
+                                                                () -> getMaxStockProductsByFranchiseUseCase.execute(franchiseId))
+                                                        .map(franchiseWithMaxStockProductsResponseMapper::toResponse)
+                                                        .flatMap(response ->
+                                                                ServerResponse.ok()
+                                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                                        .eTag(eTag)
+                                                                        .cacheControl(CacheControl.noCache())
+                                                                        .bodyValue(response)
+                                                        )));
+                                }))
                         .doOnSuccess(resp ->
-                                loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                                loggingUtils.logResponse(operation, resp.statusCode().value())
                         )
                         .doOnError(error ->
                                 loggingUtils.logError(operation, error)
                         );
         }
 
+    // One NDJSON line per branch, written as rows arrive; not coalesced because sharing would buffer the stream
+    private Mono<ServerResponse> streamMaxStockProducts(ServerRequest request) {
+
+        final String operation = "STREAM_MAX_STOCK_PRODUCTS";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("franchiseId")))
+                .flatMap(franchiseId ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(getMaxStockProductsByFranchiseUseCase.stream(franchiseId)
+                                        .map(franchiseWithMaxStockProductsResponseMapper::mapBranchWithTopProduct),
+                                        BranchWithTopProductResponse.class)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    public Mono<ServerResponse> listFranchises(ServerRequest request) {
+
+        final String operation = "LIST_FRANCHISES";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.defer(() -> listFranchisesUseCase.execute(PageParams.cursor(request), PageParams.limit(request)))
+                .map(page -> PageResponse.of(page, franchiseResponseMapper::toResponse))
+                .flatMap(response ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(response)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    public Mono<ServerResponse> exportFranchise(ServerRequest request) {
+
+        final String operation = "EXPORT_FRANCHISE";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("franchiseId")))
+                .flatMap(franchiseId ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(exportFranchiseUseCase.execute(franchiseId, PageParams.limit(request))
+                                        .map(branchResponseMapper::toExportResponse), BranchExportResponse.class)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
     public Mono<ServerResponse> updateFranchiseName(ServerRequest request) {
 
         final String operation = "UPDATE_FRANCHISE_NAME";
@@ -86,13 +177,15 @@ public Mono<ServerResponse> createFranchise(ServerRequest request) {
                         request.bodyToMono(UpdateNameRequest.class)
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
                                 .flatMap(updateRequest ->
-                                        updateFranchiseNameUseCase.execute(franchiseId, updateRequest.getName())
+                                        updateFranchiseNameUseCase.execute(franchiseId, updateRequest.getName(),
+                                                ConditionalHeaders.expectedVersion(request))
                                 )
                 )
                 .map(franchiseResponseMapper::toResponse)
                 .flatMap(response ->
                         ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
+                                .headers(ConditionalHeaders.eTag(response.getVersion()))
                                 .bodyValue(response)
                 )
                 .doOnSuccess(resp ->
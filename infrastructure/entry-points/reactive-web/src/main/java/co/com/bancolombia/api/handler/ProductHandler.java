@@ -6,32 +6,54 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import co.com.bancolombia.api.dto.request.AdjustStockRequest;
 import co.com.bancolombia.api.dto.request.ProductRequest;
+import co.com.bancolombia.api.dto.request.StockUpdateItemRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateStockRequest;
+import co.com.bancolombia.api.dto.response.PageResponse;
+import co.com.bancolombia.api.dto.response.ProductImportSummaryResponse;
+import co.com.bancolombia.api.dto.response.StockUpdateResultResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
 import co.com.bancolombia.api.mapper.ProductRequestMapper;
 import co.com.bancolombia.api.mapper.ProductResponseMapper;
+import co.com.bancolombia.api.utils.ConditionalHeaders;
 import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.api.utils.MediaTypes;
+import co.com.bancolombia.api.utils.PageParams;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.product.ProductImportResult;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.importproductstobranch.ImportProductsToBranchUseCase;
+import co.com.bancolombia.usecase.listproducts.ListProductsUseCase;
 import co.com.bancolombia.usecase.removeproductfrombranch.RemoveProductFromBranchUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
 import co.com.bancolombia.usecase.updateproductstock.UpdateProductStockUseCase;
+import co.com.bancolombia.usecase.updateproductstockbatch.UpdateProductStockBatchUseCase;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 @RequiredArgsConstructor
 public class ProductHandler {
 
     private final AddProductToBranchUseCase addProductToBranchUseCase;
+    private final ImportProductsToBranchUseCase importProductsToBranchUseCase;
     private final RemoveProductFromBranchUseCase removeProductFromBranchUseCase;
     private final UpdateProductStockUseCase updateProductStockUseCase;
+    private final AdjustProductStockUseCase adjustProductStockUseCase;
+    private final UpdateProductStockBatchUseCase updateProductStockBatchUseCase;
     private final UpdateProductNameUseCase updateProductNameUseCase;
+    private final ListProductsUseCase listProductsUseCase;
     private final ProductRequestMapper productRequestMapper;
     private final ProductResponseMapper productResponseMapper;
     private final LoggingUtils loggingUtils;
+    private final IdempotentResponder idempotentResponder;
 
     public Mono<ServerResponse> addProductToBranch(ServerRequest request) {
 
@@ -42,17 +64,57 @@ public class ProductHandler {
                 .flatMap(branchId ->
                         request.bodyToMono(ProductRequest.class)
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
-                                .map(productRequestMapper::toDomain)
-                                .flatMap(product -> addProductToBranchUseCase.execute(branchId, product))
+                                .flatMap(productRequest -> idempotentResponder.created(request, operation, productRequest, () ->
+                                        addProductToBranchUseCase.execute(branchId, productRequestMapper.toDomain(productRequest))
+                                                .map(productResponseMapper::toResponse))
+                                )
                 )
-                .map(productResponseMapper::toResponse)
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.CREATED.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    public Mono<ServerResponse> importProductsToBranch(ServerRequest request) {
+
+        final String operation = "IMPORT_PRODUCTS_TO_BRANCH";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("branchId")))
+                .map(branchId -> importProductsToBranchUseCase.execute(branchId,
+                        request.bodyToFlux(ProductRequest.class).map(productRequestMapper::toDomain)))
+                .flatMap(results ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(withImportSummary(results), Object.class)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    public Mono<ServerResponse> listProducts(ServerRequest request) {
+
+        final String operation = "LIST_PRODUCTS";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("branchId")))
+                .flatMap(branchId ->
+                        listProductsUseCase.execute(branchId, PageParams.cursor(request), PageParams.limit(request))
+                )
+                .map(page -> PageResponse.of(page, productResponseMapper::toResponse))
                 .flatMap(response ->
-                        ServerResponse.status(HttpStatus.CREATED)
+                        ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .bodyValue(response)
                 )
                 .doOnSuccess(resp ->
-                        loggingUtils.logResponse(operation, HttpStatus.CREATED.value())
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
                 )
                 .doOnError(error ->
                         loggingUtils.logError(operation, error)
@@ -88,13 +150,43 @@ public class ProductHandler {
                         request.bodyToMono(UpdateStockRequest.class)
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
                                 .flatMap(stockRequest ->
-                                        updateProductStockUseCase.execute(productId, stockRequest.getStock())
+                                        updateProductStockUseCase.execute(productId, stockRequest.getStock(),
+                                                ConditionalHeaders.expectedVersion(request))
+                                )
+                )
+                .map(productResponseMapper::toResponse)
+                .flatMap(response ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .headers(ConditionalHeaders.eTag(response.getVersion()))
+                                .bodyValue(response)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    public Mono<ServerResponse> adjustProductStock(ServerRequest request) {
+
+        final String operation = "ADJUST_PRODUCT_STOCK";
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable("productId")))
+                .flatMap(productId ->
+                        request.bodyToMono(AdjustStockRequest.class)
+                                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
+                                .flatMap(adjustRequest ->
+                                        adjustProductStockUseCase.execute(productId, adjustRequest.getDelta())
                                 )
                 )
                 .map(productResponseMapper::toResponse)
                 .flatMap(response ->
                         ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
+                                .headers(ConditionalHeaders.eTag(response.getVersion()))
                                 .bodyValue(response)
                 )
                 .doOnSuccess(resp ->
@@ -105,6 +197,32 @@ public class ProductHandler {
                 );
     }
 
+    public Mono<ServerResponse> updateProductStockBatch(ServerRequest request) {
+
+        final String operation = "UPDATE_PRODUCT_STOCK_BATCH";
+        loggingUtils.logRequest(operation, request);
+
+        // bodyToFlux decodes both a JSON array and an NDJSON stream element by element
+        Flux<StockUpdateResultResponse> results = request.bodyToFlux(StockUpdateItemRequest.class)
+                .map(productRequestMapper::toStockUpdate)
+                .transform(updateProductStockBatchUseCase::execute)
+                .map(productResponseMapper::toResponse)
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+
+        MediaType contentType = MediaTypes.acceptsNdjson(request)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(results, StockUpdateResultResponse.class)
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                );
+    }
+
     public Mono<ServerResponse> updateProductName(ServerRequest request) {
 
         final String operation = "UPDATE_PRODUCT_NAME";
@@ -115,13 +233,15 @@ public class ProductHandler {
                         request.bodyToMono(UpdateNameRequest.class)
                                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.REQUIRED_FIELD_MISSING)))
                                 .flatMap(updateRequest ->
-                                        updateProductNameUseCase.execute(productId, updateRequest.getName())
+                                        updateProductNameUseCase.execute(productId, updateRequest.getName(),
+                                                ConditionalHeaders.expectedVersion(request))
                                 )
                 )
                 .map(productResponseMapper::toResponse)
                 .flatMap(response ->
                         ServerResponse.ok()
                                 .contentType(MediaType.APPLICATION_JSON)
+                                .headers(ConditionalHeaders.eTag(response.getVersion()))
                                 .bodyValue(response)
                 )
                 .doOnSuccess(resp ->
@@ -131,4 +251,19 @@ public class ProductHandler {
                         loggingUtils.logError(operation, error)
                 );
     }
+
+    private Flux<Object> withImportSummary(Flux<ProductImportResult> results) {
+        return Flux.defer(() -> {
+            AtomicLong imported = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            return results
+                    .doOnNext(result -> (result.isImported() ? imported : rejected).incrementAndGet())
+                    .<Object>map(productResponseMapper::toResponse)
+                    .concatWith(Mono.fromSupplier(() -> ProductImportSummaryResponse.builder()
+                            .total(imported.get() + rejected.get())
+                            .imported(imported.get())
+                            .rejected(rejected.get())
+                            .build()));
+        });
+    }
 }
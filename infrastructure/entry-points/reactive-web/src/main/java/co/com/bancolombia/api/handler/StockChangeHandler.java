@@ -0,0 +1,75 @@
+package co.com.bancolombia.api.handler;
+
+import co.com.bancolombia.api.dto.response.StockChangeResponse;
+import co.com.bancolombia.api.mapper.StockChangeResponseMapper;
+import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.model.stockchange.StockChange;
+import co.com.bancolombia.usecase.watchstockchanges.WatchStockChangesUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class StockChangeHandler {
+
+    // Keeps idle connections open through proxies that close silent streams
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final WatchStockChangesUseCase watchStockChangesUseCase;
+    private final StockChangeResponseMapper stockChangeResponseMapper;
+    private final LoggingUtils loggingUtils;
+
+    public Mono<ServerResponse> streamFranchiseStockChanges(ServerRequest request) {
+        return stream("STREAM_FRANCHISE_STOCK_CHANGES", request, "franchiseId", watchStockChangesUseCase::byFranchise);
+    }
+
+    public Mono<ServerResponse> streamBranchStockChanges(ServerRequest request) {
+        return stream("STREAM_BRANCH_STOCK_CHANGES", request, "branchId", watchStockChangesUseCase::byBranch);
+    }
+
+    // An unknown id fails before the first event, while the response is still uncommitted, so it is answered as a 404
+    private Mono<ServerResponse> stream(String operation, ServerRequest request, String idVariable,
+                                        Function<Long, Flux<StockChange>> watch) {
+
+        loggingUtils.logRequest(operation, request);
+
+        return Mono.fromSupplier(() -> Long.valueOf(request.pathVariable(idVariable)))
+                .flatMap(id ->
+                        ServerResponse.ok()
+                                .contentType(MediaType.TEXT_EVENT_STREAM)
+                                .body(watch.apply(id)
+                                        .map(this::toEvent)
+                                        .mergeWith(heartbeats())
+                                        .doOnError(error -> loggingUtils.logError(operation, error)),
+                                        ServerSentEvent.class)
+                )
+                .doOnSuccess(resp ->
+                        loggingUtils.logResponse(operation, HttpStatus.OK.value())
+                )
+                .doOnError(error ->
+                        loggingUtils.logError(operation, error)
+                );
+    }
+
+    private ServerSentEvent<StockChangeResponse> toEvent(StockChange change) {
+        return ServerSentEvent.builder(stockChangeResponseMapper.toResponse(change))
+                .event(change.getType().name())
+                .build();
+    }
+
+    private static Flux<ServerSentEvent<StockChangeResponse>> heartbeats() {
+        return Flux.interval(HEARTBEAT_INTERVAL)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<StockChangeResponse>builder().comment("heartbeat").build());
+    }
+}
@@ -0,0 +1,146 @@
+package co.com.bancolombia.api.idempotency;
+
+import co.com.bancolombia.api.coalescing.RequestCoalescer;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Answers a retried create from the response stored for its Idempotency-Key, without running the use case again.
+ * Keys are scoped per operation and bound to a fingerprint of the path and payload, so reusing a key for a
+ * different request is rejected instead of replaying an unrelated response. An attempt reserves its key before
+ * running, so a retry that reaches another instance meanwhile is answered as in progress instead of running twice.
+ * Only successful responses are stored; a failed attempt gives its key back and can be retried with the same key.
+ */
+@Slf4j
+@Component
+public class IdempotentResponder {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    // Retries that arrive while the first attempt is still running on this instance wait for it instead of racing it
+    private final RequestCoalescer<String, IdempotentResponse> inFlight;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotentResponder(IdempotencyRepository repository, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.inFlight = new RequestCoalescer<>("idempotency", Duration.ZERO, registry);
+        this.replayed = counter(registry, "replayed");
+        this.rejected = counter(registry, "rejected");
+    }
+
+    public Mono<ServerResponse> created(ServerRequest request, String operation, Object payload,
+                                        Supplier<Mono<?>> creation) {
+        String key = request.headers().firstHeader(IDEMPOTENCY_KEY);
+        if (key == null) {
+            return creation.get()
+                    .flatMap(response -> ServerResponse.status(HttpStatus.CREATED)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(response));
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new BusinessException(TechnicalMessage.INVALID_IDEMPOTENCY_KEY));
+        }
+        String scopedKey = operation + ":" + key;
+        String fingerprint = fingerprint(request, payload);
+        return repository.find(scopedKey)
+                .flatMap(stored -> respond(stored, fingerprint, true))
+                .switchIfEmpty(Mono.defer(() -> inFlight
+                        .execute(scopedKey, () -> reserveAndExecute(scopedKey, fingerprint, creation))
+                        .flatMap(response -> respond(response, fingerprint, false))));
+    }
+
+    // Losing the reservation means another attempt claimed the key since the lookup
+    private Mono<IdempotentResponse> reserveAndExecute(String scopedKey, String fingerprint,
+                                                       Supplier<Mono<?>> creation) {
+        return repository.reserve(scopedKey, fingerprint)
+                .flatMap(reserved -> reserved
+                        ? execute(scopedKey, fingerprint, creation)
+                        : Mono.error(new BusinessException(TechnicalMessage.IDEMPOTENCY_REQUEST_IN_PROGRESS)));
+    }
+
+    private Mono<IdempotentResponse> execute(String scopedKey, String fingerprint, Supplier<Mono<?>> creation) {
+        return creation.get()
+                .map(response -> IdempotentResponse.builder()
+                        .fingerprint(fingerprint)
+                        .status(HttpStatus.CREATED.value())
+                        .body(objectMapper.writeValueAsString(response))
+                        .build())
+                // The resource already exists, so failing here would only turn the client's retry into a 409. The
+                // reservation then stays pending until it expires, and retries meanwhile are answered as in progress
+                .flatMap(response -> repository.save(scopedKey, response)
+                        .onErrorResume(error -> {
+                            log.warn("Storing the response for an idempotency key failed", error);
+                            return Mono.empty();
+                        })
+                        .thenReturn(response))
+                .onErrorResume(error -> release(scopedKey).then(Mono.error(error)))
+                .doOnCancel(() -> release(scopedKey).subscribe());
+    }
+
+    private Mono<Void> release(String scopedKey) {
+        return repository.release(scopedKey)
+                .onErrorResume(error -> {
+                    log.warn("Releasing an idempotency key failed, it frees up once its reservation expires", error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<ServerResponse> respond(IdempotentResponse response, String fingerprint, boolean fromStore) {
+        if (!response.getFingerprint().equals(fingerprint)) {
+            rejected.increment();
+            return Mono.error(new BusinessException(TechnicalMessage.IDEMPOTENCY_KEY_REUSED));
+        }
+        if (response.isPending()) {
+            return Mono.error(new BusinessException(TechnicalMessage.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+        }
+        ServerResponse.BodyBuilder builder = ServerResponse.status(response.getStatus())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (fromStore) {
+            replayed.increment();
+            builder.header(REPLAYED, "true");
+        }
+        return builder.bodyValue(response.getBody());
+    }
+
+    private String fingerprint(ServerRequest request, Object payload) {
+        String canonical = request.path() + "\n" + objectMapper.writeValueAsString(payload);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("idempotency.requests")
+                .description("Keyed creates answered from a stored response, or rejected for reusing a key")
+                .tag("result", result)
+                .register(registry);
+    }
+}
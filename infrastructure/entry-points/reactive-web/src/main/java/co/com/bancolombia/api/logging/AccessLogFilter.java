@@ -0,0 +1,83 @@
+package co.com.bancolombia.api.logging;
+
+import co.com.bancolombia.api.config.ErrorResponseEncoder;
+import co.com.bancolombia.api.metrics.OperationMetricsFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.util.Unbox;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// One line per request once the exchange finishes; failures are always logged, successes are sampled per operation
+@Log4j2(topic = "access")
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter implements WebFilter {
+
+    private final AccessLogProperties properties;
+    private final ErrorResponseEncoder errorStatuses = new ErrorResponseEncoder();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!log.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doOnError(error -> log(exchange, start, error.getClass().getSimpleName(), status(exchange, error)))
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            log(exchange, start, signal == SignalType.CANCEL ? "CANCELLED" : null,
+                                    status(exchange, null));
+                        }
+                    });
+        });
+    }
+
+    // Errors propagated past the chain only get their status from GlobalErrorHandler afterwards, so it is derived
+    // from the error with the same mapping
+    HttpStatusCode status(ServerWebExchange exchange, Throwable error) {
+        return error != null ? errorStatuses.status(error) : exchange.getResponse().getStatusCode();
+    }
+
+    private void log(ServerWebExchange exchange, long start, String error, HttpStatusCode status) {
+        String operation = exchange.getAttribute(OperationMetricsFilter.OPERATION_ATTRIBUTE);
+        if (operation == null) {
+            return;
+        }
+        boolean failed = error != null || (status != null && status.isError());
+        if (!shouldLog(operation, failed)) {
+            return;
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // A cancelled exchange may end before any status was set
+        Object statusValue = status != null ? Unbox.box(status.value()) : error != null ? "-" : Unbox.box(200);
+        // Unbox keeps primitives off the heap; with the async appender the caller only enqueues the event
+        log.info("operation={} method={} path={} status={} durationMs={} error={}",
+                operation,
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value(),
+                statusValue,
+                Unbox.box(durationMs),
+                error == null ? "-" : error);
+    }
+
+    boolean shouldLog(String operation, boolean failed) {
+        if (failed) {
+            return true;
+        }
+        double rate = properties.sampleRateFor(operation);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
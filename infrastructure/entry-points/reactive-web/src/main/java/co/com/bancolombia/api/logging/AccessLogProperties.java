@@ -0,0 +1,20 @@
+package co.com.bancolombia.api.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "access-log")
+public record AccessLogProperties(
+        @DefaultValue("1.0") double sampleRate,
+        Map<String, Double> operations) {
+
+    public AccessLogProperties {
+        operations = operations == null ? Map.of() : Map.copyOf(operations);
+    }
+
+    public double sampleRateFor(String operation) {
+        return operations.getOrDefault(operation, sampleRate);
+    }
+}
@@ -1,11 +1,16 @@
 package co.com.bancolombia.api.mapper;
 
+import co.com.bancolombia.api.dto.response.BranchExportResponse;
 import co.com.bancolombia.api.dto.response.BranchResponse;
 import co.com.bancolombia.model.branch.Branch;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = ProductResponseMapper.class)
 public interface BranchResponseMapper {
 
     BranchResponse toResponse(Branch branch);
+
+    @Mapping(target = "products", source = "productList")
+    BranchExportResponse toExportResponse(Branch branch);
 }
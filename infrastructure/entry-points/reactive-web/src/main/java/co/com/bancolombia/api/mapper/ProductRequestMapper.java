@@ -1,7 +1,9 @@
 package co.com.bancolombia.api.mapper;
 
 import co.com.bancolombia.api.dto.request.ProductRequest;
+import co.com.bancolombia.api.dto.request.StockUpdateItemRequest;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -11,4 +13,6 @@ public interface ProductRequestMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "branchId", ignore = true)
     Product toDomain(ProductRequest request);
+
+    StockUpdate toStockUpdate(StockUpdateItemRequest request);
 }
@@ -1,11 +1,19 @@
 package co.com.bancolombia.api.mapper;
 
+import co.com.bancolombia.api.dto.response.ProductImportResultResponse;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.StockUpdateResultResponse;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductImportResult;
+import co.com.bancolombia.model.product.StockUpdateResult;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface ProductResponseMapper {
 
     ProductResponse toResponse(Product product);
+
+    StockUpdateResultResponse toResponse(StockUpdateResult result);
+
+    ProductImportResultResponse toResponse(ProductImportResult result);
 }
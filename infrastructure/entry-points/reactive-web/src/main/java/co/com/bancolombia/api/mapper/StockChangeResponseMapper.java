@@ -0,0 +1,11 @@
+package co.com.bancolombia.api.mapper;
+
+import co.com.bancolombia.api.dto.response.StockChangeResponse;
+import co.com.bancolombia.model.stockchange.StockChange;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring", uses = ProductResponseMapper.class)
+public interface StockChangeResponseMapper {
+
+    StockChangeResponse toResponse(StockChange change);
+}
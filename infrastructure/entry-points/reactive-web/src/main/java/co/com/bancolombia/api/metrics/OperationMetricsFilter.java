@@ -0,0 +1,84 @@
+package co.com.bancolombia.api.metrics;
+
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times the whole exchange, body writing included, under the operation name the handler registered for the request
+@Component
+public class OperationMetricsFilter implements WebFilter {
+
+    public static final String OPERATION_ATTRIBUTE = OperationMetricsFilter.class.getName() + ".operation";
+    static final String METRIC_NAME = "api.operation";
+
+    private final MeterRegistry registry;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public OperationMetricsFilter(
+            MeterRegistry registry,
+            @Value("${metrics.operations.slo:25ms,50ms,100ms,250ms,500ms,1s}") Duration[] serviceLevelObjectives) {
+        this.registry = registry;
+        this.serviceLevelObjectives = serviceLevelObjectives;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return chain.filter(exchange)
+                    .doOnError(error -> stop(sample, exchange, outcomeOf(error), error.getClass().getSimpleName()))
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            stop(sample, exchange, signal == SignalType.CANCEL ? "CANCELLED" : outcomeOf(exchange), "none");
+                        }
+                    });
+        });
+    }
+
+    private void stop(Timer.Sample sample, ServerWebExchange exchange, String outcome, String exception) {
+        String operation = exchange.getAttribute(OPERATION_ATTRIBUTE);
+        // Routes without a handler operation (actuator, swagger, 404s) are left to http.server.requests
+        if (operation != null) {
+            sample.stop(timer(operation, outcome, exception));
+        }
+    }
+
+    private Timer timer(String operation, String outcome, String exception) {
+        return timers.computeIfAbsent(operation + '|' + outcome + '|' + exception, key -> Timer.builder(METRIC_NAME)
+                .description("Latency of each API operation from request to the last byte of the response")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(registry));
+    }
+
+    private static String outcomeOf(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null || status.is2xxSuccessful()) {
+            return "SUCCESS";
+        }
+        return status.is4xxClientError() ? "CLIENT_ERROR" : status.is5xxServerError() ? "SERVER_ERROR" : "OTHER";
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error instanceof BusinessException businessException && !businessException.getCode().startsWith("5")) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
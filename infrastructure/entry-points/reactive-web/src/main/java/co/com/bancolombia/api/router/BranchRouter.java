@@ -2,6 +2,7 @@ package co.com.bancolombia.api.router;
 
 import co.com.bancolombia.api.dto.request.BranchRequest;
 import co.com.bancolombia.api.dto.response.BranchResponse;
+import co.com.bancolombia.api.dto.response.PageResponse;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.handler.BranchHandler;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +32,55 @@ public class BranchRouter {
 
     @Bean
     @RouterOperations({
+            @RouterOperation(
+                    path = "/api/franchises/{franchiseId}/branches",
+                    method = RequestMethod.GET,
+                    operation = @Operation(
+                            operationId = "listBranches",
+                            summary = "List branches of a franchise",
+                            description = "Returns the branches of a franchise ordered by ID, one keyset page at a time",
+                            parameters = {
+                                    @Parameter(
+                                            name = "franchiseId",
+                                            description = "Franchise ID",
+                                            required = true,
+                                            in = ParameterIn.PATH,
+                                            schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "cursor",
+                                            description = "nextCursor of the previous page; omit for the first page",
+                                            in = ParameterIn.QUERY,
+                                            schema = @Schema(type = "integer", format = "int64", example = "50")
+                                    ),
+                                    @Parameter(
+                                            name = "limit",
+                                            description = "Page size, between 1 and the configured maximum",
+                                            in = ParameterIn.QUERY,
+                                            schema = @Schema(type = "integer", format = "int32", example = "50")
+                                    )
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Page of branches",
+                                            content = @Content(schema = @Schema(implementation = PageResponse.class))
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Invalid cursor or limit"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Franchise not found"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "500",
+                                            description = "Internal server error"
+                                    )
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = "/api/franchises/{franchiseId}/branches",
                     method = RequestMethod.POST,
@@ -45,6 +95,12 @@ public class BranchRouter {
                                             required = true,
                                             in = ParameterIn.PATH,
                                             schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "Idempotency-Key",
+                                            description = "Client-generated key; a retry with the same key and body is answered with the stored response without creating again",
+                                            in = ParameterIn.HEADER,
+                                            schema = @Schema(type = "string", maxLength = 255, example = "5f1c2a9e-0b7d-4d1e-9a55-1f0c3e7b2d41")
                                     )
                             },
                             requestBody = @RequestBody(
@@ -66,6 +122,10 @@ public class BranchRouter {
                                             responseCode = "409",
                                             description = "A branch with that name already exists in the franchise"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "422",
+                                            description = "The Idempotency-Key was already used for a different request"
+                                    ),
                                     @ApiResponse(
                                             responseCode = "500",
                                             description = "Internal server error"
@@ -87,6 +147,12 @@ public class BranchRouter {
                                             required = true,
                                             in = ParameterIn.PATH,
                                             schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "If-Match",
+                                            description = "ETag (version) of the last read; the update only applies while the row still has that version",
+                                            in = ParameterIn.HEADER,
+                                            schema = @Schema(type = "string", example = "\"3\"")
                                     )
                             },
                             requestBody = @RequestBody(
@@ -112,6 +178,10 @@ public class BranchRouter {
                                             responseCode = "409",
                                             description = "A branch with that name already exists in the franchise"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "412",
+                                            description = "The row was modified since the version sent in If-Match"
+                                    ),
                                     @ApiResponse(
                                             responseCode = "500",
                                             description = "Internal server error"
@@ -123,6 +193,7 @@ public class BranchRouter {
     public RouterFunction<ServerResponse> branchRoutes(BranchHandler handler) {
         return RouterFunctions
                 .route(POST(BASE_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::addBranchToFranchise)
+                .andRoute(GET(BASE_PATH), handler::listBranches)
                 .andRoute(PATCH(UPDATE_NAME_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::updateBranchName);
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package co.com.bancolombia.api.router;
 
 import co.com.bancolombia.api.dto.request.FranchiseRequest;
+import co.com.bancolombia.api.dto.response.BranchExportResponse;
+import co.com.bancolombia.api.dto.response.BranchWithTopProductResponse;
 import co.com.bancolombia.api.dto.response.FranchiseResponse;
 import co.com.bancolombia.api.dto.response.FranchiseWithMaxStockProductsResponse;
+import co.com.bancolombia.api.dto.response.PageResponse;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.handler.FranchiseHandler;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,6 +36,7 @@ public class FranchiseRouter {
     private static final String FRANCHISE_PATH = "/api/franchises";
     private static final String MAX_STOCK_PATH = "/api/franchises/{franchiseId}/max-stock-products";
     private static final String UPDATE_NAME_PATH = "/api/franchises/{franchiseId}/name";
+    private static final String EXPORT_PATH = "/api/franchises/{franchiseId}/export";
 
     @Bean
     @RouterOperations({
@@ -46,6 +50,14 @@ public class FranchiseRouter {
                 summary = "Create new franchise",
                 description = "Creates a new franchise in the system with the provided name",
                 tags = {"Franchises"},
+                parameters = {
+                    @Parameter(
+                        name = "Idempotency-Key",
+                        description = "Client-generated key; a retry with the same key and body is answered with the stored response without creating again",
+                        in = ParameterIn.HEADER,
+                        schema = @Schema(type = "string", maxLength = 255, example = "5f1c2a9e-0b7d-4d1e-9a55-1f0c3e7b2d41")
+                    )
+                },
                 requestBody = @RequestBody(
                     required = true,
                     description = "Franchise data to create",
@@ -71,6 +83,10 @@ public class FranchiseRouter {
                         responseCode = "409",
                         description = "Conflict - a franchise with that name already exists"
                     ),
+                    @ApiResponse(
+                        responseCode = "422",
+                        description = "The Idempotency-Key was already used for a different request"
+                    ),
                     @ApiResponse(
                         responseCode = "500",
                         description = "Error interno del servidor"
@@ -78,6 +94,102 @@ public class FranchiseRouter {
                 }
             )
         ),
+        @RouterOperation(
+            path = "/api/franchises/{franchiseId}/export",
+            method = RequestMethod.GET,
+            beanClass = FranchiseHandler.class,
+            beanMethod = "exportFranchise",
+            operation = @Operation(
+                operationId = "exportFranchise",
+                summary = "Export a franchise with all its branches and products",
+                description = "Streams the franchise as NDJSON, one line per page of products of a branch: a branch with more "
+                        + "products than the page size spans several consecutive lines with the same branch ID, and a branch "
+                        + "without products is one line with an empty list. Branches and products are read in keyset pages "
+                        + "ordered by ID, so memory does not grow with the franchise or branch size",
+                tags = {"Franchises"},
+                parameters = {
+                    @Parameter(
+                        name = "franchiseId",
+                        description = "ID de la franquicia",
+                        required = true,
+                        in = ParameterIn.PATH,
+                        schema = @Schema(type = "integer", format = "int64", example = "1")
+                    ),
+                    @Parameter(
+                        name = "limit",
+                        description = "Products per line and branches per read, between 1 and the configured page size",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(type = "integer", format = "int32", example = "500")
+                    )
+                },
+                responses = {
+                    @ApiResponse(
+                        responseCode = "200",
+                        description = "One line per page of products of each branch",
+                        content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BranchExportResponse.class)
+                        )
+                    ),
+                    @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid limit"
+                    ),
+                    @ApiResponse(
+                        responseCode = "404",
+                        description = "Franchise not found"
+                    ),
+                    @ApiResponse(
+                        responseCode = "500",
+                        description = "Internal server error"
+                    )
+                }
+            )
+        ),
+        @RouterOperation(
+            path = "/api/franchises",
+            method = RequestMethod.GET,
+            beanClass = FranchiseHandler.class,
+            beanMethod = "listFranchises",
+            operation = @Operation(
+                operationId = "listFranchises",
+                summary = "List franchises",
+                description = "Returns franchises ordered by ID, one keyset page at a time",
+                tags = {"Franchises"},
+                parameters = {
+                    @Parameter(
+                        name = "cursor",
+                        description = "nextCursor of the previous page; omit for the first page",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(type = "integer", format = "int64", example = "50")
+                    ),
+                    @Parameter(
+                        name = "limit",
+                        description = "Page size, between 1 and the configured maximum",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(type = "integer", format = "int32", example = "50")
+                    )
+                },
+                responses = {
+                    @ApiResponse(
+                        responseCode = "200",
+                        description = "Page of franchises",
+                        content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageResponse.class)
+                        )
+                    ),
+                    @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid cursor or limit"
+                    ),
+                    @ApiResponse(
+                        responseCode = "500",
+                        description = "Internal server error"
+                    )
+                }
+            )
+        ),
         @RouterOperation(
             path = "/api/franchises/{franchiseId}/max-stock-products",
             method = RequestMethod.GET,
@@ -86,7 +198,10 @@ public class FranchiseRouter {
             operation = @Operation(
                 operationId = "getMaxStockProducts",
                 summary = "Get products with highest stock per branch",
-                description = "Returns a franchise with all its branches and for each branch the product with highest stock",
+                description = "Returns a franchise with all its branches and for each branch the product with highest stock. "
+                        + "Exactly one product is returned per branch: when several share the highest stock, the one with the lowest id. "
+                        + "When the client accepts application/x-ndjson the branches are streamed one per line as they are read. "
+                        + "JSON responses carry an ETag; sending it back in If-None-Match answers 304 while nothing changed",
                 tags = {"Franchises"},
                 parameters = {
                     @Parameter(
@@ -95,16 +210,32 @@ public class FranchiseRouter {
                         required = true,
                         in = ParameterIn.PATH,
                         schema = @Schema(type = "integer", format = "int64", example = "1")
+                    ),
+                    @Parameter(
+                        name = "If-None-Match",
+                        description = "ETag of a previous JSON response",
+                        in = ParameterIn.HEADER,
+                        schema = @Schema(type = "string")
                     )
                 },
                 responses = {
                     @ApiResponse(
                         responseCode = "200",
                         description = "Franchise with its branches and top products",
-                        content = @Content(
-                            mediaType = "application/json",
-                            schema = @Schema(implementation = FranchiseWithMaxStockProductsResponse.class)
-                        )
+                        content = {
+                            @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(implementation = FranchiseWithMaxStockProductsResponse.class)
+                            ),
+                            @Content(
+                                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                schema = @Schema(implementation = BranchWithTopProductResponse.class)
+                            )
+                        }
+                    ),
+                    @ApiResponse(
+                        responseCode = "304",
+                        description = "Nothing changed since the ETag sent in If-None-Match"
                     ),
                     @ApiResponse(
                         responseCode = "404",
@@ -134,6 +265,12 @@ public class FranchiseRouter {
                         required = true,
                         in = ParameterIn.PATH,
                         schema = @Schema(type = "integer", format = "int64", example = "1")
+                    ),
+                    @Parameter(
+                        name = "If-Match",
+                        description = "ETag (version) of the last read; the update only applies while the row still has that version",
+                        in = ParameterIn.HEADER,
+                        schema = @Schema(type = "string", example = "\"3\"")
                     )
                 },
                 requestBody = @RequestBody(
@@ -165,6 +302,10 @@ public class FranchiseRouter {
                         responseCode = "409",
                         description = "A franchise with that name already exists"
                     ),
+                    @ApiResponse(
+                        responseCode = "412",
+                        description = "The row was modified since the version sent in If-Match"
+                    ),
                     @ApiResponse(
                         responseCode = "500",
                         description = "Internal server error"
@@ -175,7 +316,9 @@ public class FranchiseRouter {
     })
     public RouterFunction<ServerResponse> franchiseRoutes(FranchiseHandler handler) {
         return route(POST(FRANCHISE_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::createFranchise)
+                .andRoute(GET(FRANCHISE_PATH), handler::listFranchises)
                 .andRoute(GET(MAX_STOCK_PATH), handler::getMaxStockProducts)
+                .andRoute(GET(EXPORT_PATH), handler::exportFranchise)
                 .andRoute(PATCH(UPDATE_NAME_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::updateFranchiseName);
     }
 }
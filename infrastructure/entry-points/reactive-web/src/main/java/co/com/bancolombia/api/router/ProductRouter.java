@@ -1,13 +1,19 @@
 package co.com.bancolombia.api.router;
 
+import co.com.bancolombia.api.dto.request.AdjustStockRequest;
 import co.com.bancolombia.api.dto.request.ProductRequest;
+import co.com.bancolombia.api.dto.request.StockUpdateItemRequest;
+import co.com.bancolombia.api.dto.response.PageResponse;
+import co.com.bancolombia.api.dto.response.ProductImportResultResponse;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.StockUpdateResultResponse;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateStockRequest;
 import co.com.bancolombia.api.handler.ProductHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -28,12 +34,64 @@ import static org.springframework.web.reactive.function.server.RequestPredicates
 public class ProductRouter {
 
     private static final String BASE_PATH = "/api/branches/{branchId}/products";
+    private static final String IMPORT_PATH = "/api/branches/{branchId}/products:import";
     private static final String PRODUCT_PATH = "/api/branches/{branchId}/products/{productId}";
     private static final String UPDATE_STOCK_PATH = "/api/products/{productId}/stock";
+    private static final String ADJUST_STOCK_PATH = "/api/products/{productId}/stock/adjustments";
+    private static final String UPDATE_STOCK_BATCH_PATH = "/api/products/stock:batch";
     private static final String UPDATE_PRODUCT_NAME_PATH = "/api/products/{productId}/name";
 
     @Bean
     @RouterOperations({
+            @RouterOperation(
+                    path = "/api/branches/{branchId}/products",
+                    method = RequestMethod.GET,
+                    operation = @Operation(
+                            operationId = "listProducts",
+                            summary = "List products of a branch",
+                            description = "Returns the products of a branch ordered by ID, one keyset page at a time",
+                            parameters = {
+                                    @Parameter(
+                                            name = "branchId",
+                                            description = "Branch ID",
+                                            required = true,
+                                            in = ParameterIn.PATH,
+                                            schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "cursor",
+                                            description = "nextCursor of the previous page; omit for the first page",
+                                            in = ParameterIn.QUERY,
+                                            schema = @Schema(type = "integer", format = "int64", example = "50")
+                                    ),
+                                    @Parameter(
+                                            name = "limit",
+                                            description = "Page size, between 1 and the configured maximum",
+                                            in = ParameterIn.QUERY,
+                                            schema = @Schema(type = "integer", format = "int32", example = "50")
+                                    )
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Page of products",
+                                            content = @Content(schema = @Schema(implementation = PageResponse.class))
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Invalid cursor or limit"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Branch not found"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "500",
+                                            description = "Internal server error"
+                                    )
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = "/api/branches/{branchId}/products",
                     method = RequestMethod.POST,
@@ -48,6 +106,12 @@ public class ProductRouter {
                                             required = true,
                                             in = ParameterIn.PATH,
                                             schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "Idempotency-Key",
+                                            description = "Client-generated key; a retry with the same key and body is answered with the stored response without creating again",
+                                            in = ParameterIn.HEADER,
+                                            schema = @Schema(type = "string", maxLength = 255, example = "5f1c2a9e-0b7d-4d1e-9a55-1f0c3e7b2d41")
                                     )
                             },
                             requestBody = @RequestBody(
@@ -73,6 +137,51 @@ public class ProductRouter {
                                             responseCode = "409",
                                             description = "A product with that name already exists in the branch"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "422",
+                                            description = "The Idempotency-Key was already used for a different request"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "500",
+                                            description = "Internal server error"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/branches/{branchId}/products:import",
+                    method = RequestMethod.POST,
+                    operation = @Operation(
+                            operationId = "importProductsToBranch",
+                            summary = "Import products into branch",
+                            description = "Consumes an NDJSON stream of products, validates the branch once and inserts the products in chunks. "
+                                    + "Streams one NDJSON result per input line followed by a summary line {total, imported, rejected}",
+                            parameters = {
+                                    @Parameter(
+                                            name = "branchId",
+                                            description = "Branch ID",
+                                            required = true,
+                                            in = ParameterIn.PATH,
+                                            schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    )
+                            },
+                            requestBody = @RequestBody(
+                                    description = "One product per line",
+                                    required = true,
+                                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(implementation = ProductRequest.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Per-line results followed by a summary",
+                                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                                    schema = @Schema(implementation = ProductImportResultResponse.class))
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Branch not found"
+                                    ),
                                     @ApiResponse(
                                             responseCode = "500",
                                             description = "Internal server error"
@@ -133,6 +242,12 @@ public class ProductRouter {
                                             required = true,
                                             in = ParameterIn.PATH,
                                             schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "If-Match",
+                                            description = "ETag (version) of the last read; the update only applies while the row still has that version",
+                                            in = ParameterIn.HEADER,
+                                            schema = @Schema(type = "string", example = "\"3\"")
                                     )
                             },
                             requestBody = @RequestBody(
@@ -154,6 +269,88 @@ public class ProductRouter {
                                             responseCode = "404",
                                             description = "Product not found"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "412",
+                                            description = "The row was modified since the version sent in If-Match"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "500",
+                                            description = "Internal server error"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/products/{productId}/stock/adjustments",
+                    method = RequestMethod.POST,
+                    operation = @Operation(
+                            operationId = "adjustProductStock",
+                            summary = "Adjust product stock",
+                            description = "Atomically adds or subtracts units from the current stock; the adjustment is rejected if the stock would become negative",
+                            parameters = {
+                                    @Parameter(
+                                            name = "productId",
+                                            description = "Product ID to adjust",
+                                            required = true,
+                                            in = ParameterIn.PATH,
+                                            schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    )
+                            },
+                            requestBody = @RequestBody(
+                                    description = "Stock delta",
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = AdjustStockRequest.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Stock adjusted successfully",
+                                            content = @Content(schema = @Schema(implementation = ProductResponse.class))
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "400",
+                                            description = "Missing delta"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "404",
+                                            description = "Product not found"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "409",
+                                            description = "Insufficient stock for the requested adjustment"
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = "500",
+                                            description = "Internal server error"
+                                    )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/products/stock:batch",
+                    method = RequestMethod.POST,
+                    operation = @Operation(
+                            operationId = "updateProductStockBatch",
+                            summary = "Bulk update product stock",
+                            description = "Accepts a JSON array or an NDJSON stream of {productId, stock} items and applies them in chunks, "
+                                    + "one batched statement and transaction per chunk. Returns one result per item in input order; "
+                                    + "responds as NDJSON when the client accepts application/x-ndjson",
+                            requestBody = @RequestBody(
+                                    description = "Stock updates",
+                                    required = true,
+                                    content = {
+                                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                                    array = @ArraySchema(schema = @Schema(implementation = StockUpdateItemRequest.class))),
+                                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                                    schema = @Schema(implementation = StockUpdateItemRequest.class))
+                                    }
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Per-item results",
+                                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = StockUpdateResultResponse.class)))
+                                    ),
                                     @ApiResponse(
                                             responseCode = "500",
                                             description = "Internal server error"
@@ -175,6 +372,12 @@ public class ProductRouter {
                                             required = true,
                                             in = ParameterIn.PATH,
                                             schema = @Schema(type = "integer", format = "int64", example = "1")
+                                    ),
+                                    @Parameter(
+                                            name = "If-Match",
+                                            description = "ETag (version) of the last read; the update only applies while the row still has that version",
+                                            in = ParameterIn.HEADER,
+                                            schema = @Schema(type = "string", example = "\"3\"")
                                     )
                             },
                             requestBody = @RequestBody(
@@ -200,6 +403,10 @@ public class ProductRouter {
                                             responseCode = "409",
                                             description = "A product with that name already exists in the branch"
                                     ),
+                                    @ApiResponse(
+                                            responseCode = "412",
+                                            description = "The row was modified since the version sent in If-Match"
+                                    ),
                                     @ApiResponse(
                                             responseCode = "500",
                                             description = "Internal server error"
@@ -211,8 +418,12 @@ public class ProductRouter {
     public RouterFunction<ServerResponse> productRoutes(ProductHandler handler) {
         return RouterFunctions
                 .route(POST(BASE_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::addProductToBranch)
+                .andRoute(GET(BASE_PATH), handler::listProducts)
+                .andRoute(POST(IMPORT_PATH).and(contentType(MediaType.APPLICATION_NDJSON)), handler::importProductsToBranch)
                 .andRoute(DELETE(PRODUCT_PATH), handler::removeProductFromBranch)
                 .andRoute(PATCH(UPDATE_STOCK_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::updateProductStock)
+                .andRoute(POST(UPDATE_STOCK_BATCH_PATH).and(accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON)), handler::updateProductStockBatch)
+                .andRoute(POST(ADJUST_STOCK_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::adjustProductStock)
                 .andRoute(PATCH(UPDATE_PRODUCT_NAME_PATH).and(accept(MediaType.APPLICATION_JSON)), handler::updateProductName);
     }
 }
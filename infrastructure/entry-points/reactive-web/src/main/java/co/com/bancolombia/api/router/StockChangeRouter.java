@@ -0,0 +1,117 @@
+package co.com.bancolombia.api.router;
+
+import co.com.bancolombia.api.dto.response.StockChangeResponse;
+import co.com.bancolombia.api.handler.StockChangeHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springdoc.core.annotations.RouterOperation;
+import org.springdoc.core.annotations.RouterOperations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class StockChangeRouter {
+
+    private static final String FRANCHISE_EVENTS_PATH = "/api/franchises/{franchiseId}/stock-events";
+    private static final String BRANCH_EVENTS_PATH = "/api/branches/{branchId}/stock-events";
+
+    @Bean
+    @RouterOperations({
+        @RouterOperation(
+            path = "/api/franchises/{franchiseId}/stock-events",
+            method = RequestMethod.GET,
+            beanClass = StockChangeHandler.class,
+            beanMethod = "streamFranchiseStockChanges",
+            operation = @Operation(
+                operationId = "streamFranchiseStockChanges",
+                summary = "Watch stock changes of a franchise",
+                description = "Server-sent events for every product added, removed or restocked in any branch of the franchise, "
+                        + "each with the branch top product after the change. A client that reads too slowly loses its oldest "
+                        + "pending events, never the latest ones",
+                tags = {"Stock events"},
+                parameters = {
+                    @Parameter(
+                        name = "franchiseId",
+                        description = "ID de la franquicia",
+                        required = true,
+                        in = ParameterIn.PATH,
+                        schema = @Schema(type = "integer", format = "int64", example = "1")
+                    )
+                },
+                responses = {
+                    @ApiResponse(
+                        responseCode = "200",
+                        description = "Event stream; the event name is the change type",
+                        content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = StockChangeResponse.class)
+                        )
+                    ),
+                    @ApiResponse(
+                        responseCode = "404",
+                        description = "Franchise not found"
+                    ),
+                    @ApiResponse(
+                        responseCode = "500",
+                        description = "Internal server error"
+                    )
+                }
+            )
+        ),
+        @RouterOperation(
+            path = "/api/branches/{branchId}/stock-events",
+            method = RequestMethod.GET,
+            beanClass = StockChangeHandler.class,
+            beanMethod = "streamBranchStockChanges",
+            operation = @Operation(
+                operationId = "streamBranchStockChanges",
+                summary = "Watch stock changes of a branch",
+                description = "Server-sent events for every product added, removed or restocked in the branch, "
+                        + "each with the branch top product after the change",
+                tags = {"Stock events"},
+                parameters = {
+                    @Parameter(
+                        name = "branchId",
+                        description = "Branch ID",
+                        required = true,
+                        in = ParameterIn.PATH,
+                        schema = @Schema(type = "integer", format = "int64", example = "1")
+                    )
+                },
+                responses = {
+                    @ApiResponse(
+                        responseCode = "200",
+                        description = "Event stream; the event name is the change type",
+                        content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = StockChangeResponse.class)
+                        )
+                    ),
+                    @ApiResponse(
+                        responseCode = "404",
+                        description = "Branch not found"
+                    ),
+                    @ApiResponse(
+                        responseCode = "500",
+                        description = "Internal server error"
+                    )
+                }
+            )
+        )
+    })
+    public RouterFunction<ServerResponse> stockChangeRoutes(StockChangeHandler handler) {
+        return route(GET(FRANCHISE_EVENTS_PATH), handler::streamFranchiseStockChanges)
+                .andRoute(GET(BRANCH_EVENTS_PATH), handler::streamBranchStockChanges);
+    }
+}
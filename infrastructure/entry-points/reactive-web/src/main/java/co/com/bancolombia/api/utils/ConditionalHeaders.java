@@ -0,0 +1,47 @@
+package co.com.bancolombia.api.utils;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.function.Consumer;
+
+// Row versions travel as ETags: responses carry "<version>" and writes send it back in If-Match
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConditionalHeaders {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    // No header, or *, means an unconditional write
+    public static Long expectedVersion(ServerRequest request) {
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison (RFC 9110 13.1.1), so a weak tag never matches
+        if (tag.startsWith(WEAK_PREFIX)) {
+            throw new BusinessException(TechnicalMessage.VERSION_CONFLICT);
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(TechnicalMessage.INVALID_VERSION);
+        }
+    }
+
+    public static Consumer<HttpHeaders> eTag(Long version) {
+        return headers -> {
+            if (version != null) {
+                headers.setETag("\"" + version + "\"");
+            }
+        };
+    }
+}
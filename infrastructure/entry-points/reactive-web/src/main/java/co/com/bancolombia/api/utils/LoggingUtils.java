@@ -1,29 +1,31 @@
 package co.com.bancolombia.api.utils;
 
+import co.com.bancolombia.api.metrics.OperationMetricsFilter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 
+// Per-request INFO output comes from AccessLogFilter; these lines are DEBUG only so the hot path does not format them
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LoggingUtils {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
 
     public void logRequest(String operation, ServerRequest request, Object body) {
-        log.info("[REQUEST_START] operation={} method={} params={}",
-                operation,
-                request.method(),
-                request.pathVariables());
-
+        tagOperation(operation, request);
         if (log.isDebugEnabled()) {
+            log.debug("[REQUEST_START] operation={} method={} params={}",
+                    operation,
+                    request.method(),
+                    request.pathVariables());
             log.debug("[REQUEST_BODY] operation={} payload={}",
                     operation,
                     toJson(body));
@@ -31,18 +33,20 @@ public class LoggingUtils {
     }
 
     public void logRequest(String operation, ServerRequest request) {
-        log.info("[REQUEST_START] operation={} method={} params={}",
-                operation,
-                request.method(),
-                request.pathVariables());
+        tagOperation(operation, request);
+        if (log.isDebugEnabled()) {
+            log.debug("[REQUEST_START] operation={} method={} params={}",
+                    operation,
+                    request.method(),
+                    request.pathVariables());
+        }
     }
 
     public void logResponse(String operation, Object response, int status) {
-        log.info("[REQUEST_END] operation={} status={}",
-                operation,
-                status);
-
         if (log.isDebugEnabled()) {
+            log.debug("[REQUEST_END] operation={} status={}",
+                    operation,
+                    status);
             log.debug("[RESPONSE_BODY] operation={} payload={}",
                     operation,
                     toJson(response));
@@ -50,23 +54,33 @@ public class LoggingUtils {
     }
 
     public void logResponse(String operation, int status) {
-        log.info("[REQUEST_END] operation={} status={}",
-                operation,
-                status);
+        if (log.isDebugEnabled()) {
+            log.debug("[REQUEST_END] operation={} status={}",
+                    operation,
+                    status);
+        }
     }
 
+    // GlobalErrorHandler logs every failure once, at WARN or ERROR; this only adds it to the DEBUG request trace
     public void logError(String operation, Throwable error) {
-        log.error("[REQUEST_ERROR] operation={} exception={} message={}",
-                operation,
-                error.getClass().getSimpleName(),
-                error.getMessage());
+        if (log.isDebugEnabled()) {
+            log.debug("[REQUEST_ERROR] operation={} exception={} message={}",
+                    operation,
+                    error.getClass().getSimpleName(),
+                    error.getMessage());
+        }
+    }
+
+    // Lets OperationMetricsFilter and AccessLogFilter report the exchange under the same name the logs use
+    private void tagOperation(String operation, ServerRequest request) {
+        request.attributes().put(OperationMetricsFilter.OPERATION_ATTRIBUTE, operation);
     }
 
     private String toJson(Object obj) {
         if (obj == null) return "null";
         try {
             return objectMapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
+        } catch (JacksonException e) {
             return obj.toString();
         }
     }
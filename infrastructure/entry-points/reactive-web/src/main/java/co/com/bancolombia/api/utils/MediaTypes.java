@@ -0,0 +1,17 @@
+package co.com.bancolombia.api.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MediaTypes {
+
+    // Only an explicit NDJSON type, parameters included, selects the stream; */* keeps the JSON body
+    public static boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().stream()
+                .filter(type -> !type.isWildcardType() && !type.isWildcardSubtype() && type.getQualityValue() > 0)
+                .anyMatch(MediaType.APPLICATION_NDJSON::isCompatibleWith);
+    }
+}
@@ -0,0 +1,36 @@
+package co.com.bancolombia.api.utils;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageParams {
+
+    public static final String CURSOR = "cursor";
+    public static final String LIMIT = "limit";
+
+    public static Long cursor(ServerRequest request) {
+        return parse(request, CURSOR, Long::valueOf);
+    }
+
+    public static Integer limit(ServerRequest request) {
+        return parse(request, LIMIT, Integer::valueOf);
+    }
+
+    private static <T> T parse(ServerRequest request, String name, Function<String, T> parser) {
+        return request.queryParam(name)
+                .map(value -> {
+                    try {
+                        return parser.apply(value);
+                    } catch (NumberFormatException e) {
+                        throw new BusinessException(TechnicalMessage.INVALID_PAGE_REQUEST, name + " must be a number");
+                    }
+                })
+                .orElse(null);
+    }
+}
@@ -0,0 +1,110 @@
+package co.com.bancolombia.api.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestCoalescer - Unit Tests")
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight execution between concurrent identical requests")
+    void shouldShareInFlightExecution() {
+        // Arrange
+        RequestCoalescer<Long, String> coalescer = new RequestCoalescer<>("test", Duration.ZERO, registry);
+        Sinks.One<String> source = Sinks.one();
+        AtomicInteger executions = new AtomicInteger();
+
+        Mono<String> first = coalescer.execute(1L, () -> {
+            executions.incrementAndGet();
+            return source.asMono();
+        });
+        Mono<String> second = coalescer.execute(1L, () -> {
+            executions.incrementAndGet();
+            return source.asMono();
+        });
+
+        // Act & Assert
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> source.tryEmitValue("result"))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("result");
+                    assertThat(results.getT2()).isEqualTo("result");
+                })
+                .verifyComplete();
+
+        assertThat(executions).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should execute again once the previous execution completed without freshness window")
+    void shouldExecuteAgainAfterCompletion() {
+        // Arrange
+        RequestCoalescer<Long, Integer> coalescer = new RequestCoalescer<>("test", Duration.ZERO, registry);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.fromSupplier(executions::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.fromSupplier(executions::incrementAndGet)))
+                .expectNext(2)
+                .verifyComplete();
+
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse a completed result within the freshness window")
+    void shouldReuseResultWithinFreshnessWindow() {
+        // Arrange
+        RequestCoalescer<Long, Integer> coalescer = new RequestCoalescer<>("test", Duration.ofMinutes(1), registry);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.fromSupplier(executions::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.fromSupplier(executions::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not share failed executions with later requests")
+    void shouldNotShareFailures() {
+        // Arrange
+        RequestCoalescer<Long, Integer> coalescer = new RequestCoalescer<>("test", Duration.ofMinutes(1), registry);
+
+        // Act & Assert
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(coalescer.execute(1L, () -> Mono.just(7)))
+                .expectNext(7)
+                .verifyComplete();
+    }
+
+    private double count(String result) {
+        return registry.get("coalescer.requests").tag("name", "test").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.bancolombia.api.config;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ErrorResponseEncoder - Unit Tests")
+class ErrorResponseEncoderTest {
+
+    private final ErrorResponseEncoder encoder = new ErrorResponseEncoder();
+
+    @Test
+    @DisplayName("Should map technical codes to HTTP statuses")
+    void shouldMapTechnicalCodesToStatuses() {
+        // Act & Assert
+        assertThat(encoder.status(TechnicalMessage.BRANCH_NOT_FOUND)).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(encoder.status(TechnicalMessage.PRODUCT_NAME_DUPLICATE)).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(encoder.status(TechnicalMessage.VALIDATION_ERROR)).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(encoder.status(TechnicalMessage.DATABASE_ERROR)).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    @DisplayName("Should reuse the pre-encoded body when there is no detail")
+    void shouldReusePreEncodedBody() {
+        // Act
+        byte[] first = encoder.encode(TechnicalMessage.PRODUCT_NOT_FOUND, null);
+        byte[] second = encoder.encode(TechnicalMessage.PRODUCT_NOT_FOUND, "");
+
+        // Assert
+        assertThat(first).isSameAs(second);
+        assertThat(new String(first, StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"404\",\"message\":\"Product not found\"}");
+    }
+
+    @Test
+    @DisplayName("Should append an escaped detail when present")
+    void shouldAppendEscapedDetail() {
+        // Act
+        byte[] body = encoder.encode(TechnicalMessage.VALIDATION_ERROR, "name \"Café\"\nis invalid");
+
+        // Assert
+        assertThat(new String(body, StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"400\",\"message\":\"Validation error\",\"detail\":\"name \\\"Café\\\"\\nis invalid\"}");
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.bancolombia.api.config;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GlobalErrorHandler - Unit Tests")
+class GlobalErrorHandlerTest {
+
+    private final GlobalErrorHandler handler = new GlobalErrorHandler();
+
+    @Test
+    @DisplayName("Should answer business errors with the status of their technical code")
+    void shouldAnswerBusinessErrorsWithMappedStatus() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1"));
+
+        // Act
+        StepVerifier.create(handler.handle(exchange, new BusinessException(TechnicalMessage.PRODUCT_NOT_FOUND)))
+                .verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("{\"code\":\"404\",\"message\":\"Product not found\"}")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should hide unexpected errors behind an internal error body")
+    void shouldHideUnexpectedErrors() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1"));
+
+        // Act
+        StepVerifier.create(handler.handle(exchange, new IllegalStateException("boom"))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertThat(body).contains("\"code\":\"500\"").doesNotContain("boom"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,57 @@
+package co.com.bancolombia.api.consistency;
+
+import co.com.bancolombia.model.common.consistency.ReadYourWrites;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReadYourWritesFilter - Unit Tests")
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter();
+
+    @Test
+    @DisplayName("Should let the reads of a GET exchange go to the replica until it writes")
+    void shouldAllowReplicaForGet() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1"));
+        AtomicBoolean primary = new AtomicBoolean(true);
+        WebFilterChain chain = ex -> Mono.deferContextual(context -> {
+            primary.set(ReadYourWrites.requiresPrimary(context));
+            return Mono.empty();
+        });
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        assertThat(primary).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep every read of a write exchange on the primary")
+    void shouldRequirePrimaryForWrites() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/branches/1/products"));
+        AtomicBoolean primary = new AtomicBoolean();
+        WebFilterChain chain = ex -> Mono.deferContextual(context -> {
+            primary.set(ReadYourWrites.requiresPrimary(context));
+            return Mono.empty();
+        });
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        assertThat(primary).isTrue();
+    }
+}
@@ -3,23 +3,33 @@ package co.com.bancolombia.api.handler;
 import co.com.bancolombia.api.dto.request.BranchRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.dto.response.BranchResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
 import co.com.bancolombia.api.mapper.BranchRequestMapper;
 import co.com.bancolombia.api.mapper.BranchResponseMapper;
 import co.com.bancolombia.api.utils.LoggingUtils;
 import co.com.bancolombia.api.utils.ValidationUtils;
 import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
+import co.com.bancolombia.usecase.listbranches.ListBranchesUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -34,6 +44,9 @@ class BranchHandlerTest {
     @Mock
     private UpdateBranchNameUseCase updateBranchNameUseCase;
 
+    @Mock
+    private ListBranchesUseCase listBranchesUseCase;
+
     @Mock
     private ValidationUtils validationUtils;
 
@@ -46,6 +59,12 @@ class BranchHandlerTest {
     @Mock
     private LoggingUtils loggingUtils;
 
+    private final IdempotencyRepository idempotencyRepository = mock(IdempotencyRepository.class);
+
+    @Spy
+    private IdempotentResponder idempotentResponder =
+            new IdempotentResponder(idempotencyRepository, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
     @Mock
     private ServerRequest serverRequest;
 
@@ -78,6 +97,8 @@ class BranchHandlerTest {
         when(serverRequest.bodyToMono(BranchRequest.class)).thenReturn(Mono.just(request));
         when(validationUtils.validate(request)).thenReturn(Mono.just(request));
         when(branchRequestMapper.toDomain(request)).thenReturn(branch);
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
         when(addBranchToFranchiseUseCase.execute(franchiseId, branch)).thenReturn(Mono.just(savedBranch));
         when(branchResponseMapper.toResponse(savedBranch)).thenReturn(response);
 
@@ -113,7 +134,9 @@ class BranchHandlerTest {
         when(serverRequest.pathVariable("branchId")).thenReturn(String.valueOf(branchId));
         when(serverRequest.bodyToMono(UpdateNameRequest.class)).thenReturn(Mono.just(request));
         when(validationUtils.validate(request)).thenReturn(Mono.just(request));
-        when(updateBranchNameUseCase.execute(branchId, "Updated Branch")).thenReturn(Mono.just(updatedBranch));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateBranchNameUseCase.execute(branchId, "Updated Branch", null)).thenReturn(Mono.just(updatedBranch));
         when(branchResponseMapper.toResponse(updatedBranch)).thenReturn(response);
 
         // Act & Assert
@@ -124,7 +147,7 @@ class BranchHandlerTest {
                 .verifyComplete();
 
         verify(loggingUtils).logRequest("UPDATE_BRANCH_NAME", serverRequest);
-        verify(updateBranchNameUseCase).execute(branchId, "Updated Branch");
+        verify(updateBranchNameUseCase).execute(branchId, "Updated Branch", null);
     }
 
     @Test
@@ -171,7 +194,9 @@ class BranchHandlerTest {
         when(serverRequest.pathVariable("branchId")).thenReturn(String.valueOf(branchId));
         when(serverRequest.bodyToMono(UpdateNameRequest.class)).thenReturn(Mono.just(request));
         when(validationUtils.validate(request)).thenReturn(Mono.just(request));
-        when(updateBranchNameUseCase.execute(branchId, "Updated Branch")).thenReturn(Mono.error(error));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateBranchNameUseCase.execute(branchId, "Updated Branch", null)).thenReturn(Mono.error(error));
 
         // Act & Assert
         StepVerifier.create(handler.updateBranchName(serverRequest))
@@ -181,4 +206,29 @@ class BranchHandlerTest {
         verify(loggingUtils).logRequest("UPDATE_BRANCH_NAME", serverRequest);
         verify(loggingUtils).logError("UPDATE_BRANCH_NAME", error);
     }
+
+    @Test
+    @DisplayName("Should list a page of branches using the cursor and limit query params")
+    void shouldListBranchesPage() {
+        // Arrange
+        Long franchiseId = 1L;
+        Branch branch = Branch.builder().id(11L).name("Branch").franchiseId(franchiseId).build();
+        BranchResponse response = new BranchResponse();
+        response.setId(11L);
+
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(serverRequest.queryParam("cursor")).thenReturn(Optional.of("10"));
+        when(serverRequest.queryParam("limit")).thenReturn(Optional.of("1"));
+        when(listBranchesUseCase.execute(franchiseId, 10L, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(branch), 11L)));
+        when(branchResponseMapper.toResponse(branch)).thenReturn(response);
+
+        // Act & Assert
+        StepVerifier.create(handler.listBranches(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("LIST_BRANCHES", serverRequest);
+        verify(listBranchesUseCase).execute(franchiseId, 10L, 1);
+    }
 }
@@ -1,33 +1,50 @@
 package co.com.bancolombia.api.handler;
 
+import co.com.bancolombia.api.coalescing.RequestCoalescer;
 import co.com.bancolombia.api.dto.request.FranchiseRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.dto.response.FranchiseResponse;
 import co.com.bancolombia.api.dto.response.FranchiseWithMaxStockProductsResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
+import co.com.bancolombia.api.mapper.BranchResponseMapper;
 import co.com.bancolombia.api.mapper.FranchiseRequestMapper;
 import co.com.bancolombia.api.mapper.FranchiseResponseMapper;
 import co.com.bancolombia.api.mapper.FranchiseWithMaxStockProductsResponseMapper;
 import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.BranchWithTopProduct;
 import co.com.bancolombia.model.common.enums.TechnicalMessage;
 import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.common.pagination.KeysetPage;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.model.franchise.FranchiseWithTopProducts;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.exportfranchise.ExportFranchiseUseCase;
 import co.com.bancolombia.usecase.getmaxstockproductsbyfranchise.GetMaxStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.listfranchises.ListFranchisesUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -45,6 +62,12 @@ class FranchiseHandlerTest {
     @Mock
     private UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
 
+    @Mock
+    private ExportFranchiseUseCase exportFranchiseUseCase;
+
+    @Mock
+    private ListFranchisesUseCase listFranchisesUseCase;
+
     @Mock
     private FranchiseRequestMapper franchiseRequestMapper;
 
@@ -54,9 +77,22 @@ class FranchiseHandlerTest {
     @Mock
     private FranchiseWithMaxStockProductsResponseMapper franchiseWithMaxStockProductsResponseMapper;
 
+    @Mock
+    private BranchResponseMapper branchResponseMapper;
+
     @Mock
     private LoggingUtils loggingUtils;
 
+    @Spy
+    private RequestCoalescer<String, FranchiseWithTopProducts> maxStockProductsCoalescer =
+            new RequestCoalescer<>("max-stock-products", Duration.ZERO, new SimpleMeterRegistry());
+
+    private final IdempotencyRepository idempotencyRepository = mock(IdempotencyRepository.class);
+
+    @Spy
+    private IdempotentResponder idempotentResponder =
+            new IdempotentResponder(idempotencyRepository, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
     @Mock
     private ServerRequest serverRequest;
 
@@ -85,6 +121,8 @@ class FranchiseHandlerTest {
 
         when(serverRequest.bodyToMono(FranchiseRequest.class)).thenReturn(Mono.just(request));
         when(franchiseRequestMapper.toDomain(request)).thenReturn(franchise);
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
         when(createFranchiseUseCase.execute(franchise)).thenReturn(Mono.just(savedFranchise));
         when(franchiseResponseMapper.toResponse(savedFranchise)).thenReturn(response);
 
@@ -129,19 +167,142 @@ class FranchiseHandlerTest {
 
         FranchiseWithMaxStockProductsResponse response = new FranchiseWithMaxStockProductsResponse();
 
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_JSON));
         when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(getMaxStockProductsByFranchiseUseCase.version(franchiseId)).thenReturn(Mono.just("1-2-3"));
+        when(serverRequest.checkNotModified("\"1-2-3\"")).thenReturn(Mono.empty());
         when(getMaxStockProductsByFranchiseUseCase.execute(franchiseId)).thenReturn(Mono.just(franchiseWithProducts));
         when(franchiseWithMaxStockProductsResponseMapper.toResponse(franchiseWithProducts)).thenReturn(response);
 
         // Act & Assert
         StepVerifier.create(handler.getMaxStockProducts(serverRequest))
                 .expectNextMatches(serverResponse -> 
-                    serverResponse.statusCode() == HttpStatus.OK
+                    serverResponse.statusCode() == HttpStatus.OK &&
+                    "\"1-2-3\"".equals(serverResponse.headers().getETag())
                 )
                 .verifyComplete();
 
         verify(loggingUtils).logRequest("GET_MAX_STOCK_PRODUCTS", serverRequest);
         verify(getMaxStockProductsByFranchiseUseCase).execute(franchiseId);
+        verify(maxStockProductsCoalescer).execute(eq("1:1-2-3"), any());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without reading top products when the ETag still matches")
+    void shouldAnswerNotModifiedWhenETagMatches() {
+        // Arrange
+        Long franchiseId = 1L;
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_JSON));
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(getMaxStockProductsByFranchiseUseCase.version(franchiseId)).thenReturn(Mono.just("1-2-3"));
+        when(serverRequest.checkNotModified("\"1-2-3\""))
+                .thenReturn(ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag("\"1-2-3\"").build());
+
+        // Act & Assert
+        StepVerifier.create(handler.getMaxStockProducts(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.NOT_MODIFIED)
+                .verifyComplete();
+
+        verify(getMaxStockProductsByFranchiseUseCase, never()).execute(any());
+        verify(franchiseWithMaxStockProductsResponseMapper, never()).toResponse(any(FranchiseWithTopProducts.class));
+        verify(loggingUtils).logResponse("GET_MAX_STOCK_PRODUCTS", HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    @DisplayName("Should stream branches as NDJSON when the client accepts it")
+    void shouldStreamMaxStockProductsAsNdjson() {
+        // Arrange
+        Long franchiseId = 1L;
+        BranchWithTopProduct branchWithProduct = BranchWithTopProduct.builder()
+                .branch(Branch.builder().id(10L).name("Branch").franchiseId(franchiseId).build())
+                .build();
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_NDJSON));
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(getMaxStockProductsByFranchiseUseCase.stream(franchiseId)).thenReturn(Flux.just(branchWithProduct));
+
+        // Act & Assert
+        StepVerifier.create(handler.getMaxStockProducts(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK &&
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("STREAM_MAX_STOCK_PRODUCTS", serverRequest);
+        verify(getMaxStockProductsByFranchiseUseCase, never()).execute(franchiseId);
+        verify(maxStockProductsCoalescer, never()).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream when the client accepts NDJSON with parameters among other types")
+    void shouldStreamWhenNdjsonHasParameters() {
+        // Arrange
+        Long franchiseId = 1L;
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(MediaType.parseMediaTypes("application/json;q=0.5, application/x-ndjson;charset=UTF-8"));
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(getMaxStockProductsByFranchiseUseCase.stream(franchiseId)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(handler.getMaxStockProducts(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("STREAM_MAX_STOCK_PRODUCTS", serverRequest);
+    }
+
+    @Test
+    @DisplayName("Should keep the JSON body for a wildcard Accept")
+    void shouldNotStreamForWildcardAccept() {
+        // Arrange
+        Long franchiseId = 1L;
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(List.of(MediaType.ALL));
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(getMaxStockProductsByFranchiseUseCase.version(franchiseId)).thenReturn(Mono.just("1-2-3"));
+        when(serverRequest.checkNotModified("\"1-2-3\""))
+                .thenReturn(ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag("\"1-2-3\"").build());
+
+        // Act & Assert
+        StepVerifier.create(handler.getMaxStockProducts(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.NOT_MODIFIED)
+                .verifyComplete();
+
+        verify(getMaxStockProductsByFranchiseUseCase, never()).stream(any());
+    }
+
+    @Test
+    @DisplayName("Should export franchise branches as NDJSON")
+    void shouldExportFranchiseAsNdjson() {
+        // Arrange
+        Long franchiseId = 1L;
+        Branch branch = Branch.builder().id(10L).name("Branch").franchiseId(franchiseId).productList(List.of()).build();
+
+        when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
+        when(serverRequest.queryParam("limit")).thenReturn(Optional.empty());
+        when(exportFranchiseUseCase.execute(franchiseId, null)).thenReturn(Flux.just(branch));
+
+        // Act & Assert
+        StepVerifier.create(handler.exportFranchise(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK &&
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("EXPORT_FRANCHISE", serverRequest);
+        verify(exportFranchiseUseCase).execute(franchiseId, null);
     }
 
     @Test
@@ -163,7 +324,9 @@ class FranchiseHandlerTest {
 
         when(serverRequest.pathVariable("franchiseId")).thenReturn(String.valueOf(franchiseId));
         when(serverRequest.bodyToMono(UpdateNameRequest.class)).thenReturn(Mono.just(request));
-        when(updateFranchiseNameUseCase.execute(franchiseId, "Updated Franchise")).thenReturn(Mono.just(updatedFranchise));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateFranchiseNameUseCase.execute(franchiseId, "Updated Franchise", null)).thenReturn(Mono.just(updatedFranchise));
         when(franchiseResponseMapper.toResponse(updatedFranchise)).thenReturn(response);
 
         // Act & Assert
@@ -174,6 +337,43 @@ class FranchiseHandlerTest {
                 .verifyComplete();
 
         verify(loggingUtils).logRequest("UPDATE_FRANCHISE_NAME", serverRequest);
-        verify(updateFranchiseNameUseCase).execute(franchiseId, "Updated Franchise");
+        verify(updateFranchiseNameUseCase).execute(franchiseId, "Updated Franchise", null);
+    }
+
+    @Test
+    @DisplayName("Should list a page of franchises")
+    void shouldListFranchisesPage() {
+        // Arrange
+        Franchise franchise = Franchise.builder().id(1L).name("Franchise").build();
+        FranchiseResponse response = new FranchiseResponse();
+        response.setId(1L);
+
+        when(serverRequest.queryParam("cursor")).thenReturn(Optional.empty());
+        when(serverRequest.queryParam("limit")).thenReturn(Optional.of("1"));
+        when(listFranchisesUseCase.execute(null, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(franchise), 1L)));
+        when(franchiseResponseMapper.toResponse(franchise)).thenReturn(response);
+
+        // Act & Assert
+        StepVerifier.create(handler.listFranchises(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("LIST_FRANCHISES", serverRequest);
+    }
+
+    @Test
+    @DisplayName("Should reject a non numeric cursor with INVALID_PAGE_REQUEST")
+    void shouldRejectNonNumericCursor() {
+        // Arrange
+        when(serverRequest.queryParam("cursor")).thenReturn(Optional.of("abc"));
+
+        // Act & Assert
+        StepVerifier.create(handler.listFranchises(serverRequest))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.INVALID_PAGE_REQUEST)
+                .verify();
+
+        verify(listFranchisesUseCase, never()).execute(any(), any());
     }
 }
@@ -1,27 +1,51 @@
 package co.com.bancolombia.api.handler;
 
+import co.com.bancolombia.api.dto.request.AdjustStockRequest;
 import co.com.bancolombia.api.dto.request.ProductRequest;
+import co.com.bancolombia.api.dto.request.StockUpdateItemRequest;
 import co.com.bancolombia.api.dto.request.UpdateNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateStockRequest;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.idempotency.IdempotentResponder;
 import co.com.bancolombia.api.mapper.ProductRequestMapper;
 import co.com.bancolombia.api.mapper.ProductResponseMapper;
 import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import co.com.bancolombia.model.common.pagination.KeysetPage;
+import co.com.bancolombia.model.idempotency.IdempotentResponse;
+import co.com.bancolombia.model.idempotency.gateways.IdempotencyRepository;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.StockUpdate;
+import co.com.bancolombia.model.product.StockUpdateResult;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.importproductstobranch.ImportProductsToBranchUseCase;
+import co.com.bancolombia.usecase.listproducts.ListProductsUseCase;
 import co.com.bancolombia.usecase.removeproductfrombranch.RemoveProductFromBranchUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
 import co.com.bancolombia.usecase.updateproductstock.UpdateProductStockUseCase;
+import co.com.bancolombia.usecase.updateproductstockbatch.UpdateProductStockBatchUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
@@ -32,15 +56,27 @@ class ProductHandlerTest {
     @Mock
     private AddProductToBranchUseCase addProductToBranchUseCase;
 
+    @Mock
+    private ImportProductsToBranchUseCase importProductsToBranchUseCase;
+
     @Mock
     private RemoveProductFromBranchUseCase removeProductFromBranchUseCase;
 
     @Mock
     private UpdateProductStockUseCase updateProductStockUseCase;
 
+    @Mock
+    private AdjustProductStockUseCase adjustProductStockUseCase;
+
+    @Mock
+    private UpdateProductStockBatchUseCase updateProductStockBatchUseCase;
+
     @Mock
     private UpdateProductNameUseCase updateProductNameUseCase;
 
+    @Mock
+    private ListProductsUseCase listProductsUseCase;
+
     @Mock
     private ProductRequestMapper productRequestMapper;
 
@@ -50,6 +86,12 @@ class ProductHandlerTest {
     @Mock
     private LoggingUtils loggingUtils;
 
+    private final IdempotencyRepository idempotencyRepository = mock(IdempotencyRepository.class);
+
+    @Spy
+    private IdempotentResponder idempotentResponder =
+            new IdempotentResponder(idempotencyRepository, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
     @Mock
     private ServerRequest serverRequest;
 
@@ -85,6 +127,8 @@ class ProductHandlerTest {
         when(serverRequest.pathVariable("branchId")).thenReturn(String.valueOf(branchId));
         when(serverRequest.bodyToMono(ProductRequest.class)).thenReturn(Mono.just(request));
         when(productRequestMapper.toDomain(request)).thenReturn(product);
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
         when(addProductToBranchUseCase.execute(branchId, product)).thenReturn(Mono.just(savedProduct));
         when(productResponseMapper.toResponse(savedProduct)).thenReturn(response);
 
@@ -99,6 +143,134 @@ class ProductHandlerTest {
         verify(addProductToBranchUseCase).execute(branchId, product);
     }
 
+    @Test
+    @DisplayName("Should answer a retry with the same Idempotency-Key from the stored response")
+    void shouldReplayRetryWithSameIdempotencyKey() {
+        // Arrange
+        ProductRequest request = new ProductRequest();
+        request.setName("Test Product");
+        request.setStock(100);
+        Product product = Product.builder().name("Test Product").stock(100).build();
+        Product savedProduct = Product.builder().id(1L).name("Test Product").stock(100).branchId(1L).build();
+        ProductResponse response = new ProductResponse();
+        response.setId(1L);
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("branchId")).thenReturn("1");
+        when(serverRequest.path()).thenReturn("/api/branches/1/products");
+        when(serverRequest.bodyToMono(ProductRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(IdempotentResponder.IDEMPOTENCY_KEY)).thenReturn("retry-1");
+        when(productRequestMapper.toDomain(request)).thenReturn(product);
+        when(addProductToBranchUseCase.execute(1L, product)).thenReturn(Mono.just(savedProduct));
+        when(productResponseMapper.toResponse(savedProduct)).thenReturn(response);
+        when(idempotencyRepository.find("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.empty());
+        when(idempotencyRepository.reserve(eq("ADD_PRODUCT_TO_BRANCH:retry-1"), any())).thenReturn(Mono.just(true));
+        when(idempotencyRepository.save(eq("ADD_PRODUCT_TO_BRANCH:retry-1"), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(handler.addProductToBranch(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.CREATED)
+                .verifyComplete();
+
+        ArgumentCaptor<IdempotentResponse> stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyRepository).save(eq("ADD_PRODUCT_TO_BRANCH:retry-1"), stored.capture());
+        when(idempotencyRepository.find("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.just(stored.getValue()));
+
+        // Act & Assert
+        StepVerifier.create(handler.addProductToBranch(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.CREATED
+                        && "true".equals(serverResponse.headers().getFirst(IdempotentResponder.REPLAYED)))
+                .verifyComplete();
+
+        verify(addProductToBranchUseCase, times(1)).execute(1L, product);
+    }
+
+    @Test
+    @DisplayName("Should answer a retry as in progress while another attempt holds the Idempotency-Key")
+    void shouldAnswerInProgressWhileKeyIsReserved() {
+        // Arrange
+        ProductRequest request = new ProductRequest();
+        request.setName("Test Product");
+        request.setStock(100);
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("branchId")).thenReturn("1");
+        when(serverRequest.path()).thenReturn("/api/branches/1/products");
+        when(serverRequest.bodyToMono(ProductRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(IdempotentResponder.IDEMPOTENCY_KEY)).thenReturn("retry-1");
+        when(idempotencyRepository.find("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.empty());
+        when(idempotencyRepository.reserve(eq("ADD_PRODUCT_TO_BRANCH:retry-1"), any())).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(handler.addProductToBranch(serverRequest))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.IDEMPOTENCY_REQUEST_IN_PROGRESS)
+                .verify();
+
+        verify(addProductToBranchUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should give the Idempotency-Key back when the attempt fails")
+    void shouldReleaseIdempotencyKeyWhenAttemptFails() {
+        // Arrange
+        ProductRequest request = new ProductRequest();
+        request.setName("Test Product");
+        request.setStock(100);
+        Product product = Product.builder().name("Test Product").stock(100).build();
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("branchId")).thenReturn("1");
+        when(serverRequest.path()).thenReturn("/api/branches/1/products");
+        when(serverRequest.bodyToMono(ProductRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(IdempotentResponder.IDEMPOTENCY_KEY)).thenReturn("retry-1");
+        when(productRequestMapper.toDomain(request)).thenReturn(product);
+        when(addProductToBranchUseCase.execute(1L, product))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND)));
+        when(idempotencyRepository.find("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.empty());
+        when(idempotencyRepository.reserve(eq("ADD_PRODUCT_TO_BRANCH:retry-1"), any())).thenReturn(Mono.just(true));
+        when(idempotencyRepository.release("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(handler.addProductToBranch(serverRequest))
+                .expectError(BusinessException.class)
+                .verify();
+
+        verify(idempotencyRepository).release("ADD_PRODUCT_TO_BRANCH:retry-1");
+        verify(idempotencyRepository, never()).save(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key already used for a different request")
+    void shouldRejectIdempotencyKeyReusedForDifferentRequest() {
+        // Arrange
+        ProductRequest request = new ProductRequest();
+        request.setName("Other Product");
+        request.setStock(5);
+        IdempotentResponse stored = IdempotentResponse.builder()
+                .fingerprint("fingerprint-of-another-request")
+                .status(201)
+                .body("{}")
+                .build();
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("branchId")).thenReturn("1");
+        when(serverRequest.bodyToMono(ProductRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(IdempotentResponder.IDEMPOTENCY_KEY)).thenReturn("retry-1");
+        when(idempotencyRepository.find("ADD_PRODUCT_TO_BRANCH:retry-1")).thenReturn(Mono.just(stored));
+
+        // Act & Assert
+        StepVerifier.create(handler.addProductToBranch(serverRequest))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.IDEMPOTENCY_KEY_REUSED)
+                .verify();
+
+        verify(addProductToBranchUseCase, never()).execute(any(), any());
+    }
+
     @Test
     @DisplayName("Should remove product from branch successfully")
     void shouldRemoveProductFromBranchSuccessfully() {
@@ -143,7 +315,9 @@ class ProductHandlerTest {
 
         when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
         when(serverRequest.bodyToMono(UpdateStockRequest.class)).thenReturn(Mono.just(request));
-        when(updateProductStockUseCase.execute(productId, 200)).thenReturn(Mono.just(updatedProduct));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateProductStockUseCase.execute(productId, 200, null)).thenReturn(Mono.just(updatedProduct));
         when(productResponseMapper.toResponse(updatedProduct)).thenReturn(response);
 
         // Act & Assert
@@ -154,7 +328,188 @@ class ProductHandlerTest {
                 .verifyComplete();
 
         verify(loggingUtils).logRequest("UPDATE_PRODUCT_STOCK", serverRequest);
-        verify(updateProductStockUseCase).execute(productId, 200);
+        verify(updateProductStockUseCase).execute(productId, 200, null);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the stock update and answer the new version as ETag")
+    void shouldUpdateProductStockConditionally() {
+        // Arrange
+        Long productId = 1L;
+        UpdateStockRequest request = new UpdateStockRequest();
+        request.setStock(200);
+
+        Product updatedProduct = Product.builder().id(productId).stock(200).version(4L).build();
+        ProductResponse response = new ProductResponse();
+        response.setId(productId);
+        response.setStock(200);
+        response.setVersion(4L);
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
+        when(serverRequest.bodyToMono(UpdateStockRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(HttpHeaders.IF_MATCH)).thenReturn("\"3\"");
+        when(updateProductStockUseCase.execute(productId, 200, 3L)).thenReturn(Mono.just(updatedProduct));
+        when(productResponseMapper.toResponse(updatedProduct)).thenReturn(response);
+
+        // Act & Assert
+        StepVerifier.create(handler.updateProductStock(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK
+                        && "\"4\"".equals(serverResponse.headers().getETag())
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject an If-Match header that is not a single version with INVALID_VERSION")
+    void shouldRejectMalformedIfMatch() {
+        // Arrange
+        UpdateStockRequest request = new UpdateStockRequest();
+        request.setStock(200);
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("productId")).thenReturn("1");
+        when(serverRequest.bodyToMono(UpdateStockRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(HttpHeaders.IF_MATCH)).thenReturn("\"3\", \"4\"");
+
+        // Act & Assert
+        StepVerifier.create(handler.updateProductStock(serverRequest))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.INVALID_VERSION)
+                .verify();
+
+        verify(updateProductStockUseCase, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer VERSION_CONFLICT to a weak If-Match tag, which never matches strongly")
+    void shouldRejectWeakIfMatch() {
+        // Arrange
+        UpdateStockRequest request = new UpdateStockRequest();
+        request.setStock(200);
+
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.pathVariable("productId")).thenReturn("1");
+        when(serverRequest.bodyToMono(UpdateStockRequest.class)).thenReturn(Mono.just(request));
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.firstHeader(HttpHeaders.IF_MATCH)).thenReturn("W/\"3\"");
+
+        // Act & Assert
+        StepVerifier.create(handler.updateProductStock(serverRequest))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.VERSION_CONFLICT)
+                .verify();
+
+        verify(updateProductStockUseCase, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should adjust product stock successfully")
+    void shouldAdjustProductStockSuccessfully() {
+        // Arrange
+        Long productId = 1L;
+        AdjustStockRequest request = new AdjustStockRequest();
+        request.setDelta(-3);
+
+        Product adjustedProduct = Product.builder()
+                .id(productId)
+                .name("Test Product")
+                .stock(97)
+                .branchId(1L)
+                .build();
+
+        ProductResponse response = new ProductResponse();
+        response.setId(productId);
+        response.setName("Test Product");
+        response.setStock(97);
+
+        when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
+        when(serverRequest.bodyToMono(AdjustStockRequest.class)).thenReturn(Mono.just(request));
+        when(adjustProductStockUseCase.execute(productId, -3)).thenReturn(Mono.just(adjustedProduct));
+        when(productResponseMapper.toResponse(adjustedProduct)).thenReturn(response);
+
+        // Act & Assert
+        StepVerifier.create(handler.adjustProductStock(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("ADJUST_PRODUCT_STOCK", serverRequest);
+        verify(adjustProductStockUseCase).execute(productId, -3);
+    }
+
+    @Test
+    @DisplayName("Should stream bulk stock update results as NDJSON when requested")
+    void shouldStreamBulkStockUpdateResults() {
+        // Arrange
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        StockUpdate update = new StockUpdate(1L, 50);
+
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_NDJSON));
+        when(serverRequest.bodyToFlux(StockUpdateItemRequest.class))
+                .thenReturn(Flux.just(new StockUpdateItemRequest(1L, 50)));
+        when(updateProductStockBatchUseCase.execute(any()))
+                .thenReturn(Flux.just(StockUpdateResult.updated(update)));
+
+        // Act & Assert
+        StepVerifier.create(handler.updateProductStockBatch(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK &&
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("UPDATE_PRODUCT_STOCK_BATCH", serverRequest);
+        verify(updateProductStockBatchUseCase).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should stream bulk stock update results as NDJSON when requested with parameters")
+    void shouldStreamBulkStockUpdateResultsForNdjsonWithParameters() {
+        // Arrange
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        StockUpdate update = new StockUpdate(1L, 50);
+
+        when(serverRequest.headers()).thenReturn(headers);
+        when(headers.accept()).thenReturn(MediaType.parseMediaTypes("application/x-ndjson;charset=UTF-8"));
+        when(serverRequest.bodyToFlux(StockUpdateItemRequest.class))
+                .thenReturn(Flux.just(new StockUpdateItemRequest(1L, 50)));
+        when(updateProductStockBatchUseCase.execute(any()))
+                .thenReturn(Flux.just(StockUpdateResult.updated(update)));
+
+        // Act & Assert
+        StepVerifier.create(handler.updateProductStockBatch(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream product import results as NDJSON")
+    void shouldStreamProductImportResults() {
+        // Arrange
+        Long branchId = 1L;
+
+        when(serverRequest.pathVariable("branchId")).thenReturn(String.valueOf(branchId));
+        when(serverRequest.bodyToFlux(ProductRequest.class)).thenReturn(Flux.empty());
+        when(importProductsToBranchUseCase.execute(eq(branchId), any())).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(handler.importProductsToBranch(serverRequest))
+                .expectNextMatches(serverResponse ->
+                    serverResponse.statusCode() == HttpStatus.OK &&
+                    MediaType.APPLICATION_NDJSON.equals(serverResponse.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("IMPORT_PRODUCTS_TO_BRANCH", serverRequest);
+        verify(importProductsToBranchUseCase).execute(eq(branchId), any());
     }
 
     @Test
@@ -179,7 +534,9 @@ class ProductHandlerTest {
 
         when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
         when(serverRequest.bodyToMono(UpdateNameRequest.class)).thenReturn(Mono.just(request));
-        when(updateProductNameUseCase.execute(productId, "Updated Product")).thenReturn(Mono.just(updatedProduct));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateProductNameUseCase.execute(productId, "Updated Product", null)).thenReturn(Mono.just(updatedProduct));
         when(productResponseMapper.toResponse(updatedProduct)).thenReturn(response);
 
         // Act & Assert
@@ -190,7 +547,7 @@ class ProductHandlerTest {
                 .verifyComplete();
 
         verify(loggingUtils).logRequest("UPDATE_PRODUCT_NAME", serverRequest);
-        verify(updateProductNameUseCase).execute(productId, "Updated Product");
+        verify(updateProductNameUseCase).execute(productId, "Updated Product", null);
     }
 
     @Test
@@ -257,7 +614,9 @@ class ProductHandlerTest {
 
         when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
         when(serverRequest.bodyToMono(UpdateStockRequest.class)).thenReturn(Mono.just(request));
-        when(updateProductStockUseCase.execute(productId, 200)).thenReturn(Mono.error(error));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateProductStockUseCase.execute(productId, 200, null)).thenReturn(Mono.error(error));
 
         // Act & Assert
         StepVerifier.create(handler.updateProductStock(serverRequest))
@@ -295,7 +654,9 @@ class ProductHandlerTest {
 
         when(serverRequest.pathVariable("productId")).thenReturn(String.valueOf(productId));
         when(serverRequest.bodyToMono(UpdateNameRequest.class)).thenReturn(Mono.just(request));
-        when(updateProductNameUseCase.execute(productId, "Updated Product")).thenReturn(Mono.error(error));
+        ServerRequest.Headers headers = mock(ServerRequest.Headers.class);
+        when(serverRequest.headers()).thenReturn(headers);
+        when(updateProductNameUseCase.execute(productId, "Updated Product", null)).thenReturn(Mono.error(error));
 
         // Act & Assert
         StepVerifier.create(handler.updateProductName(serverRequest))
@@ -305,4 +666,27 @@ class ProductHandlerTest {
         verify(loggingUtils).logRequest("UPDATE_PRODUCT_NAME", serverRequest);
         verify(loggingUtils).logError("UPDATE_PRODUCT_NAME", error);
     }
+
+    @Test
+    @DisplayName("Should list the first page of products when no pagination params are sent")
+    void shouldListFirstPageOfProducts() {
+        // Arrange
+        Long branchId = 1L;
+        Product product = Product.builder().id(3L).name("Product").stock(10).branchId(branchId).build();
+        ProductResponse response = new ProductResponse();
+
+        when(serverRequest.pathVariable("branchId")).thenReturn(String.valueOf(branchId));
+        when(serverRequest.queryParam("cursor")).thenReturn(Optional.empty());
+        when(serverRequest.queryParam("limit")).thenReturn(Optional.empty());
+        when(listProductsUseCase.execute(branchId, null, null))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(product), null)));
+        when(productResponseMapper.toResponse(product)).thenReturn(response);
+
+        // Act & Assert
+        StepVerifier.create(handler.listProducts(serverRequest))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("LIST_PRODUCTS", serverRequest);
+    }
 }
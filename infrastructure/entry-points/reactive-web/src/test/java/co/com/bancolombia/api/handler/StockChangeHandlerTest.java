@@ -0,0 +1,92 @@
+package co.com.bancolombia.api.handler;
+
+import co.com.bancolombia.api.mapper.StockChangeResponseMapper;
+import co.com.bancolombia.api.utils.LoggingUtils;
+import co.com.bancolombia.usecase.watchstockchanges.WatchStockChangesUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockChangeHandler - Unit Tests")
+class StockChangeHandlerTest {
+
+    @Mock
+    private WatchStockChangesUseCase watchStockChangesUseCase;
+
+    @Mock
+    private StockChangeResponseMapper stockChangeResponseMapper;
+
+    @Mock
+    private LoggingUtils loggingUtils;
+
+    @Mock
+    private ServerRequest serverRequest;
+
+    @InjectMocks
+    private StockChangeHandler handler;
+
+    @Test
+    @DisplayName("Should open an event stream for a franchise")
+    void shouldStreamFranchiseStockChanges() {
+        // Arrange
+        when(serverRequest.pathVariable("franchiseId")).thenReturn("1");
+        when(watchStockChangesUseCase.byFranchise(1L)).thenReturn(Flux.never());
+
+        // Act & Assert
+        StepVerifier.create(handler.streamFranchiseStockChanges(serverRequest))
+                .expectNextMatches(response ->
+                        response.statusCode() == HttpStatus.OK
+                                && MediaType.TEXT_EVENT_STREAM.equals(response.headers().getContentType())
+                )
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("STREAM_FRANCHISE_STOCK_CHANGES", serverRequest);
+        verify(watchStockChangesUseCase).byFranchise(1L);
+    }
+
+    @Test
+    @DisplayName("Should open an event stream for a branch")
+    void shouldStreamBranchStockChanges() {
+        // Arrange
+        when(serverRequest.pathVariable("branchId")).thenReturn("10");
+        when(watchStockChangesUseCase.byBranch(10L)).thenReturn(Flux.never());
+
+        // Act & Assert
+        StepVerifier.create(handler.streamBranchStockChanges(serverRequest))
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verify(loggingUtils).logRequest("STREAM_BRANCH_STOCK_CHANGES", serverRequest);
+        verify(watchStockChangesUseCase).byBranch(10L);
+    }
+
+    @Test
+    @DisplayName("Should fail when the franchise ID is not a number")
+    void shouldFailWithInvalidFranchiseId() {
+        // Arrange
+        when(serverRequest.pathVariable("franchiseId")).thenReturn("abc");
+
+        // Act & Assert
+        StepVerifier.create(handler.streamFranchiseStockChanges(serverRequest))
+                .expectError(NumberFormatException.class)
+                .verify();
+
+        verify(watchStockChangesUseCase, never()).byFranchise(any());
+        verify(loggingUtils).logError(eq("STREAM_FRANCHISE_STOCK_CHANGES"), any(NumberFormatException.class));
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.bancolombia.api.logging;
+
+import co.com.bancolombia.api.metrics.OperationMetricsFilter;
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccessLogFilter - Unit Tests")
+class AccessLogFilterTest {
+
+    @Test
+    @DisplayName("Should always log failed requests even when the operation is not sampled")
+    void shouldAlwaysLogFailures() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(0.0, Map.of()));
+
+        // Act & Assert
+        assertThat(filter.shouldLog("CREATE_FRANCHISE", true)).isTrue();
+        assertThat(filter.shouldLog("CREATE_FRANCHISE", false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply per-operation sample rates over the default")
+    void shouldApplyPerOperationRates() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(
+                new AccessLogProperties(1.0, Map.of("GET_MAX_STOCK_PRODUCTS", 0.0)));
+
+        // Act & Assert
+        assertThat(filter.shouldLog("GET_MAX_STOCK_PRODUCTS", false)).isFalse();
+        assertThat(filter.shouldLog("UPDATE_PRODUCT_STOCK", false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pass the exchange through unchanged")
+    void shouldPassExchangeThrough() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(1.0, null));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1/max-stock-products"));
+
+        // Act & Assert
+        StepVerifier.create(filter.filter(exchange, ex -> {
+                    ex.getAttributes().put(OperationMetricsFilter.OPERATION_ATTRIBUTE, "GET_MAX_STOCK_PRODUCTS");
+                    return Mono.empty();
+                }))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report the status GlobalErrorHandler answers a propagated error with")
+    void shouldDeriveStatusFromPropagatedError() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(1.0, null));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1"));
+
+        // Act & Assert
+        assertThat(filter.status(exchange, new BusinessException(TechnicalMessage.FRANCHISE_NOT_FOUND)))
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(filter.status(exchange, new IllegalStateException("boom")))
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    @DisplayName("Should report the response status when the exchange did not fail")
+    void shouldReportResponseStatusWithoutError() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(1.0, null));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/franchises"));
+        exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+
+        // Act & Assert
+        assertThat(filter.status(exchange, null)).isEqualTo(HttpStatus.CREATED);
+    }
+}
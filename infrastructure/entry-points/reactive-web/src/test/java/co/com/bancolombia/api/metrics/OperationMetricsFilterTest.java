@@ -0,0 +1,89 @@
+package co.com.bancolombia.api.metrics;
+
+import co.com.bancolombia.model.common.enums.TechnicalMessage;
+import co.com.bancolombia.model.common.exceptions.BusinessException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OperationMetricsFilter - Unit Tests")
+class OperationMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private OperationMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new OperationMetricsFilter(registry, new Duration[]{Duration.ofMillis(50), Duration.ofMillis(100)});
+    }
+
+    @Test
+    @DisplayName("Should record a successful exchange under the handler operation")
+    void shouldRecordSuccessfulExchange() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/franchises"));
+        WebFilterChain chain = ex -> {
+            ex.getAttributes().put(OperationMetricsFilter.OPERATION_ATTRIBUTE, "CREATE_FRANCHISE");
+            ex.getResponse().setStatusCode(HttpStatus.CREATED);
+            return Mono.empty();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        Timer timer = registry.get(OperationMetricsFilter.METRIC_NAME)
+                .tag("operation", "CREATE_FRANCHISE")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should classify business errors by their technical code")
+    void shouldClassifyBusinessErrors() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/api/branches/1/products/2"));
+        WebFilterChain chain = ex -> {
+            ex.getAttributes().put(OperationMetricsFilter.OPERATION_ATTRIBUTE, "REMOVE_PRODUCT_FROM_BRANCH");
+            return Mono.error(new BusinessException(TechnicalMessage.BRANCH_NOT_FOUND));
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyError(BusinessException.class);
+
+        // Assert
+        Timer timer = registry.get(OperationMetricsFilter.METRIC_NAME)
+                .tag("operation", "REMOVE_PRODUCT_FROM_BRANCH")
+                .tag("outcome", "CLIENT_ERROR")
+                .tag("exception", "BusinessException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip requests without an operation")
+    void shouldSkipRequestsWithoutOperation() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/prometheus"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        // Assert
+        assertThat(registry.find(OperationMetricsFilter.METRIC_NAME).timers()).isEmpty();
+    }
+}